@@ -0,0 +1,26 @@
+package com.qthegamep.bookmanager2.bulk;
+
+import lombok.Data;
+
+/**
+ * This class contains options of the parallel bulk operations.
+ * There is an no args constructor with default options, getters and setters for fields.
+ */
+@Data
+public class BulkOptions {
+
+    /**
+     * Count of partitions that are processed concurrently, every partition uses own session and connection.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Count of books that are processed with one JDBC batch in one transaction.
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * Whether committed chunks are recorded to the change feed.
+     */
+    private boolean changeFeedEnabled = true;
+}
@@ -0,0 +1,31 @@
+package com.qthegamep.bookmanager2.bulk;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is an immutable report of the finished bulk operation.
+ * Rows done are books of committed chunks, rows failed are books of chunks that were rolled back.
+ * Failures are sorted by partition and id.
+ */
+@Value
+public class BulkReport {
+
+    private final long rowsRequested;
+    private final long rowsDone;
+    private final long rowsFailed;
+    private final int partitions;
+    private final List<PartitionFailure> failures;
+    private final long elapsedNanos;
+
+    /**
+     * This method returns throughput of the bulk operation.
+     *
+     * @return count of done rows per second.
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : (double) rowsDone * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+}
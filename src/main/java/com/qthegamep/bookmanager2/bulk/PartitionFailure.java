@@ -0,0 +1,29 @@
+package com.qthegamep.bookmanager2.bulk;
+
+import lombok.Value;
+
+/**
+ * This class is an immutable description of the chunk of the partition that was rolled back.
+ */
+@Value
+public class PartitionFailure {
+
+    /**
+     * Index of the partition in the order of ids.
+     */
+    private final int partition;
+
+    /**
+     * The smallest id of books of the failed chunk.
+     */
+    private final int firstId;
+
+    /**
+     * The greatest id of books of the failed chunk.
+     */
+    private final int lastId;
+
+    private final int rowCount;
+
+    private final String reason;
+}
@@ -0,0 +1,284 @@
+package com.qthegamep.bookmanager2.bulk;
+
+import com.qthegamep.bookmanager2.dao.AuthorDictionary;
+import com.qthegamep.bookmanager2.dao.BookChangeLog;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.entity.ChangeOperation;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is a parallel execution of very large update and remove of books.
+ * Books are sorted by id and split into partitions of continuous id ranges, so partitions don't lock the same rows.
+ * Partitions are processed concurrently, every partition works through own stateless session and connection
+ * and commits books in chunks with JDBC batches. If a chunk fails then only this chunk is rolled back,
+ * the failure is added to the report and the partition continues with the next chunk.
+ * Committed chunks are recorded to the change feed of {@link BookChangeLog}.
+ * Authors of updated books are resolved with {@link AuthorDictionary} once before partitions are started.
+ * Bulk update doesn't check versions of books: it overwrites books and increments their versions in the database,
+ * so optimistic updates of books that were read before the bulk update are returned as conflicts.
+ */
+@Slf4j
+public class PartitionedBookWriter {
+
+    /**
+     * The constant is the sql query that updates one book by id and increments its version.
+     */
+    public static final String UPDATE_SQL_QUERY = "update BOOKS set NAME = ?, AUTHOR_ID = ?, PRINT_YEAR = ?, IS_READ = ?, "
+            + "VERSION = VERSION + 1 where ID = ?";
+
+    /**
+     * The constant is the sql query that removes one book by id.
+     */
+    public static final String DELETE_SQL_QUERY = "delete from BOOKS where ID = ?";
+
+    @Getter
+    private final BulkOptions bulkOptions;
+
+    @Getter
+    @Setter
+    @NonNull
+    private BookChangeLog bookChangeLog = new BookChangeLog();
+
+    private final AuthorDictionary authorDictionary = new AuthorDictionary();
+
+    /**
+     * This constructor creates writer with default options.
+     */
+    public PartitionedBookWriter() {
+        this(new BulkOptions());
+    }
+
+    /**
+     * This constructor creates writer with the given options.
+     *
+     * @param bulkOptions is the options of bulk operations. Options should not be null.
+     * @throws IllegalArgumentException if parallelism or chunk size is not positive.
+     */
+    public PartitionedBookWriter(@NonNull BulkOptions bulkOptions) {
+        if (bulkOptions.getParallelism() <= 0 || bulkOptions.getChunkSize() <= 0) {
+            throw new IllegalArgumentException("Parallelism and chunk size should be positive but were "
+                    + bulkOptions.getParallelism() + " and " + bulkOptions.getChunkSize());
+        }
+
+        this.bulkOptions = bulkOptions;
+    }
+
+    /**
+     * This method updates books by their ids in parallel partitions.
+     * A chunk is rolled back if it contains a book that is not in the database.
+     *
+     * @param books is the books that will be updated. Books should not be null.
+     * @return report of the update.
+     * @throws IllegalArgumentException if author of the book is not set.
+     * @throws IllegalStateException    if authors were not resolved or the update was interrupted.
+     */
+    public BulkReport updateAll(@NonNull List<? extends Book> books) {
+        return run(books, ChangeOperation.UPDATE);
+    }
+
+    /**
+     * This method removes books by their ids in parallel partitions.
+     * A chunk is rolled back if it contains a book that is not in the database.
+     *
+     * @param books is the books that will be removed. Books should not be null.
+     * @return report of the remove.
+     * @throws IllegalStateException if the remove was interrupted.
+     */
+    public BulkReport removeAll(@NonNull List<? extends Book> books) {
+        return run(books, ChangeOperation.REMOVE);
+    }
+
+    private BulkReport run(List<? extends Book> books, ChangeOperation operation) {
+        log.info("Preparing to {} {} books in parallel", operation, books.size());
+
+        val start = System.nanoTime();
+        val sortedBooks = new ArrayList<Book>(books);
+
+        sortedBooks.sort(Comparator.comparingInt(Book::getId));
+
+        if (operation == ChangeOperation.UPDATE && !sortedBooks.isEmpty()) {
+            try (val session = SessionUtil.openStatelessSession()) {
+                authorDictionary.resolveAndCommit(session, sortedBooks);
+            }
+        }
+
+        val partitions = split(sortedBooks);
+        val state = new BulkState();
+
+        if (!partitions.isEmpty()) {
+            val executor = Executors.newFixedThreadPool(Math.min(bulkOptions.getParallelism(), partitions.size()));
+
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int i = 0; i < partitions.size(); i++) {
+                val partition = i;
+
+                futures.add(executor.submit((Runnable) () -> process(partition, partitions.get(partition), operation, state)));
+            }
+
+            try {
+                for (val future : futures) {
+                    future.get();
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Bulk " + operation + " was failed! " + e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Bulk " + operation + " was interrupted", e);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        val failures = new ArrayList<PartitionFailure>(state.failures);
+
+        failures.sort(Comparator.comparingInt(PartitionFailure::getPartition).thenComparingInt(PartitionFailure::getFirstId));
+
+        val report = new BulkReport(books.size(),
+                state.rowsDone.sum(),
+                state.rowsFailed.sum(),
+                partitions.size(),
+                failures,
+                System.nanoTime() - start
+        );
+
+        log.info("Preparing to {} books in parallel was done successful! Report: {}", operation, report);
+
+        return report;
+    }
+
+    private List<List<Book>> split(List<Book> sortedBooks) {
+        val partitions = new ArrayList<List<Book>>();
+        val size = sortedBooks.size();
+
+        if (size == 0) {
+            return partitions;
+        }
+
+        val chunks = (size + bulkOptions.getChunkSize() - 1) / bulkOptions.getChunkSize();
+        val count = Math.min(bulkOptions.getParallelism(), chunks);
+        val partitionSize = (size + count - 1) / count;
+
+        var from = 0;
+
+        while (from < size) {
+            var to = Math.min(from + partitionSize, size);
+
+            while (to < size && sortedBooks.get(to).getId() == sortedBooks.get(to - 1).getId()) {
+                to++;
+            }
+
+            partitions.add(sortedBooks.subList(from, to));
+            from = to;
+        }
+
+        return partitions;
+    }
+
+    private void process(int partition, List<Book> books, ChangeOperation operation, BulkState state) {
+        var from = 0;
+
+        try (val session = SessionUtil.openStatelessSession()) {
+            for (; from < books.size(); from += bulkOptions.getChunkSize()) {
+                val chunk = books.subList(from, Math.min(from + bulkOptions.getChunkSize(), books.size()));
+                val transaction = session.beginTransaction();
+
+                try {
+                    val connection = SessionUtil.getConnection(session);
+
+                    execute(connection, chunk, operation);
+
+                    if (bulkOptions.isChangeFeedEnabled()) {
+                        bookChangeLog.record(connection, operation, chunk);
+                    }
+
+                    transaction.commit();
+                    state.rowsDone.add(chunk.size());
+                } catch (SQLException | RuntimeException e) {
+                    log.info("Chunk of {} books of partition {} was not processed! Preparing to rollback. Exception message: [{}]",
+                            chunk.size(),
+                            partition,
+                            e.getMessage(),
+                            e
+                    );
+
+                    transaction.rollback();
+                    state.fail(partition, chunk, e.getMessage());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.info("Partition {} was not processed! Exception message: [{}]",
+                    partition,
+                    e.getMessage(),
+                    e
+            );
+
+            if (from < books.size()) {
+                state.fail(partition, books.subList(from, books.size()), e.getMessage());
+            }
+        }
+    }
+
+    private void execute(Connection connection, List<Book> chunk, ChangeOperation operation) throws SQLException {
+        val remove = operation == ChangeOperation.REMOVE;
+
+        try (val statement = connection.prepareStatement(remove ? DELETE_SQL_QUERY : UPDATE_SQL_QUERY)) {
+            for (val book : chunk) {
+                if (remove) {
+                    statement.setInt(1, book.getId());
+                } else {
+                    statement.setString(1, book.getName());
+                    statement.setInt(2, book.getAuthorEntity().getId());
+                    statement.setInt(3, book.getPrintYear());
+                    statement.setBoolean(4, book.isRead());
+                    statement.setInt(5, book.getId());
+                }
+
+                statement.addBatch();
+            }
+
+            val rowCounts = statement.executeBatch();
+
+            for (int i = 0; i < rowCounts.length; i++) {
+                if (rowCounts[i] == 0) {
+                    throw new IllegalStateException("Book with id = " + chunk.get(i).getId() + " was not found");
+                }
+            }
+        }
+    }
+
+    private static class BulkState {
+
+        private final LongAdder rowsDone = new LongAdder();
+        private final LongAdder rowsFailed = new LongAdder();
+
+        private final List<PartitionFailure> failures = Collections.synchronizedList(new ArrayList<>());
+
+        private void fail(int partition, List<Book> books, String reason) {
+            rowsFailed.add(books.size());
+            failures.add(new PartitionFailure(partition,
+                    books.get(0).getId(),
+                    books.get(books.size() - 1).getId(),
+                    books.size(),
+                    reason
+            ));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.qthegamep.bookmanager2.cache;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.val;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is a Bloom filter of strings that answers whether a string was possibly put to the filter.
+ * The filter never answers false for a string that was put to it and answers true for a string that was not put
+ * with the probability that is about {@link #getFalsePositiveProbability()} while count of put strings
+ * doesn't exceed {@link #getExpectedInsertions()}.
+ * Bits are stored in the array of longs, the count of bits and the count of hash functions are calculated
+ * from the expected insertions and the false positive probability. Positions of bits are derived from
+ * two 64-bit hashes of characters of the string by double hashing. Strings can not be removed from the filter,
+ * so the filter should be rebuilt when many of them are not actual. The filter is thread-safe.
+ */
+public class BloomFilter {
+
+    private static final long MAX_BIT_SIZE = (long) Integer.MAX_VALUE * Long.SIZE;
+
+    @Getter
+    private final long expectedInsertions;
+
+    @Getter
+    private final double falsePositiveProbability;
+
+    @Getter
+    private final long bitSize;
+
+    @Getter
+    private final int hashFunctions;
+
+    private final AtomicLongArray bits;
+
+    private final LongAdder insertions = new LongAdder();
+
+    /**
+     * This constructor creates empty filter for the given count of strings and false positive probability.
+     *
+     * @param expectedInsertions       is the expected count of distinct strings that will be put to the filter.
+     * @param falsePositiveProbability is the desired probability of true answer for a string that was not put.
+     * @throws IllegalArgumentException if expected insertions is not positive or the false positive probability
+     *                                  is not between 0 and 1.
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions < 1 || !(falsePositiveProbability > 0 && falsePositiveProbability < 1)) {
+            throw new IllegalArgumentException("Expected insertions should be positive and false positive probability "
+                    + "should be between 0 and 1 but were " + expectedInsertions + " and " + falsePositiveProbability);
+        }
+
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+
+        val optimalBitSize = Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        val words = (int) ((Math.min((long) optimalBitSize, MAX_BIT_SIZE) + Long.SIZE - 1) / Long.SIZE);
+
+        bitSize = (long) words * Long.SIZE;
+        hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+        bits = new AtomicLongArray(words);
+    }
+
+    /**
+     * This method puts the string to the filter.
+     *
+     * @param value is the string that will be put. Value should not be null.
+     * @return true if bits of the filter were changed, so the string was not put before.
+     */
+    public boolean put(@NonNull String value) {
+        val hash = hash(value);
+        val secondHash = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+
+        var changed = false;
+
+        for (int i = 0; i < hashFunctions; i++) {
+            val bitIndex = Long.remainderUnsigned(hash + i * secondHash, bitSize);
+            val wordIndex = (int) (bitIndex >>> 6);
+            val mask = 1L << bitIndex;
+
+            var word = bits.get(wordIndex);
+
+            while ((word & mask) == 0) {
+                if (bits.compareAndSet(wordIndex, word, word | mask)) {
+                    changed = true;
+                    break;
+                }
+
+                word = bits.get(wordIndex);
+            }
+        }
+
+        if (changed) {
+            insertions.increment();
+        }
+
+        return changed;
+    }
+
+    /**
+     * This method checks whether the string was possibly put to the filter.
+     *
+     * @param value is the string that will be checked. Value should not be null.
+     * @return false if the string was definitely not put and true if it was possibly put.
+     */
+    public boolean mightContain(@NonNull String value) {
+        val hash = hash(value);
+        val secondHash = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+
+        for (int i = 0; i < hashFunctions; i++) {
+            val bitIndex = Long.remainderUnsigned(hash + i * secondHash, bitSize);
+
+            if ((bits.get((int) (bitIndex >>> 6)) & 1L << bitIndex) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * This method returns count of strings that changed bits of the filter. It is an estimate of count of distinct
+     * strings that were put, because a new string doesn't change bits when all of them were set by other strings.
+     *
+     * @return count of put strings that changed bits.
+     */
+    public long getInsertions() {
+        return insertions.sum();
+    }
+
+    /**
+     * This method returns the current probability of true answer for a string that was not put,
+     * that is calculated from the count of set bits.
+     *
+     * @return current false positive probability.
+     */
+    public double getCurrentFalsePositiveProbability() {
+        var setBits = 0L;
+
+        for (int i = 0; i < bits.length(); i++) {
+            setBits += Long.bitCount(bits.get(i));
+        }
+
+        return Math.pow((double) setBits / bitSize, hashFunctions);
+    }
+
+    private static long hash(String value) {
+        var hash = 0xCBF29CE484222325L;
+
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+        }
+
+        return mix(hash ^ value.length());
+    }
+
+    private static long mix(long hash) {
+        hash = (hash ^ hash >>> 33) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ hash >>> 33) * 0xC4CEB9FE1A85EC53L;
+
+        return hash ^ hash >>> 33;
+    }
+}
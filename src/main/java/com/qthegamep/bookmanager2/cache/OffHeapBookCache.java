@@ -0,0 +1,607 @@
+package com.qthegamep.bookmanager2.cache;
+
+import com.qthegamep.bookmanager2.entity.Author;
+import com.qthegamep.bookmanager2.entity.Book;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * This class is a cache of books that keeps rows outside of the java heap, so the size of the cache
+ * doesn't increase the time of garbage collection. Every book is serialised to the fixed-width slot of
+ * {@link #getSlotSize()} bytes that contains id, version, print year, id of the author, is read flag,
+ * reference flag and lengths of UTF-8 name and author that are followed by their bytes.
+ * Slots are allocated in direct byte buffers or in regions of the memory-mapped file of at most 64 MB.
+ * Slots are found by ids with the open-addressing index with linear probing that is at most half full.
+ * The index and the stack of free slots are stored in direct buffers too, so the only objects of the cache
+ * on the heap are the buffers.
+ * The cache holds at most {@link #getCapacity()} books. When it is full the slot of the book that was not read
+ * since the last pass of the clock hand is evicted. Books that don't fit to the slot are not cached.
+ * Gotten books are new objects, so changes of them don't change the cache.
+ * Reads run concurrently, writes are exclusive. The cache should be closed after use.
+ */
+@Slf4j
+public class OffHeapBookCache implements AutoCloseable {
+
+    /**
+     * The constant is the default size of the slot in bytes.
+     */
+    public static final int DEFAULT_SLOT_SIZE = 256;
+
+    /**
+     * The constant is the maximum count of books in the cache.
+     */
+    public static final int MAX_CAPACITY = 1 << 26;
+
+    private static final int MAX_SLAB_SIZE = 64 * 1024 * 1024;
+
+    private static final int MIN_SLOT_SIZE = 32;
+    private static final int MAX_SLOT_SIZE = 64 * 1024;
+
+    private static final int ID_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int PRINT_YEAR_OFFSET = 8;
+    private static final int AUTHOR_ID_OFFSET = 12;
+    private static final int IS_READ_OFFSET = 16;
+    private static final int REFERENCED_OFFSET = 17;
+    private static final int NAME_LENGTH_OFFSET = 18;
+    private static final int AUTHOR_LENGTH_OFFSET = 20;
+    private static final int HEADER_SIZE = 22;
+
+    private static final int INDEX_ENTRY_SIZE = 8;
+
+    private static final int EMPTY = 0;
+
+    @Getter
+    private final int capacity;
+
+    @Getter
+    private final int slotSize;
+
+    private final int slotsPerSlab;
+    private final ByteBuffer[] slabs;
+    private final ByteBuffer index;
+    private final int indexMask;
+    private final ByteBuffer freeSlots;
+    private final FileChannel channel;
+    private final Path path;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    private int size;
+    private int freeCount;
+    private int nextSlot;
+    private int clockHand;
+    private boolean closed;
+
+    /**
+     * This constructor creates cache of direct buffers with default slot size.
+     *
+     * @param capacity is the maximum count of books in the cache.
+     * @throws IllegalArgumentException if capacity is not from 1 to {@value #MAX_CAPACITY}.
+     */
+    public OffHeapBookCache(int capacity) {
+        this(capacity, DEFAULT_SLOT_SIZE);
+    }
+
+    /**
+     * This constructor creates cache of direct buffers with the given slot size.
+     *
+     * @param capacity is the maximum count of books in the cache.
+     * @param slotSize is the size of the slot of one book in bytes.
+     * @throws IllegalArgumentException if capacity is not from 1 to {@value #MAX_CAPACITY}
+     *                                  or slot size is not from 32 to 65536 bytes.
+     */
+    public OffHeapBookCache(int capacity, int slotSize) {
+        this(capacity, slotSize, null);
+    }
+
+    /**
+     * This constructor creates cache with the given slot size. If the path is not null then slots are stored
+     * in the memory-mapped file that is created or truncated. The file is deleted when the cache is closed
+     * if the operating system allows it, see {@link #close()}.
+     *
+     * @param capacity is the maximum count of books in the cache.
+     * @param slotSize is the size of the slot of one book in bytes.
+     * @param path     is the path to the file of slots or null if slots are stored in direct buffers.
+     * @throws IllegalArgumentException if capacity is not from 1 to {@value #MAX_CAPACITY}
+     *                                  or slot size is not from 32 to 65536 bytes.
+     * @throws UncheckedIOException     if the file can not be created or mapped.
+     */
+    public OffHeapBookCache(int capacity, int slotSize, Path path) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY || slotSize < MIN_SLOT_SIZE || slotSize > MAX_SLOT_SIZE) {
+            throw new IllegalArgumentException("Capacity should be from 1 to " + MAX_CAPACITY + " and slot size should be from "
+                    + MIN_SLOT_SIZE + " to " + MAX_SLOT_SIZE + " bytes but were " + capacity + " and " + slotSize);
+        }
+
+        this.capacity = capacity;
+        this.slotSize = slotSize;
+        this.path = path;
+
+        slotsPerSlab = MAX_SLAB_SIZE / slotSize;
+        slabs = new ByteBuffer[(capacity + slotsPerSlab - 1) / slotsPerSlab];
+        freeSlots = ByteBuffer.allocateDirect(capacity * 4).order(ByteOrder.nativeOrder());
+
+        val indexSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+
+        index = ByteBuffer.allocateDirect(indexSize * INDEX_ENTRY_SIZE).order(ByteOrder.nativeOrder());
+        indexMask = indexSize - 1;
+
+        try {
+            channel = path == null ? null : FileChannel.open(path,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+
+            for (int i = 0; i < slabs.length; i++) {
+                val slabSize = (long) Math.min(slotsPerSlab, capacity - i * slotsPerSlab) * slotSize;
+
+                slabs[i] = channel == null
+                        ? ByteBuffer.allocateDirect((int) slabSize)
+                        : channel.map(FileChannel.MapMode.READ_WRITE, (long) i * slotsPerSlab * slotSize, slabSize);
+                slabs[i].order(ByteOrder.nativeOrder());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("Off-heap cache of {} books with {} bytes slots was created in {} slabs of {}",
+                capacity,
+                slotSize,
+                slabs.length,
+                path == null ? "direct memory" : path
+        );
+    }
+
+    /**
+     * This method returns the book by id.
+     *
+     * @param id is the id of the book.
+     * @return new book object with the cached fields or null if the book is not cached.
+     * @throws IllegalStateException if the cache is closed.
+     */
+    public Book get(int id) {
+        lock.readLock().lock();
+
+        try {
+            checkOpen();
+
+            val position = find(id);
+
+            if (position < 0) {
+                misses.increment();
+                return null;
+            }
+
+            hits.increment();
+
+            val slot = index.getInt(position + 4);
+            val slab = slab(slot);
+            val offset = offset(slot);
+
+            slab.put(offset + REFERENCED_OFFSET, (byte) 1);
+
+            return read(slab, offset);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This method checks whether the book is cached.
+     *
+     * @param id is the id of the book.
+     * @return true if the book is cached.
+     * @throws IllegalStateException if the cache is closed.
+     */
+    public boolean contains(int id) {
+        lock.readLock().lock();
+
+        try {
+            checkOpen();
+
+            return find(id) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This method puts the book to the cache or replaces the cached book with the same id.
+     * Books without id, name or author and books that don't fit to the slot are not cached,
+     * the old book with the same id is removed then.
+     *
+     * @param book is the book that will be cached. Book should not be null.
+     * @return true if the book was cached.
+     * @throws IllegalStateException if the cache is closed.
+     */
+    public boolean put(@NonNull Book book) {
+        return putIf(book, () -> true);
+    }
+
+    /**
+     * This method puts the book to the cache like {@link #put(Book)} only if the condition is true.
+     * The condition is checked under the write lock of the cache, so a write of the cache that starts
+     * after the condition became false is applied after this method and can not be overwritten by it.
+     *
+     * @param book      is the book that will be cached. Book should not be null.
+     * @param condition is the condition of the put. Condition should not be null.
+     * @return true if the book was cached.
+     * @throws IllegalStateException if the cache is closed.
+     */
+    public boolean putIf(@NonNull Book book, @NonNull BooleanSupplier condition) {
+        if (book.getId() == EMPTY || book.getName() == null || book.getAuthor() == null) {
+            rejections.increment();
+            return false;
+        }
+
+        val name = book.getName().getBytes(StandardCharsets.UTF_8);
+        val author = book.getAuthor().getBytes(StandardCharsets.UTF_8);
+        val fits = HEADER_SIZE + name.length + author.length <= slotSize;
+
+        lock.writeLock().lock();
+
+        try {
+            checkOpen();
+
+            if (!condition.getAsBoolean()) {
+                return false;
+            }
+
+            if (!fits) {
+                rejections.increment();
+                remove(book.getId());
+                return false;
+            }
+
+            var position = find(book.getId());
+
+            int slot;
+
+            if (position >= 0) {
+                slot = index.getInt(position + 4);
+            } else {
+                slot = allocateSlot();
+                position = insertPosition(book.getId());
+
+                index.putInt(position, book.getId());
+                index.putInt(position + 4, slot);
+                size++;
+            }
+
+            write(slab(slot), offset(slot), book, name, author);
+
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method removes the book from the cache.
+     *
+     * @param id is the id of the book.
+     * @return true if the book was cached.
+     * @throws IllegalStateException if the cache is closed.
+     */
+    public boolean invalidate(int id) {
+        lock.writeLock().lock();
+
+        try {
+            checkOpen();
+
+            return remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method removes all books from the cache. Memory of the cache is not released.
+     *
+     * @throws IllegalStateException if the cache is closed.
+     */
+    public void invalidateAll() {
+        lock.writeLock().lock();
+
+        try {
+            checkOpen();
+
+            for (int position = 0; position <= indexMask * INDEX_ENTRY_SIZE; position += INDEX_ENTRY_SIZE) {
+                index.putInt(position, EMPTY);
+            }
+
+            size = 0;
+            freeCount = 0;
+            nextSlot = 0;
+            clockHand = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This method returns count of cached books.
+     *
+     * @return count of cached books.
+     */
+    public int size() {
+        lock.readLock().lock();
+
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This method returns count of gets that found the book.
+     *
+     * @return count of hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * This method returns count of gets that didn't find the book.
+     *
+     * @return count of misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * This method returns count of books that were evicted because the cache was full.
+     *
+     * @return count of evictions.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * This method returns count of books that were not cached because they didn't have id, name or author
+     * or didn't fit to the slot.
+     *
+     * @return count of rejections.
+     */
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    /**
+     * This method closes the cache. Buffers are released by the garbage collector and the memory-mapped file
+     * is deleted. Mappings of the file can't be released explicitly, so if the operating system doesn't allow
+     * to delete mapped files, like Windows, the file stays until the buffers are collected and
+     * it is deleted when the virtual machine exits.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+
+        try {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+
+            for (int i = 0; i < slabs.length; i++) {
+                slabs[i] = null;
+            }
+
+            if (channel != null) {
+                channel.close();
+                delete(path);
+            }
+
+            log.info("Off-heap cache was closed! Hits: {}, misses: {}, evictions: {}, rejections: {}",
+                    getHits(),
+                    getMisses(),
+                    getEvictions(),
+                    getRejections()
+            );
+        } catch (IOException e) {
+            log.info("File of off-heap cache was not closed correctly! Exception message: [{}]",
+                    e.getMessage(),
+                    e
+            );
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            path.toFile().deleteOnExit();
+            log.info("File of off-heap cache is still mapped and will be deleted on exit! Exception message: [{}]",
+                    e.getMessage(),
+                    e
+            );
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Off-heap cache is closed");
+        }
+    }
+
+    private ByteBuffer slab(int slot) {
+        return slabs[slot / slotsPerSlab];
+    }
+
+    private int offset(int slot) {
+        return slot % slotsPerSlab * slotSize;
+    }
+
+    private int home(int id) {
+        val hash = id * 0x9E3779B9;
+
+        return (hash ^ hash >>> 16) & indexMask;
+    }
+
+    private int find(int id) {
+        if (id == EMPTY) {
+            return -1;
+        }
+
+        for (int i = home(id); ; i = i + 1 & indexMask) {
+            val key = index.getInt(i * INDEX_ENTRY_SIZE);
+
+            if (key == id) {
+                return i * INDEX_ENTRY_SIZE;
+            }
+
+            if (key == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    private int insertPosition(int id) {
+        var i = home(id);
+
+        while (index.getInt(i * INDEX_ENTRY_SIZE) != EMPTY) {
+            i = i + 1 & indexMask;
+        }
+
+        return i * INDEX_ENTRY_SIZE;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots.getInt(--freeCount * 4);
+        }
+
+        if (nextSlot < capacity) {
+            return nextSlot++;
+        }
+
+        while (true) {
+            val slot = clockHand;
+            val slab = slab(slot);
+            val offset = offset(slot);
+
+            clockHand = clockHand + 1 == capacity ? 0 : clockHand + 1;
+
+            if (slab.get(offset + REFERENCED_OFFSET) != 0) {
+                slab.put(offset + REFERENCED_OFFSET, (byte) 0);
+            } else {
+                evictions.increment();
+                removeFromIndex(find(slab.getInt(offset + ID_OFFSET)));
+
+                return slot;
+            }
+        }
+    }
+
+    private boolean remove(int id) {
+        val position = find(id);
+
+        if (position < 0) {
+            return false;
+        }
+
+        freeSlots.putInt(freeCount++ * 4, index.getInt(position + 4));
+        removeFromIndex(position);
+
+        return true;
+    }
+
+    private void removeFromIndex(int position) {
+        var hole = position / INDEX_ENTRY_SIZE;
+        var i = hole;
+
+        while (true) {
+            i = i + 1 & indexMask;
+
+            val key = index.getInt(i * INDEX_ENTRY_SIZE);
+
+            if (key == EMPTY) {
+                break;
+            }
+
+            val home = home(key);
+
+            if (hole <= i ? hole < home && home <= i : hole < home || home <= i) {
+                continue;
+            }
+
+            index.putInt(hole * INDEX_ENTRY_SIZE, key);
+            index.putInt(hole * INDEX_ENTRY_SIZE + 4, index.getInt(i * INDEX_ENTRY_SIZE + 4));
+            hole = i;
+        }
+
+        index.putInt(hole * INDEX_ENTRY_SIZE, EMPTY);
+        size--;
+    }
+
+    private void write(ByteBuffer slab, int offset, Book book, byte[] name, byte[] author) {
+        slab.putInt(offset + ID_OFFSET, book.getId());
+        slab.putInt(offset + VERSION_OFFSET, book.getVersion());
+        slab.putInt(offset + PRINT_YEAR_OFFSET, book.getPrintYear());
+        slab.putInt(offset + AUTHOR_ID_OFFSET, book.getAuthorEntity().getId());
+        slab.put(offset + IS_READ_OFFSET, (byte) (book.isRead() ? 1 : 0));
+        slab.put(offset + REFERENCED_OFFSET, (byte) 0);
+        slab.putChar(offset + NAME_LENGTH_OFFSET, (char) name.length);
+        slab.putChar(offset + AUTHOR_LENGTH_OFFSET, (char) author.length);
+
+        val data = slab.duplicate();
+
+        data.position(offset + HEADER_SIZE);
+        data.put(name);
+        data.put(author);
+    }
+
+    private Book read(ByteBuffer slab, int offset) {
+        val name = new byte[slab.getChar(offset + NAME_LENGTH_OFFSET)];
+        val author = new byte[slab.getChar(offset + AUTHOR_LENGTH_OFFSET)];
+        val data = slab.duplicate();
+
+        data.position(offset + HEADER_SIZE);
+        data.get(name);
+        data.get(author);
+
+        val authorEntity = new Author(new String(author, StandardCharsets.UTF_8));
+
+        authorEntity.setId(slab.getInt(offset + AUTHOR_ID_OFFSET));
+
+        val book = new Book();
+
+        book.setId(slab.getInt(offset + ID_OFFSET));
+        book.setVersion(slab.getInt(offset + VERSION_OFFSET));
+        book.setName(new String(name, StandardCharsets.UTF_8));
+        book.setAuthorEntity(authorEntity);
+        book.setPrintYear(slab.getInt(offset + PRINT_YEAR_OFFSET));
+        book.setRead(slab.get(offset + IS_READ_OFFSET) != 0);
+
+        return book;
+    }
+}
@@ -0,0 +1,420 @@
+package com.qthegamep.bookmanager2.catalog;
+
+import com.qthegamep.bookmanager2.dao.BookCursor;
+import com.qthegamep.bookmanager2.entity.Book;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * This class is an immutable in-memory columnar representation of all books for analytics scans.
+ * Ids and print years are stored in int arrays, is read flags in the bit set and names and authors are
+ * dictionary-encoded: every distinct value is stored once in the sorted dictionary and rows contain int codes
+ * of values, so values are found by binary search without keeping hash indexes in memory.
+ * The catalog is loaded by streaming rows from {@link BookCursor}, so entities are not created.
+ * Rows are addressed by index from 0 to {@link #size()} in the order of id.
+ * Filtering and grouping run in parallel over the columns, predicates on names and authors compare codes
+ * instead of strings. The catalog is a copy of the database at the time of loading and it is thread-safe.
+ */
+@Slf4j
+public class ColumnarCatalog {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int size;
+    private final int[] ids;
+    private final int[] printYears;
+    private final BitSet isRead;
+    private final int[] nameCodes;
+    private final String[] names;
+    private final int[] authorCodes;
+    private final String[] authors;
+
+    private ColumnarCatalog(Builder builder) {
+        size = builder.size;
+        ids = Arrays.copyOf(builder.ids, size);
+        printYears = Arrays.copyOf(builder.printYears, size);
+        isRead = builder.isRead;
+        nameCodes = Arrays.copyOf(builder.nameCodes, size);
+        names = sortDictionary(builder.names, nameCodes);
+        authorCodes = Arrays.copyOf(builder.authorCodes, size);
+        authors = sortDictionary(builder.authors, authorCodes);
+    }
+
+    /**
+     * This method loads all books from the database to the new catalog.
+     *
+     * @return catalog of all books.
+     * @throws IllegalStateException if books can not be read from the database.
+     */
+    public static ColumnarCatalog load() {
+        log.info("Preparing to load columnar catalog of books");
+
+        val builder = new Builder();
+
+        try (val bookCursor = new BookCursor()) {
+            while (bookCursor.next()) {
+                builder.add(bookCursor.getId(),
+                        bookCursor.getName(),
+                        bookCursor.getAuthor(),
+                        bookCursor.getPrintYear(),
+                        bookCursor.isRead()
+                );
+            }
+        }
+
+        val catalog = new ColumnarCatalog(builder);
+
+        log.info("Preparing to load columnar catalog of books was done successful! Loaded {} books, {} names and {} authors",
+                catalog.size,
+                catalog.names.length,
+                catalog.authors.length
+        );
+
+        return catalog;
+    }
+
+    /**
+     * This method creates catalog of the given books. It is used when books are already in memory.
+     *
+     * @param books is the books of the catalog. Books should not be null.
+     * @return catalog of the books in the given order.
+     */
+    public static ColumnarCatalog of(@NonNull List<? extends Book> books) {
+        val builder = new Builder();
+
+        for (val book : books) {
+            builder.add(book.getId(), book.getName(), book.getAuthor(), book.getPrintYear(), book.isRead());
+        }
+
+        return new ColumnarCatalog(builder);
+    }
+
+    /**
+     * This method returns count of books in the catalog.
+     *
+     * @return count of books.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * This method returns count of distinct names in the dictionary.
+     *
+     * @return count of distinct names.
+     */
+    public int getNameDictionarySize() {
+        return names.length;
+    }
+
+    /**
+     * This method returns count of distinct authors in the dictionary.
+     *
+     * @return count of distinct authors.
+     */
+    public int getAuthorDictionarySize() {
+        return authors.length;
+    }
+
+    /**
+     * This method returns id of the book of the row.
+     *
+     * @param row is the index of the row.
+     * @return id of the book.
+     */
+    public int getId(int row) {
+        return ids[checkRow(row)];
+    }
+
+    /**
+     * This method returns name of the book of the row.
+     *
+     * @param row is the index of the row.
+     * @return name of the book.
+     */
+    public String getName(int row) {
+        return names[nameCodes[checkRow(row)]];
+    }
+
+    /**
+     * This method returns author of the book of the row.
+     *
+     * @param row is the index of the row.
+     * @return author of the book.
+     */
+    public String getAuthor(int row) {
+        return authors[authorCodes[checkRow(row)]];
+    }
+
+    /**
+     * This method returns print year of the book of the row.
+     *
+     * @param row is the index of the row.
+     * @return print year of the book.
+     */
+    public int getPrintYear(int row) {
+        return printYears[checkRow(row)];
+    }
+
+    /**
+     * This method returns whether the book of the row is read.
+     *
+     * @param row is the index of the row.
+     * @return is read of the book.
+     */
+    public boolean isRead(int row) {
+        return isRead.get(checkRow(row));
+    }
+
+    /**
+     * This method creates new book entity object of the row.
+     *
+     * @param row is the index of the row.
+     * @return book of the row.
+     */
+    public Book toBook(int row) {
+        val book = new Book();
+
+        book.setId(getId(row));
+        book.setName(getName(row));
+        book.setAuthor(getAuthor(row));
+        book.setPrintYear(getPrintYear(row));
+        book.setRead(isRead(row));
+
+        return book;
+    }
+
+    /**
+     * This method returns predicate of rows with the given name. The name is compared by its dictionary code.
+     *
+     * @param name is the name of books. Name should not be null.
+     * @return predicate of rows.
+     */
+    public IntPredicate nameIs(@NonNull String name) {
+        val nameCode = Arrays.binarySearch(names, name);
+
+        if (nameCode < 0) {
+            return row -> false;
+        }
+
+        return row -> nameCodes[row] == nameCode;
+    }
+
+    /**
+     * This method returns predicate of rows with the given author. The author is compared by its dictionary code.
+     *
+     * @param author is the author of books. Author should not be null.
+     * @return predicate of rows.
+     */
+    public IntPredicate authorIs(@NonNull String author) {
+        val authorCode = Arrays.binarySearch(authors, author);
+
+        if (authorCode < 0) {
+            return row -> false;
+        }
+
+        return row -> authorCodes[row] == authorCode;
+    }
+
+    /**
+     * This method returns predicate of rows with print year in the given range.
+     *
+     * @param from is the first print year of the range inclusive.
+     * @param to   is the last print year of the range inclusive.
+     * @return predicate of rows.
+     */
+    public IntPredicate printYearBetween(int from, int to) {
+        return row -> printYears[row] >= from && printYears[row] <= to;
+    }
+
+    /**
+     * This method returns predicate of rows with the given is read flag.
+     *
+     * @param read is the is read flag of books.
+     * @return predicate of rows.
+     */
+    public IntPredicate isRead(boolean read) {
+        return row -> isRead.get(row) == read;
+    }
+
+    /**
+     * This method returns all rows that match the predicate in ascending order. Rows are filtered in parallel.
+     *
+     * @param predicate is the predicate of rows. Predicate should not be null.
+     * @return indexes of matching rows.
+     */
+    public int[] filter(@NonNull IntPredicate predicate) {
+        return IntStream.range(0, size).parallel().filter(predicate).toArray();
+    }
+
+    /**
+     * This method returns count of rows that match the predicate. Rows are counted in parallel.
+     *
+     * @param predicate is the predicate of rows. Predicate should not be null.
+     * @return count of matching rows.
+     */
+    public long count(@NonNull IntPredicate predicate) {
+        return IntStream.range(0, size).parallel().filter(predicate).count();
+    }
+
+    /**
+     * This method returns count of rows that match the predicate grouped by author.
+     * Rows are counted in parallel into arrays indexed by dictionary codes.
+     *
+     * @param predicate is the predicate of rows. Predicate should not be null.
+     * @return map of authors to counts in ascending order of authors. Authors without matching rows are skipped.
+     */
+    public Map<String, Long> countByAuthor(@NonNull IntPredicate predicate) {
+        val counts = countByCode(predicate, authorCodes, authors.length);
+        val result = new LinkedHashMap<String, Long>();
+
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                result.put(authors[code], counts[code]);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * This method returns count of rows that match the predicate grouped by print year.
+     *
+     * @param predicate is the predicate of rows. Predicate should not be null.
+     * @return map of print years to counts in ascending order of years.
+     */
+    public Map<Integer, Long> countByPrintYear(@NonNull IntPredicate predicate) {
+        val counts = IntStream.range(0, size)
+                .parallel()
+                .filter(predicate)
+                .collect(HashMap<Integer, long[]>::new,
+                        (map, row) -> map.computeIfAbsent(printYears[row], year -> new long[1])[0]++,
+                        (first, second) -> second.forEach((year, count) -> first.merge(year, count, (a, b) -> {
+                            a[0] += b[0];
+                            return a;
+                        }))
+                );
+
+        val result = new TreeMap<Integer, Long>();
+
+        counts.forEach((year, count) -> result.put(year, count[0]));
+
+        return result;
+    }
+
+    /**
+     * This method returns count of rows that match the predicate grouped by is read flag.
+     *
+     * @param predicate is the predicate of rows. Predicate should not be null.
+     * @return map of is read flags to counts. Both flags are present.
+     */
+    public Map<Boolean, Long> countByIsRead(@NonNull IntPredicate predicate) {
+        val read = count(predicate.and(isRead(true)));
+        val result = new LinkedHashMap<Boolean, Long>();
+
+        result.put(false, count(predicate) - read);
+        result.put(true, read);
+
+        return result;
+    }
+
+    private long[] countByCode(IntPredicate predicate, int[] codes, int dictionarySize) {
+        return IntStream.range(0, size)
+                .parallel()
+                .filter(predicate)
+                .collect(() -> new long[dictionarySize],
+                        (counts, row) -> counts[codes[row]]++,
+                        (first, second) -> {
+                            for (int i = 0; i < first.length; i++) {
+                                first[i] += second[i];
+                            }
+                        }
+                );
+    }
+
+    private static String[] sortDictionary(List<String> dictionary, int[] codes) {
+        val sorted = dictionary.toArray(new String[0]);
+
+        Arrays.sort(sorted);
+
+        val sortedCodes = new int[sorted.length];
+
+        for (int code = 0; code < sortedCodes.length; code++) {
+            sortedCodes[code] = Arrays.binarySearch(sorted, dictionary.get(code));
+        }
+
+        for (int row = 0; row < codes.length; row++) {
+            codes[row] = sortedCodes[codes[row]];
+        }
+
+        return sorted;
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row should be from 0 to " + (size - 1) + " but was " + row);
+        }
+
+        return row;
+    }
+
+    private static class Builder {
+
+        private int size;
+        private int[] ids = new int[INITIAL_CAPACITY];
+        private int[] printYears = new int[INITIAL_CAPACITY];
+        private int[] nameCodes = new int[INITIAL_CAPACITY];
+        private int[] authorCodes = new int[INITIAL_CAPACITY];
+
+        private final BitSet isRead = new BitSet();
+        private final List<String> names = new ArrayList<>();
+        private final List<String> authors = new ArrayList<>();
+        private final Map<String, Integer> nameIndex = new HashMap<>();
+        private final Map<String, Integer> authorIndex = new HashMap<>();
+
+        private void add(int id, String name, String author, int printYear, boolean read) {
+            if (size == ids.length) {
+                val capacity = size * 2;
+
+                ids = Arrays.copyOf(ids, capacity);
+                printYears = Arrays.copyOf(printYears, capacity);
+                nameCodes = Arrays.copyOf(nameCodes, capacity);
+                authorCodes = Arrays.copyOf(authorCodes, capacity);
+            }
+
+            ids[size] = id;
+            printYears[size] = printYear;
+            nameCodes[size] = encode(name, names, nameIndex);
+            authorCodes[size] = encode(author, authors, authorIndex);
+            isRead.set(size, read);
+
+            size++;
+        }
+
+        private int encode(String value, List<String> dictionary, Map<String, Integer> index) {
+            val code = index.get(value);
+
+            if (code != null) {
+                return code;
+            }
+
+            index.put(value, dictionary.size());
+            dictionary.add(value);
+
+            return dictionary.size() - 1;
+        }
+    }
+}
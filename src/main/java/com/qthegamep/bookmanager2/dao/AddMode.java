@@ -0,0 +1,18 @@
+package com.qthegamep.bookmanager2.dao;
+
+/**
+ * This enum contains modes of adding list of books in {@link BookDAOImpl#addAll(java.util.List)}.
+ */
+public enum AddMode {
+
+    /**
+     * Every book is saved by the hibernate session with own insert statement.
+     */
+    SESSION,
+
+    /**
+     * Books are inserted with multi-row insert statements of {@link BookDAOImpl#MULTI_ROW_SIZE} rows
+     * and generated ids are set to the books.
+     */
+    MULTI_ROW
+}
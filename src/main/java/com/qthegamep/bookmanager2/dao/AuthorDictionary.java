@@ -0,0 +1,179 @@
+package com.qthegamep.bookmanager2.dao;
+
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import org.hibernate.StatelessSession;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class is the dictionary of authors in the AUTHORS table. It resolves names of authors to their integer keys
+ * that are referenced from BOOKS and inserts authors that don't exist yet. Names are resolved with IN queries
+ * of {@value #NAMES_CHUNK_SIZE} names and new authors are inserted with one JDBC batch, so the count of queries
+ * depends on the count of distinct authors and not on the count of books.
+ * Authors are not removed with their last book, the dictionary only grows.
+ * Concurrent writers that insert the same new author resolve authors with {@link #resolveAndCommit},
+ * because the second insert of the same name violates the unique key of the name and should be retried.
+ */
+@Slf4j
+public class AuthorDictionary {
+
+    /**
+     * The constant is the maximum count of names in one IN query.
+     */
+    public static final int NAMES_CHUNK_SIZE = 500;
+
+    /**
+     * The constant is the sql query that inserts one author.
+     */
+    public static final String INSERT_SQL_QUERY = "insert into AUTHORS (NAME) values (?)";
+
+    /**
+     * The constant is the count of attempts of {@link #resolveAndCommit} when authors are inserted concurrently.
+     */
+    public static final int MAX_ATTEMPTS = 3;
+
+    private static final String SELECT_SQL_QUERY = "select ID, NAME from AUTHORS where NAME in ";
+
+    /**
+     * This method resolves keys of authors of books and sets them to the author entities of books.
+     * Authors that don't exist are inserted in the current transaction of the connection.
+     *
+     * @param connection is the connection of the current transaction. Connection should not be null.
+     * @param books      is the books which authors will be resolved. Books should not be null.
+     * @throws SQLException             if authors can not be read or inserted.
+     * @throws IllegalArgumentException if author of the book is not set.
+     */
+    public void resolve(@NonNull Connection connection, @NonNull Collection<? extends Book> books) throws SQLException {
+        val names = new LinkedHashSet<String>();
+
+        for (val book : books) {
+            if (book.getAuthor() == null) {
+                throw new IllegalArgumentException("Author should not be null! Book: " + book);
+            }
+
+            names.add(book.getAuthor());
+        }
+
+        val ids = resolveNames(connection, names);
+
+        for (val book : books) {
+            book.getAuthorEntity().setId(ids.get(book.getAuthor()));
+        }
+    }
+
+    /**
+     * This method resolves keys of authors by names.
+     * Authors that don't exist are inserted in the current transaction of the connection.
+     *
+     * @param connection is the connection of the current transaction. Connection should not be null.
+     * @param names      is the names of authors. Names should not be null.
+     * @return map of names of authors to their keys.
+     * @throws SQLException if authors can not be read or inserted.
+     */
+    public Map<String, Integer> resolveNames(@NonNull Connection connection, @NonNull Collection<String> names) throws SQLException {
+        val distinctNames = new ArrayList<String>(new LinkedHashSet<>(names));
+        val ids = select(connection, distinctNames);
+
+        if (ids.size() == distinctNames.size()) {
+            return ids;
+        }
+
+        val missingNames = new ArrayList<String>();
+
+        for (val name : distinctNames) {
+            if (!ids.containsKey(name)) {
+                missingNames.add(name);
+            }
+        }
+
+        log.info("Preparing to insert {} new authors", missingNames.size());
+
+        try (val statement = connection.prepareStatement(INSERT_SQL_QUERY)) {
+            for (val name : missingNames) {
+                statement.setString(1, name);
+                statement.addBatch();
+            }
+
+            statement.executeBatch();
+        }
+
+        ids.putAll(select(connection, missingNames));
+
+        if (ids.size() != distinctNames.size()) {
+            throw new SQLException("Authors were not resolved! Resolved " + ids.size() + " of " + distinctNames.size());
+        }
+
+        return ids;
+    }
+
+    /**
+     * This method resolves keys of authors of books in own transaction of the stateless session
+     * and commits new authors before books are written. If other writer inserts the same author at the same time
+     * then the transaction is rolled back and authors are resolved again up to {@value #MAX_ATTEMPTS} times.
+     *
+     * @param session is the stateless session without active transaction. Session should not be null.
+     * @param books   is the books which authors will be resolved. Books should not be null.
+     * @throws IllegalArgumentException if author of the book is not set.
+     * @throws IllegalStateException    if authors were not resolved.
+     */
+    public void resolveAndCommit(@NonNull StatelessSession session, @NonNull Collection<? extends Book> books) {
+        for (int attempt = 1; ; attempt++) {
+            val transaction = session.beginTransaction();
+
+            try {
+                resolve(SessionUtil.getConnection(session), books);
+                transaction.commit();
+
+                return;
+            } catch (IllegalArgumentException e) {
+                transaction.rollback();
+                throw e;
+            } catch (SQLException | RuntimeException e) {
+                transaction.rollback();
+
+                if (attempt == MAX_ATTEMPTS) {
+                    throw new IllegalStateException("Authors were not resolved! " + e.getMessage(), e);
+                }
+
+                log.info("Authors were not resolved! Preparing to retry. Exception message: [{}]", e.getMessage());
+            }
+        }
+    }
+
+    private Map<String, Integer> select(Connection connection, List<String> names) throws SQLException {
+        val ids = new HashMap<String, Integer>();
+
+        for (int from = 0; from < names.size(); from += NAMES_CHUNK_SIZE) {
+            val chunk = names.subList(from, Math.min(from + NAMES_CHUNK_SIZE, names.size()));
+            val sqlQuery = SELECT_SQL_QUERY + "(" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+
+            try (val statement = connection.prepareStatement(sqlQuery)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    statement.setString(i + 1, chunk.get(i));
+                }
+
+                try (val resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        ids.put(resultSet.getString(2), resultSet.getInt(1));
+                    }
+                }
+            }
+        }
+
+        return ids;
+    }
+}
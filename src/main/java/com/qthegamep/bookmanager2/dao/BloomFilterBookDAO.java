@@ -0,0 +1,353 @@
+package com.qthegamep.bookmanager2.dao;
+
+import com.qthegamep.bookmanager2.cache.BloomFilter;
+import com.qthegamep.bookmanager2.entity.Book;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is a DAO decorator that answers {@link #existsByName(String)} and {@link #existsByAuthor(String)}
+ * by Bloom filters of names and authors of all books, so the database is queried only when the filter
+ * answers that the name or the author possibly exists.
+ * Filters are built by streaming all books with {@link BookCursor} when the decorator is created and they are
+ * sized for the larger of {@link #getExpectedInsertions()} and the count of books with the configured
+ * false positive probability. Names and authors of added, updated and upserted books are put to filters after
+ * the write, books that are written while filters are rebuilt are put to the new filters too.
+ * Removed names and authors stay in filters and only increase the count of database queries, so filters are
+ * rebuilt after every {@link #removeAll(List)}. Writes that bypass the decorator are not seen by filters,
+ * so filters should be rebuilt after them with {@link #rebuild()}.
+ */
+@Slf4j
+public class BloomFilterBookDAO implements BookDAO {
+
+    /**
+     * The constant is the default expected count of books.
+     */
+    public static final long DEFAULT_EXPECTED_INSERTIONS = 100_000;
+
+    /**
+     * The constant is the default false positive probability of filters.
+     */
+    public static final double DEFAULT_FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    private final BookDAO bookDAO;
+
+    @Getter
+    private final long expectedInsertions;
+
+    @Getter
+    private final double falsePositiveProbability;
+
+    private final LongAdder filteredChecks = new LongAdder();
+    private final LongAdder databaseChecks = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    private volatile Filters filters;
+    private volatile Filters rebuildingFilters;
+
+    /**
+     * This constructor creates decorator with the default expected count of books and false positive probability
+     * and builds filters from the database.
+     *
+     * @param bookDAO is the decorated DAO. DAO should not be null.
+     * @throws IllegalStateException if books can not be read from the database.
+     */
+    public BloomFilterBookDAO(BookDAO bookDAO) {
+        this(bookDAO, DEFAULT_EXPECTED_INSERTIONS, DEFAULT_FALSE_POSITIVE_PROBABILITY);
+    }
+
+    /**
+     * This constructor creates decorator with the given expected count of books and false positive probability
+     * and builds filters from the database.
+     *
+     * @param bookDAO                  is the decorated DAO. DAO should not be null.
+     * @param expectedInsertions       is the expected count of books.
+     * @param falsePositiveProbability is the probability of the database query for the name or the author
+     *                                 that doesn't exist.
+     * @throws IllegalArgumentException if expected insertions is not positive or the false positive probability
+     *                                  is not between 0 and 1.
+     * @throws IllegalStateException    if books can not be read from the database.
+     */
+    public BloomFilterBookDAO(@NonNull BookDAO bookDAO, long expectedInsertions, double falsePositiveProbability) {
+        this.bookDAO = bookDAO;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+
+        filters = new Filters(expectedInsertions, falsePositiveProbability);
+
+        rebuild();
+    }
+
+    /**
+     * This method rebuilds filters of names and authors by streaming all books from the database.
+     * Checks use old filters until new filters are built. If there are more books than the filters were sized for,
+     * they are built again for the count of books.
+     *
+     * @throws IllegalStateException if books can not be read from the database.
+     */
+    public synchronized void rebuild() {
+        log.info("Preparing to rebuild Bloom filters of names and authors");
+
+        var size = Math.max(expectedInsertions, filters.books);
+        var newFilters = load(size);
+
+        if (newFilters.books > size) {
+            log.info("Count of books {} is greater than size of Bloom filters {}! Preparing to rebuild them again",
+                    newFilters.books,
+                    size
+            );
+
+            newFilters = load(newFilters.books);
+        }
+
+        filters = newFilters;
+        rebuildingFilters = null;
+
+        log.info("Preparing to rebuild Bloom filters of names and authors was done successful! Indexed {} books",
+                newFilters.books
+        );
+    }
+
+    /**
+     * This method returns count of checks that were answered by filters without the database query.
+     *
+     * @return count of checks without the database query.
+     */
+    public long getFilteredChecks() {
+        return filteredChecks.sum();
+    }
+
+    /**
+     * This method returns count of checks that were passed to the database after filters answered that the name
+     * or the author possibly exists.
+     *
+     * @return count of checks with the database query.
+     */
+    public long getDatabaseChecks() {
+        return databaseChecks.sum();
+    }
+
+    /**
+     * This method returns count of checks that were passed to the database but the name or the author didn't exist.
+     *
+     * @return count of false positive answers of filters.
+     */
+    public long getFalsePositives() {
+        return falsePositives.sum();
+    }
+
+    /**
+     * This method returns filter of names of books.
+     *
+     * @return current filter of names.
+     */
+    public BloomFilter getNameFilter() {
+        return filters.names;
+    }
+
+    /**
+     * This method returns filter of authors of books.
+     *
+     * @return current filter of authors.
+     */
+    public BloomFilter getAuthorFilter() {
+        return filters.authors;
+    }
+
+    @Override
+    public boolean add(Book book) {
+        val isAdded = bookDAO.add(book);
+
+        index(List.of(book));
+
+        return isAdded;
+    }
+
+    @Override
+    public boolean addAll(List<? extends Book> books) {
+        val isAdded = bookDAO.addAll(books);
+
+        index(books);
+
+        return isAdded;
+    }
+
+    @Override
+    public Book getById(int id) {
+        return bookDAO.getById(id);
+    }
+
+    @Override
+    public MultiGetResult getByIds(int[] ids) {
+        return bookDAO.getByIds(ids);
+    }
+
+    @Override
+    public MultiGetResult getByIds(Collection<Integer> ids) {
+        return bookDAO.getByIds(ids);
+    }
+
+    @Override
+    public List<Book> getByName(String name) {
+        return bookDAO.getByName(name);
+    }
+
+    @Override
+    public List<Book> getByAuthor(String author) {
+        return bookDAO.getByAuthor(author);
+    }
+
+    @Override
+    public List<Book> getByPrintYear(int printYear) {
+        return bookDAO.getByPrintYear(printYear);
+    }
+
+    @Override
+    public List<Book> getByIsRead(boolean isRead) {
+        return bookDAO.getByIsRead(isRead);
+    }
+
+    @Override
+    public List<Book> getAll() {
+        return bookDAO.getAll();
+    }
+
+    @Override
+    public List<Book> search(BookCriteria criteria) {
+        return bookDAO.search(criteria);
+    }
+
+    @Override
+    public boolean existsByName(@NonNull String name) {
+        if (!filters.names.mightContain(name)) {
+            filteredChecks.increment();
+            return false;
+        }
+
+        return check(bookDAO.existsByName(name));
+    }
+
+    @Override
+    public boolean existsByAuthor(@NonNull String author) {
+        if (!filters.authors.mightContain(author)) {
+            filteredChecks.increment();
+            return false;
+        }
+
+        return check(bookDAO.existsByAuthor(author));
+    }
+
+    @Override
+    public UpdateResult update(Book book) {
+        val result = bookDAO.update(book);
+
+        index(List.of(book));
+
+        return result;
+    }
+
+    @Override
+    public UpdateResult updateAll(List<? extends Book> books) {
+        val result = bookDAO.updateAll(books);
+
+        index(books);
+
+        return result;
+    }
+
+    @Override
+    public boolean remove(Book book) {
+        return bookDAO.remove(book);
+    }
+
+    @Override
+    public boolean removeAll(List<? extends Book> books) {
+        val isRemoved = bookDAO.removeAll(books);
+
+        if (!books.isEmpty()) {
+            rebuild();
+        }
+
+        return isRemoved;
+    }
+
+    @Override
+    public boolean upsertAll(List<? extends Book> books) {
+        val isUpserted = bookDAO.upsertAll(books);
+
+        index(books);
+
+        return isUpserted;
+    }
+
+    private Filters load(long size) {
+        val newFilters = new Filters(size, falsePositiveProbability);
+
+        rebuildingFilters = newFilters;
+
+        try (val bookCursor = new BookCursor()) {
+            while (bookCursor.next()) {
+                newFilters.put(bookCursor.getName(), bookCursor.getAuthor());
+                newFilters.books++;
+            }
+        } catch (RuntimeException e) {
+            rebuildingFilters = null;
+            throw e;
+        }
+
+        return newFilters;
+    }
+
+    private void index(List<? extends Book> books) {
+        val newFilters = rebuildingFilters;
+        val currentFilters = filters;
+
+        for (val book : books) {
+            currentFilters.put(book.getName(), book.getAuthor());
+
+            if (newFilters != null) {
+                newFilters.put(book.getName(), book.getAuthor());
+            }
+        }
+    }
+
+    private boolean check(boolean exists) {
+        databaseChecks.increment();
+
+        if (!exists) {
+            falsePositives.increment();
+        }
+
+        return exists;
+    }
+
+    private static class Filters {
+
+        private final BloomFilter names;
+        private final BloomFilter authors;
+
+        private long books;
+
+        private Filters(long size, double falsePositiveProbability) {
+            names = new BloomFilter(size, falsePositiveProbability);
+            authors = new BloomFilter(size, falsePositiveProbability);
+        }
+
+        private void put(String name, String author) {
+            if (name != null) {
+                names.put(name);
+            }
+
+            if (author != null) {
+                authors.put(author);
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.qthegamep.bookmanager2.dao;
+
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import org.hibernate.StatelessSession;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * This class is a writer that inserts books with JDBC batches through own stateless session.
+ * Every call of {@link #write(List)} is one transaction, so the writer is used by bulk operations
+ * that commit data in chunks. New authors of books are committed with {@link AuthorDictionary} before the batch,
+ * so they stay in the dictionary if the batch fails. The writer is not thread-safe, every thread should use own writer.
+ */
+@Slf4j
+public class BookBatchWriter implements AutoCloseable {
+
+    /**
+     * The constant is the sql query that inserts one book.
+     */
+    public static final String INSERT_SQL_QUERY = "insert into BOOKS (NAME, AUTHOR_ID, PRINT_YEAR, IS_READ) values (?, ?, ?, ?)";
+
+    /**
+     * The constant is the sql query that inserts one book with the given id.
+     */
+    public static final String INSERT_WITH_ID_SQL_QUERY = "insert into BOOKS (ID, NAME, AUTHOR_ID, PRINT_YEAR, IS_READ) values (?, ?, ?, ?, ?)";
+
+    private final StatelessSession session;
+
+    private final AuthorDictionary authorDictionary = new AuthorDictionary();
+
+    /**
+     * This constructor creates writer with new stateless session.
+     */
+    public BookBatchWriter() {
+        session = SessionUtil.openStatelessSession();
+    }
+
+    /**
+     * This method inserts books with one JDBC batch in one transaction.
+     * If insert fails then the transaction is rolled back and none of the books are inserted.
+     *
+     * @param books is the books that will be inserted. Books should not be null.
+     * @return count of inserted books.
+     * @throws IllegalArgumentException if author of the book is not set.
+     * @throws IllegalStateException    if books were not inserted.
+     */
+    public int write(@NonNull List<? extends Book> books) {
+        return insert(books, false);
+    }
+
+    /**
+     * This method inserts books with their ids with one JDBC batch in one transaction.
+     * It is used to restore books with the same ids. Next generated id is greater than the inserted ids.
+     * If insert fails then the transaction is rolled back and none of the books are inserted.
+     *
+     * @param books is the books with ids that will be inserted. Books should not be null.
+     * @return count of inserted books.
+     * @throws IllegalArgumentException if author of the book is not set.
+     * @throws IllegalStateException    if books were not inserted.
+     */
+    public int writeWithIds(@NonNull List<? extends Book> books) {
+        return insert(books, true);
+    }
+
+    /**
+     * This method closes the stateless session of the writer.
+     */
+    @Override
+    public void close() {
+        session.close();
+    }
+
+    private int insert(List<? extends Book> books, boolean withIds) {
+        if (books.isEmpty()) {
+            return 0;
+        }
+
+        authorDictionary.resolveAndCommit(session, books);
+
+        val transaction = session.beginTransaction();
+        val offset = withIds ? 1 : 0;
+
+        try (val statement = SessionUtil.getConnection(session).prepareStatement(withIds ? INSERT_WITH_ID_SQL_QUERY : INSERT_SQL_QUERY)) {
+            for (val book : books) {
+                if (withIds) {
+                    statement.setInt(1, book.getId());
+                }
+
+                statement.setString(offset + 1, book.getName());
+                statement.setInt(offset + 2, book.getAuthorEntity().getId());
+                statement.setInt(offset + 3, book.getPrintYear());
+                statement.setBoolean(offset + 4, book.isRead());
+                statement.addBatch();
+            }
+
+            statement.executeBatch();
+            transaction.commit();
+        } catch (SQLException | RuntimeException e) {
+            log.info("Preparing to rollback batch of {} books", books.size());
+
+            transaction.rollback();
+            throw new IllegalStateException("Batch of " + books.size() + " books was not inserted! " + e.getMessage(), e);
+        }
+
+        return books.size();
+    }
+}
@@ -0,0 +1,208 @@
+package com.qthegamep.bookmanager2.dao;
+
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.entity.BookChange;
+import com.qthegamep.bookmanager2.entity.ChangeOperation;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import org.hibernate.Session;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is the change feed of books that is stored in the BOOK_CHANGES table.
+ * Changes are recorded by {@link BookDAOImpl} with one JDBC batch in the transaction of the operation,
+ * so only committed operations are in the feed. Consumers read changes after the last sequence number
+ * they have seen instead of reading all books. Bulk import and snapshot restore are not recorded.
+ * Sequence numbers are taken at insert but changes become visible at commit, so writers are not serialized
+ * and a change with a greater sequence number can be committed before a change with a smaller one.
+ * Changes are returned only up to the first missing sequence number, so the consumer doesn't skip changes that
+ * are not committed yet. The missing sequence number is skipped when it was missing longer than
+ * {@link #getGapTimeout()} because sequence numbers of rolled back transactions are never committed.
+ */
+@Slf4j
+public class BookChangeLog {
+
+    /**
+     * The constant is the default time in milliseconds after which the missing sequence number is skipped.
+     */
+    public static final long DEFAULT_GAP_TIMEOUT = 10_000;
+
+    /**
+     * The constant is the sql query that inserts one change.
+     */
+    public static final String INSERT_SQL_QUERY = "insert into BOOK_CHANGES (OPERATION, BOOK_ID, NAME, AUTHOR, PRINT_YEAR, IS_READ) "
+            + "values (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Time in milliseconds after which the missing sequence number is considered as rolled back and skipped.
+     * Transactions that record changes should be committed faster, otherwise their changes can be skipped.
+     */
+    @Getter
+    @Setter
+    private long gapTimeout = DEFAULT_GAP_TIMEOUT;
+
+    private final Map<Long, Long> gaps = new ConcurrentHashMap<>();
+
+    /**
+     * This method records changes of books in the current transaction of the session.
+     * Removed books are recorded only with id, books without id are recorded without id.
+     *
+     * @param session   is the session with active transaction of the operation. Session should not be null.
+     * @param operation is the operation that was done with books. Operation should not be null.
+     * @param books     is the changed books. Books should not be null.
+     */
+    public void record(@NonNull Session session, @NonNull ChangeOperation operation, @NonNull List<? extends Book> books) {
+        if (books.isEmpty()) {
+            return;
+        }
+
+        log.info("Preparing to record {} changes of {} books", operation, books.size());
+
+        session.doWork(connection -> insert(connection, operation, books));
+
+        log.info("Preparing to record {} changes of {} books was done successful", operation, books.size());
+    }
+
+    /**
+     * This method records changes of books in the current transaction of the connection.
+     * It is used by bulk operations that work through own stateless sessions.
+     *
+     * @param connection is the connection with active transaction of the operation. Connection should not be null.
+     * @param operation  is the operation that was done with books. Operation should not be null.
+     * @param books      is the changed books. Books should not be null.
+     * @throws SQLException if changes were not inserted.
+     */
+    public void record(@NonNull Connection connection,
+                       @NonNull ChangeOperation operation,
+                       @NonNull List<? extends Book> books) throws SQLException {
+        if (books.isEmpty()) {
+            return;
+        }
+
+        log.info("Preparing to record {} changes of {} books", operation, books.size());
+
+        insert(connection, operation, books);
+
+        log.info("Preparing to record {} changes of {} books was done successful", operation, books.size());
+    }
+
+    /**
+     * This method returns changes with sequence number greater than the given one in the order of sequence numbers.
+     * Changes after the missing sequence number are not returned until it is committed or skipped after
+     * {@link #getGapTimeout()}, so the consumer can continue from the greatest returned sequence number.
+     *
+     * @param sequence is the last sequence number that was read by the consumer. Use 0 to read from the beginning.
+     * @param limit    is the maximum count of returned changes.
+     * @return list of changes. If there are no new changes then return empty list.
+     * @throws IllegalArgumentException if limit is not positive.
+     */
+    public List<BookChange> changesSince(long sequence, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit should be positive but was " + limit);
+        }
+
+        log.info("Preparing to get {} changes since sequence = [{}]", limit, sequence);
+
+        val session = SessionUtil.openTransactionSession();
+
+        List<BookChange> changes;
+
+        try {
+            changes = session.createQuery("from BookChange where sequence > :sequence order by sequence", BookChange.class)
+                    .setParameter("sequence", sequence)
+                    .setMaxResults(limit)
+                    .list();
+        } finally {
+            SessionUtil.closeTransactionSession();
+        }
+
+        val committedChanges = withoutGaps(sequence, changes);
+
+        log.info("Preparing to get changes since sequence = [{}] was done successful! Gotten {} changes",
+                sequence,
+                committedChanges.size()
+        );
+
+        return committedChanges;
+    }
+
+    private List<BookChange> withoutGaps(long sequence, List<BookChange> changes) {
+        val now = System.nanoTime();
+        val timeout = TimeUnit.MILLISECONDS.toNanos(gapTimeout);
+
+        gaps.values().removeIf(firstSeen -> now - firstSeen > 2 * timeout);
+
+        var expectedSequence = sequence + 1;
+
+        for (int i = 0; i < changes.size(); i++) {
+            val changeSequence = changes.get(i).getSequence();
+
+            if (changeSequence > expectedSequence) {
+                val firstSeen = gaps.computeIfAbsent(expectedSequence, gap -> now);
+
+                if (now - firstSeen < timeout) {
+                    log.info("Sequence numbers from {} to {} are not committed yet! Changes after them will be returned later",
+                            expectedSequence,
+                            changeSequence - 1
+                    );
+
+                    return new ArrayList<>(changes.subList(0, i));
+                }
+
+                log.info("Sequence numbers from {} to {} were not committed for {} ms! They are skipped",
+                        expectedSequence,
+                        changeSequence - 1,
+                        gapTimeout
+                );
+            }
+
+            expectedSequence = changeSequence + 1;
+        }
+
+        return changes;
+    }
+
+    private void insert(Connection connection, ChangeOperation operation, List<? extends Book> books) throws SQLException {
+        try (val statement = connection.prepareStatement(INSERT_SQL_QUERY)) {
+            for (val book : books) {
+                statement.setString(1, operation.name());
+
+                if (book.getId() > 0) {
+                    statement.setInt(2, book.getId());
+                } else {
+                    statement.setNull(2, Types.INTEGER);
+                }
+
+                if (operation == ChangeOperation.REMOVE) {
+                    statement.setNull(3, Types.VARCHAR);
+                    statement.setNull(4, Types.VARCHAR);
+                    statement.setNull(5, Types.INTEGER);
+                    statement.setNull(6, Types.BOOLEAN);
+                } else {
+                    statement.setString(3, book.getName());
+                    statement.setString(4, book.getAuthor());
+                    statement.setInt(5, book.getPrintYear());
+                    statement.setBoolean(6, book.isRead());
+                }
+
+                statement.addBatch();
+            }
+
+            statement.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.qthegamep.bookmanager2.dao;
+
+import lombok.Data;
+
+/**
+ * This class contains criteria of the search of books in {@link BookDAO#search(BookCriteria)}.
+ * Every criterion that is null is not applied, so empty criteria return all books in the order of id.
+ * Books that match all applied criteria are returned.
+ * There is an no args constructor with default criteria, getters and setters for fields.
+ */
+@Data
+public class BookCriteria {
+
+    /**
+     * Name of the author of books.
+     */
+    private String author;
+
+    /**
+     * Name of books.
+     */
+    private String name;
+
+    /**
+     * Minimal print year of books, inclusive.
+     */
+    private Integer fromPrintYear;
+
+    /**
+     * Maximal print year of books, inclusive.
+     */
+    private Integer toPrintYear;
+
+    /**
+     * Whether books are read.
+     */
+    private Boolean isRead;
+
+    /**
+     * Field by which books are sorted. By default books are sorted by id.
+     */
+    private BookSortField sortField = BookSortField.ID;
+
+    /**
+     * Whether books are sorted in the descending order of the sort field.
+     */
+    private boolean descending;
+
+    /**
+     * Maximum count of returned books. By default the count is not limited.
+     */
+    private int limit;
+}
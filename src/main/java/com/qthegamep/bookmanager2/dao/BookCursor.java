@@ -0,0 +1,198 @@
+package com.qthegamep.bookmanager2.dao;
+
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * This class is a forward-only cursor over all books in the order of id.
+ * The cursor reads columns of the current row without creating entities and works through own stateless session,
+ * so bulk reads don't keep books in memory. MySQL streams rows only with {@link Integer#MIN_VALUE} fetch size
+ * and H2 materializes results unless lazy query execution is enabled, so the cursor is configured according
+ * to the database. The cursor is not thread-safe and should be closed after use.
+ */
+@Slf4j
+public class BookCursor implements AutoCloseable {
+
+    /**
+     * The constant is the sql query that reads all books with names of their authors in the order of id.
+     */
+    public static final String SELECT_SQL_QUERY = "select b.ID, b.NAME, a.NAME, b.PRINT_YEAR, b.IS_READ "
+            + "from BOOKS b left join AUTHORS a on a.ID = b.AUTHOR_ID order by b.ID";
+
+    /**
+     * The constant is the default count of rows that are fetched from the database at once.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
+    private static final String H2_LAZY_QUERY_EXECUTION_SQL_QUERY = "SET LAZY_QUERY_EXECUTION ";
+
+    private final StatelessSession session;
+    private final Transaction transaction;
+    private final Connection connection;
+    private final boolean h2;
+
+    private PreparedStatement statement;
+    private ResultSet resultSet;
+
+    /**
+     * This constructor opens cursor with default fetch size.
+     */
+    public BookCursor() {
+        this(DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * This constructor opens cursor with the given fetch size.
+     *
+     * @param fetchSize is the count of rows that are fetched from the database at once.
+     * @throws IllegalStateException if the cursor can not be opened.
+     */
+    public BookCursor(int fetchSize) {
+        session = SessionUtil.openStatelessSession();
+        transaction = session.beginTransaction();
+        connection = SessionUtil.getConnection(session);
+
+        try {
+            val databaseName = connection.getMetaData().getDatabaseProductName();
+
+            h2 = databaseName.equalsIgnoreCase("H2");
+
+            setH2LazyQueryExecution(true);
+
+            statement = connection.prepareStatement(SELECT_SQL_QUERY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(databaseName.equalsIgnoreCase("MySQL") ? Integer.MIN_VALUE : fetchSize);
+
+            resultSet = statement.executeQuery();
+        } catch (SQLException e) {
+            close();
+            throw new IllegalStateException("Cursor was not opened! " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * This method moves the cursor to the next book.
+     *
+     * @return true if the cursor is on the next book and false if there are no more books.
+     */
+    public boolean next() {
+        try {
+            return resultSet.next();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Next book was not read! " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * This method returns id of the current book.
+     *
+     * @return id of the current book.
+     */
+    public int getId() {
+        try {
+            return resultSet.getInt(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * This method returns name of the current book.
+     *
+     * @return name of the current book.
+     */
+    public String getName() {
+        try {
+            return resultSet.getString(2);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * This method returns author of the current book.
+     *
+     * @return author of the current book.
+     */
+    public String getAuthor() {
+        try {
+            return resultSet.getString(3);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * This method returns print year of the current book.
+     *
+     * @return print year of the current book.
+     */
+    public int getPrintYear() {
+        try {
+            return resultSet.getInt(4);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * This method returns whether the current book is read.
+     *
+     * @return is read of the current book.
+     */
+    public boolean isRead() {
+        try {
+            return resultSet.getBoolean(5);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * This method closes the result set, commits the read transaction and closes the stateless session.
+     */
+    @Override
+    public void close() {
+        try {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+
+            if (statement != null) {
+                statement.close();
+            }
+
+            setH2LazyQueryExecution(false);
+
+            if (transaction.isActive()) {
+                transaction.commit();
+            }
+        } catch (SQLException e) {
+            log.info("Cursor was not closed correctly! Exception message: [{}]",
+                    e.getMessage(),
+                    e
+            );
+        } finally {
+            session.close();
+        }
+    }
+
+    private void setH2LazyQueryExecution(boolean enabled) throws SQLException {
+        if (!h2) {
+            return;
+        }
+
+        try (val lazyQueryExecutionStatement = connection.createStatement()) {
+            lazyQueryExecutionStatement.execute(H2_LAZY_QUERY_EXECUTION_SQL_QUERY + (enabled ? 1 : 0));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.qthegamep.bookmanager2.dao;
 
 import com.qthegamep.bookmanager2.entity.Book;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -14,26 +15,46 @@ public interface BookDAO {
      * This method should be transactional.
      *
      * @param book is the entity object that will be added to the database.
+     * @return true if the book was added, false if it was not added because of the error.
      */
-    void add(Book book);
+    boolean add(Book book);
 
     /**
      * This DAO method should add list of books entities objects to the database.
      * This method should be transactional.
      *
      * @param books is the list of entities objects that will be added to the database.
+     * @return true if the books were added, false if they were not added because of the error.
      */
-    void addAll(List<? extends Book> books);
+    boolean addAll(List<? extends Book> books);
 
     /**
      * This DAO method should return book entity object from the database by id.
      * This method should be transactional.
      *
      * @param id is the parameter by which the entity object will be returned.
-     * @return book entity object.
+     * @return book entity object. If id doesn't exist then return null.
      */
     Book getById(int id);
 
+    /**
+     * This DAO method should return books entities objects from the database by many ids with one session.
+     * This method should be transactional.
+     *
+     * @param ids is the ids by which the entities objects will be returned.
+     * @return result with books in the order of ids and ids that were not found.
+     */
+    MultiGetResult getByIds(int[] ids);
+
+    /**
+     * This DAO method should return books entities objects from the database by many ids with one session.
+     * This method should be transactional.
+     *
+     * @param ids is the ids by which the entities objects will be returned.
+     * @return result with books in the order of ids and ids that were not found.
+     */
+    MultiGetResult getByIds(Collection<Integer> ids);
+
     /**
      * This DAO method should return list of books entities objects from the database by name.
      * This method should be transactional.
@@ -79,34 +100,80 @@ public interface BookDAO {
     List<Book> getAll();
 
     /**
-     * This DAO method should update book entity object in the database.
+     * This DAO method should return list of books entities objects from the database
+     * that match all criteria by one query, sorted and limited according to the criteria.
+     * This method should be transactional.
+     *
+     * @param criteria is the criteria by which the list of entities objects will be returned.
+     * @return list of books entities objects.
+     */
+    List<Book> search(BookCriteria criteria);
+
+    /**
+     * This DAO method should check whether at least one book with the given name exists in the database.
+     * This method should be transactional.
+     *
+     * @param name is the parameter by which the existence of books will be checked.
+     * @return true if a book with the name exists.
+     */
+    boolean existsByName(String name);
+
+    /**
+     * This DAO method should check whether at least one book of the given author exists in the database.
+     * This method should be transactional.
+     *
+     * @param author is the parameter by which the existence of books will be checked.
+     * @return true if a book of the author exists.
+     */
+    boolean existsByAuthor(String author);
+
+    /**
+     * This DAO method should update book entity object in the database if it was not updated or removed
+     * by another writer after it was read.
      * This method should be transactional.
      *
      * @param book is the new entity that will be added to the database instead of the old one.
+     * @return result of the update with the book as a conflict if it was updated or removed by another writer
+     * or with the failure if the book was not updated because of the error.
      */
-    void update(Book book);
+    UpdateResult update(Book book);
 
     /**
-     * This DAO method should update list of books entities objects in the database.
+     * This DAO method should update list of books entities objects in the database if none of them were updated
+     * or removed by other writers after they were read.
      * This method should be transactional.
      *
      * @param books is the new entities that will be added to the database instead of the old ones.
+     * @return result of the update with books that were updated or removed by other writers as conflicts
+     * or with the failure if books were not updated because of the error.
      */
-    void updateAll(List<? extends Book> books);
+    UpdateResult updateAll(List<? extends Book> books);
 
     /**
      * This DAO method should delete book entity object from the database.
      * This method should be transactional.
      *
      * @param book is the entity that will be deleted from the database.
+     * @return true if the book was deleted, false if it was not deleted because of the error.
      */
-    void remove(Book book);
+    boolean remove(Book book);
 
     /**
      * This DAO method should delete list of books entities object from the database.
      * This method should be transactional.
      *
      * @param books is the entities that will be deleted from the database.
+     * @return true if the books were deleted, false if they were not deleted because of the error.
+     */
+    boolean removeAll(List<? extends Book> books);
+
+    /**
+     * This DAO method should insert books that don't exist and update books that exist in the database.
+     * Book with id is matched by id, book without id is matched by name, author and print year.
+     * This method should be transactional.
+     *
+     * @param books is the entities that will be inserted or updated in the database.
+     * @return true if the books were upserted, false if they were not upserted because of the error.
      */
-    void removeAll(List<? extends Book> books);
+    boolean upsertAll(List<? extends Book> books);
 }
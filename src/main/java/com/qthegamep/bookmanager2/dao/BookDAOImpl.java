@@ -1,33 +1,133 @@
 package com.qthegamep.bookmanager2.dao;
 
 import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.entity.ChangeOperation;
+import com.qthegamep.bookmanager2.event.DAOOperationEvent;
 import com.qthegamep.bookmanager2.util.SessionUtil;
 
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
+import org.hibernate.Session;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQLDialect;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class is DAO that implements all standard CRUD operations.
+ * Every operation is reported to Java Flight Recorder as {@link DAOOperationEvent}.
+ * Every committed write operation is recorded to the change feed of {@link BookChangeLog} if it is enabled.
+ * Authors of written books are resolved to the keys of the AUTHORS table with {@link AuthorDictionary}
+ * in the same transaction and books are read together with their authors by one join.
+ * Books are updated with optimistic locking by the VERSION column, so concurrent writers don't hold row locks
+ * and the update of the book that was changed by another writer is returned as a conflict in {@link UpdateResult}.
+ * Finders that don't filter by author use the left join, so H2 reads BOOKS in the order of the primary key
+ * and looks up authors by their keys instead of sorting books that are found through the foreign key index.
+ * Finders execute the named queries of {@link Book} that are compiled when the session factory is built,
+ * and ids are padded to the power of two, so chunks of different sizes share a few cached plans.
  */
 @Slf4j
 public class BookDAOImpl implements BookDAO {
 
+    /**
+     * The constant is the count of rows in one multi-row insert statement of {@link AddMode#MULTI_ROW} mode.
+     */
+    public static final int MULTI_ROW_SIZE = 100;
+
+    /**
+     * The constant is the maximum count of ids in one IN query of {@link #getByIds(int[])}.
+     */
+    public static final int IDS_CHUNK_SIZE = 500;
+
+    private static final String MULTI_ROW_INSERT_SQL_QUERY = "insert into BOOKS (NAME, AUTHOR_ID, PRINT_YEAR, IS_READ) values ";
+
+    private static final String MULTI_ROW_INSERT_VALUES = "(?, ?, ?, ?)";
+
+    /**
+     * The constant is the H2 sql query that inserts or updates one book by id.
+     * The version of the updated book is incremented, the key is repeated for the subquery of the version.
+     */
+    public static final String H2_MERGE_BY_ID_SQL_QUERY = "merge into BOOKS (ID, NAME, AUTHOR_ID, PRINT_YEAR, IS_READ, VERSION) "
+            + "key (ID) values (?, ?, ?, ?, ?, coalesce((select VERSION + 1 from BOOKS where ID = ?), 0))";
+
+    /**
+     * The constant is the MySQL sql query that inserts or updates one book by id.
+     * The version of the updated book is incremented.
+     */
+    public static final String MYSQL_UPSERT_BY_ID_SQL_QUERY = "insert into BOOKS (ID, NAME, AUTHOR_ID, PRINT_YEAR, IS_READ) "
+            + "values (?, ?, ?, ?, ?) on duplicate key update NAME = values(NAME), AUTHOR_ID = values(AUTHOR_ID), "
+            + "PRINT_YEAR = values(PRINT_YEAR), IS_READ = values(IS_READ), VERSION = VERSION + 1";
+
+    /**
+     * The constant is the sql query that updates books by name, author and print year.
+     * It is used instead of MERGE and on duplicate key update because books don't have unique natural key.
+     * Versions of updated books are incremented.
+     */
+    public static final String UPDATE_BY_NATURAL_KEY_SQL_QUERY = "update BOOKS set IS_READ = ?, VERSION = VERSION + 1 "
+            + "where NAME = ? and AUTHOR_ID = ? and PRINT_YEAR = ?";
+
+    /**
+     * The constant is the sql query that updates one book by id if its version was not changed by another writer.
+     * The version of the book is incremented.
+     */
+    public static final String UPDATE_BY_ID_AND_VERSION_SQL_QUERY = "update BOOKS set NAME = ?, AUTHOR_ID = ?, "
+            + "PRINT_YEAR = ?, IS_READ = ?, VERSION = VERSION + 1 where ID = ? and VERSION = ?";
+
+    private static final Map<Integer, String> SEARCH_HQL_QUERIES = new ConcurrentHashMap<>();
+
+    @Getter
+    @Setter
+    @NonNull
+    private AddMode addMode = AddMode.SESSION;
+
+    @Getter
+    @Setter
+    @NonNull
+    private BookChangeLog bookChangeLog = new BookChangeLog();
+
+    @Getter
+    @Setter
+    private boolean changeFeedEnabled = true;
+
+    @Getter
+    @Setter
+    @NonNull
+    private AuthorDictionary authorDictionary = new AuthorDictionary();
+
     /**
      * This DAO method implements adding book entity object to the database.
      * This method is transactional.
      *
      * @param book is the entity object that will be added to the database.
      *             Book should not be null.
+     * @return true if the book was added, false if the transaction was rolled back because of the error.
      */
     @Override
-    public void add(@NonNull Book book) {
+    public boolean add(@NonNull Book book) {
         log.info("Preparing to execute CREATE CRUD operation");
 
+        val event = DAOOperationEvent.start("add", 1);
         val session = SessionUtil.openTransactionSession();
 
+        var isAdded = false;
+
         try {
             log.info("Preparing to add entity! Entity to add: NAME = {}, AUTHOR = {}, PRINT_YEAR  = {}, IS_READ = {}",
                     book.getName(),
@@ -36,7 +136,11 @@ public class BookDAOImpl implements BookDAO {
                     book.isRead()
             );
 
+            session.doWork(connection -> authorDictionary.resolve(connection, List.of(book)));
             session.save(book);
+            recordChanges(session, ChangeOperation.ADD, List.of(book));
+            isAdded = true;
+            event.setRowCount(1);
             log.info("Preparing to add entity was done successful! Entity was added to the database");
         } catch (Exception e) {
             log.info("Preparing to rollback");
@@ -50,26 +154,46 @@ public class BookDAOImpl implements BookDAO {
 
         SessionUtil.closeTransactionSession();
 
+        event.finish();
+
         log.info("Preparing to execute CREATE CRUD operation was done successful");
+
+        return isAdded;
     }
 
     /**
      * This DAO method implements adding list of books entities objects to the database.
+     * Books are saved by the session or inserted with multi-row insert statements according to the add mode.
      * This method is transactional.
      *
      * @param books is the list of entities objects that will be added to the database.
      *              Books should not be null.
+     * @return true if the books were added, false if the transaction was rolled back because of the error.
      */
     @Override
-    public void addAll(@NonNull List<? extends Book> books) {
+    public boolean addAll(@NonNull List<? extends Book> books) {
         log.info("Preparing to execute CREATE CRUD operation");
 
+        val event = DAOOperationEvent.start("addAll", books.size());
         val session = SessionUtil.openTransactionSession();
 
+        var isAdded = false;
+
         try {
             log.info("Preparing to add list of entities! Entities to add: {}", books);
 
-            books.forEach(session::save);
+            session.doWork(connection -> authorDictionary.resolve(connection, books));
+
+            if (addMode == AddMode.MULTI_ROW) {
+                session.doWork(connection -> insertMultiRow(connection, books));
+            } else {
+                books.forEach(session::save);
+            }
+
+            recordChanges(session, ChangeOperation.ADD, books);
+
+            isAdded = true;
+            event.setRowCount(books.size());
             log.info("Preparing to add list of entities was done successful! All entities was added to the database");
         } catch (Exception e) {
             log.info("Preparing to rollback");
@@ -83,21 +207,27 @@ public class BookDAOImpl implements BookDAO {
 
         SessionUtil.closeTransactionSession();
 
+        event.finish();
+
         log.info("Preparing to execute CREATE CRUD operation was done successful");
+
+        return isAdded;
     }
 
     /**
      * This DAO method implements returning book entity object from the database by id.
+     * The book is read eagerly together with its author by one query, so the returned book is a plain detached
+     * entity object and not a lazy proxy that is initialized after the query.
      * This method is transactional.
      *
      * @param id is the parameter by which the entity object will be returned.
-     *           If id doesn't exist then will be thrown {@link org.hibernate.ObjectNotFoundException}.
-     * @return book entity object.
+     * @return book entity object. If id doesn't exist then return null.
      */
     @Override
     public Book getById(int id) {
         log.info("Preparing to execute READ CRUD operation");
 
+        val event = DAOOperationEvent.start("getById", 1);
         val session = SessionUtil.openTransactionSession();
 
         Book book;
@@ -105,17 +235,26 @@ public class BookDAOImpl implements BookDAO {
         try {
             log.info("Preparing to get entity from the database by id = [{}]", id);
 
-            book = session.load(Book.class, id);
-            log.info("Gotten entity: ID = {}, NAME = {}, AUTHOR = {}, PRINT_YEAR  = {}, IS_READ = {} - was gotten",
-                    book.getId(),
-                    book.getName(),
-                    book.getAuthor(),
-                    book.getPrintYear(),
-                    book.isRead()
-            );
+            book = session.get(Book.class, id);
+
+            if (book == null) {
+                log.info("Entity with id = [{}] doesn't exist", id);
+            } else {
+                log.info("Gotten entity: ID = {}, NAME = {}, AUTHOR = {}, PRINT_YEAR  = {}, IS_READ = {} - was gotten",
+                        book.getId(),
+                        book.getName(),
+                        book.getAuthor(),
+                        book.getPrintYear(),
+                        book.isRead()
+                );
+            }
+
+            event.setRowCount(book == null ? 0 : 1);
         } finally {
             SessionUtil.closeTransactionSession();
             log.info("Preparing to get entity from the database by id was done successful");
+
+            event.finish();
         }
 
         log.info("Preparing to execute READ CRUD operation was done successful");
@@ -123,6 +262,80 @@ public class BookDAOImpl implements BookDAO {
         return book;
     }
 
+    /**
+     * This DAO method implements returning books entities objects from the database by many ids.
+     * Distinct ids are sorted in the primitive array and resolved with IN queries of {@value #IDS_CHUNK_SIZE} ids
+     * in one session, so ids are boxed only for the parameter of one query.
+     * This method is transactional.
+     *
+     * @param ids is the ids by which the entities objects will be returned. Ids should not be null.
+     * @return result with books in the order of ids and distinct ids that were not found.
+     */
+    @Override
+    public MultiGetResult getByIds(@NonNull int[] ids) {
+        log.info("Preparing to execute READ CRUD operation");
+
+        val event = DAOOperationEvent.start("getByIds", ids.length);
+        val distinctIds = Arrays.stream(ids).sorted().distinct().toArray();
+        val foundBooks = new Book[distinctIds.length];
+
+        try {
+            val session = SessionUtil.openTransactionSession();
+
+            try {
+                log.info("Preparing to get entities from the database by {} ids", ids.length);
+
+                for (int from = 0; from < distinctIds.length; from += IDS_CHUNK_SIZE) {
+                    val to = Math.min(from + IDS_CHUNK_SIZE, distinctIds.length);
+                    val chunk = new ArrayList<Integer>(to - from);
+
+                    for (int i = from; i < to; i++) {
+                        chunk.add(distinctIds[i]);
+                    }
+
+                    val books = session.createNamedQuery(Book.GET_BY_IDS_QUERY, Book.class)
+                            .setParameterList("ids", chunk)
+                            .list();
+
+                    for (val book : books) {
+                        foundBooks[Arrays.binarySearch(distinctIds, book.getId())] = book;
+                    }
+                }
+            } finally {
+                SessionUtil.closeTransactionSession();
+            }
+
+            val result = orderByIds(ids, distinctIds, foundBooks);
+
+            log.info("Preparing to get entities from the database by ids was done successful! Gotten {} entities, missing ids: {}",
+                    result.getBooks().size(),
+                    Arrays.toString(result.getMissingIds())
+            );
+
+            event.setRowCount(result.getBooks().size());
+
+            log.info("Preparing to execute READ CRUD operation was done successful");
+
+            return result;
+        } finally {
+            event.finish();
+        }
+    }
+
+    /**
+     * This DAO method implements returning books entities objects from the database by many ids.
+     * It works as {@link #getByIds(int[])}.
+     * This method is transactional.
+     *
+     * @param ids is the ids by which the entities objects will be returned. Ids should not be null
+     *            and should not contain null.
+     * @return result with books in the order of ids and distinct ids that were not found.
+     */
+    @Override
+    public MultiGetResult getByIds(@NonNull Collection<Integer> ids) {
+        return getByIds(ids.stream().mapToInt(Integer::intValue).toArray());
+    }
+
     /**
      * This DAO method implements returning list of books entities objects from the database by name.
      * This method is transactional.
@@ -135,18 +348,23 @@ public class BookDAOImpl implements BookDAO {
     public List<Book> getByName(@NonNull String name) {
         log.info("Preparing to execute READ CRUD operation");
 
+        val event = DAOOperationEvent.start("getByName", 0);
         val session = SessionUtil.openTransactionSession();
 
         log.info("Preparing to get list of entities from the database by name = [{}]", name);
 
-        val books = session.createQuery("from Book where name = :name", Book.class)
+        val books = session.createNamedQuery(Book.GET_BY_NAME_QUERY, Book.class)
                 .setParameter("name", name)
                 .list();
         log.info("Gotten entities: {}", books);
 
+        event.setRowCount(books.size());
+
         SessionUtil.closeTransactionSession();
         log.info("Preparing to get list of entities from the database by name was done successful");
 
+        event.finish();
+
         log.info("Preparing to execute READ CRUD operation was done successful");
 
         return books;
@@ -164,18 +382,23 @@ public class BookDAOImpl implements BookDAO {
     public List<Book> getByAuthor(@NonNull String author) {
         log.info("Preparing to execute READ CRUD operation");
 
+        val event = DAOOperationEvent.start("getByAuthor", 0);
         val session = SessionUtil.openTransactionSession();
 
         log.info("Preparing to get list of entities from the database by author = [{}]", author);
 
-        val books = session.createQuery("from Book where author = :author", Book.class)
+        val books = session.createNamedQuery(Book.GET_BY_AUTHOR_QUERY, Book.class)
                 .setParameter("author", author)
                 .list();
         log.info("Gotten entities: {}", books);
 
+        event.setRowCount(books.size());
+
         SessionUtil.closeTransactionSession();
         log.info("Preparing to get list of entities from the database by author was done successful");
 
+        event.finish();
+
         log.info("Preparing to execute READ CRUD operation was done successful");
 
         return books;
@@ -192,18 +415,23 @@ public class BookDAOImpl implements BookDAO {
     public List<Book> getByPrintYear(int printYear) {
         log.info("Preparing to execute READ CRUD operation");
 
+        val event = DAOOperationEvent.start("getByPrintYear", 0);
         val session = SessionUtil.openTransactionSession();
 
         log.info("Preparing to get list of entities from the database by printYear = [{}]", printYear);
 
-        val books = session.createQuery("from Book where printYear = :printYear", Book.class)
+        val books = session.createNamedQuery(Book.GET_BY_PRINT_YEAR_QUERY, Book.class)
                 .setParameter("printYear", printYear)
                 .list();
         log.info("Gotten entities: {}", books);
 
+        event.setRowCount(books.size());
+
         SessionUtil.closeTransactionSession();
         log.info("Preparing to get list of entities from the database by printYear was done successful");
 
+        event.finish();
+
         log.info("Preparing to execute READ CRUD operation was done successful");
 
         return books;
@@ -220,18 +448,23 @@ public class BookDAOImpl implements BookDAO {
     public List<Book> getByIsRead(boolean isRead) {
         log.info("Preparing to execute READ CRUD operation");
 
+        val event = DAOOperationEvent.start("getByIsRead", 0);
         val session = SessionUtil.openTransactionSession();
 
         log.info("Preparing to get list of entities from the database by isRead = [{}]", isRead);
 
-        val books = session.createQuery("from Book where isRead = :isRead", Book.class)
+        val books = session.createNamedQuery(Book.GET_BY_IS_READ_QUERY, Book.class)
                 .setParameter("isRead", isRead)
                 .list();
         log.info("Gotten entities: {}", books);
 
+        event.setRowCount(books.size());
+
         SessionUtil.closeTransactionSession();
         log.info("Preparing to get list of entities from the database by isRead was done successful");
 
+        event.finish();
+
         log.info("Preparing to execute READ CRUD operation was done successful");
 
         return books;
@@ -247,96 +480,277 @@ public class BookDAOImpl implements BookDAO {
     public List<Book> getAll() {
         log.info("Preparing to execute READ CRUD operation");
 
+        val event = DAOOperationEvent.start("getAll", 0);
         val session = SessionUtil.openTransactionSession();
 
         log.info("Preparing to get list of all entities from the database");
 
-        val books = session.createQuery("from Book", Book.class).list();
+        val books = session.createNamedQuery(Book.GET_ALL_QUERY, Book.class).list();
         log.info("Gotten entities: {}", books);
 
+        event.setRowCount(books.size());
+
         SessionUtil.closeTransactionSession();
         log.info("Preparing to get list of all entities from the database was done successful");
 
+        event.finish();
+
         log.info("Preparing to execute READ CRUD operation was done successful");
 
         return books;
     }
 
     /**
-     * This DAO method implements updating book entity object in the database.
+     * This DAO method implements returning list of books entities objects from the database
+     * that match all criteria by one parameterised query, sorted and limited according to the criteria.
+     * Queries are built once for every shape of the criteria by {@link #getSearchHqlQuery(BookCriteria)},
+     * so every shape has one cached plan. The author is joined with the inner join only if books are filtered by author.
      * This method is transactional.
      *
-     * @param book is the new entity that will be added to the database instead of the old one.
-     *             Book should not be null.
-     *             If book is incorrect then session will be closed without updating.
+     * @param criteria is the criteria by which the list of entities objects will be returned.
+     *                 Criteria should not be null.
+     * @return list of books entities objects. If there are no matching books then return empty list.
+     * @throws IllegalArgumentException if the limit is negative or the print year range is empty.
      */
     @Override
-    public void update(@NonNull Book book) {
-        log.info("Preparing to execute UPDATE CRUD operation");
+    public List<Book> search(@NonNull BookCriteria criteria) {
+        log.info("Preparing to execute READ CRUD operation");
 
+        if (criteria.getLimit() < 0) {
+            throw new IllegalArgumentException("Limit should not be negative but was " + criteria.getLimit());
+        }
+
+        if (criteria.getFromPrintYear() != null && criteria.getToPrintYear() != null
+                && criteria.getFromPrintYear() > criteria.getToPrintYear()) {
+            throw new IllegalArgumentException("From print year should not be greater than to print year but were "
+                    + criteria.getFromPrintYear() + " and " + criteria.getToPrintYear());
+        }
+
+        val searchHqlQuery = getSearchHqlQuery(criteria);
+        val event = DAOOperationEvent.start("search", 0);
         val session = SessionUtil.openTransactionSession();
 
-        try {
-            log.info("Preparing to update entity! " +
-                            "Entity to update: ID = {}, NAME = {}, AUTHOR = {}, PRINT_YEAR  = {}, IS_READ = {}",
-                    book.getId(),
-                    book.getName(),
-                    book.getAuthor(),
-                    book.getPrintYear(),
-                    book.isRead()
-            );
+        log.info("Preparing to search list of entities in the database by criteria = [{}]", criteria);
 
-            session.update(book);
-            log.info("Preparing to update entity was done successful");
+        val query = session.createQuery(searchHqlQuery, Book.class);
 
-            SessionUtil.closeTransactionSession();
-            log.info("Entity was updated in the database");
-        } catch (Exception e) {
-            log.info("Entity: {} was not updated!", book);
+        if (criteria.getAuthor() != null) {
+            query.setParameter("author", criteria.getAuthor());
+        }
 
-            SessionUtil.closeTransactionSession();
-            log.info("Exception message: [{}]",
-                    e.getMessage(),
-                    e
-            );
+        if (criteria.getName() != null) {
+            query.setParameter("name", criteria.getName());
+        }
+
+        if (criteria.getFromPrintYear() != null) {
+            query.setParameter("fromPrintYear", criteria.getFromPrintYear());
+        }
+
+        if (criteria.getToPrintYear() != null) {
+            query.setParameter("toPrintYear", criteria.getToPrintYear());
+        }
+
+        if (criteria.getIsRead() != null) {
+            query.setParameter("isRead", criteria.getIsRead());
+        }
+
+        if (criteria.getLimit() > 0) {
+            query.setMaxResults(criteria.getLimit());
+        }
+
+        val books = query.list();
+        log.info("Gotten entities: {}", books);
+
+        event.setRowCount(books.size());
+
+        SessionUtil.closeTransactionSession();
+        log.info("Preparing to search list of entities in the database by criteria was done successful");
+
+        event.finish();
+
+        log.info("Preparing to execute READ CRUD operation was done successful");
+
+        return books;
+    }
+
+    /**
+     * This DAO method implements checking whether at least one book with the given name exists in the database.
+     * Only the id of the first found book is read, so entities are not created.
+     * This method is transactional.
+     *
+     * @param name is the parameter by which the existence of books will be checked. Name should not be null.
+     * @return true if a book with the name exists.
+     */
+    @Override
+    public boolean existsByName(@NonNull String name) {
+        return exists("existsByName", Book.EXISTS_BY_NAME_QUERY, "name", name);
+    }
+
+    /**
+     * This DAO method implements checking whether at least one book of the given author exists in the database.
+     * Only the id of the first found book is read, so entities are not created.
+     * Authors without books are not counted as existing.
+     * This method is transactional.
+     *
+     * @param author is the parameter by which the existence of books will be checked. Author should not be null.
+     * @return true if a book of the author exists.
+     */
+    @Override
+    public boolean existsByAuthor(@NonNull String author) {
+        return exists("existsByAuthor", Book.EXISTS_BY_AUTHOR_QUERY, "author", author);
+    }
+
+    /**
+     * This method returns the HQL query of the search for the shape of the criteria.
+     * The shape is the set of applied criteria, the sort field and the order, values of criteria are parameters
+     * of the query. Queries are cached, so criteria of the same shape return the same query.
+     *
+     * @param criteria is the criteria of the search. Criteria should not be null.
+     * @return HQL query of the search.
+     * @throws NullPointerException if the sort field is null.
+     */
+    public static String getSearchHqlQuery(@NonNull BookCriteria criteria) {
+        val sortField = Objects.requireNonNull(criteria.getSortField(), "Sort field should not be null");
+
+        var shape = sortField.ordinal() << 6;
+
+        shape |= criteria.isDescending() ? 1 << 5 : 0;
+        shape |= criteria.getAuthor() != null ? 1 << 4 : 0;
+        shape |= criteria.getName() != null ? 1 << 3 : 0;
+        shape |= criteria.getFromPrintYear() != null ? 1 << 2 : 0;
+        shape |= criteria.getToPrintYear() != null ? 1 << 1 : 0;
+        shape |= criteria.getIsRead() != null ? 1 : 0;
+
+        return SEARCH_HQL_QUERIES.computeIfAbsent(shape, key -> buildSearchHqlQuery(criteria));
+    }
+
+    private static String buildSearchHqlQuery(BookCriteria criteria) {
+        val conditions = new ArrayList<String>();
+
+        if (criteria.getAuthor() != null) {
+            conditions.add("a.name = :author");
+        }
+
+        if (criteria.getName() != null) {
+            conditions.add("b.name = :name");
+        }
+
+        if (criteria.getFromPrintYear() != null) {
+            conditions.add("b.printYear >= :fromPrintYear");
+        }
+
+        if (criteria.getToPrintYear() != null) {
+            conditions.add("b.printYear <= :toPrintYear");
+        }
+
+        if (criteria.getIsRead() != null) {
+            conditions.add("b.isRead = :isRead");
         }
 
+        val searchHqlQuery = new StringBuilder(criteria.getAuthor() != null
+                ? "from Book b join fetch b.author a"
+                : "from Book b left join fetch b.author a");
+
+        if (!conditions.isEmpty()) {
+            searchHqlQuery.append(" where ").append(String.join(" and ", conditions));
+        }
+
+        val order = criteria.isDescending() ? " desc" : "";
+
+        searchHqlQuery.append(" order by ").append(criteria.getSortField().getPath()).append(order);
+
+        if (criteria.getSortField() != BookSortField.ID) {
+            searchHqlQuery.append(", b.id").append(order);
+        }
+
+        return searchHqlQuery.toString();
+    }
+
+    private boolean exists(String operation, String queryName, String parameter, String value) {
+        log.info("Preparing to execute READ CRUD operation");
+
+        val event = DAOOperationEvent.start(operation, 0);
+        val session = SessionUtil.openTransactionSession();
+
+        log.info("Preparing to check existence of entities in the database by {} = [{}]", parameter, value);
+
+        val ids = session.createNamedQuery(queryName, Integer.class)
+                .setParameter(parameter, value)
+                .setMaxResults(1)
+                .list();
+        log.info("Gotten ids: {}", ids);
+
+        event.setRowCount(ids.size());
+
+        SessionUtil.closeTransactionSession();
+        log.info("Preparing to check existence of entities in the database by {} was done successful", parameter);
+
+        event.finish();
+
+        log.info("Preparing to execute READ CRUD operation was done successful");
+
+        return !ids.isEmpty();
+    }
+
+    /**
+     * This DAO method implements updating book entity object in the database with optimistic locking.
+     * The book is updated by id and version with {@value #UPDATE_BY_ID_AND_VERSION_SQL_QUERY},
+     * so it is not updated if another writer updated or removed it after it was read.
+     * The version of the book is incremented after commit.
+     * This method is transactional.
+     *
+     * @param book is the new entity that will be added to the database instead of the old one.
+     *             Book should not be null.
+     *             If book is incorrect then session will be closed without updating.
+     * @return result of the update with the book as a conflict if it was updated or removed by another writer
+     * or with the failure if the book was not updated because of the error.
+     */
+    @Override
+    public UpdateResult update(@NonNull Book book) {
+        log.info("Preparing to execute UPDATE CRUD operation");
+
+        log.info("Preparing to update entity! " +
+                        "Entity to update: ID = {}, NAME = {}, AUTHOR = {}, PRINT_YEAR  = {}, IS_READ = {}, VERSION = {}",
+                book.getId(),
+                book.getName(),
+                book.getAuthor(),
+                book.getPrintYear(),
+                book.isRead(),
+                book.getVersion()
+        );
+
+        val result = updateWithVersions("update", List.of(book));
+
         log.info("Preparing to execute UPDATE CRUD operation was done successful");
+
+        return result;
     }
 
     /**
-     * This DAO method implements updating list of books entities objects in the database.
+     * This DAO method implements updating list of books entities objects in the database with optimistic locking.
+     * Books are updated by ids and versions with one JDBC batch of {@value #UPDATE_BY_ID_AND_VERSION_SQL_QUERY},
+     * so all conflicts are found with one round trip. If some books were updated or removed by other writers
+     * after they were read then the transaction is rolled back and all of these books are returned as conflicts.
+     * Versions of books are incremented after commit. Every book should be in the list only once.
      * This method is transactional.
      *
      * @param books is the new entities that will be added to the database instead of the old ones.
      *              Books should not be null.
      *              If books is incorrect then session will be closed without updating.
+     * @return result of the update with books that were updated or removed by other writers as conflicts
+     * or with the failure if books were not updated because of the error.
      */
     @Override
-    public void updateAll(@NonNull List<? extends Book> books) {
+    public UpdateResult updateAll(@NonNull List<? extends Book> books) {
         log.info("Preparing to execute UPDATE CRUD operation");
 
-        val session = SessionUtil.openTransactionSession();
-
-        try {
-            log.info("Preparing to update list of entities! Entities to update: {}", books);
+        log.info("Preparing to update list of entities! Entities to update: {}", books);
 
-            books.forEach(session::update);
-            log.info("Preparing to update list of entities was done successful");
-
-            SessionUtil.closeTransactionSession();
-            log.info("All entities was updated in the database");
-        } catch (Exception e) {
-            log.info("List of entities: {} was not updated!", books);
-
-            SessionUtil.closeTransactionSession();
-            log.info("Exception message: [{}]",
-                    e.getMessage(),
-                    e
-            );
-        }
+        val result = updateWithVersions("updateAll", books);
 
         log.info("Preparing to execute UPDATE CRUD operation was done successful");
+
+        return result;
     }
 
     /**
@@ -346,13 +760,17 @@ public class BookDAOImpl implements BookDAO {
      * @param book is the entity that will be deleted from the database.
      *             Book should not be null.
      *             If book is incorrect then session will be closed without deleting.
+     * @return true if the book was deleted, false if it was not deleted because of the error.
      */
     @Override
-    public void remove(@NonNull Book book) {
+    public boolean remove(@NonNull Book book) {
         log.info("Preparing to execute DELETE CRUD operation");
 
+        val event = DAOOperationEvent.start("remove", 1);
         val session = SessionUtil.openTransactionSession();
 
+        var isRemoved = false;
+
         try {
             log.info("Preparing to delete entity! " +
                             "Entity to delete: ID = {}, NAME = {}, AUTHOR = {}, PRINT_YEAR  = {}, IS_READ = {}",
@@ -364,9 +782,12 @@ public class BookDAOImpl implements BookDAO {
             );
 
             session.delete(book);
+            recordChanges(session, ChangeOperation.REMOVE, List.of(book));
             log.info("Preparing to delete entity was done successful");
 
             SessionUtil.closeTransactionSession();
+            isRemoved = true;
+            event.setRowCount(1);
             log.info("Entity was deleted in the database");
         } catch (Exception e) {
             log.info("Entity: {} was not deleted!", book);
@@ -378,7 +799,11 @@ public class BookDAOImpl implements BookDAO {
             );
         }
 
+        event.finish();
+
         log.info("Preparing to execute DELETE CRUD operation was done successful");
+
+        return isRemoved;
     }
 
     /**
@@ -387,20 +812,27 @@ public class BookDAOImpl implements BookDAO {
      *
      * @param books is the entities that will be deleted from the database.
      *              Books should not be null.
+     * @return true if the books were deleted, false if the transaction was rolled back because of the error.
      */
     @Override
-    public void removeAll(@NonNull List<? extends Book> books) {
+    public boolean removeAll(@NonNull List<? extends Book> books) {
         log.info("Preparing to execute DELETE CRUD operation");
 
+        val event = DAOOperationEvent.start("removeAll", books.size());
         val session = SessionUtil.openTransactionSession();
 
+        var isRemoved = false;
+
         try {
             log.info("Preparing to delete list of entities! Entities to update: {}", books);
 
             books.forEach(session::delete);
+            recordChanges(session, ChangeOperation.REMOVE, books);
             log.info("Preparing to delete list of entities was done successful");
 
             SessionUtil.closeTransactionSession();
+            isRemoved = true;
+            event.setRowCount(books.size());
             log.info("All entities was deleted from the database");
         } catch (Exception e) {
             log.info("Preparing to rollback");
@@ -414,6 +846,324 @@ public class BookDAOImpl implements BookDAO {
             );
         }
 
+        event.finish();
+
         log.info("Preparing to execute DELETE CRUD operation was done successful");
+
+        return isRemoved;
+    }
+
+    /**
+     * This DAO method implements inserting or updating list of books with JDBC batches.
+     * Books with id are merged by id: MERGE for H2 and INSERT ... ON DUPLICATE KEY UPDATE for MySQL.
+     * Books without id are merged by name, author and print year for both databases: batched update
+     * with multi-row insert of books that were not updated, generated ids are set to inserted books.
+     * If several books in the database have the same name, author and print year then all of them are updated
+     * and the upserted book keeps id 0. Books without id with the same name, author and print year are upserted once
+     * with values of the last of them, so the upsert is idempotent.
+     * If the dialect of the database is not H2 or MySQL then session will be closed without upserting.
+     * Upsert doesn't check versions: it overwrites books and increments their versions in the database,
+     * so optimistic updates of books that were read before the upsert are returned as conflicts.
+     * This method is transactional.
+     *
+     * @param books is the entities that will be inserted or updated in the database.
+     *              Books should not be null.
+     * @return true if the books were upserted, false if the transaction was rolled back because of the error.
+     */
+    @Override
+    public boolean upsertAll(@NonNull List<? extends Book> books) {
+        log.info("Preparing to execute UPSERT CRUD operation");
+
+        val dialect = SessionUtil.getDialect();
+        val event = DAOOperationEvent.start("upsertAll", books.size());
+        val session = SessionUtil.openTransactionSession();
+
+        var isUpserted = false;
+
+        try {
+            if (!isUpsertSupported(dialect)) {
+                throw new UnsupportedOperationException("Upsert is not supported for " + dialect);
+            }
+
+            log.info("Preparing to upsert list of entities! Entities to upsert: {}", books);
+
+            val booksWithIds = new ArrayList<Book>();
+            val booksWithoutIds = new ArrayList<Book>();
+
+            for (val book : books) {
+                if (book.getId() > 0) {
+                    booksWithIds.add(book);
+                } else {
+                    booksWithoutIds.add(book);
+                }
+            }
+
+            session.doWork(connection -> {
+                authorDictionary.resolve(connection, books);
+
+                if (dialect instanceof H2Dialect) {
+                    executeBatch(connection, H2_MERGE_BY_ID_SQL_QUERY, booksWithIds, true);
+                } else {
+                    executeBatch(connection, MYSQL_UPSERT_BY_ID_SQL_QUERY, booksWithIds, false);
+                }
+
+                updateOrInsertByNaturalKey(connection, booksWithoutIds);
+            });
+
+            recordChanges(session, ChangeOperation.UPSERT, books);
+
+            isUpserted = true;
+            event.setRowCount(books.size());
+            log.info("Preparing to upsert list of entities was done successful! All entities was upserted");
+        } catch (Exception e) {
+            log.info("Preparing to rollback");
+
+            session.getTransaction().rollback();
+            log.info("Preparing to rollback was done successful! Exception message: [{}]",
+                    e.getMessage(),
+                    e
+            );
+        }
+
+        SessionUtil.closeTransactionSession();
+
+        event.finish();
+
+        log.info("Preparing to execute UPSERT CRUD operation was done successful");
+
+        return isUpserted;
+    }
+
+    private MultiGetResult orderByIds(int[] ids, int[] distinctIds, Book[] foundBooks) {
+        val books = new ArrayList<Book>(ids.length);
+        val reported = new boolean[distinctIds.length];
+        val missingIds = new int[distinctIds.length];
+
+        var missingCount = 0;
+
+        for (val id : ids) {
+            val index = Arrays.binarySearch(distinctIds, id);
+            val book = foundBooks[index];
+
+            if (book != null) {
+                books.add(book);
+            } else if (!reported[index]) {
+                reported[index] = true;
+                missingIds[missingCount++] = id;
+            }
+        }
+
+        return new MultiGetResult(books, Arrays.copyOf(missingIds, missingCount));
+    }
+
+    private UpdateResult updateWithVersions(String operation, List<? extends Book> books) {
+        val event = DAOOperationEvent.start(operation, books.size());
+        val session = SessionUtil.openTransactionSession();
+        val conflicts = new ArrayList<Book>();
+
+        UpdateResult result;
+
+        try {
+            session.doWork(connection -> {
+                authorDictionary.resolve(connection, books);
+                conflicts.addAll(executeVersionedUpdate(connection, books));
+            });
+
+            if (conflicts.isEmpty()) {
+                recordChanges(session, ChangeOperation.UPDATE, books);
+
+                SessionUtil.closeTransactionSession();
+                books.forEach(book -> book.setVersion(book.getVersion() + 1));
+                event.setRowCount(books.size());
+                log.info("All entities was updated in the database");
+
+                result = new UpdateResult(books.size(), Collections.emptyList());
+            } else {
+                log.info("Entities were updated or removed by other writers! Preparing to rollback. Conflicts: {}", conflicts);
+
+                session.getTransaction().rollback();
+                SessionUtil.closeTransactionSession();
+
+                result = new UpdateResult(0, conflicts);
+            }
+        } catch (Exception e) {
+            log.info("List of entities: {} was not updated! Preparing to rollback", books);
+
+            if (session.getTransaction().isActive()) {
+                session.getTransaction().rollback();
+            }
+
+            SessionUtil.closeTransactionSession();
+            log.info("Preparing to rollback was done successful! Exception message: [{}]",
+                    e.getMessage(),
+                    e
+            );
+
+            result = new UpdateResult(0, Collections.emptyList(), e);
+        }
+
+        event.finish();
+
+        return result;
+    }
+
+    private List<Book> executeVersionedUpdate(Connection connection, List<? extends Book> books) throws SQLException {
+        try (val statement = connection.prepareStatement(UPDATE_BY_ID_AND_VERSION_SQL_QUERY)) {
+            for (val book : books) {
+                statement.setString(1, book.getName());
+                statement.setInt(2, book.getAuthorEntity().getId());
+                statement.setInt(3, book.getPrintYear());
+                statement.setBoolean(4, book.isRead());
+                statement.setInt(5, book.getId());
+                statement.setInt(6, book.getVersion());
+                statement.addBatch();
+            }
+
+            val rowCounts = statement.executeBatch();
+            val conflicts = new ArrayList<Book>();
+
+            for (int i = 0; i < rowCounts.length; i++) {
+                if (rowCounts[i] == 0) {
+                    conflicts.add(books.get(i));
+                }
+            }
+
+            return conflicts;
+        }
+    }
+
+    private void recordChanges(Session session, ChangeOperation operation, List<? extends Book> books) {
+        if (changeFeedEnabled) {
+            bookChangeLog.record(session, operation, books);
+        }
+    }
+
+    private void executeBatch(Connection connection,
+                              String sqlQuery,
+                              List<Book> books,
+                              boolean withRepeatedId) throws SQLException {
+        if (books.isEmpty()) {
+            return;
+        }
+
+        try (val statement = connection.prepareStatement(sqlQuery)) {
+            for (val book : books) {
+                statement.setInt(1, book.getId());
+                statement.setString(2, book.getName());
+                statement.setInt(3, book.getAuthorEntity().getId());
+                statement.setInt(4, book.getPrintYear());
+                statement.setBoolean(5, book.isRead());
+
+                if (withRepeatedId) {
+                    statement.setInt(6, book.getId());
+                }
+
+                statement.addBatch();
+            }
+
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * This method checks whether {@link #upsertAll(List)} supports the dialect of the database.
+     *
+     * @param dialect is the dialect of the database.
+     * @return true if the dialect is H2 or MySQL.
+     */
+    static boolean isUpsertSupported(Dialect dialect) {
+        return dialect instanceof H2Dialect || dialect instanceof MySQLDialect;
+    }
+
+    private void updateOrInsertByNaturalKey(Connection connection, List<Book> books) throws SQLException {
+        if (books.isEmpty()) {
+            return;
+        }
+
+        val uniqueBooks = new LinkedHashMap<List<Object>, Book>();
+
+        for (val book : books) {
+            uniqueBooks.put(naturalKey(book), book);
+        }
+
+        updateOrInsertUniqueByNaturalKey(connection, new ArrayList<>(uniqueBooks.values()));
+
+        for (val book : books) {
+            book.setId(uniqueBooks.get(naturalKey(book)).getId());
+        }
+    }
+
+    private List<Object> naturalKey(Book book) {
+        return Arrays.asList(book.getName(), book.getAuthorEntity().getId(), book.getPrintYear());
+    }
+
+    private void updateOrInsertUniqueByNaturalKey(Connection connection, List<Book> books) throws SQLException {
+
+        int[] updateCounts;
+
+        try (val statement = connection.prepareStatement(UPDATE_BY_NATURAL_KEY_SQL_QUERY)) {
+            for (val book : books) {
+                statement.setBoolean(1, book.isRead());
+                statement.setString(2, book.getName());
+                statement.setInt(3, book.getAuthorEntity().getId());
+                statement.setInt(4, book.getPrintYear());
+                statement.addBatch();
+            }
+
+            updateCounts = statement.executeBatch();
+        }
+
+        val booksToInsert = new ArrayList<Book>();
+
+        for (int i = 0; i < books.size(); i++) {
+            if (updateCounts[i] == 0) {
+                booksToInsert.add(books.get(i));
+            }
+        }
+
+        insertMultiRow(connection, booksToInsert);
+    }
+
+    private void insertMultiRow(Connection connection, List<? extends Book> books) throws SQLException {
+        var from = 0;
+
+        try (val statement = connection.prepareStatement(createMultiRowInsertSqlQuery(MULTI_ROW_SIZE), Statement.RETURN_GENERATED_KEYS)) {
+            for (; from + MULTI_ROW_SIZE <= books.size(); from += MULTI_ROW_SIZE) {
+                insertRows(statement, books.subList(from, from + MULTI_ROW_SIZE));
+            }
+        }
+
+        if (from < books.size()) {
+            try (val statement = connection.prepareStatement(createMultiRowInsertSqlQuery(books.size() - from), Statement.RETURN_GENERATED_KEYS)) {
+                insertRows(statement, books.subList(from, books.size()));
+            }
+        }
+    }
+
+    private void insertRows(PreparedStatement statement, List<? extends Book> books) throws SQLException {
+        var index = 1;
+
+        for (val book : books) {
+            statement.setString(index++, book.getName());
+            statement.setInt(index++, book.getAuthorEntity().getId());
+            statement.setInt(index++, book.getPrintYear());
+            statement.setBoolean(index++, book.isRead());
+        }
+
+        statement.executeUpdate();
+
+        try (val generatedKeys = statement.getGeneratedKeys()) {
+            for (val book : books) {
+                if (!generatedKeys.next()) {
+                    throw new SQLException("Generated id was not returned for " + book);
+                }
+
+                book.setId(generatedKeys.getInt(1));
+            }
+        }
+    }
+
+    private String createMultiRowInsertSqlQuery(int rows) {
+        return MULTI_ROW_INSERT_SQL_QUERY + String.join(", ", Collections.nCopies(rows, MULTI_ROW_INSERT_VALUES));
     }
 }
@@ -0,0 +1,40 @@
+package com.qthegamep.bookmanager2.dao;
+
+import lombok.Getter;
+
+/**
+ * This enum contains fields by which books are sorted in {@link BookDAO#search(BookCriteria)}.
+ * Books with equal values of the field are sorted by id.
+ */
+public enum BookSortField {
+
+    /**
+     * Books are sorted by id.
+     */
+    ID("b.id"),
+
+    /**
+     * Books are sorted by name.
+     */
+    NAME("b.name"),
+
+    /**
+     * Books are sorted by name of the author.
+     */
+    AUTHOR("a.name"),
+
+    /**
+     * Books are sorted by print year.
+     */
+    PRINT_YEAR("b.printYear");
+
+    /**
+     * Path of the field in the HQL query of the search.
+     */
+    @Getter
+    private final String path;
+
+    BookSortField(String path) {
+        this.path = path;
+    }
+}
@@ -0,0 +1,55 @@
+package com.qthegamep.bookmanager2.dao;
+
+import com.qthegamep.bookmanager2.entity.BookSummary;
+
+import java.util.List;
+
+/**
+ * This interface is a DAO. It has projection variants of finders that return summaries of books instead of entities.
+ */
+public interface BookSummaryDAO {
+
+    /**
+     * This DAO method should return list of summaries of books from the database by name.
+     * This method should be transactional.
+     *
+     * @param name is the parameter by which the list of summaries will be returned.
+     * @return list of summaries of books.
+     */
+    List<BookSummary> getByName(String name);
+
+    /**
+     * This DAO method should return list of summaries of books from the database by author.
+     * This method should be transactional.
+     *
+     * @param author is the parameter by which the list of summaries will be returned.
+     * @return list of summaries of books.
+     */
+    List<BookSummary> getByAuthor(String author);
+
+    /**
+     * This DAO method should return list of summaries of books from the database by print year.
+     * This method should be transactional.
+     *
+     * @param printYear is the parameter by which the list of summaries will be returned.
+     * @return list of summaries of books.
+     */
+    List<BookSummary> getByPrintYear(int printYear);
+
+    /**
+     * This DAO method should return list of summaries of books from the database by is read.
+     * This method should be transactional.
+     *
+     * @param isRead is the parameter by which the list of summaries will be returned.
+     * @return list of summaries of books.
+     */
+    List<BookSummary> getByIsRead(boolean isRead);
+
+    /**
+     * This DAO method should return list of summaries of all books from the database.
+     * This method should be transactional.
+     *
+     * @return list of summaries of all books.
+     */
+    List<BookSummary> getAll();
+}
@@ -0,0 +1,120 @@
+package com.qthegamep.bookmanager2.dao;
+
+import com.qthegamep.bookmanager2.entity.BookSummary;
+import com.qthegamep.bookmanager2.event.DAOOperationEvent;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.List;
+
+/**
+ * This class is DAO that implements projection variants of finders.
+ * Queries select only ID, NAME and AUTHOR columns with the constructor expression, so Hibernate creates
+ * {@link BookSummary} objects straight from the result set without hydration of managed entities
+ * and without snapshots in the persistence context. Summaries are returned in the order of id.
+ * Every operation is reported to Java Flight Recorder as {@link DAOOperationEvent}.
+ */
+@Slf4j
+public class BookSummaryDAOImpl implements BookSummaryDAO {
+
+    /**
+     * The constant is the HQL query that selects summaries of books. It is followed by the condition of the finder.
+     */
+    public static final String SELECT_HQL_QUERY = "select new com.qthegamep.bookmanager2.entity.BookSummary(b.id, b.name, a.name) "
+            + "from Book b left join b.author a ";
+
+    private static final String ORDER_BY_ID = " order by b.id";
+
+    /**
+     * This DAO method implements returning list of summaries of books from the database by name.
+     * This method is transactional.
+     *
+     * @param name is the parameter by which the list of summaries will be returned. Name should not be null.
+     * @return list of summaries of books. If name doesn't exist then return empty list.
+     */
+    @Override
+    public List<BookSummary> getByName(@NonNull String name) {
+        return find("getSummariesByName", "where b.name = :name", "name", name);
+    }
+
+    /**
+     * This DAO method implements returning list of summaries of books from the database by author.
+     * This method is transactional.
+     *
+     * @param author is the parameter by which the list of summaries will be returned. Author should not be null.
+     * @return list of summaries of books. If author doesn't exist then return empty list.
+     */
+    @Override
+    public List<BookSummary> getByAuthor(@NonNull String author) {
+        return find("getSummariesByAuthor", "where a.name = :author", "author", author);
+    }
+
+    /**
+     * This DAO method implements returning list of summaries of books from the database by print year.
+     * This method is transactional.
+     *
+     * @param printYear is the parameter by which the list of summaries will be returned.
+     * @return list of summaries of books. If print year doesn't exist then return empty list.
+     */
+    @Override
+    public List<BookSummary> getByPrintYear(int printYear) {
+        return find("getSummariesByPrintYear", "where b.printYear = :printYear", "printYear", printYear);
+    }
+
+    /**
+     * This DAO method implements returning list of summaries of books from the database by is read.
+     * This method is transactional.
+     *
+     * @param isRead is the parameter by which the list of summaries will be returned.
+     * @return list of summaries of books. If is read doesn't exist then return empty list.
+     */
+    @Override
+    public List<BookSummary> getByIsRead(boolean isRead) {
+        return find("getSummariesByIsRead", "where b.isRead = :isRead", "isRead", isRead);
+    }
+
+    /**
+     * This DAO method implements returning list of summaries of all books from the database.
+     * This method is transactional.
+     *
+     * @return list of summaries of all books. If there are no books then return empty list.
+     */
+    @Override
+    public List<BookSummary> getAll() {
+        return find("getAllSummaries", "", null, null);
+    }
+
+    private List<BookSummary> find(String operation, String condition, String parameterName, Object parameterValue) {
+        log.info("Preparing to execute READ projection operation");
+
+        val event = DAOOperationEvent.start(operation, 0);
+        val session = SessionUtil.openTransactionSession();
+
+        List<BookSummary> summaries;
+
+        try {
+            log.info("Preparing to get list of summaries from the database {}", condition);
+
+            val query = session.createQuery(SELECT_HQL_QUERY + condition + ORDER_BY_ID, BookSummary.class);
+
+            if (parameterName != null) {
+                query.setParameter(parameterName, parameterValue);
+            }
+
+            summaries = query.list();
+
+            event.setRowCount(summaries.size());
+        } finally {
+            SessionUtil.closeTransactionSession();
+
+            event.finish();
+        }
+
+        log.info("Preparing to get list of summaries from the database was done successful! Gotten {} summaries", summaries.size());
+
+        return summaries;
+    }
+}
@@ -0,0 +1,367 @@
+package com.qthegamep.bookmanager2.dao;
+
+import com.qthegamep.bookmanager2.cache.OffHeapBookCache;
+import com.qthegamep.bookmanager2.entity.Book;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * This class is a DAO decorator that reads books through {@link OffHeapBookCache}.
+ * Books that are read by the decorated DAO are put to the cache, so next reads of them by id don't query the database.
+ * Results of finders and the search are kept as arrays of ids in the LRU map of {@link #getMaxResults()} entries
+ * and are returned from the cache while all their books are cached.
+ * Every write through the decorator removes results of finders, removed and upserted books are removed
+ * from the cache and successfully updated books are replaced in the cache. Books that are read while
+ * another thread writes are not put to the cache: the count of writes is checked under the write lock of the cache
+ * with {@link OffHeapBookCache#putIf}, so a book that was read before a write never replaces the book of the write.
+ * Writes that bypass the decorator are not seen by the cache,
+ * so the cache should be invalidated after them with {@link #invalidateAll()}.
+ */
+public class CachingBookDAO implements BookDAO {
+
+    /**
+     * The constant is the default maximum count of cached results of finders.
+     */
+    public static final int DEFAULT_MAX_RESULTS = 1024;
+
+    private final BookDAO bookDAO;
+
+    @Getter
+    private final OffHeapBookCache bookCache;
+
+    @Getter
+    private final int maxResults;
+
+    private final Map<String, int[]> results;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * This constructor creates decorator with the default maximum count of cached results of finders.
+     *
+     * @param bookDAO   is the decorated DAO. DAO should not be null.
+     * @param bookCache is the cache of books. Cache should not be null.
+     */
+    public CachingBookDAO(BookDAO bookDAO, OffHeapBookCache bookCache) {
+        this(bookDAO, bookCache, DEFAULT_MAX_RESULTS);
+    }
+
+    /**
+     * This constructor creates decorator with the given maximum count of cached results of finders.
+     *
+     * @param bookDAO    is the decorated DAO. DAO should not be null.
+     * @param bookCache  is the cache of books. Cache should not be null.
+     * @param maxResults is the maximum count of cached results of finders, 0 disables caching of results.
+     * @throws IllegalArgumentException if max results is negative.
+     */
+    public CachingBookDAO(@NonNull BookDAO bookDAO, @NonNull OffHeapBookCache bookCache, int maxResults) {
+        if (maxResults < 0) {
+            throw new IllegalArgumentException("Max results should not be negative but was " + maxResults);
+        }
+
+        this.bookDAO = bookDAO;
+        this.bookCache = bookCache;
+        this.maxResults = maxResults;
+
+        results = new LinkedHashMap<>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+                return size() > maxResults;
+            }
+        };
+    }
+
+    /**
+     * This method removes all books and results of finders from the cache.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        bookCache.invalidateAll();
+        clearResults();
+    }
+
+    @Override
+    public boolean add(Book book) {
+        beforeWrite();
+
+        val isAdded = bookDAO.add(book);
+
+        afterWrite();
+
+        return isAdded;
+    }
+
+    @Override
+    public boolean addAll(List<? extends Book> books) {
+        beforeWrite();
+
+        val isAdded = bookDAO.addAll(books);
+
+        afterWrite();
+
+        return isAdded;
+    }
+
+    @Override
+    public Book getById(int id) {
+        val cachedBook = bookCache.get(id);
+
+        if (cachedBook != null) {
+            return cachedBook;
+        }
+
+        val currentGeneration = generation.get();
+        val book = bookDAO.getById(id);
+
+        if (book != null) {
+            cache(List.of(book), currentGeneration);
+        }
+
+        return book;
+    }
+
+    @Override
+    public MultiGetResult getByIds(@NonNull int[] ids) {
+        val foundBooks = new HashMap<Integer, Book>();
+        val missedIds = new ArrayList<Integer>();
+
+        for (val id : ids) {
+            if (!foundBooks.containsKey(id)) {
+                val book = bookCache.get(id);
+
+                foundBooks.put(id, book);
+
+                if (book == null) {
+                    missedIds.add(id);
+                }
+            }
+        }
+
+        if (!missedIds.isEmpty()) {
+            val currentGeneration = generation.get();
+            val books = bookDAO.getByIds(missedIds).getBooks();
+
+            books.forEach(book -> foundBooks.put(book.getId(), book));
+            cache(books, currentGeneration);
+        }
+
+        val books = new ArrayList<Book>(ids.length);
+        val missingIds = new int[foundBooks.size()];
+        val reportedIds = new HashSet<Integer>();
+
+        var missingCount = 0;
+
+        for (val id : ids) {
+            val book = foundBooks.get(id);
+
+            if (book != null) {
+                books.add(book);
+            } else if (reportedIds.add(id)) {
+                missingIds[missingCount++] = id;
+            }
+        }
+
+        return new MultiGetResult(books, Arrays.copyOf(missingIds, missingCount));
+    }
+
+    @Override
+    public MultiGetResult getByIds(@NonNull Collection<Integer> ids) {
+        return getByIds(ids.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    @Override
+    public List<Book> getByName(String name) {
+        return find("getByName:" + name, () -> bookDAO.getByName(name));
+    }
+
+    @Override
+    public List<Book> getByAuthor(String author) {
+        return find("getByAuthor:" + author, () -> bookDAO.getByAuthor(author));
+    }
+
+    @Override
+    public List<Book> getByPrintYear(int printYear) {
+        return find("getByPrintYear:" + printYear, () -> bookDAO.getByPrintYear(printYear));
+    }
+
+    @Override
+    public List<Book> getByIsRead(boolean isRead) {
+        return find("getByIsRead:" + isRead, () -> bookDAO.getByIsRead(isRead));
+    }
+
+    @Override
+    public List<Book> getAll() {
+        return find("getAll", bookDAO::getAll);
+    }
+
+    @Override
+    public List<Book> search(BookCriteria criteria) {
+        return find("search:" + criteria, () -> bookDAO.search(criteria));
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        return bookDAO.existsByName(name);
+    }
+
+    @Override
+    public boolean existsByAuthor(String author) {
+        return bookDAO.existsByAuthor(author);
+    }
+
+    @Override
+    public UpdateResult update(Book book) {
+        beforeWrite();
+
+        val result = bookDAO.update(book);
+
+        afterUpdate(List.of(book), result);
+
+        return result;
+    }
+
+    @Override
+    public UpdateResult updateAll(List<? extends Book> books) {
+        beforeWrite();
+
+        val result = bookDAO.updateAll(books);
+
+        afterUpdate(books, result);
+
+        return result;
+    }
+
+    @Override
+    public boolean remove(Book book) {
+        beforeWrite();
+
+        val isRemoved = bookDAO.remove(book);
+
+        afterWrite();
+        bookCache.invalidate(book.getId());
+
+        return isRemoved;
+    }
+
+    @Override
+    public boolean removeAll(List<? extends Book> books) {
+        beforeWrite();
+
+        val isRemoved = bookDAO.removeAll(books);
+
+        afterWrite();
+        books.forEach(book -> bookCache.invalidate(book.getId()));
+
+        return isRemoved;
+    }
+
+    @Override
+    public boolean upsertAll(List<? extends Book> books) {
+        beforeWrite();
+
+        val isUpserted = bookDAO.upsertAll(books);
+
+        afterWrite();
+
+        if (books.stream().anyMatch(book -> book.getId() == 0)) {
+            bookCache.invalidateAll();
+        } else {
+            books.forEach(book -> bookCache.invalidate(book.getId()));
+        }
+
+        return isUpserted;
+    }
+
+    private List<Book> find(String key, Supplier<List<Book>> finder) {
+        int[] ids;
+
+        synchronized (results) {
+            ids = results.get(key);
+        }
+
+        if (ids != null) {
+            val books = new ArrayList<Book>(ids.length);
+
+            for (val id : ids) {
+                val book = bookCache.get(id);
+
+                if (book == null) {
+                    break;
+                }
+
+                books.add(book);
+            }
+
+            if (books.size() == ids.length) {
+                return books;
+            }
+        }
+
+        val currentGeneration = generation.get();
+        val books = finder.get();
+
+        if (cache(books, currentGeneration) && maxResults > 0) {
+            val foundIds = books.stream().mapToInt(Book::getId).toArray();
+
+            synchronized (results) {
+                if (generation.get() == currentGeneration) {
+                    results.put(key, foundIds);
+                }
+            }
+        }
+
+        return books;
+    }
+
+    private boolean cache(List<Book> books, long readGeneration) {
+        BooleanSupplier notWritten = () -> generation.get() == readGeneration;
+
+        for (val book : books) {
+            if (!bookCache.putIf(book, notWritten)) {
+                return false;
+            }
+        }
+
+        return generation.get() == readGeneration;
+    }
+
+    private void afterUpdate(List<? extends Book> books, UpdateResult result) {
+        afterWrite();
+
+        if (result.getRowsUpdated() > 0) {
+            books.forEach(bookCache::put);
+        } else {
+            books.forEach(book -> bookCache.invalidate(book.getId()));
+        }
+    }
+
+    private void beforeWrite() {
+        generation.incrementAndGet();
+    }
+
+    private void afterWrite() {
+        generation.incrementAndGet();
+        clearResults();
+    }
+
+    private void clearResults() {
+        synchronized (results) {
+            results.clear();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.qthegamep.bookmanager2.dao;
+
+import com.qthegamep.bookmanager2.entity.Book;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * This class is an immutable result of the lookup of books by many ids.
+ * Books are in the order of requested ids, a book is repeated if its id was requested more than once.
+ * Missing ids are distinct ids that were not found in the order of the first request.
+ */
+@Value
+public class MultiGetResult {
+
+    private final List<Book> books;
+
+    private final int[] missingIds;
+}
@@ -0,0 +1,54 @@
+package com.qthegamep.bookmanager2.dao;
+
+import com.qthegamep.bookmanager2.entity.Book;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * This class is an immutable result of the update of books with optimistic locking.
+ * Conflicts are books that were updated or removed by other writers after they were read,
+ * they are in the order of the update. If there are conflicts then none of the books are updated,
+ * so the caller can read conflicting books again and repeat the update.
+ * Failure is the exception because of which none of the books were updated, it is null if there was no error.
+ */
+@Value
+@AllArgsConstructor
+public class UpdateResult {
+
+    private final int rowsUpdated;
+
+    private final List<Book> conflicts;
+
+    private final Exception failure;
+
+    /**
+     * This constructor creates result of the update that was done without errors.
+     *
+     * @param rowsUpdated is the count of updated books.
+     * @param conflicts   is the books that were updated or removed by other writers.
+     */
+    public UpdateResult(int rowsUpdated, List<Book> conflicts) {
+        this(rowsUpdated, conflicts, null);
+    }
+
+    /**
+     * This method returns whether the update was rejected because of conflicts.
+     *
+     * @return true if some books were updated or removed by other writers after they were read.
+     */
+    public boolean isConflicted() {
+        return !conflicts.isEmpty();
+    }
+
+    /**
+     * This method returns whether the update was rolled back because of the error.
+     *
+     * @return true if none of the books were updated because of the error.
+     */
+    public boolean isFailed() {
+        return failure != null;
+    }
+}
@@ -0,0 +1,36 @@
+package com.qthegamep.bookmanager2.entity;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * This class is an entity of the dictionary of authors. Every author is stored once and books reference
+ * the author by the integer key, so the name of the author is not repeated in every row of books.
+ * Author without id is not saved yet, the id is set by {@link com.qthegamep.bookmanager2.dao.AuthorDictionary}.
+ * There is an no args constructor, getters and setters for fields, override equals, hashcode and toString methods.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "AUTHORS", uniqueConstraints = @UniqueConstraint(name = "AUTHORS_NAME_UNIQUE", columnNames = "NAME"))
+public class Author {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID", nullable = false)
+    private int id;
+
+    @Column(name = "NAME", nullable = false)
+    private String name;
+
+    /**
+     * This constructor creates author that is not saved yet.
+     *
+     * @param name is the name of the author.
+     */
+    public Author(String name) {
+        this.name = name;
+    }
+}
@@ -1,6 +1,8 @@
 package com.qthegamep.bookmanager2.entity;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
 
@@ -8,6 +10,13 @@ import javax.persistence.*;
 
 /**
  * This class is an entity.
+ * The author is stored in the AUTHORS table and referenced by the AUTHOR_ID foreign key,
+ * but the book still gets, sets, compares and prints the author by name. Author that is set by name is resolved to its key
+ * by {@link com.qthegamep.bookmanager2.dao.AuthorDictionary} when the book is written.
+ * The version is incremented by every update and is used for optimistic locking, so an update of the book
+ * that was read before another update is rejected as a conflict. The version is not compared and not printed.
+ * Finders of the books are named queries, so they are parsed and validated when the session factory is built
+ * and their plans are already cached for the first request.
  * There is an no args constructor, getters and setters for fields, override equals, hashcode and toString methods.
  */
 @Data
@@ -15,8 +24,66 @@ import javax.persistence.*;
 @DynamicInsert
 @DynamicUpdate
 @Table(name = "BOOKS")
+@NamedQueries({
+        @NamedQuery(name = Book.GET_BY_IDS_QUERY,
+                query = "from Book b left join fetch b.author where b.id in (:ids) order by b.id"),
+        @NamedQuery(name = Book.GET_BY_NAME_QUERY,
+                query = "from Book b left join fetch b.author where b.name = :name order by b.id"),
+        @NamedQuery(name = Book.GET_BY_AUTHOR_QUERY,
+                query = "from Book b join fetch b.author a where a.name = :author order by b.id"),
+        @NamedQuery(name = Book.GET_BY_PRINT_YEAR_QUERY,
+                query = "from Book b left join fetch b.author where b.printYear = :printYear order by b.id"),
+        @NamedQuery(name = Book.GET_BY_IS_READ_QUERY,
+                query = "from Book b left join fetch b.author where b.isRead = :isRead order by b.id"),
+        @NamedQuery(name = Book.GET_ALL_QUERY,
+                query = "from Book b left join fetch b.author order by b.id"),
+        @NamedQuery(name = Book.EXISTS_BY_NAME_QUERY,
+                query = "select b.id from Book b where b.name = :name"),
+        @NamedQuery(name = Book.EXISTS_BY_AUTHOR_QUERY,
+                query = "select b.id from Book b join b.author a where a.name = :author")
+})
 public class Book {
 
+    /**
+     * The constant is the name of the query that returns books by ids parameter.
+     */
+    public static final String GET_BY_IDS_QUERY = "Book.getByIds";
+
+    /**
+     * The constant is the name of the query that returns books by name parameter.
+     */
+    public static final String GET_BY_NAME_QUERY = "Book.getByName";
+
+    /**
+     * The constant is the name of the query that returns books by author parameter.
+     */
+    public static final String GET_BY_AUTHOR_QUERY = "Book.getByAuthor";
+
+    /**
+     * The constant is the name of the query that returns books by printYear parameter.
+     */
+    public static final String GET_BY_PRINT_YEAR_QUERY = "Book.getByPrintYear";
+
+    /**
+     * The constant is the name of the query that returns books by isRead parameter.
+     */
+    public static final String GET_BY_IS_READ_QUERY = "Book.getByIsRead";
+
+    /**
+     * The constant is the name of the query that returns all books.
+     */
+    public static final String GET_ALL_QUERY = "Book.getAll";
+
+    /**
+     * The constant is the name of the query that returns ids of books by name parameter to check existence.
+     */
+    public static final String EXISTS_BY_NAME_QUERY = "Book.existsByName";
+
+    /**
+     * The constant is the name of the query that returns ids of books by author parameter to check existence.
+     */
+    public static final String EXISTS_BY_AUTHOR_QUERY = "Book.existsByAuthor";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "ID", nullable = false)
@@ -25,12 +92,59 @@ public class Book {
     @Column(name = "NAME", nullable = false)
     private String name;
 
-    @Column(name = "AUTHOR", nullable = false)
-    private String author;
+    @ManyToOne(fetch = FetchType.EAGER, optional = false)
+    @JoinColumn(name = "AUTHOR_ID", nullable = false, foreignKey = @ForeignKey(name = "BOOKS_AUTHORS_FOREIGN_KEY"))
+    private Author author;
 
     @Column(name = "PRINT_YEAR", nullable = false)
     private int printYear;
 
     @Column(name = "IS_READ", nullable = false)
     private boolean isRead;
+
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private int version;
+
+    /**
+     * This method returns name of the author of the book.
+     *
+     * @return name of the author or null if the author is not set.
+     */
+    public String getAuthor() {
+        return author == null ? null : author.getName();
+    }
+
+    /**
+     * This method sets the author of the book by name. The author is not changed if it has the same name.
+     *
+     * @param author is the name of the author.
+     */
+    public void setAuthor(String author) {
+        if (author == null) {
+            this.author = null;
+        } else if (this.author == null || !author.equals(this.author.getName())) {
+            this.author = new Author(author);
+        }
+    }
+
+    /**
+     * This method returns the author entity that is referenced by the book.
+     *
+     * @return author entity or null if the author is not set.
+     */
+    public Author getAuthorEntity() {
+        return author;
+    }
+
+    /**
+     * This method sets the author entity that is referenced by the book.
+     *
+     * @param authorEntity is the author entity.
+     */
+    public void setAuthorEntity(Author authorEntity) {
+        this.author = authorEntity;
+    }
 }
@@ -0,0 +1,41 @@
+package com.qthegamep.bookmanager2.entity;
+
+import lombok.Data;
+
+import javax.persistence.*;
+
+/**
+ * This class is an entity of the change feed of books.
+ * Every change has the sequence number that grows with every change, so consumers read changes after
+ * the last sequence number they have seen. Fields of the book are null if they are not part of the change.
+ * There is an no args constructor, getters and setters for fields, override equals, hashcode and toString methods.
+ */
+@Data
+@Entity
+@Table(name = "BOOK_CHANGES")
+public class BookChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "SEQ", nullable = false)
+    private long sequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "OPERATION", nullable = false, length = 6)
+    private ChangeOperation operation;
+
+    @Column(name = "BOOK_ID")
+    private Integer bookId;
+
+    @Column(name = "NAME")
+    private String name;
+
+    @Column(name = "AUTHOR")
+    private String author;
+
+    @Column(name = "PRINT_YEAR")
+    private Integer printYear;
+
+    @Column(name = "IS_READ")
+    private Boolean isRead;
+}
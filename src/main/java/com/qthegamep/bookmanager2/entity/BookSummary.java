@@ -0,0 +1,16 @@
+package com.qthegamep.bookmanager2.entity;
+
+import lombok.Value;
+
+/**
+ * This class is an immutable summary of the book for list screens.
+ * It contains only id, name and author and it is created straight from the result set of the projection query,
+ * so it is not managed by the session and doesn't have a snapshot in the persistence context.
+ */
+@Value
+public class BookSummary {
+
+    private final int id;
+    private final String name;
+    private final String author;
+}
@@ -0,0 +1,28 @@
+package com.qthegamep.bookmanager2.entity;
+
+/**
+ * This enum contains operations of the change feed of books.
+ */
+public enum ChangeOperation {
+
+    /**
+     * Book was added. The change contains all fields of the book.
+     */
+    ADD,
+
+    /**
+     * Book was updated. The change contains all fields of the book after the update.
+     */
+    UPDATE,
+
+    /**
+     * Book was removed. The change contains only id of the book.
+     */
+    REMOVE,
+
+    /**
+     * Book was added or updated by upsert. The change contains all fields of the book,
+     * id is null if the book was matched by name, author and print year.
+     */
+    UPSERT
+}
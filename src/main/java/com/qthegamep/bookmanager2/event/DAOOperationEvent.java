@@ -0,0 +1,81 @@
+package com.qthegamep.bookmanager2.event;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.val;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This class is a Java Flight Recorder event of one DAO operation.
+ * The event contains the name of the operation, count of rows that were affected or returned
+ * and size of the batch that was passed to the operation.
+ * When the event is disabled in the recording settings only the begin timestamp is taken,
+ * so instrumented operations work without measurable overhead.
+ */
+@Name(DAOOperationEvent.NAME)
+@Label("DAO Operation")
+@Category({"BookManager2", "DAO"})
+@Description("Execution of one DAO operation")
+public class DAOOperationEvent extends Event {
+
+    /**
+     * The constant is the name of the event in the recording.
+     */
+    public static final String NAME = "com.qthegamep.bookmanager2.DAOOperation";
+
+    @Getter
+    @Label("Operation")
+    private String operation;
+
+    @Getter
+    @Label("Batch Size")
+    private int batchSize;
+
+    @Getter
+    @Setter
+    @Label("Row Count")
+    private int rowCount;
+
+    /**
+     * This constructor creates event of the operation. Use {@link #start(String, int)} instead.
+     *
+     * @param operation is the name of the operation.
+     * @param batchSize is the count of entities that were passed to the operation.
+     */
+    public DAOOperationEvent(String operation, int batchSize) {
+        this.operation = operation;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * This method creates event of the operation and begins its timing.
+     *
+     * @param operation is the name of the operation.
+     * @param batchSize is the count of entities that were passed to the operation.
+     * @return begun event.
+     */
+    public static DAOOperationEvent start(String operation, int batchSize) {
+        val event = new DAOOperationEvent(operation, batchSize);
+
+        event.begin();
+
+        return event;
+    }
+
+    /**
+     * This method ends timing of the operation and writes the event to the recording
+     * if the event is enabled and exceeds the configured threshold.
+     */
+    public void finish() {
+        end();
+
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
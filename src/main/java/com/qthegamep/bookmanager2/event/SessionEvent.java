@@ -0,0 +1,24 @@
+package com.qthegamep.bookmanager2.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This class is a Java Flight Recorder event that covers lifetime of the hibernate session
+ * from opening in {@link com.qthegamep.bookmanager2.util.SessionUtil#openSession()}
+ * to closing in {@link com.qthegamep.bookmanager2.util.SessionUtil#closeSession()}.
+ */
+@Name(SessionEvent.NAME)
+@Label("Hibernate Session")
+@Category({"BookManager2", "Database"})
+@Description("Lifetime of the hibernate session from opening to closing")
+public class SessionEvent extends Event {
+
+    /**
+     * The constant is the name of the event in the recording.
+     */
+    public static final String NAME = "com.qthegamep.bookmanager2.Session";
+}
@@ -0,0 +1,32 @@
+package com.qthegamep.bookmanager2.event;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This class is a Java Flight Recorder event that covers the hibernate transaction
+ * from beginning to commit or rollback. The status field contains the final status of the transaction,
+ * for example COMMITTED or ROLLED_BACK.
+ */
+@Name(TransactionEvent.NAME)
+@Label("Hibernate Transaction")
+@Category({"BookManager2", "Database"})
+@Description("Hibernate transaction from beginning to commit or rollback")
+public class TransactionEvent extends Event {
+
+    /**
+     * The constant is the name of the event in the recording.
+     */
+    public static final String NAME = "com.qthegamep.bookmanager2.Transaction";
+
+    @Getter
+    @Setter
+    @Label("Status")
+    private String status;
+}
@@ -0,0 +1,259 @@
+package com.qthegamep.bookmanager2.exporter;
+
+import com.qthegamep.bookmanager2.dao.BookCursor;
+import com.qthegamep.bookmanager2.importer.CsvBookParser;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class is a constant-memory export of the catalog.
+ * Rows are read from the {@link BookCursor} without creating entities,
+ * formatted to the reusable row buffer and encoded to the direct byte buffer that is written to the channel
+ * when it is full. So the memory of the export doesn't depend on the count of books.
+ */
+@Slf4j
+public class BookExporter {
+
+    /**
+     * The constant is the default count of rows that are fetched from the database at once.
+     */
+    public static final int DEFAULT_FETCH_SIZE = BookCursor.DEFAULT_FETCH_SIZE;
+
+    /**
+     * The constant is the default size of the output buffer in bytes.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final int MIN_BUFFER_SIZE = 16;
+
+    private static final String CSV_HEADER = "ID,NAME,AUTHOR,PRINT_YEAR,IS_READ";
+
+    @Getter
+    private final int fetchSize;
+
+    @Getter
+    private final int bufferSize;
+
+    /**
+     * This constructor creates exporter with default fetch size and buffer size.
+     */
+    public BookExporter() {
+        this(DEFAULT_FETCH_SIZE, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * This constructor creates exporter with the given fetch size and buffer size.
+     *
+     * @param fetchSize  is the count of rows that are fetched from the database at once.
+     * @param bufferSize is the size of the output buffer in bytes.
+     * @throws IllegalArgumentException if fetch size is not positive or buffer size is less than 16 bytes.
+     */
+    public BookExporter(int fetchSize, int bufferSize) {
+        if (fetchSize <= 0 || bufferSize < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("Fetch size should be positive and buffer size should be at least "
+                    + MIN_BUFFER_SIZE + " bytes but were " + fetchSize + " and " + bufferSize);
+        }
+
+        this.fetchSize = fetchSize;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * This method exports all books to the file. The file is created or truncated.
+     *
+     * @param path   is the path to the file. Path should not be null.
+     * @param format is the format of the export. Format should not be null.
+     * @return count of exported books.
+     * @throws UncheckedIOException  if the file can not be written.
+     * @throws IllegalStateException if books can not be read from the database.
+     */
+    public long export(@NonNull Path path, @NonNull ExportFormat format) {
+        try (val channel = FileChannel.open(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            return export(channel, format);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * This method exports all books to the output stream. The stream is flushed but not closed.
+     *
+     * @param outputStream is the stream to which books will be written. Stream should not be null.
+     * @param format       is the format of the export. Format should not be null.
+     * @return count of exported books.
+     * @throws UncheckedIOException  if the stream can not be written.
+     * @throws IllegalStateException if books can not be read from the database.
+     */
+    public long export(@NonNull OutputStream outputStream, @NonNull ExportFormat format) {
+        val count = export(Channels.newChannel(outputStream), format);
+
+        try {
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return count;
+    }
+
+    /**
+     * This method exports all books to the channel. The channel is not closed.
+     *
+     * @param channel is the channel to which books will be written. Channel should not be null.
+     * @param format  is the format of the export. Format should not be null.
+     * @return count of exported books.
+     * @throws UncheckedIOException  if the channel can not be written.
+     * @throws IllegalStateException if books can not be read from the database.
+     */
+    public long export(@NonNull WritableByteChannel channel, @NonNull ExportFormat format) {
+        log.info("Preparing to export books as {}", format);
+
+        long count = 0;
+
+        try (val bookCursor = new BookCursor(fetchSize)) {
+            val writer = new ChannelWriter(channel, bufferSize);
+
+            if (format == ExportFormat.CSV) {
+                writer.getRow().append(CSV_HEADER).append('\n');
+                writer.writeRow();
+            }
+
+            while (bookCursor.next()) {
+                if (format == ExportFormat.CSV) {
+                    appendCsv(writer.getRow(), bookCursor);
+                } else {
+                    appendJson(writer.getRow(), bookCursor);
+                }
+
+                writer.writeRow();
+                count++;
+            }
+
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("Preparing to export books as {} was done successful! Exported {} books", format, count);
+
+        return count;
+    }
+
+    private void appendCsv(StringBuilder row, BookCursor bookCursor) {
+        row.append(bookCursor.getId()).append(',');
+        CsvBookParser.appendText(row, bookCursor.getName());
+        row.append(',');
+        CsvBookParser.appendText(row, bookCursor.getAuthor());
+        row.append(',').append(bookCursor.getPrintYear())
+                .append(',').append(bookCursor.isRead())
+                .append('\n');
+    }
+
+    private void appendJson(StringBuilder row, BookCursor bookCursor) {
+        row.append("{\"id\":").append(bookCursor.getId()).append(",\"name\":");
+        appendJsonText(row, bookCursor.getName());
+        row.append(",\"author\":");
+        appendJsonText(row, bookCursor.getAuthor());
+        row.append(",\"printYear\":").append(bookCursor.getPrintYear())
+                .append(",\"isRead\":").append(bookCursor.isRead())
+                .append("}\n");
+    }
+
+    private void appendJsonText(StringBuilder row, String text) {
+        row.append('"');
+
+        for (int i = 0; i < text.length(); i++) {
+            val c = text.charAt(i);
+
+            switch (c) {
+                case '"':
+                    row.append("\\\"");
+                    break;
+                case '\\':
+                    row.append("\\\\");
+                    break;
+                case '\n':
+                    row.append("\\n");
+                    break;
+                case '\r':
+                    row.append("\\r");
+                    break;
+                case '\t':
+                    row.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        row.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        row.append(c);
+                    }
+            }
+        }
+
+        row.append('"');
+    }
+
+    private static class ChannelWriter {
+
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+        @Getter
+        private final StringBuilder row = new StringBuilder(256);
+
+        private ChannelWriter(WritableByteChannel channel, int bufferSize) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        }
+
+        private void writeRow() throws IOException {
+            val chars = CharBuffer.wrap(row);
+
+            encoder.reset();
+
+            while (encoder.encode(chars, buffer, true).isOverflow()) {
+                drain();
+            }
+
+            while (encoder.flush(buffer).isOverflow()) {
+                drain();
+            }
+
+            row.setLength(0);
+        }
+
+        private void flush() throws IOException {
+            drain();
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            buffer.clear();
+        }
+    }
+}
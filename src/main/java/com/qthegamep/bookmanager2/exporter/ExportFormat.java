@@ -0,0 +1,18 @@
+package com.qthegamep.bookmanager2.exporter;
+
+/**
+ * This enum contains formats of the catalog export.
+ */
+public enum ExportFormat {
+
+    /**
+     * CSV with ID, NAME, AUTHOR, PRINT_YEAR and IS_READ columns and the header.
+     * The file can be imported back by {@link com.qthegamep.bookmanager2.importer.BookImporter}.
+     */
+    CSV,
+
+    /**
+     * JSON Lines, one JSON object with id, name, author, printYear and isRead fields per line.
+     */
+    JSON_LINES
+}
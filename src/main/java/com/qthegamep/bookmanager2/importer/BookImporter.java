@@ -0,0 +1,408 @@
+package com.qthegamep.bookmanager2.importer;
+
+import com.qthegamep.bookmanager2.dao.BookBatchWriter;
+import com.qthegamep.bookmanager2.entity.Book;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * This class is a streaming import pipeline of books from CSV file to the database.
+ * The file is split into chunks by line breaks, chunks are memory-mapped and parsed in parallel,
+ * valid rows are grouped into batches and passed through the bounded queue to the writers.
+ * Line breaks inside quoted fields don't split rows, so the file is scanned once before parsing
+ * to find line breaks that are outside of quoted fields for boundaries of chunks.
+ * Every writer inserts batches with own {@link BookBatchWriter}, so the memory of the pipeline doesn't depend
+ * on the size of the file. Rows that don't pass validation are rejected and counted in the report.
+ * Rows of batches that were not inserted are counted as failed and writers continue with next batches.
+ * If all writers are stopped, parsers and the import are aborted instead of waiting for the full queue.
+ * The format of rows is described in {@link CsvBookParser}.
+ */
+@Slf4j
+public class BookImporter {
+
+    private static final List<Book> END_OF_DATA = Collections.emptyList();
+
+    private static final int SCAN_SIZE = 64 * 1024;
+
+    private static final long OFFER_TIMEOUT = 100;
+
+    @Getter
+    private final ImportOptions importOptions;
+
+    private final Supplier<BookBatchWriter> writerFactory;
+
+    /**
+     * This constructor creates importer with default options.
+     */
+    public BookImporter() {
+        this(new ImportOptions());
+    }
+
+    /**
+     * This constructor creates importer with the given options.
+     *
+     * @param importOptions is the options of the pipeline. Options should not be null.
+     */
+    public BookImporter(@NonNull ImportOptions importOptions) {
+        this(importOptions, BookBatchWriter::new);
+    }
+
+    /**
+     * This constructor creates importer with the given options and factory of writers.
+     * Every writer thread creates own writer with the factory.
+     *
+     * @param importOptions is the options of the pipeline. Options should not be null.
+     * @param writerFactory is the factory of writers. Factory should not be null.
+     */
+    BookImporter(@NonNull ImportOptions importOptions, @NonNull Supplier<BookBatchWriter> writerFactory) {
+        this.importOptions = importOptions;
+        this.writerFactory = writerFactory;
+    }
+
+    /**
+     * This method imports books from the CSV file.
+     * Every batch is committed separately, so books of committed batches stay in the database if import fails.
+     *
+     * @param path is the path to the CSV file. Path should not be null.
+     * @return report of the import.
+     * @throws UncheckedIOException  if the file can not be read.
+     * @throws IllegalStateException if the import was interrupted or all writers were stopped.
+     */
+    public ImportReport importCsv(@NonNull Path path) {
+        log.info("Preparing to import books from {}", path);
+
+        val start = System.nanoTime();
+
+        try (val channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            val state = new ImportState(channel.size(), start);
+            val chunks = split(channel, state.totalBytes);
+
+            run(channel, chunks, state);
+
+            val report = new ImportReport(path,
+                    state.rowsRead.sum(),
+                    state.rowsImported.sum(),
+                    state.rowsRejected.sum(),
+                    state.rowsFailed.sum(),
+                    new ArrayList<>(state.rejects),
+                    System.nanoTime() - start
+            );
+
+            log.info("Preparing to import books from {} was done successful! Report: {}", path, report);
+
+            return report;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void run(FileChannel channel, List<long[]> chunks, ImportState state) throws IOException {
+        val queue = new ArrayBlockingQueue<List<Book>>(importOptions.getQueueCapacity());
+        val parsers = Executors.newFixedThreadPool(importOptions.getParserThreads());
+        val writers = Executors.newFixedThreadPool(importOptions.getWriterThreads());
+        val progress = Executors.newSingleThreadScheduledExecutor();
+
+        progress.scheduleAtFixedRate(() -> importOptions.getProgressListener().accept(state.progress()),
+                importOptions.getProgressInterval(),
+                importOptions.getProgressInterval(),
+                TimeUnit.MILLISECONDS
+        );
+
+        List<Future<?>> writerFutures = new ArrayList<>();
+
+        for (int i = 0; i < importOptions.getWriterThreads(); i++) {
+            writerFutures.add(writers.submit((Runnable) () -> write(queue, state)));
+        }
+
+        List<Future<?>> parserFutures = new ArrayList<>();
+
+        for (val chunk : chunks) {
+            parserFutures.add(parsers.submit(() -> {
+                parse(channel, chunk[0], chunk[1], queue, state);
+                return null;
+            }));
+        }
+
+        try {
+            for (val parserFuture : parserFutures) {
+                parserFuture.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            throw new IllegalStateException("Import was failed! " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import was interrupted", e);
+        } finally {
+            parsers.shutdownNow();
+            finishWriters(queue, writerFutures, state);
+            writers.shutdown();
+            progress.shutdownNow();
+            importOptions.getProgressListener().accept(state.progress());
+        }
+    }
+
+    private List<long[]> split(FileChannel channel, long size) throws IOException {
+        val chunks = new ArrayList<long[]>();
+        val scan = ByteBuffer.allocate(SCAN_SIZE);
+
+        long chunkStart = 0;
+        long position = 0;
+        var quoted = false;
+
+        while (position < size) {
+            scan.clear();
+
+            val read = channel.read(scan, position);
+
+            for (int i = 0; i < read; i++) {
+                val b = scan.get(i);
+
+                if (b == '"') {
+                    quoted = !quoted;
+                } else if (b == '\n' && !quoted && position + i >= chunkStart + importOptions.getChunkSize()) {
+                    chunks.add(new long[]{chunkStart, position + i + 1});
+                    chunkStart = position + i + 1;
+                }
+            }
+
+            position += read;
+        }
+
+        if (chunkStart < size) {
+            chunks.add(new long[]{chunkStart, size});
+        }
+
+        return chunks;
+    }
+
+    private void parse(FileChannel channel,
+                       long chunkStart,
+                       long chunkEnd,
+                       BlockingQueue<List<Book>> queue,
+                       ImportState state) throws IOException, InterruptedException {
+        val buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunkStart, chunkEnd - chunkStart);
+        val limit = buffer.limit();
+
+        var rowBytes = new byte[256];
+        var batch = new ArrayList<Book>(importOptions.getBatchSize());
+        var rowStart = 0;
+        var quoted = false;
+
+        for (int i = 0; i <= limit; i++) {
+            if (i < limit) {
+                val b = buffer.get(i);
+
+                if (b == '"') {
+                    quoted = !quoted;
+                }
+
+                if (b != '\n' || quoted) {
+                    continue;
+                }
+            }
+
+            var rowEnd = i;
+
+            if (rowEnd > rowStart && buffer.get(rowEnd - 1) == '\r') {
+                rowEnd--;
+            }
+
+            val length = rowEnd - rowStart;
+
+            if (length > 0) {
+                if (rowBytes.length < length) {
+                    rowBytes = new byte[Math.max(length, rowBytes.length * 2)];
+                }
+
+                buffer.position(rowStart);
+                buffer.get(rowBytes, 0, length);
+
+                val row = new String(rowBytes, 0, length, StandardCharsets.UTF_8);
+
+                if (chunkStart != 0 || rowStart != 0 || !CsvBookParser.isHeader(row)) {
+                    state.rowsRead.increment();
+
+                    try {
+                        batch.add(CsvBookParser.parse(row));
+                    } catch (IllegalArgumentException e) {
+                        state.reject(new Reject(chunkStart + rowStart, row, e.getMessage()), importOptions.getMaxRejects());
+                    }
+
+                    if (batch.size() == importOptions.getBatchSize()) {
+                        put(queue, batch, state);
+                        batch = new ArrayList<>(importOptions.getBatchSize());
+                    }
+                }
+            }
+
+            rowStart = i + 1;
+        }
+
+        if (!batch.isEmpty()) {
+            put(queue, batch, state);
+        }
+
+        state.bytesParsed.add(chunkEnd - chunkStart);
+    }
+
+    private void put(BlockingQueue<List<Book>> queue,
+                     List<Book> batch,
+                     ImportState state) throws InterruptedException {
+        if (!offer(queue, batch, state)) {
+            throw new IllegalStateException("All writers were stopped! Batch of " + batch.size() + " books was not imported");
+        }
+    }
+
+    private boolean offer(BlockingQueue<List<Book>> queue,
+                          List<Book> batch,
+                          ImportState state) throws InterruptedException {
+        while (!queue.offer(batch, OFFER_TIMEOUT, TimeUnit.MILLISECONDS)) {
+            if (state.writersStopped.sum() == importOptions.getWriterThreads()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void write(BlockingQueue<List<Book>> queue, ImportState state) {
+        try {
+            drain(queue, state);
+        } finally {
+            state.writersStopped.increment();
+        }
+    }
+
+    private void drain(BlockingQueue<List<Book>> queue, ImportState state) {
+        BookBatchWriter writer = null;
+
+        try {
+            writer = writerFactory.get();
+        } catch (RuntimeException e) {
+            log.info("Writer was not created! All batches of this writer will be failed. Exception message: [{}]",
+                    e.getMessage(),
+                    e
+            );
+        }
+
+        try {
+            while (true) {
+                val batch = queue.take();
+
+                if (batch == END_OF_DATA) {
+                    return;
+                }
+
+                if (writer == null) {
+                    state.rowsFailed.add(batch.size());
+                    continue;
+                }
+
+                try {
+                    state.rowsImported.add(writer.write(batch));
+                } catch (RuntimeException e) {
+                    state.rowsFailed.add(batch.size());
+                    log.info("Batch was not imported! Exception message: [{}]",
+                            e.getMessage(),
+                            e
+                    );
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+
+    private void finishWriters(BlockingQueue<List<Book>> queue, List<Future<?>> writerFutures, ImportState state) {
+        try {
+            for (int i = 0; i < writerFutures.size(); i++) {
+                if (!offer(queue, END_OF_DATA, state)) {
+                    break;
+                }
+            }
+
+            for (val writerFuture : writerFutures) {
+                try {
+                    writerFuture.get();
+                } catch (ExecutionException e) {
+                    log.info("Writer was failed! Exception message: [{}]",
+                            e.getCause().getMessage(),
+                            e.getCause()
+                    );
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class ImportState {
+
+        private final long totalBytes;
+        private final long start;
+
+        private final LongAdder bytesParsed = new LongAdder();
+        private final LongAdder rowsRead = new LongAdder();
+        private final LongAdder rowsImported = new LongAdder();
+        private final LongAdder rowsRejected = new LongAdder();
+        private final LongAdder rowsFailed = new LongAdder();
+        private final LongAdder writersStopped = new LongAdder();
+
+        private final List<Reject> rejects = Collections.synchronizedList(new ArrayList<>());
+
+        private ImportState(long totalBytes, long start) {
+            this.totalBytes = totalBytes;
+            this.start = start;
+        }
+
+        private void reject(Reject reject, int maxRejects) {
+            rowsRejected.increment();
+
+            synchronized (rejects) {
+                if (rejects.size() < maxRejects) {
+                    rejects.add(reject);
+                }
+            }
+        }
+
+        private ImportProgress progress() {
+            return new ImportProgress(bytesParsed.sum(),
+                    totalBytes,
+                    rowsImported.sum(),
+                    rowsRejected.sum(),
+                    rowsFailed.sum(),
+                    System.nanoTime() - start
+            );
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.qthegamep.bookmanager2.importer;
+
+import com.qthegamep.bookmanager2.entity.Book;
+
+import lombok.experimental.UtilityClass;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class is an utility helper class that is responsible for parsing and validating CSV rows of books.
+ * The row contains NAME, AUTHOR, PRINT_YEAR and IS_READ columns and can start with the ID column that is ignored.
+ * Fields can be quoted, quotes inside quoted fields are doubled and line breaks inside quoted fields are kept.
+ * NAME and AUTHOR are kept verbatim with their leading and trailing spaces, so they are imported as they were exported.
+ */
+@UtilityClass
+public class CsvBookParser {
+
+    /**
+     * The constant is the maximum length of name and author.
+     */
+    public final int MAX_LENGTH = 255;
+
+    /**
+     * The constant is the maximum print year.
+     */
+    public final int MAX_PRINT_YEAR = 9999;
+
+    /**
+     * This method returns whether the row is a header of the file.
+     *
+     * @param row is the first row of the file.
+     * @return true if the first column is named ID or NAME.
+     */
+    public boolean isHeader(String row) {
+        val firstColumn = row.split(",", 2)[0].trim().replace("\"", "");
+
+        return firstColumn.equalsIgnoreCase("id") || firstColumn.equalsIgnoreCase("name");
+    }
+
+    /**
+     * This method parses and validates the row.
+     *
+     * @param row is the row without trailing line break.
+     * @return new book entity object without id.
+     * @throws IllegalArgumentException with the reason if the row is not valid.
+     */
+    public Book parse(String row) {
+        val fields = split(row);
+
+        if (fields.size() != 4 && fields.size() != 5) {
+            throw new IllegalArgumentException("Row should have 4 or 5 columns but has " + fields.size());
+        }
+
+        val offset = fields.size() - 4;
+        val book = new Book();
+
+        book.setName(parseText("NAME", fields.get(offset)));
+        book.setAuthor(parseText("AUTHOR", fields.get(offset + 1)));
+        book.setPrintYear(parsePrintYear(fields.get(offset + 2)));
+        book.setRead(parseIsRead(fields.get(offset + 3)));
+
+        return book;
+    }
+
+    /**
+     * This method appends the text to the row as CSV field. The field is quoted only if the text contains
+     * comma, quote or line break and quotes inside it are doubled.
+     *
+     * @param row  is the row to which the field will be appended.
+     * @param text is the text of the field.
+     */
+    public void appendText(StringBuilder row, String text) {
+        var quoted = false;
+
+        for (int i = 0; i < text.length() && !quoted; i++) {
+            val c = text.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+
+        if (!quoted) {
+            row.append(text);
+            return;
+        }
+
+        row.append('"');
+
+        for (int i = 0; i < text.length(); i++) {
+            val c = text.charAt(i);
+
+            if (c == '"') {
+                row.append('"');
+            }
+
+            row.append(c);
+        }
+
+        row.append('"');
+    }
+
+    private List<String> split(String row) {
+        val fields = new ArrayList<String>(5);
+        val field = new StringBuilder();
+
+        var quoted = false;
+
+        for (int i = 0; i < row.length(); i++) {
+            val c = row.charAt(i);
+
+            if (quoted) {
+                if (c == '"' && i + 1 < row.length() && row.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("Quoted field is not closed");
+        }
+
+        fields.add(field.toString());
+
+        return fields;
+    }
+
+    private String parseText(String column, String value) {
+        if (value.trim().isEmpty()) {
+            throw new IllegalArgumentException(column + " should not be empty");
+        }
+
+        if (value.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException(column + " should not be longer than " + MAX_LENGTH + " characters");
+        }
+
+        return value;
+    }
+
+    private int parsePrintYear(String value) {
+        int printYear;
+
+        try {
+            printYear = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("PRINT_YEAR should be a number but was [" + value + "]");
+        }
+
+        if (printYear < 0 || printYear > MAX_PRINT_YEAR) {
+            throw new IllegalArgumentException("PRINT_YEAR should be from 0 to " + MAX_PRINT_YEAR + " but was " + printYear);
+        }
+
+        return printYear;
+    }
+
+    private boolean parseIsRead(String value) {
+        switch (value.trim().toLowerCase()) {
+            case "true":
+            case "1":
+                return true;
+            case "false":
+            case "0":
+                return false;
+            default:
+                throw new IllegalArgumentException("IS_READ should be true, false, 1 or 0 but was [" + value + "]");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.qthegamep.bookmanager2.importer;
+
+/**
+ * This enum contains modes of the CSV import.
+ */
+public enum ImportMode {
+
+    /**
+     * Streaming pipeline of {@link BookImporter} that inserts books with JDBC batches by several writers.
+     */
+    PIPELINE,
+
+    /**
+     * Native loader of the database that is used by {@link NativeBookImporter}.
+     * It is the fastest mode for very large files but all books are inserted in one transaction.
+     */
+    NATIVE
+}
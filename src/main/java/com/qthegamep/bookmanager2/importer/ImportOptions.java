@@ -0,0 +1,59 @@
+package com.qthegamep.bookmanager2.importer;
+
+import lombok.Data;
+
+import java.util.function.Consumer;
+
+/**
+ * This class contains options of the import pipeline.
+ * There is an no args constructor with default options, getters and setters for fields.
+ */
+@Data
+public class ImportOptions {
+
+    /**
+     * Mode of the import. By default books are imported with the streaming pipeline.
+     */
+    private ImportMode importMode = ImportMode.PIPELINE;
+
+    /**
+     * Count of threads that parse chunks of the file.
+     */
+    private int parserThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Count of threads that insert books, every thread uses own session.
+     */
+    private int writerThreads = 2;
+
+    /**
+     * Count of books that are inserted with one JDBC batch in one transaction.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Count of batches that can wait for the writers. Parsers are blocked when the queue is full,
+     * so memory of the pipeline is limited by queue capacity multiplied by batch size.
+     */
+    private int queueCapacity = 16;
+
+    /**
+     * Size of the file chunk in bytes that is parsed by one task.
+     */
+    private int chunkSize = 16 * 1024 * 1024;
+
+    /**
+     * Maximum count of rejected rows that are kept in the report. All rejected rows are counted.
+     */
+    private int maxRejects = 100;
+
+    /**
+     * Interval of the progress reporting in milliseconds.
+     */
+    private long progressInterval = 1000;
+
+    /**
+     * Listener of the import progress. By default the progress is logged.
+     */
+    private Consumer<ImportProgress> progressListener = ImportProgress::log;
+}
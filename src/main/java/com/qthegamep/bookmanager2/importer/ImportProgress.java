@@ -0,0 +1,54 @@
+package com.qthegamep.bookmanager2.importer;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is an immutable snapshot of the import progress.
+ */
+@Slf4j
+@Value
+public class ImportProgress {
+
+    private final long bytesParsed;
+    private final long totalBytes;
+    private final long rowsImported;
+    private final long rowsRejected;
+    private final long rowsFailed;
+    private final long elapsedNanos;
+
+    /**
+     * This method returns parsed part of the file.
+     *
+     * @return percent of parsed bytes from 0 to 100.
+     */
+    public double getPercent() {
+        return totalBytes == 0 ? 100 : 100.0 * bytesParsed / totalBytes;
+    }
+
+    /**
+     * This method returns throughput of the import.
+     *
+     * @return count of imported rows per second.
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : (double) rowsImported * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * This method logs the progress. It is the default progress listener.
+     *
+     * @param progress is the progress that will be logged.
+     */
+    public static void log(ImportProgress progress) {
+        log.info("Import progress: {}% parsed, {} rows imported, {} rows rejected, {} rows failed, {} rows/s",
+                String.format("%.1f", progress.getPercent()),
+                progress.getRowsImported(),
+                progress.getRowsRejected(),
+                progress.getRowsFailed(),
+                String.format("%.0f", progress.getThroughput())
+        );
+    }
+}
@@ -0,0 +1,33 @@
+package com.qthegamep.bookmanager2.importer;
+
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is an immutable report of the finished import.
+ * Rows read are all not empty rows of the file except the header.
+ * Rejected rows didn't pass validation, failed rows were valid but their batch was not inserted.
+ */
+@Value
+public class ImportReport {
+
+    private final Path path;
+    private final long rowsRead;
+    private final long rowsImported;
+    private final long rowsRejected;
+    private final long rowsFailed;
+    private final List<Reject> rejects;
+    private final long elapsedNanos;
+
+    /**
+     * This method returns throughput of the import.
+     *
+     * @return count of imported rows per second.
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : (double) rowsImported * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+}
@@ -0,0 +1,334 @@
+package com.qthegamep.bookmanager2.importer;
+
+import com.qthegamep.bookmanager2.dao.AuthorDictionary;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQLDialect;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class is a bulk import of books from CSV file with the native loader of the database.
+ * Rows are validated with {@link CsvBookParser} and valid books are written to the temporary CSV file
+ * that is loaded with one statement in one transaction: LOAD DATA LOCAL INFILE for MySQL
+ * and INSERT ... SELECT from CSVREAD for H2. The loader is chosen by the dialect of hibernate.cfg.xml.
+ * Distinct authors of valid rows are resolved with {@link AuthorDictionary} in the same transaction before the load,
+ * so the loader only joins names of authors to their keys.
+ * If the statement fails then none of the books are inserted and all valid rows are counted as failed.
+ * The source file is read by blocks and rows are split on line breaks that are outside of quoted fields.
+ */
+@Slf4j
+public class NativeBookImporter {
+
+    /**
+     * The constant is the header of the temporary file that is loaded by the database.
+     */
+    public static final String HEADER = "NAME,AUTHOR,PRINT_YEAR,IS_READ";
+
+    /**
+     * The constant is the H2 sql query that inserts books from the CSV file.
+     */
+    public static final String H2_LOAD_SQL_QUERY = "insert into BOOKS (NAME, AUTHOR_ID, PRINT_YEAR, IS_READ) "
+            + "select c.NAME, a.ID, cast(c.PRINT_YEAR as int), cast(c.IS_READ as boolean) "
+            + "from CSVREAD('%s', null, 'charset=UTF-8') c join AUTHORS a on a.NAME = c.AUTHOR";
+
+    /**
+     * The constant is the MySQL sql query that inserts books from the local CSV file.
+     * The connection url should allow local infile with allowLoadLocalInfile=true.
+     */
+    public static final String MYSQL_LOAD_SQL_QUERY = "load data local infile '%s' into table BOOKS "
+            + "character set utf8 fields terminated by ',' optionally enclosed by '\"' escaped by '' "
+            + "lines terminated by '\\n' ignore 1 lines (NAME, @AUTHOR, PRINT_YEAR, @IS_READ) "
+            + "set AUTHOR_ID = (select ID from AUTHORS where NAME = @AUTHOR), IS_READ = @IS_READ = '1'";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Getter
+    private final ImportOptions importOptions;
+
+    private final AuthorDictionary authorDictionary = new AuthorDictionary();
+
+    /**
+     * This constructor creates importer with default options.
+     */
+    public NativeBookImporter() {
+        this(new ImportOptions());
+    }
+
+    /**
+     * This constructor creates importer with the given options. Only max rejects and progress listener are used,
+     * the progress is reported once when the import is finished.
+     *
+     * @param importOptions is the options of the import. Options should not be null.
+     */
+    public NativeBookImporter(@NonNull ImportOptions importOptions) {
+        this.importOptions = importOptions;
+    }
+
+    /**
+     * This method returns the sql query of the native loader for the dialect.
+     *
+     * @param dialect is the dialect of the database. Dialect should not be null.
+     * @param path    is the path to the CSV file that will be loaded. Path should not be null.
+     * @return sql query that loads books from the file.
+     * @throws UnsupportedOperationException if the database doesn't have supported native loader.
+     */
+    public static String getLoadSqlQuery(@NonNull Dialect dialect, @NonNull Path path) {
+        val fileName = path.toAbsolutePath().toString();
+
+        if (dialect instanceof H2Dialect) {
+            return String.format(H2_LOAD_SQL_QUERY, fileName.replace("'", "''"));
+        }
+
+        if (dialect instanceof MySQLDialect) {
+            return String.format(MYSQL_LOAD_SQL_QUERY, fileName.replace("\\", "\\\\").replace("'", "\\'"));
+        }
+
+        throw new UnsupportedOperationException("Native bulk load is not supported for " + dialect);
+    }
+
+    /**
+     * This method imports books from the CSV file with the native loader of the database.
+     * The temporary file is deleted after the import.
+     *
+     * @param path is the path to the CSV file. Path should not be null.
+     * @return report of the import.
+     * @throws UncheckedIOException          if the file can not be read or the temporary file can not be written.
+     * @throws UnsupportedOperationException if the database doesn't have supported native loader.
+     */
+    public ImportReport importCsv(@NonNull Path path) {
+        log.info("Preparing to import books from {} with native loader", path);
+
+        val start = System.nanoTime();
+
+        Path loadPath = null;
+
+        try {
+            loadPath = Files.createTempFile("books", ".csv");
+
+            val loadSqlQuery = getLoadSqlQuery(SessionUtil.getDialect(), loadPath);
+            val rejects = new ArrayList<Reject>();
+            val authors = new HashSet<String>();
+            val rowCounts = prepare(path, loadPath, rejects, authors);
+            val rowsValid = rowCounts[0] - rowCounts[1];
+            val rowsImported = load(loadSqlQuery, rowsValid, authors);
+
+            importOptions.getProgressListener().accept(new ImportProgress(Files.size(path),
+                    Files.size(path),
+                    rowsImported,
+                    rowCounts[1],
+                    rowsValid - rowsImported,
+                    System.nanoTime() - start
+            ));
+
+            val report = new ImportReport(path,
+                    rowCounts[0],
+                    rowsImported,
+                    rowCounts[1],
+                    rowsValid - rowsImported,
+                    rejects,
+                    System.nanoTime() - start
+            );
+
+            log.info("Preparing to import books from {} with native loader was done successful! Report: {}", path, report);
+
+            return report;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteTemporaryFile(loadPath);
+        }
+    }
+
+    private long[] prepare(Path path, Path loadPath, List<Reject> rejects, Set<String> authors) throws IOException {
+        long rowsRead = 0;
+        long rowsRejected = 0;
+
+        try (val input = new RowReader(Files.newInputStream(path));
+             val writer = Files.newBufferedWriter(loadPath, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.write('\n');
+
+            val line = new StringBuilder(256);
+
+            var position = 0L;
+
+            while (input.next()) {
+                val row = input.row();
+
+                if (!row.isEmpty() && (position != 0 || !CsvBookParser.isHeader(row))) {
+                    rowsRead++;
+
+                    try {
+                        val book = CsvBookParser.parse(row);
+
+                        write(writer, line, book);
+                        authors.add(book.getAuthor());
+                    } catch (IllegalArgumentException e) {
+                        rowsRejected++;
+
+                        if (rejects.size() < importOptions.getMaxRejects()) {
+                            rejects.add(new Reject(position, row, e.getMessage()));
+                        }
+                    }
+                }
+
+                position += input.length + 1;
+            }
+        }
+
+        return new long[]{rowsRead, rowsRejected};
+    }
+
+    private void write(Writer writer, StringBuilder line, Book book) throws IOException {
+        line.setLength(0);
+
+        CsvBookParser.appendText(line, book.getName());
+        line.append(',');
+        CsvBookParser.appendText(line, book.getAuthor());
+        line.append(',').append(book.getPrintYear())
+                .append(',').append(book.isRead() ? 1 : 0)
+                .append('\n');
+
+        writer.append(line);
+    }
+
+    private long load(String loadSqlQuery, long rowsValid, Set<String> authors) {
+        if (rowsValid == 0) {
+            return 0;
+        }
+
+        try (val session = SessionUtil.openStatelessSession()) {
+            val transaction = session.beginTransaction();
+            val connection = SessionUtil.getConnection(session);
+
+            try (val statement = connection.createStatement()) {
+                authorDictionary.resolveNames(connection, authors);
+
+                val rowsImported = statement.executeUpdate(loadSqlQuery);
+
+                transaction.commit();
+
+                return rowsImported;
+            } catch (SQLException | RuntimeException e) {
+                log.info("Books were not loaded! Preparing to rollback. Exception message: [{}]",
+                        e.getMessage(),
+                        e
+                );
+
+                transaction.rollback();
+
+                return 0;
+            }
+        }
+    }
+
+    private void deleteTemporaryFile(Path loadPath) {
+        if (loadPath == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(loadPath);
+        } catch (IOException e) {
+            log.info("Temporary file {} was not deleted! Exception message: [{}]",
+                    loadPath,
+                    e.getMessage(),
+                    e
+            );
+        }
+    }
+
+    private static class RowReader implements AutoCloseable {
+
+        private final InputStream input;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+
+        private byte[] rowBytes = new byte[256];
+        private int length;
+
+        private int position;
+        private int limit;
+
+        private RowReader(InputStream input) {
+            this.input = input;
+        }
+
+        private boolean next() throws IOException {
+            length = 0;
+
+            var quoted = false;
+
+            while (true) {
+                if (position == limit) {
+                    limit = input.read(buffer);
+                    position = 0;
+
+                    if (limit == -1) {
+                        limit = 0;
+                        return length > 0;
+                    }
+                }
+
+                var end = position;
+
+                while (end < limit && (buffer[end] != '\n' || quoted)) {
+                    if (buffer[end] == '"') {
+                        quoted = !quoted;
+                    }
+
+                    end++;
+                }
+
+                append(end - position);
+
+                if (end < limit) {
+                    position = end + 1;
+                    return true;
+                }
+
+                position = limit;
+            }
+        }
+
+        private String row() {
+            val end = length > 0 && rowBytes[length - 1] == '\r' ? length - 1 : length;
+
+            return new String(rowBytes, 0, end, StandardCharsets.UTF_8);
+        }
+
+        private void append(int count) {
+            if (rowBytes.length < length + count) {
+                rowBytes = Arrays.copyOf(rowBytes, Math.max(length + count, rowBytes.length * 2));
+            }
+
+            System.arraycopy(buffer, position, rowBytes, length, count);
+            length += count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.qthegamep.bookmanager2.importer;
+
+import lombok.Value;
+
+/**
+ * This class is an immutable description of the row that was rejected by validation.
+ */
+@Value
+public class Reject {
+
+    /**
+     * Position of the first byte of the row in the file.
+     */
+    private final long position;
+
+    private final String row;
+
+    private final String reason;
+}
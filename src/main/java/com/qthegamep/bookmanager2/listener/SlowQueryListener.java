@@ -0,0 +1,244 @@
+package com.qthegamep.bookmanager2.listener;
+
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.formatter.SQLSimpleFormatter;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import com.p6spy.engine.common.ConnectionInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import com.p6spy.engine.spy.appender.MessageFormattingStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is a P6Spy JDBC event listener responsible for the slow query log and N+1 detection.
+ * It is registered through the {@link java.util.ServiceLoader} mechanism so it works on the existing P6Spy path.
+ * Fast statements only cost a counter increment, the calling method and the bound sql are resolved
+ * only when a statement or a transaction has exceeded its threshold.
+ */
+@Slf4j
+public class SlowQueryListener extends SimpleJdbcEventListener {
+
+    /**
+     * The constant is the name of the spy.properties option with the slow query threshold in milliseconds.
+     */
+    public static final String SLOW_QUERY_THRESHOLD = "slowQueryThreshold";
+
+    /**
+     * The constant is the name of the spy.properties option with the maximum count of statements per transaction.
+     */
+    public static final String TRANSACTION_STATEMENT_THRESHOLD = "transactionStatementThreshold";
+
+    private static final String SPY_PROPERTIES = "spy.properties";
+    private static final String SYSTEM_PROPERTY_PREFIX = "p6spy.config.";
+
+    private static final long DEFAULT_SLOW_QUERY_THRESHOLD = 500;
+    private static final int DEFAULT_TRANSACTION_STATEMENT_THRESHOLD = 100;
+
+    private static final String UNKNOWN_CALLER = "unknown";
+
+    private static final Logger SLOW_QUERY_LOG = LoggerFactory.getLogger("SLOW_QUERY_LOGGER");
+
+    private static final MessageFormattingStrategy SQL_FORMATTER = new SQLSimpleFormatter();
+
+    private final long slowQueryThresholdNanos;
+
+    @Getter
+    private final int transactionStatementThreshold;
+
+    private final ThreadLocal<int[]> statementCounter = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final LongAdder slowStatements = new LongAdder();
+    private final LongAdder flaggedTransactions = new LongAdder();
+
+    /**
+     * This constructor is used by the P6Spy service loader.
+     * It reads thresholds from the spy.properties resource that can be overridden by system properties.
+     */
+    public SlowQueryListener() {
+        this(loadOptions());
+    }
+
+    /**
+     * This constructor creates listener with the explicit thresholds.
+     *
+     * @param slowQueryThreshold            is the time in milliseconds after which statement is logged as slow.
+     * @param transactionStatementThreshold is the count of statements after which transaction is flagged.
+     */
+    public SlowQueryListener(long slowQueryThreshold, int transactionStatementThreshold) {
+        this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThreshold);
+        this.transactionStatementThreshold = transactionStatementThreshold;
+    }
+
+    private SlowQueryListener(Properties options) {
+        this(parseLong(options, SLOW_QUERY_THRESHOLD, DEFAULT_SLOW_QUERY_THRESHOLD),
+                (int) parseLong(options, TRANSACTION_STATEMENT_THRESHOLD, DEFAULT_TRANSACTION_STATEMENT_THRESHOLD)
+        );
+    }
+
+    /**
+     * This method is called by P6Spy after each executed statement, batch execution included.
+     * It counts the statement in the current transaction and logs it if it was slow.
+     *
+     * @param statementInformation is the information about the executed statement.
+     * @param timeElapsedNanos     is the execution time of the statement.
+     * @param e                    is the exception thrown by the statement or null.
+     */
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        statementCounter.get()[0]++;
+
+        if (timeElapsedNanos >= slowQueryThresholdNanos) {
+            slowStatements.increment();
+            logSlowStatement(statementInformation, timeElapsedNanos);
+        }
+    }
+
+    /**
+     * This method is called by P6Spy after the transaction commit.
+     *
+     * @param connectionInformation is the information about the committed connection.
+     * @param timeElapsedNanos      is the commit time.
+     * @param e                     is the exception thrown by the commit or null.
+     */
+    @Override
+    public void onAfterCommit(ConnectionInformation connectionInformation, long timeElapsedNanos, SQLException e) {
+        finishTransaction("committed");
+    }
+
+    /**
+     * This method is called by P6Spy after the transaction rollback.
+     *
+     * @param connectionInformation is the information about the rolled back connection.
+     * @param timeElapsedNanos      is the rollback time.
+     * @param e                     is the exception thrown by the rollback or null.
+     */
+    @Override
+    public void onAfterRollback(ConnectionInformation connectionInformation, long timeElapsedNanos, SQLException e) {
+        finishTransaction("rolled back");
+    }
+
+    /**
+     * This method returns count of statements executed by the current thread in the current transaction.
+     *
+     * @return count of statements.
+     */
+    public int getStatementCount() {
+        return statementCounter.get()[0];
+    }
+
+    /**
+     * This method returns count of statements that was logged as slow.
+     *
+     * @return count of slow statements.
+     */
+    public long getSlowStatementCount() {
+        return slowStatements.sum();
+    }
+
+    /**
+     * This method returns count of transactions that was flagged because of too many statements.
+     *
+     * @return count of flagged transactions.
+     */
+    public long getFlaggedTransactionCount() {
+        return flaggedTransactions.sum();
+    }
+
+    /**
+     * This method returns the slow query threshold.
+     *
+     * @return the slow query threshold in milliseconds.
+     */
+    public long getSlowQueryThreshold() {
+        return TimeUnit.NANOSECONDS.toMillis(slowQueryThresholdNanos);
+    }
+
+    private void finishTransaction(String outcome) {
+        val counter = statementCounter.get();
+        val statementCount = counter[0];
+
+        counter[0] = 0;
+
+        if (statementCount > transactionStatementThreshold) {
+            flaggedTransactions.increment();
+            SLOW_QUERY_LOG.warn("Transaction {} in {} after {} statements! Threshold is {} statements",
+                    outcome,
+                    findCaller(),
+                    statementCount,
+                    transactionStatementThreshold
+            );
+        }
+    }
+
+    private void logSlowStatement(StatementInformation statementInformation, long timeElapsedNanos) {
+        val elapsed = TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos);
+        val connectionInformation = statementInformation.getConnectionInformation();
+        val connectionId = connectionInformation == null ? 0 : connectionInformation.getConnectionId();
+
+        SLOW_QUERY_LOG.warn("Slow statement in {}! {}",
+                findCaller(),
+                SQL_FORMATTER.formatMessage(connectionId,
+                        "",
+                        elapsed,
+                        "statement",
+                        statementInformation.getSql(),
+                        statementInformation.getSqlWithValues()
+                )
+        );
+    }
+
+    private static String findCaller() {
+        return StackWalker.getInstance()
+                .walk(frames -> frames
+                        .filter(frame -> BookDAOImpl.class.getName().equals(frame.getClassName()))
+                        .findFirst()
+                        .map(frame -> BookDAOImpl.class.getSimpleName() + "." + frame.getMethodName())
+                        .orElse(UNKNOWN_CALLER)
+                );
+    }
+
+    private static Properties loadOptions() {
+        val options = new Properties();
+        val spyProperties = SlowQueryListener.class.getClassLoader().getResourceAsStream(SPY_PROPERTIES);
+
+        if (spyProperties != null) {
+            try (spyProperties) {
+                options.load(spyProperties);
+            } catch (IOException e) {
+                log.info("Loading of {} was failed! Default thresholds will be used. Exception message: [{}]",
+                        SPY_PROPERTIES,
+                        e.getMessage(),
+                        e
+                );
+            }
+        }
+
+        return options;
+    }
+
+    private static long parseLong(Properties options, String key, long defaultValue) {
+        val value = System.getProperty(SYSTEM_PROPERTY_PREFIX + key, options.getProperty(key));
+
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            log.info("Option {} has incorrect value [{}]! Default value {} will be used", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+}
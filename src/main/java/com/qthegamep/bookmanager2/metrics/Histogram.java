@@ -0,0 +1,146 @@
+package com.qthegamep.bookmanager2.metrics;
+
+import lombok.val;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is a lock-free log-linear histogram of non negative long values.
+ * Every power of two range is split into {@value #SUB_BUCKETS} linear buckets,
+ * so recorded values are kept with relative error less than 1/{@value #SUB_BUCKETS}.
+ * Recording is a few arithmetic operations and atomic increments without any locks or allocations.
+ */
+public class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * This method records value to the histogram. Negative values are recorded as zero.
+     *
+     * @param value is the value that will be recorded.
+     */
+    public void record(long value) {
+        val nonNegativeValue = Math.max(value, 0);
+
+        buckets.incrementAndGet(bucketIndex(nonNegativeValue));
+        count.increment();
+        sum.add(nonNegativeValue);
+        max.accumulate(nonNegativeValue);
+    }
+
+    /**
+     * This method returns count of recorded values.
+     *
+     * @return count of recorded values.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * This method returns sum of recorded values.
+     *
+     * @return sum of recorded values.
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * This method returns maximum recorded value.
+     *
+     * @return maximum recorded value or zero if histogram is empty.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * This method returns mean of recorded values.
+     *
+     * @return mean of recorded values or zero if histogram is empty.
+     */
+    public double getMean() {
+        val currentCount = count.sum();
+
+        return currentCount == 0 ? 0 : (double) sum.sum() / currentCount;
+    }
+
+    /**
+     * This method returns value at the given percentile.
+     * The returned value is the upper bound of the bucket that contains the percentile, capped by the maximum.
+     *
+     * @param percentile is the percentile from 0 to 100.
+     * @return value at the given percentile or zero if histogram is empty.
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile should be from 0 to 100 but was " + percentile);
+        }
+
+        val currentCount = count.sum();
+
+        if (currentCount == 0) {
+            return 0;
+        }
+
+        val rank = Math.max(1, (long) Math.ceil(percentile / 100 * currentCount));
+
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), max.get());
+            }
+        }
+
+        return max.get();
+    }
+
+    /**
+     * This method resets all recorded values.
+     * Values recorded concurrently with reset can be partially lost.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        val shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        val shift = index / SUB_BUCKETS - 1;
+        val lowerBound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+
+        return lowerBound + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,190 @@
+package com.qthegamep.bookmanager2.metrics;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import javax.management.JMException;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This class is a registry of operations metrics of one scope, for example BookDAO or BookService.
+ * Metrics can be read as a plain-text dump or through JMX after {@link #registerMBeans()}.
+ */
+@Slf4j
+public class MetricsRegistry {
+
+    /**
+     * The constant is the JMX domain of all operations metrics.
+     */
+    public static final String JMX_DOMAIN = "com.qthegamep.bookmanager2";
+
+    @Getter
+    private final String scope;
+
+    private final ConcurrentMap<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+    /**
+     * This constructor creates empty registry.
+     *
+     * @param scope is the name of the scope of operations. Scope should not be null.
+     */
+    public MetricsRegistry(@NonNull String scope) {
+        this.scope = scope;
+    }
+
+    /**
+     * This method returns metrics of the operation and creates them if they don't exist yet.
+     *
+     * @param name is the name of the operation.
+     * @return metrics of the operation.
+     */
+    public OperationMetrics operation(@NonNull String name) {
+        return operations.computeIfAbsent(name, OperationMetrics::new);
+    }
+
+    /**
+     * This method returns metrics of all operations sorted by name.
+     *
+     * @return list of operations metrics.
+     */
+    public List<OperationMetrics> getOperations() {
+        val sortedOperations = new ArrayList<>(operations.values());
+
+        sortedOperations.sort(Comparator.comparing(OperationMetrics::getName));
+
+        return sortedOperations;
+    }
+
+    /**
+     * This method resets metrics of all operations.
+     */
+    public void reset() {
+        operations.values().forEach(OperationMetrics::reset);
+    }
+
+    /**
+     * This method returns plain-text table with metrics of all operations.
+     * Latencies are in microseconds.
+     *
+     * @return plain-text dump of metrics.
+     */
+    public String dump() {
+        val dump = new StringBuilder();
+
+        dump.append(String.format("%-16s %10s %8s %12s %10s %10s %10s %10s %10s %10s%n",
+                scope,
+                "calls",
+                "errors",
+                "mean, us",
+                "p50, us",
+                "p95, us",
+                "p99, us",
+                "max, us",
+                "mean size",
+                "max size"
+        ));
+
+        getOperations().forEach(operation -> dump.append(String.format("%-16s %10d %8d %12.1f %10d %10d %10d %10d %10.1f %10d%n",
+                operation.getName(),
+                operation.getCalls(),
+                operation.getErrors(),
+                operation.getMeanLatency(),
+                operation.getP50Latency(),
+                operation.getP95Latency(),
+                operation.getP99Latency(),
+                operation.getMaxLatency(),
+                operation.getMeanSize(),
+                operation.getMaxSize()
+        )));
+
+        return dump.toString();
+    }
+
+    /**
+     * This method registers metrics of all given operations in the platform MBean server.
+     * Already registered operations are skipped.
+     *
+     * @param names is the names of operations that will be registered.
+     */
+    public void registerMBeans(@NonNull Collection<String> names) {
+        names.forEach(this::operation);
+
+        registerMBeans();
+    }
+
+    /**
+     * This method registers metrics of all known operations in the platform MBean server.
+     * Already registered operations are skipped.
+     */
+    public void registerMBeans() {
+        log.info("Preparing to register metrics of {} in the MBean server", scope);
+
+        val mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+        for (val operation : operations.values()) {
+            try {
+                val objectName = objectName(operation.getName());
+
+                if (!mBeanServer.isRegistered(objectName)) {
+                    mBeanServer.registerMBean(operation, objectName);
+                }
+            } catch (JMException e) {
+                log.info("Metrics of {} was not registered! Exception message: [{}]",
+                        operation.getName(),
+                        e.getMessage(),
+                        e
+                );
+            }
+        }
+
+        log.info("Preparing to register metrics of {} in the MBean server was done successful", scope);
+    }
+
+    /**
+     * This method unregisters metrics of all known operations from the platform MBean server.
+     */
+    public void unregisterMBeans() {
+        log.info("Preparing to unregister metrics of {} from the MBean server", scope);
+
+        val mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+        for (val name : operations.keySet()) {
+            try {
+                val objectName = objectName(name);
+
+                if (mBeanServer.isRegistered(objectName)) {
+                    mBeanServer.unregisterMBean(objectName);
+                }
+            } catch (JMException e) {
+                log.info("Metrics of {} was not unregistered! Exception message: [{}]",
+                        name,
+                        e.getMessage(),
+                        e
+                );
+            }
+        }
+
+        log.info("Preparing to unregister metrics of {} from the MBean server was done successful", scope);
+    }
+
+    /**
+     * This method returns JMX object name of the operation metrics.
+     *
+     * @param name is the name of the operation.
+     * @return JMX object name.
+     * @throws MalformedObjectNameException if scope or name contains characters that are illegal in JMX.
+     */
+    public ObjectName objectName(@NonNull String name) throws MalformedObjectNameException {
+        return new ObjectName(JMX_DOMAIN + ":type=Metrics,scope=" + scope + ",name=" + name);
+    }
+}
@@ -0,0 +1,119 @@
+package com.qthegamep.bookmanager2.metrics;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class contains metrics of one DAO or service operation: count of calls, count of errors,
+ * latency histogram and histogram of batch or result sizes. All counters are striped or lock-free
+ * so recording from many threads doesn't contend on a single lock.
+ */
+public class OperationMetrics implements OperationMetricsMXBean {
+
+    @Getter
+    private final String name;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    @Getter
+    private final Histogram latency = new Histogram();
+    @Getter
+    private final Histogram size = new Histogram();
+
+    /**
+     * This constructor creates empty metrics of the operation.
+     *
+     * @param name is the name of the operation. Name should not be null.
+     */
+    public OperationMetrics(@NonNull String name) {
+        this.name = name;
+    }
+
+    /**
+     * This method records successful call of the operation without size.
+     *
+     * @param startNanos is the {@link System#nanoTime()} value taken before the call.
+     */
+    public void recordSuccess(long startNanos) {
+        calls.increment();
+        latency.record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * This method records successful call of the operation with the batch or result size.
+     *
+     * @param startNanos is the {@link System#nanoTime()} value taken before the call.
+     * @param size       is the batch or result size of the call.
+     */
+    public void recordSuccess(long startNanos, int size) {
+        recordSuccess(startNanos);
+        this.size.record(size);
+    }
+
+    /**
+     * This method records call of the operation that has thrown an exception or returned a failed result.
+     *
+     * @param startNanos is the {@link System#nanoTime()} value taken before the call.
+     */
+    public void recordError(long startNanos) {
+        errors.increment();
+        recordSuccess(startNanos);
+    }
+
+    @Override
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getMeanLatency() {
+        return latency.getMean() / TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+    @Override
+    public long getP50Latency() {
+        return TimeUnit.NANOSECONDS.toMicros(latency.getPercentile(50));
+    }
+
+    @Override
+    public long getP95Latency() {
+        return TimeUnit.NANOSECONDS.toMicros(latency.getPercentile(95));
+    }
+
+    @Override
+    public long getP99Latency() {
+        return TimeUnit.NANOSECONDS.toMicros(latency.getPercentile(99));
+    }
+
+    @Override
+    public long getMaxLatency() {
+        return TimeUnit.NANOSECONDS.toMicros(latency.getMax());
+    }
+
+    @Override
+    public double getMeanSize() {
+        return size.getMean();
+    }
+
+    @Override
+    public long getMaxSize() {
+        return size.getMax();
+    }
+
+    @Override
+    public void reset() {
+        calls.reset();
+        errors.reset();
+        latency.reset();
+        size.reset();
+    }
+}
@@ -0,0 +1,84 @@
+package com.qthegamep.bookmanager2.metrics;
+
+/**
+ * This interface is a JMX management interface of the metrics of one DAO or service operation.
+ * Latency values are in microseconds. Size values are batch sizes for write operations
+ * and result sizes for read operations.
+ */
+public interface OperationMetricsMXBean {
+
+    /**
+     * This method should return name of the operation.
+     *
+     * @return name of the operation.
+     */
+    String getName();
+
+    /**
+     * This method should return count of calls of the operation.
+     *
+     * @return count of calls.
+     */
+    long getCalls();
+
+    /**
+     * This method should return count of calls that have thrown an exception.
+     *
+     * @return count of errors.
+     */
+    long getErrors();
+
+    /**
+     * This method should return mean latency of the operation.
+     *
+     * @return mean latency in microseconds.
+     */
+    double getMeanLatency();
+
+    /**
+     * This method should return median latency of the operation.
+     *
+     * @return median latency in microseconds.
+     */
+    long getP50Latency();
+
+    /**
+     * This method should return 95th percentile latency of the operation.
+     *
+     * @return 95th percentile latency in microseconds.
+     */
+    long getP95Latency();
+
+    /**
+     * This method should return 99th percentile latency of the operation.
+     *
+     * @return 99th percentile latency in microseconds.
+     */
+    long getP99Latency();
+
+    /**
+     * This method should return maximum latency of the operation.
+     *
+     * @return maximum latency in microseconds.
+     */
+    long getMaxLatency();
+
+    /**
+     * This method should return mean batch or result size of the operation.
+     *
+     * @return mean size or zero if operation has no size.
+     */
+    double getMeanSize();
+
+    /**
+     * This method should return maximum batch or result size of the operation.
+     *
+     * @return maximum size or zero if operation has no size.
+     */
+    long getMaxSize();
+
+    /**
+     * This method should reset all metrics of the operation.
+     */
+    void reset();
+}
@@ -0,0 +1,269 @@
+package com.qthegamep.bookmanager2.reactive;
+
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class is a cold publisher of books that are found by the same queries as finders of the DAO.
+ * Every subscriber gets own subscription that reads books in the order of id with keyset pagination:
+ * the next chunk is the query of the finder with id greater than the id of the last published book.
+ * Chunks are read only when the subscriber has requested books and a chunk is never greater than the requested
+ * count, so slow subscribers apply back-pressure to the query instead of buffering the whole result.
+ * Every chunk is read in own short transaction of the stateless session, so connection is not held
+ * between chunks. Signals to the subscriber are sent from the executor one by one.
+ */
+@Slf4j
+public class BookPublisher implements Flow.Publisher<Book> {
+
+    /**
+     * The constant is the default maximum count of books that are read with one query.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 100;
+
+    private final String predicate;
+    private final String parameterName;
+    private final Object parameterValue;
+
+    @Getter
+    private final int chunkSize;
+
+    @Getter
+    private final Executor executor;
+
+    private BookPublisher(String predicate, String parameterName, Object parameterValue, int chunkSize, Executor executor) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size should be positive but was " + chunkSize);
+        }
+
+        this.predicate = predicate;
+        this.parameterName = parameterName;
+        this.parameterValue = parameterValue;
+        this.chunkSize = chunkSize;
+        this.executor = executor;
+    }
+
+    /**
+     * This method creates publisher of all books with default chunk size and common pool executor.
+     *
+     * @return publisher of all books.
+     */
+    public static BookPublisher all() {
+        return all(DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * This method creates publisher of all books.
+     *
+     * @param chunkSize is the maximum count of books that are read with one query. Chunk size should be positive.
+     * @param executor  is the executor that reads books and sends signals. Executor should not be null.
+     * @return publisher of all books.
+     * @throws IllegalArgumentException if chunk size is not positive.
+     */
+    public static BookPublisher all(int chunkSize, @NonNull Executor executor) {
+        return new BookPublisher("", null, null, chunkSize, executor);
+    }
+
+    /**
+     * This method creates publisher of books by name.
+     *
+     * @param name      is the name of books. Name should not be null.
+     * @param chunkSize is the maximum count of books that are read with one query. Chunk size should be positive.
+     * @param executor  is the executor that reads books and sends signals. Executor should not be null.
+     * @return publisher of books by name.
+     * @throws IllegalArgumentException if chunk size is not positive.
+     */
+    public static BookPublisher byName(@NonNull String name, int chunkSize, @NonNull Executor executor) {
+        return new BookPublisher("b.name = :name and ", "name", name, chunkSize, executor);
+    }
+
+    /**
+     * This method creates publisher of books by author.
+     *
+     * @param author    is the author of books. Author should not be null.
+     * @param chunkSize is the maximum count of books that are read with one query. Chunk size should be positive.
+     * @param executor  is the executor that reads books and sends signals. Executor should not be null.
+     * @return publisher of books by author.
+     * @throws IllegalArgumentException if chunk size is not positive.
+     */
+    public static BookPublisher byAuthor(@NonNull String author, int chunkSize, @NonNull Executor executor) {
+        return new BookPublisher("a.name = :author and ", "author", author, chunkSize, executor);
+    }
+
+    /**
+     * This method creates publisher of books by print year.
+     *
+     * @param printYear is the print year of books.
+     * @param chunkSize is the maximum count of books that are read with one query. Chunk size should be positive.
+     * @param executor  is the executor that reads books and sends signals. Executor should not be null.
+     * @return publisher of books by print year.
+     * @throws IllegalArgumentException if chunk size is not positive.
+     */
+    public static BookPublisher byPrintYear(int printYear, int chunkSize, @NonNull Executor executor) {
+        return new BookPublisher("b.printYear = :printYear and ", "printYear", printYear, chunkSize, executor);
+    }
+
+    /**
+     * This method creates publisher of books by is read.
+     *
+     * @param isRead    is the is read flag of books.
+     * @param chunkSize is the maximum count of books that are read with one query. Chunk size should be positive.
+     * @param executor  is the executor that reads books and sends signals. Executor should not be null.
+     * @return publisher of books by is read.
+     * @throws IllegalArgumentException if chunk size is not positive.
+     */
+    public static BookPublisher byIsRead(boolean isRead, int chunkSize, @NonNull Executor executor) {
+        return new BookPublisher("b.isRead = :isRead and ", "isRead", isRead, chunkSize, executor);
+    }
+
+    /**
+     * This method subscribes the subscriber to books. The subscriber receives subscription immediately
+     * and books are read only after request.
+     *
+     * @param subscriber is the subscriber of books. Subscriber should not be null.
+     */
+    @Override
+    public void subscribe(@NonNull Flow.Subscriber<? super Book> subscriber) {
+        log.info("Preparing to subscribe to books");
+
+        val subscription = new BookSubscription(subscriber);
+
+        subscriber.onSubscribe(subscription);
+    }
+
+    private List<Book> fetch(int lastId, int size) {
+        try (val session = SessionUtil.openStatelessSession()) {
+            val transaction = session.beginTransaction();
+
+            try {
+                val query = session.createQuery("from Book b left join fetch b.author a where " + predicate + "b.id > :lastId order by b.id", Book.class)
+                        .setParameter("lastId", lastId)
+                        .setMaxResults(size);
+
+                if (parameterName != null) {
+                    query.setParameter(parameterName, parameterValue);
+                }
+
+                val books = query.list();
+
+                transaction.commit();
+
+                return books;
+            } catch (RuntimeException e) {
+                transaction.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private class BookSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super Book> subscriber;
+
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger workInProgress = new AtomicInteger();
+
+        private volatile boolean cancelled;
+        private volatile boolean invalidRequest;
+        private volatile long invalidCount;
+
+        private boolean done;
+        private int lastId;
+
+        private BookSubscription(Flow.Subscriber<? super Book> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidCount = n;
+                invalidRequest = true;
+            } else {
+                demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void schedule() {
+            if (workInProgress.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            var missed = 1;
+
+            do {
+                while (!cancelled && !done) {
+                    if (invalidRequest) {
+                        done = true;
+                        subscriber.onError(new IllegalArgumentException("Requested count should be positive but was "
+                                + invalidCount));
+                    } else if (demand.get() > 0) {
+                        publishChunk();
+                    } else {
+                        break;
+                    }
+                }
+
+                missed = workInProgress.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void publishChunk() {
+            val size = (int) Math.min(demand.get(), chunkSize);
+
+            List<Book> books;
+
+            try {
+                books = fetch(lastId, size);
+            } catch (RuntimeException e) {
+                log.info("Chunk of books was not read! Exception message: [{}]",
+                        e.getMessage(),
+                        e
+                );
+
+                done = true;
+                subscriber.onError(e);
+                return;
+            }
+
+            for (val book : books) {
+                if (cancelled) {
+                    return;
+                }
+
+                lastId = book.getId();
+
+                if (demand.get() != Long.MAX_VALUE) {
+                    demand.decrementAndGet();
+                }
+
+                subscriber.onNext(book);
+            }
+
+            if (books.size() < size && !cancelled) {
+                done = true;
+                subscriber.onComplete();
+            }
+        }
+    }
+}
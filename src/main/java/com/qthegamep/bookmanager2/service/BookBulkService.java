@@ -0,0 +1,28 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.bulk.BulkReport;
+import com.qthegamep.bookmanager2.entity.Book;
+
+import java.util.List;
+
+/**
+ * This interface is a service. It contains parallel bulk services of very large lists of books.
+ */
+public interface BookBulkService {
+
+    /**
+     * This service method should update books in parallel partitions with chunked commits.
+     *
+     * @param books is the books that will be updated.
+     * @return report of the update with failures of partitions.
+     */
+    BulkReport updateAll(List<? extends Book> books);
+
+    /**
+     * This service method should remove books in parallel partitions with chunked commits.
+     *
+     * @param books is the books that will be removed.
+     * @return report of the remove with failures of partitions.
+     */
+    BulkReport removeAll(List<? extends Book> books);
+}
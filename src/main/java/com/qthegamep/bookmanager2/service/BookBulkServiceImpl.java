@@ -0,0 +1,54 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.bulk.BulkReport;
+import com.qthegamep.bookmanager2.bulk.PartitionedBookWriter;
+import com.qthegamep.bookmanager2.entity.Book;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * This class is book bulk service implementation.
+ */
+@Slf4j
+public class BookBulkServiceImpl implements BookBulkService {
+
+    @Getter
+    @Setter
+    @NonNull
+    private PartitionedBookWriter partitionedBookWriter = new PartitionedBookWriter();
+
+    /**
+     * This service method implements updating books in parallel partitions of id ranges.
+     * Unlike {@link BookService#updateAll(List)} it doesn't hold one transaction for all books,
+     * so failed chunks are reported instead of rolling back everything.
+     *
+     * @param books is the books that will be updated. Books should not be null.
+     * @return report of the update with failures of partitions.
+     */
+    @Override
+    public BulkReport updateAll(List<? extends Book> books) {
+        log.info("Preparing to update books in parallel partitions");
+
+        return partitionedBookWriter.updateAll(books);
+    }
+
+    /**
+     * This service method implements removing books in parallel partitions of id ranges.
+     * Unlike {@link BookService#removeAll(List)} it doesn't hold one transaction for all books,
+     * so failed chunks are reported instead of rolling back everything.
+     *
+     * @param books is the books that will be removed. Books should not be null.
+     * @return report of the remove with failures of partitions.
+     */
+    @Override
+    public BulkReport removeAll(List<? extends Book> books) {
+        log.info("Preparing to remove books in parallel partitions");
+
+        return partitionedBookWriter.removeAll(books);
+    }
+}
@@ -0,0 +1,20 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.entity.BookChange;
+
+import java.util.List;
+
+/**
+ * This interface is a service. It contains services of the change feed of books.
+ */
+public interface BookChangeService {
+
+    /**
+     * This service method should return changes of books after the given sequence number.
+     *
+     * @param sequence is the last sequence number that was read by the consumer.
+     * @param limit    is the maximum count of returned changes.
+     * @return list of changes in the order of sequence numbers.
+     */
+    List<BookChange> changesSince(long sequence, int limit);
+}
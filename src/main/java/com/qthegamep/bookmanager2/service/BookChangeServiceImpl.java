@@ -0,0 +1,38 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.dao.BookChangeLog;
+import com.qthegamep.bookmanager2.entity.BookChange;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * This class is book change service implementation.
+ */
+@Slf4j
+public class BookChangeServiceImpl implements BookChangeService {
+
+    @Getter
+    @Setter
+    @NonNull
+    private BookChangeLog bookChangeLog = new BookChangeLog();
+
+    /**
+     * This service method implements returning changes of books after the given sequence number,
+     * so consumers catch up incrementally instead of reading all books.
+     *
+     * @param sequence is the last sequence number that was read by the consumer. Use 0 to read from the beginning.
+     * @param limit    is the maximum count of returned changes. Limit should be positive.
+     * @return list of changes in the order of sequence numbers.
+     */
+    @Override
+    public List<BookChange> changesSince(long sequence, int limit) {
+        log.info("Preparing to get changes of books");
+
+        return bookChangeLog.changesSince(sequence, limit);
+    }
+}
@@ -0,0 +1,30 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.exporter.ExportFormat;
+
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * This interface is a service. It contains export services of all books from the database.
+ */
+public interface BookExportService {
+
+    /**
+     * This service method should export all books to the file.
+     *
+     * @param path   is the path to the file.
+     * @param format is the format of the export.
+     * @return count of exported books.
+     */
+    long export(Path path, ExportFormat format);
+
+    /**
+     * This service method should export all books to the output stream.
+     *
+     * @param outputStream is the stream to which books will be written.
+     * @param format       is the format of the export.
+     * @return count of exported books.
+     */
+    long export(OutputStream outputStream, ExportFormat format);
+}
@@ -0,0 +1,52 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.exporter.BookExporter;
+import com.qthegamep.bookmanager2.exporter.ExportFormat;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * This class is book export service implementation.
+ */
+@Slf4j
+public class BookExportServiceImpl implements BookExportService {
+
+    @Getter
+    @Setter
+    @NonNull
+    private BookExporter bookExporter = new BookExporter();
+
+    /**
+     * This service method implements exporting all books to the file with constant memory.
+     *
+     * @param path   is the path to the file. The file is created or truncated.
+     * @param format is the format of the export.
+     * @return count of exported books.
+     */
+    @Override
+    public long export(Path path, ExportFormat format) {
+        log.info("Preparing to export books to file");
+
+        return bookExporter.export(path, format);
+    }
+
+    /**
+     * This service method implements exporting all books to the output stream with constant memory.
+     *
+     * @param outputStream is the stream to which books will be written. The stream is flushed but not closed.
+     * @param format       is the format of the export.
+     * @return count of exported books.
+     */
+    @Override
+    public long export(OutputStream outputStream, ExportFormat format) {
+        log.info("Preparing to export books to output stream");
+
+        return bookExporter.export(outputStream, format);
+    }
+}
@@ -0,0 +1,19 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.importer.ImportReport;
+
+import java.nio.file.Path;
+
+/**
+ * This interface is a service. It contains bulk import services of books from files to the database.
+ */
+public interface BookImportService {
+
+    /**
+     * This service method should import books from the CSV file to the database.
+     *
+     * @param path is the path to the CSV file.
+     * @return report of the import with counts of imported and rejected rows.
+     */
+    ImportReport importCsv(Path path);
+}
@@ -0,0 +1,45 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.importer.BookImporter;
+import com.qthegamep.bookmanager2.importer.ImportMode;
+import com.qthegamep.bookmanager2.importer.ImportOptions;
+import com.qthegamep.bookmanager2.importer.ImportReport;
+import com.qthegamep.bookmanager2.importer.NativeBookImporter;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+
+/**
+ * This class is book import service implementation.
+ */
+@Slf4j
+public class BookImportServiceImpl implements BookImportService {
+
+    @Getter
+    @Setter
+    @NonNull
+    private ImportOptions importOptions = new ImportOptions();
+
+    /**
+     * This service method implements importing books from the CSV file to the database
+     * with the streaming pipeline of {@link BookImporter} or with the native loader of the database
+     * of {@link NativeBookImporter} according to the import mode of the options.
+     *
+     * @param path is the path to the CSV file. Path should not be null.
+     * @return report of the import with counts of imported and rejected rows.
+     */
+    @Override
+    public ImportReport importCsv(@NonNull Path path) {
+        log.info("Preparing to import books from CSV file");
+
+        if (importOptions.getImportMode() == ImportMode.NATIVE) {
+            return new NativeBookImporter(importOptions).importCsv(path);
+        }
+
+        return new BookImporter(importOptions).importCsv(path);
+    }
+}
@@ -0,0 +1,50 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.entity.Book;
+
+import java.util.concurrent.Flow;
+
+/**
+ * This interface is a service. It contains reactive services that publish books with back-pressure.
+ */
+public interface BookPublisherService {
+
+    /**
+     * This service method should return publisher of all books.
+     *
+     * @return publisher of all books.
+     */
+    Flow.Publisher<Book> publishAll();
+
+    /**
+     * This service method should return publisher of books by name.
+     *
+     * @param name is the name of books.
+     * @return publisher of books by name.
+     */
+    Flow.Publisher<Book> publishByName(String name);
+
+    /**
+     * This service method should return publisher of books by author.
+     *
+     * @param author is the author of books.
+     * @return publisher of books by author.
+     */
+    Flow.Publisher<Book> publishByAuthor(String author);
+
+    /**
+     * This service method should return publisher of books by print year.
+     *
+     * @param printYear is the print year of books.
+     * @return publisher of books by print year.
+     */
+    Flow.Publisher<Book> publishByPrintYear(int printYear);
+
+    /**
+     * This service method should return publisher of books by is read.
+     *
+     * @param isRead is the is read flag of books.
+     * @return publisher of books by is read.
+     */
+    Flow.Publisher<Book> publishByIsRead(boolean isRead);
+}
@@ -0,0 +1,94 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.reactive.BookPublisher;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class is book publisher service implementation.
+ * Publishers read books in chunks of chunk size on the executor, by default on the common pool.
+ */
+@Slf4j
+public class BookPublisherServiceImpl implements BookPublisherService {
+
+    @Getter
+    @Setter
+    private int chunkSize = BookPublisher.DEFAULT_CHUNK_SIZE;
+
+    @Getter
+    @Setter
+    @NonNull
+    private Executor executor = ForkJoinPool.commonPool();
+
+    /**
+     * This service method implements returning publisher of all books.
+     *
+     * @return publisher of all books in the order of id.
+     */
+    @Override
+    public Flow.Publisher<Book> publishAll() {
+        log.info("Preparing to create publisher of all books");
+
+        return BookPublisher.all(chunkSize, executor);
+    }
+
+    /**
+     * This service method implements returning publisher of books by name.
+     *
+     * @param name is the name of books. Name should not be null.
+     * @return publisher of books by name in the order of id.
+     */
+    @Override
+    public Flow.Publisher<Book> publishByName(String name) {
+        log.info("Preparing to create publisher of books by name");
+
+        return BookPublisher.byName(name, chunkSize, executor);
+    }
+
+    /**
+     * This service method implements returning publisher of books by author.
+     *
+     * @param author is the author of books. Author should not be null.
+     * @return publisher of books by author in the order of id.
+     */
+    @Override
+    public Flow.Publisher<Book> publishByAuthor(String author) {
+        log.info("Preparing to create publisher of books by author");
+
+        return BookPublisher.byAuthor(author, chunkSize, executor);
+    }
+
+    /**
+     * This service method implements returning publisher of books by print year.
+     *
+     * @param printYear is the print year of books.
+     * @return publisher of books by print year in the order of id.
+     */
+    @Override
+    public Flow.Publisher<Book> publishByPrintYear(int printYear) {
+        log.info("Preparing to create publisher of books by print year");
+
+        return BookPublisher.byPrintYear(printYear, chunkSize, executor);
+    }
+
+    /**
+     * This service method implements returning publisher of books by is read.
+     *
+     * @param isRead is the is read flag of books.
+     * @return publisher of books by is read in the order of id.
+     */
+    @Override
+    public Flow.Publisher<Book> publishByIsRead(boolean isRead) {
+        log.info("Preparing to create publisher of books by is read");
+
+        return BookPublisher.byIsRead(isRead, chunkSize, executor);
+    }
+}
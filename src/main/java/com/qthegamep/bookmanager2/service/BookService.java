@@ -1,7 +1,11 @@
 package com.qthegamep.bookmanager2.service;
 
+import com.qthegamep.bookmanager2.dao.MultiGetResult;
+import com.qthegamep.bookmanager2.dao.BookCriteria;
+import com.qthegamep.bookmanager2.dao.UpdateResult;
 import com.qthegamep.bookmanager2.entity.Book;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -13,24 +17,42 @@ public interface BookService {
      * This service method should add book entity object to the database.
      *
      * @param book is the entity object that will be added to the database.
+     * @return true if the book was added, false if it was not added because of the error.
      */
-    void add(Book book);
+    boolean add(Book book);
 
     /**
      * This service method should add list of books entities objects to the database.
      *
      * @param books is the list of entities objects that will be added to the database.
+     * @return true if the books were added, false if they were not added because of the error.
      */
-    void addAll(List<? extends Book> books);
+    boolean addAll(List<? extends Book> books);
 
     /**
      * This service method should return book entity object from the database by id.
      *
      * @param id is the parameter by which the entity object will be returned.
-     * @return book entity object.
+     * @return book entity object. If id doesn't exist then return null.
      */
     Book getById(int id);
 
+    /**
+     * This service method should return books entities objects from the database by many ids.
+     *
+     * @param ids is the ids by which the entities objects will be returned.
+     * @return result with books in the order of ids and ids that were not found.
+     */
+    MultiGetResult getByIds(int[] ids);
+
+    /**
+     * This service method should return books entities objects from the database by many ids.
+     *
+     * @param ids is the ids by which the entities objects will be returned.
+     * @return result with books in the order of ids and ids that were not found.
+     */
+    MultiGetResult getByIds(Collection<Integer> ids);
+
     /**
      * This service method should return list of books entities objects from the database by name.
      *
@@ -71,30 +93,72 @@ public interface BookService {
     List<Book> getAll();
 
     /**
-     * This service method should update book entity object in the database.
+     * This service method should return list of books entities objects from the database
+     * that match all criteria, sorted and limited according to the criteria.
+     *
+     * @param criteria is the criteria by which the list of entities objects will be returned.
+     * @return list of books entities objects.
+     */
+    List<Book> search(BookCriteria criteria);
+
+    /**
+     * This service method should check whether at least one book with the given name exists in the database.
+     *
+     * @param name is the parameter by which the existence of books will be checked.
+     * @return true if a book with the name exists.
+     */
+    boolean existsByName(String name);
+
+    /**
+     * This service method should check whether at least one book of the given author exists in the database.
+     *
+     * @param author is the parameter by which the existence of books will be checked.
+     * @return true if a book of the author exists.
+     */
+    boolean existsByAuthor(String author);
+
+    /**
+     * This service method should update book entity object in the database if it was not updated or removed
+     * by another writer after it was read.
      *
      * @param book is the new entity that will be added to the database instead of the old one.
+     * @return result of the update with the book as a conflict if it was updated or removed by another writer
+     * or with the failure if the book was not updated because of the error.
      */
-    void update(Book book);
+    UpdateResult update(Book book);
 
     /**
-     * This service method should update list of books entities objects in the database.
+     * This service method should update list of books entities objects in the database if none of them were updated
+     * or removed by other writers after they were read.
      *
      * @param books is the new entities that will be added to the database instead of the old ones.
+     * @return result of the update with books that were updated or removed by other writers as conflicts
+     * or with the failure if books were not updated because of the error.
      */
-    void updateAll(List<? extends Book> books);
+    UpdateResult updateAll(List<? extends Book> books);
 
     /**
      * This service method should delete book entity object from the database.
      *
      * @param book is the entity that will be deleted from the database.
+     * @return true if the book was deleted, false if it was not deleted because of the error.
      */
-    void remove(Book book);
+    boolean remove(Book book);
 
     /**
      * This service method should delete list of books entities objects from the database.
      *
      * @param books is the entities that will be deleted from the database.
+     * @return true if the books were deleted, false if they were not deleted because of the error.
+     */
+    boolean removeAll(List<? extends Book> books);
+
+    /**
+     * This service method should insert books that don't exist and update books that exist in the database.
+     * Book with id is matched by id, book without id is matched by name, author and print year.
+     *
+     * @param books is the entities that will be inserted or updated in the database.
+     * @return true if the books were upserted, false if they were not upserted because of the error.
      */
-    void removeAll(List<? extends Book> books);
+    boolean upsertAll(List<? extends Book> books);
 }
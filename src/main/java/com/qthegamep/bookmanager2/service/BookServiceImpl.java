@@ -1,12 +1,16 @@
 package com.qthegamep.bookmanager2.service;
 
 import com.qthegamep.bookmanager2.dao.BookDAO;
+import com.qthegamep.bookmanager2.dao.MultiGetResult;
+import com.qthegamep.bookmanager2.dao.BookCriteria;
+import com.qthegamep.bookmanager2.dao.UpdateResult;
 import com.qthegamep.bookmanager2.entity.Book;
 
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -23,31 +27,33 @@ public class BookServiceImpl implements BookService {
      * This service method implements adding book entity object to the database.
      *
      * @param book is the entity object that will be added to the database.
+     * @return true if the book was added, false if it was not added because of the error.
      */
     @Override
-    public void add(Book book) {
+    public boolean add(Book book) {
         log.info("Preparing to add book");
 
-        bookDAO.add(book);
+        return bookDAO.add(book);
     }
 
     /**
      * This service method implements adding list of books entities objects to the database.
      *
      * @param books is the list of entities objects that will be added to the database.
+     * @return true if the books were added, false if they were not added because of the error.
      */
     @Override
-    public void addAll(List<? extends Book> books) {
+    public boolean addAll(List<? extends Book> books) {
         log.info("Preparing to add all books");
 
-        bookDAO.addAll(books);
+        return bookDAO.addAll(books);
     }
 
     /**
      * This service method implements returning book entity object from the database by id.
      *
      * @param id is the parameter by which the entity object will be returned.
-     * @return book entity object.
+     * @return book entity object. If id doesn't exist then return null.
      */
     @Override
     public Book getById(int id) {
@@ -56,6 +62,32 @@ public class BookServiceImpl implements BookService {
         return bookDAO.getById(id);
     }
 
+    /**
+     * This service method implements returning books entities objects from the database by many ids.
+     *
+     * @param ids is the ids by which the entities objects will be returned.
+     * @return result with books in the order of ids and ids that were not found.
+     */
+    @Override
+    public MultiGetResult getByIds(int[] ids) {
+        log.info("Preparing to get books by ids");
+
+        return bookDAO.getByIds(ids);
+    }
+
+    /**
+     * This service method implements returning books entities objects from the database by many ids.
+     *
+     * @param ids is the ids by which the entities objects will be returned.
+     * @return result with books in the order of ids and ids that were not found.
+     */
+    @Override
+    public MultiGetResult getByIds(Collection<Integer> ids) {
+        log.info("Preparing to get books by ids");
+
+        return bookDAO.getByIds(ids);
+    }
+
     /**
      * This service method implements returning list of books entities objects from the database by name.
      *
@@ -121,50 +153,126 @@ public class BookServiceImpl implements BookService {
     }
 
     /**
-     * This service method implements updating book entity object in the database.
+     * This service method implements returning list of books entities objects from the database
+     * that match all criteria, sorted and limited according to the criteria.
+     *
+     * @param criteria is the criteria by which the list of entities objects will be returned.
+     * @return list of books entities objects.
+     */
+    @Override
+    public List<Book> search(BookCriteria criteria) {
+        log.info("Preparing to search books");
+
+        return bookDAO.search(criteria);
+    }
+
+    /**
+     * This service method implements checking whether at least one book with the given name exists in the database.
+     *
+     * @param name is the parameter by which the existence of books will be checked.
+     * @return true if a book with the name exists.
+     */
+    @Override
+    public boolean existsByName(String name) {
+        log.info("Preparing to check existence of books by name");
+
+        return bookDAO.existsByName(name);
+    }
+
+    /**
+     * This service method implements checking whether at least one book of the given author exists in the database.
+     *
+     * @param author is the parameter by which the existence of books will be checked.
+     * @return true if a book of the author exists.
+     */
+    @Override
+    public boolean existsByAuthor(String author) {
+        log.info("Preparing to check existence of books by author");
+
+        return bookDAO.existsByAuthor(author);
+    }
+
+    /**
+     * This service method implements updating book entity object in the database with optimistic locking.
      *
      * @param book is the new entity that will be added to the database instead of the old one.
+     * @return result of the update with the book as a conflict if it was updated or removed by another writer
+     * or with the failure if the book was not updated because of the error.
      */
     @Override
-    public void update(Book book) {
+    public UpdateResult update(Book book) {
         log.info("Preparing to update book");
 
-        bookDAO.update(book);
+        return logResult(bookDAO.update(book));
     }
 
     /**
-     * This service method implements updating list of books entities objects in the database.
+     * This service method implements updating list of books entities objects in the database with optimistic locking.
+     * If some books were updated or removed by other writers then none of the books are updated.
      *
      * @param books is the new entities that will be added to the database instead of the old ones.
+     * @return result of the update with books that were updated or removed by other writers as conflicts
+     * or with the failure if books were not updated because of the error.
      */
     @Override
-    public void updateAll(List<? extends Book> books) {
+    public UpdateResult updateAll(List<? extends Book> books) {
         log.info("Preparing to update all books");
 
-        bookDAO.updateAll(books);
+        return logResult(bookDAO.updateAll(books));
     }
 
     /**
      * This service method implements deleting book entity object from the database.
      *
      * @param book is the entity that will be deleted from the database.
+     * @return true if the book was deleted, false if it was not deleted because of the error.
      */
     @Override
-    public void remove(Book book) {
+    public boolean remove(Book book) {
         log.info("Preparing to remove book");
 
-        bookDAO.remove(book);
+        return bookDAO.remove(book);
     }
 
     /**
      * This service method implements deleting list of books entities objects from the database.
      *
      * @param books is the entities that will be deleted from the database.
+     * @return true if the books were deleted, false if they were not deleted because of the error.
      */
     @Override
-    public void removeAll(List<? extends Book> books) {
+    public boolean removeAll(List<? extends Book> books) {
         log.info("Preparing to remove all books");
 
-        bookDAO.removeAll(books);
+        return bookDAO.removeAll(books);
+    }
+
+    /**
+     * This service method implements inserting or updating list of books entities objects in the database
+     * with one batched upsert instead of reading every book before adding or updating it.
+     *
+     * @param books is the entities that will be inserted or updated in the database.
+     * @return true if the books were upserted, false if they were not upserted because of the error.
+     */
+    @Override
+    public boolean upsertAll(List<? extends Book> books) {
+        log.info("Preparing to upsert all books");
+
+        return bookDAO.upsertAll(books);
+    }
+
+    private UpdateResult logResult(UpdateResult result) {
+        if (result != null && result.isFailed()) {
+            log.info("Books were not updated because of the error! Exception message: [{}]",
+                    result.getFailure().getMessage(),
+                    result.getFailure()
+            );
+        } else if (result != null && result.isConflicted()) {
+            log.info("Books were not updated because they were updated or removed by other writers! Conflicts: {}",
+                    result.getConflicts()
+            );
+        }
+
+        return result;
     }
 }
@@ -0,0 +1,25 @@
+package com.qthegamep.bookmanager2.service;
+
+import java.nio.file.Path;
+
+/**
+ * This interface is a service. It contains binary snapshot services of all books from the database.
+ */
+public interface BookSnapshotService {
+
+    /**
+     * This service method should write all books to the snapshot file.
+     *
+     * @param path is the path to the snapshot file.
+     * @return count of books in the snapshot.
+     */
+    long snapshot(Path path);
+
+    /**
+     * This service method should insert all books of the snapshot file to the database.
+     *
+     * @param path is the path to the snapshot file.
+     * @return count of restored books.
+     */
+    long restore(Path path);
+}
@@ -0,0 +1,48 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.snapshot.BookSnapshot;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+
+/**
+ * This class is book snapshot service implementation.
+ */
+@Slf4j
+public class BookSnapshotServiceImpl implements BookSnapshotService {
+
+    @Getter
+    @Setter
+    @NonNull
+    private BookSnapshot bookSnapshot = new BookSnapshot();
+
+    /**
+     * This service method implements writing all books to the memory-mapped snapshot file.
+     *
+     * @param path is the path to the snapshot file. The file is created or truncated.
+     * @return count of books in the snapshot.
+     */
+    @Override
+    public long snapshot(Path path) {
+        log.info("Preparing to write snapshot of books");
+
+        return bookSnapshot.snapshot(path);
+    }
+
+    /**
+     * This service method implements inserting all books of the snapshot file with their ids by batches.
+     *
+     * @param path is the path to the snapshot file.
+     * @return count of restored books.
+     */
+    @Override
+    public long restore(Path path) {
+        log.info("Preparing to restore books from snapshot");
+
+        return bookSnapshot.restore(path);
+    }
+}
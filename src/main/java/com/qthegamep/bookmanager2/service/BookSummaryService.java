@@ -0,0 +1,50 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.entity.BookSummary;
+
+import java.util.List;
+
+/**
+ * This interface is a service. It contains services that return summaries of books for list screens.
+ */
+public interface BookSummaryService {
+
+    /**
+     * This service method should return list of summaries of books by name.
+     *
+     * @param name is the parameter by which the list of summaries will be returned.
+     * @return list of summaries of books.
+     */
+    List<BookSummary> getByName(String name);
+
+    /**
+     * This service method should return list of summaries of books by author.
+     *
+     * @param author is the parameter by which the list of summaries will be returned.
+     * @return list of summaries of books.
+     */
+    List<BookSummary> getByAuthor(String author);
+
+    /**
+     * This service method should return list of summaries of books by print year.
+     *
+     * @param printYear is the parameter by which the list of summaries will be returned.
+     * @return list of summaries of books.
+     */
+    List<BookSummary> getByPrintYear(int printYear);
+
+    /**
+     * This service method should return list of summaries of books by is read.
+     *
+     * @param isRead is the parameter by which the list of summaries will be returned.
+     * @return list of summaries of books.
+     */
+    List<BookSummary> getByIsRead(boolean isRead);
+
+    /**
+     * This service method should return list of summaries of all books.
+     *
+     * @return list of summaries of all books.
+     */
+    List<BookSummary> getAll();
+}
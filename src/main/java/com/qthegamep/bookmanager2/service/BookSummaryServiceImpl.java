@@ -0,0 +1,88 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.dao.BookSummaryDAO;
+import com.qthegamep.bookmanager2.dao.BookSummaryDAOImpl;
+import com.qthegamep.bookmanager2.entity.BookSummary;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * This class is book summary service implementation.
+ */
+@Slf4j
+public class BookSummaryServiceImpl implements BookSummaryService {
+
+    @Getter
+    @Setter
+    @NonNull
+    private BookSummaryDAO bookSummaryDAO = new BookSummaryDAOImpl();
+
+    /**
+     * This service method implements returning list of summaries of books by name.
+     *
+     * @param name is the parameter by which the list of summaries will be returned.
+     * @return list of summaries of books.
+     */
+    @Override
+    public List<BookSummary> getByName(String name) {
+        log.info("Preparing to get summaries of books by name");
+
+        return bookSummaryDAO.getByName(name);
+    }
+
+    /**
+     * This service method implements returning list of summaries of books by author.
+     *
+     * @param author is the parameter by which the list of summaries will be returned.
+     * @return list of summaries of books.
+     */
+    @Override
+    public List<BookSummary> getByAuthor(String author) {
+        log.info("Preparing to get summaries of books by author");
+
+        return bookSummaryDAO.getByAuthor(author);
+    }
+
+    /**
+     * This service method implements returning list of summaries of books by print year.
+     *
+     * @param printYear is the parameter by which the list of summaries will be returned.
+     * @return list of summaries of books.
+     */
+    @Override
+    public List<BookSummary> getByPrintYear(int printYear) {
+        log.info("Preparing to get summaries of books by print year");
+
+        return bookSummaryDAO.getByPrintYear(printYear);
+    }
+
+    /**
+     * This service method implements returning list of summaries of books by is read.
+     *
+     * @param isRead is the parameter by which the list of summaries will be returned.
+     * @return list of summaries of books.
+     */
+    @Override
+    public List<BookSummary> getByIsRead(boolean isRead) {
+        log.info("Preparing to get summaries of books by is read");
+
+        return bookSummaryDAO.getByIsRead(isRead);
+    }
+
+    /**
+     * This service method implements returning list of summaries of all books.
+     *
+     * @return list of summaries of all books.
+     */
+    @Override
+    public List<BookSummary> getAll() {
+        log.info("Preparing to get summaries of all books");
+
+        return bookSummaryDAO.getAll();
+    }
+}
@@ -0,0 +1,306 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.dao.BookCriteria;
+import com.qthegamep.bookmanager2.dao.MultiGetResult;
+import com.qthegamep.bookmanager2.dao.UpdateResult;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.metrics.MetricsRegistry;
+import com.qthegamep.bookmanager2.metrics.OperationMetrics;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.val;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * This class is a service decorator that records call count, error count, latency and batch or result size
+ * of every operation of the decorated service. Metrics are available through {@link #getMetricsRegistry()}.
+ * The decorated service doesn't throw exceptions of writes, so writes that returned false and updates
+ * that returned failed result are recorded as errors too.
+ */
+public class MeteredBookService implements BookService {
+
+    /**
+     * The constant is the default metrics scope of the decorator.
+     */
+    public static final String SCOPE = "BookService";
+
+    private final BookService bookService;
+
+    @Getter
+    private final MetricsRegistry metricsRegistry;
+
+    private final OperationMetrics add;
+    private final OperationMetrics addAll;
+    private final OperationMetrics getById;
+    private final OperationMetrics getByIds;
+    private final OperationMetrics getByName;
+    private final OperationMetrics getByAuthor;
+    private final OperationMetrics getByPrintYear;
+    private final OperationMetrics getByIsRead;
+    private final OperationMetrics getAll;
+    private final OperationMetrics search;
+    private final OperationMetrics existsByName;
+    private final OperationMetrics existsByAuthor;
+    private final OperationMetrics update;
+    private final OperationMetrics updateAll;
+    private final OperationMetrics remove;
+    private final OperationMetrics removeAll;
+    private final OperationMetrics upsertAll;
+
+    /**
+     * This constructor creates decorator with the new metrics registry of the {@value #SCOPE} scope.
+     *
+     * @param bookService is the decorated service. Service should not be null.
+     */
+    public MeteredBookService(BookService bookService) {
+        this(bookService, new MetricsRegistry(SCOPE));
+    }
+
+    /**
+     * This constructor creates decorator that records metrics to the given registry.
+     *
+     * @param bookService     is the decorated service. Service should not be null.
+     * @param metricsRegistry is the registry of metrics. Registry should not be null.
+     */
+    public MeteredBookService(@NonNull BookService bookService, @NonNull MetricsRegistry metricsRegistry) {
+        this.bookService = bookService;
+        this.metricsRegistry = metricsRegistry;
+
+        add = metricsRegistry.operation("add");
+        addAll = metricsRegistry.operation("addAll");
+        getById = metricsRegistry.operation("getById");
+        getByIds = metricsRegistry.operation("getByIds");
+        getByName = metricsRegistry.operation("getByName");
+        getByAuthor = metricsRegistry.operation("getByAuthor");
+        getByPrintYear = metricsRegistry.operation("getByPrintYear");
+        getByIsRead = metricsRegistry.operation("getByIsRead");
+        getAll = metricsRegistry.operation("getAll");
+        search = metricsRegistry.operation("search");
+        existsByName = metricsRegistry.operation("existsByName");
+        existsByAuthor = metricsRegistry.operation("existsByAuthor");
+        update = metricsRegistry.operation("update");
+        updateAll = metricsRegistry.operation("updateAll");
+        remove = metricsRegistry.operation("remove");
+        removeAll = metricsRegistry.operation("removeAll");
+        upsertAll = metricsRegistry.operation("upsertAll");
+    }
+
+    @Override
+    public boolean add(Book book) {
+        return measureWrite(add, () -> bookService.add(book));
+    }
+
+    @Override
+    public boolean addAll(List<? extends Book> books) {
+        return measureWrite(addAll, () -> bookService.addAll(books), books);
+    }
+
+    @Override
+    public Book getById(int id) {
+        val start = System.nanoTime();
+
+        try {
+            val book = bookService.getById(id);
+            getById.recordSuccess(start);
+            return book;
+        } catch (RuntimeException e) {
+            getById.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public MultiGetResult getByIds(int[] ids) {
+        return measureLookup(getByIds, () -> bookService.getByIds(ids));
+    }
+
+    @Override
+    public MultiGetResult getByIds(Collection<Integer> ids) {
+        return measureLookup(getByIds, () -> bookService.getByIds(ids));
+    }
+
+    @Override
+    public List<Book> getByName(String name) {
+        return measure(getByName, () -> bookService.getByName(name));
+    }
+
+    @Override
+    public List<Book> getByAuthor(String author) {
+        return measure(getByAuthor, () -> bookService.getByAuthor(author));
+    }
+
+    @Override
+    public List<Book> getByPrintYear(int printYear) {
+        return measure(getByPrintYear, () -> bookService.getByPrintYear(printYear));
+    }
+
+    @Override
+    public List<Book> getByIsRead(boolean isRead) {
+        return measure(getByIsRead, () -> bookService.getByIsRead(isRead));
+    }
+
+    @Override
+    public List<Book> getAll() {
+        return measure(getAll, bookService::getAll);
+    }
+
+    @Override
+    public List<Book> search(BookCriteria criteria) {
+        return measure(search, () -> bookService.search(criteria));
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        return measureExists(existsByName, () -> bookService.existsByName(name));
+    }
+
+    @Override
+    public boolean existsByAuthor(String author) {
+        return measureExists(existsByAuthor, () -> bookService.existsByAuthor(author));
+    }
+
+    @Override
+    public UpdateResult update(Book book) {
+        return measureUpdate(update, () -> bookService.update(book));
+    }
+
+    @Override
+    public UpdateResult updateAll(List<? extends Book> books) {
+        return measureUpdate(updateAll, () -> bookService.updateAll(books), books);
+    }
+
+    @Override
+    public boolean remove(Book book) {
+        return measureWrite(remove, () -> bookService.remove(book));
+    }
+
+    @Override
+    public boolean removeAll(List<? extends Book> books) {
+        return measureWrite(removeAll, () -> bookService.removeAll(books), books);
+    }
+
+    @Override
+    public boolean upsertAll(List<? extends Book> books) {
+        return measureWrite(upsertAll, () -> bookService.upsertAll(books), books);
+    }
+
+    private boolean measureWrite(OperationMetrics operation, BooleanSupplier call) {
+        val start = System.nanoTime();
+
+        try {
+            val isDone = call.getAsBoolean();
+
+            if (isDone) {
+                operation.recordSuccess(start);
+            } else {
+                operation.recordError(start);
+            }
+
+            return isDone;
+        } catch (RuntimeException e) {
+            operation.recordError(start);
+            throw e;
+        }
+    }
+
+    private boolean measureWrite(OperationMetrics operation, BooleanSupplier call, List<?> batch) {
+        val start = System.nanoTime();
+
+        try {
+            val isDone = call.getAsBoolean();
+
+            if (isDone) {
+                operation.recordSuccess(start, batch == null ? 0 : batch.size());
+            } else {
+                operation.recordError(start);
+            }
+
+            return isDone;
+        } catch (RuntimeException e) {
+            operation.recordError(start);
+            throw e;
+        }
+    }
+
+    private List<Book> measure(OperationMetrics operation, Supplier<List<Book>> call) {
+        val start = System.nanoTime();
+
+        try {
+            val books = call.get();
+            operation.recordSuccess(start, books == null ? 0 : books.size());
+            return books;
+        } catch (RuntimeException e) {
+            operation.recordError(start);
+            throw e;
+        }
+    }
+
+    private MultiGetResult measureLookup(OperationMetrics operation, Supplier<MultiGetResult> call) {
+        val start = System.nanoTime();
+
+        try {
+            val result = call.get();
+            operation.recordSuccess(start, result == null ? 0 : result.getBooks().size());
+            return result;
+        } catch (RuntimeException e) {
+            operation.recordError(start);
+            throw e;
+        }
+    }
+
+    private boolean measureExists(OperationMetrics operation, BooleanSupplier call) {
+        val start = System.nanoTime();
+
+        try {
+            val exists = call.getAsBoolean();
+            operation.recordSuccess(start);
+            return exists;
+        } catch (RuntimeException e) {
+            operation.recordError(start);
+            throw e;
+        }
+    }
+
+    private UpdateResult measureUpdate(OperationMetrics operation, Supplier<UpdateResult> call) {
+        val start = System.nanoTime();
+
+        try {
+            val result = call.get();
+
+            if (result != null && result.isFailed()) {
+                operation.recordError(start);
+            } else {
+                operation.recordSuccess(start);
+            }
+
+            return result;
+        } catch (RuntimeException e) {
+            operation.recordError(start);
+            throw e;
+        }
+    }
+
+    private UpdateResult measureUpdate(OperationMetrics operation, Supplier<UpdateResult> call, List<?> batch) {
+        val start = System.nanoTime();
+
+        try {
+            val result = call.get();
+
+            if (result != null && result.isFailed()) {
+                operation.recordError(start);
+            } else {
+                operation.recordSuccess(start, batch == null ? 0 : batch.size());
+            }
+
+            return result;
+        } catch (RuntimeException e) {
+            operation.recordError(start);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.qthegamep.bookmanager2.snapshot;
+
+import com.qthegamep.bookmanager2.dao.BookBatchWriter;
+import com.qthegamep.bookmanager2.dao.BookCursor;
+import com.qthegamep.bookmanager2.entity.Book;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * This class is a compact binary snapshot of the catalog that is written and read through memory-mapped files.
+ * The snapshot starts with the header that contains magic number, version, count of books and offset of
+ * the author dictionary. Every book is stored as fixed-width id, print year, is read flag and index of the author
+ * in the dictionary that is followed by the length-prefixed UTF-8 name. The dictionary is stored after the books
+ * as the count of authors and length-prefixed UTF-8 authors. Books are read with {@link BookCursor} and restored
+ * with their ids through {@link BookBatchWriter}.
+ * Every window is filled in memory first and is mapped with its exact size, so the file never grows beyond its content
+ * and it is not truncated while it is mapped, which is not allowed on Windows.
+ */
+@Slf4j
+public class BookSnapshot {
+
+    /**
+     * The constant is the magic number of the snapshot file. It is "BMS1" in ASCII.
+     */
+    public static final int MAGIC = 0x424D5331;
+
+    /**
+     * The constant is the version of the snapshot format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The constant is the default count of books that are inserted with one batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * The constant is the default size of the memory-mapped window in bytes.
+     * The same count of bytes is allocated in the heap to fill the window before it is mapped.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private static final int HEADER_SIZE = 24;
+
+    private static final int MIN_WINDOW_SIZE = 1024;
+
+    @Getter
+    private final int batchSize;
+
+    @Getter
+    private final int windowSize;
+
+    /**
+     * This constructor creates snapshot with default batch size and window size.
+     */
+    public BookSnapshot() {
+        this(DEFAULT_BATCH_SIZE, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * This constructor creates snapshot with the given batch size and window size.
+     *
+     * @param batchSize  is the count of books that are inserted with one batch.
+     * @param windowSize is the size of the memory-mapped window in bytes.
+     * @throws IllegalArgumentException if batch size is not positive or window size is less than 1024 bytes.
+     */
+    public BookSnapshot(int batchSize, int windowSize) {
+        if (batchSize <= 0 || windowSize < MIN_WINDOW_SIZE) {
+            throw new IllegalArgumentException("Batch size should be positive and window size should be at least "
+                    + MIN_WINDOW_SIZE + " bytes but were " + batchSize + " and " + windowSize);
+        }
+
+        this.batchSize = batchSize;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * This method writes all books to the snapshot file. The file is created or truncated.
+     *
+     * @param path is the path to the snapshot file. Path should not be null.
+     * @return count of books in the snapshot.
+     * @throws UncheckedIOException  if the file can not be written.
+     * @throws IllegalStateException if books can not be read from the database.
+     */
+    public long snapshot(@NonNull Path path) {
+        log.info("Preparing to write snapshot of books to {}", path);
+
+        long count = 0;
+
+        try (val channel = FileChannel.open(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+             val bookCursor = new BookCursor()) {
+            val output = new MappedOutput(channel, windowSize);
+            val authorIndexes = new HashMap<String, Integer>();
+            val authors = new ArrayList<byte[]>();
+
+            output.skip(HEADER_SIZE);
+
+            while (bookCursor.next()) {
+                val author = bookCursor.getAuthor();
+
+                var authorIndex = authorIndexes.get(author);
+
+                if (authorIndex == null) {
+                    authorIndex = authors.size();
+                    authorIndexes.put(author, authorIndex);
+                    authors.add(author.getBytes(StandardCharsets.UTF_8));
+                }
+
+                val name = bookCursor.getName().getBytes(StandardCharsets.UTF_8);
+
+                output.ensure(17 + name.length);
+                output.buffer.putInt(bookCursor.getId());
+                output.buffer.putInt(bookCursor.getPrintYear());
+                output.buffer.put((byte) (bookCursor.isRead() ? 1 : 0));
+                output.buffer.putInt(authorIndex);
+                output.buffer.putInt(name.length);
+                output.buffer.put(name);
+
+                count++;
+            }
+
+            val dictionaryOffset = output.position();
+
+            output.ensure(4);
+            output.buffer.putInt(authors.size());
+
+            for (val author : authors) {
+                output.ensure(4 + author.length);
+                output.buffer.putInt(author.length);
+                output.buffer.put(author);
+            }
+
+            output.finish();
+
+            val header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putLong(count);
+            header.putLong(dictionaryOffset);
+            header.force();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("Preparing to write snapshot of books to {} was done successful! Written {} books", path, count);
+
+        return count;
+    }
+
+    /**
+     * This method inserts all books of the snapshot file to the database with their ids.
+     * Books are inserted with batches and every batch is committed separately,
+     * so the database should not contain books with the same ids.
+     *
+     * @param path is the path to the snapshot file. Path should not be null.
+     * @return count of restored books.
+     * @throws UncheckedIOException     if the file can not be read.
+     * @throws IllegalArgumentException if the file is not a snapshot of books or it is truncated or corrupted.
+     * @throws IllegalStateException    if books were not inserted.
+     */
+    public long restore(@NonNull Path path) {
+        log.info("Preparing to restore books from snapshot {}", path);
+
+        long count = 0;
+
+        try (val channel = FileChannel.open(path, StandardOpenOption.READ);
+             val bookBatchWriter = new BookBatchWriter()) {
+            val size = channel.size();
+
+            if (size < HEADER_SIZE) {
+                throw new IllegalArgumentException("File " + path + " is not a snapshot of books");
+            }
+
+            val header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IllegalArgumentException("File " + path + " is not a snapshot of books");
+            }
+
+            val rowCount = header.getLong();
+            val dictionaryOffset = header.getLong();
+
+            if (rowCount < 0 || dictionaryOffset < HEADER_SIZE || dictionaryOffset > size
+                    || rowCount > (dictionaryOffset - HEADER_SIZE) / 17) {
+                throw new IllegalArgumentException("File " + path + " is not a snapshot of books");
+            }
+
+            val authors = readAuthors(new MappedInput(channel, dictionaryOffset, size, windowSize));
+            val input = new MappedInput(channel, HEADER_SIZE, dictionaryOffset, windowSize);
+            val batch = new ArrayList<Book>(batchSize);
+
+            var nameBytes = new byte[256];
+
+            for (long i = 0; i < rowCount; i++) {
+                input.ensure(17);
+
+                val book = new Book();
+
+                book.setId(input.buffer.getInt());
+                book.setPrintYear(input.buffer.getInt());
+                book.setRead(input.buffer.get() != 0);
+
+                val authorIndex = input.buffer.getInt();
+
+                if (authorIndex < 0 || authorIndex >= authors.size()) {
+                    throw new IllegalArgumentException("Snapshot is corrupted! Author index " + authorIndex
+                            + " is out of the dictionary of " + authors.size() + " authors");
+                }
+
+                book.setAuthor(authors.get(authorIndex));
+
+                val nameLength = input.buffer.getInt();
+
+                input.ensure(nameLength);
+
+                if (nameBytes.length < nameLength) {
+                    nameBytes = new byte[nameLength];
+                }
+                input.buffer.get(nameBytes, 0, nameLength);
+
+                book.setName(new String(nameBytes, 0, nameLength, StandardCharsets.UTF_8));
+
+                batch.add(book);
+
+                if (batch.size() == batchSize) {
+                    count += bookBatchWriter.writeWithIds(batch);
+                    batch.clear();
+                }
+            }
+
+            count += bookBatchWriter.writeWithIds(batch);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("Preparing to restore books from snapshot {} was done successful! Restored {} books", path, count);
+
+        return count;
+    }
+
+    private List<String> readAuthors(MappedInput input) throws IOException {
+        input.ensure(4);
+
+        val count = input.buffer.getInt();
+
+        if (count < 0 || count > input.remaining() / 4) {
+            throw new IllegalArgumentException("Snapshot is corrupted! Count of authors " + count + " is incorrect");
+        }
+
+        val authors = new ArrayList<String>(count);
+
+        for (int i = 0; i < count; i++) {
+            input.ensure(4);
+
+            val length = input.buffer.getInt();
+
+            input.ensure(length);
+
+            val bytes = new byte[length];
+
+            input.buffer.get(bytes);
+
+            authors.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+
+        return authors;
+    }
+
+    private static class MappedOutput {
+
+        private final FileChannel channel;
+
+        private ByteBuffer buffer;
+        private long windowStart;
+
+        private MappedOutput(FileChannel channel, int windowSize) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(windowSize);
+        }
+
+        private long position() {
+            return windowStart + buffer.position();
+        }
+
+        private void skip(int bytes) throws IOException {
+            ensure(bytes);
+            buffer.position(buffer.position() + bytes);
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return;
+            }
+
+            flush();
+
+            if (buffer.capacity() < bytes) {
+                buffer = ByteBuffer.allocate(bytes);
+            }
+        }
+
+        private void finish() throws IOException {
+            flush();
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+
+            if (buffer.hasRemaining()) {
+                val window = channel.map(FileChannel.MapMode.READ_WRITE, windowStart, buffer.remaining());
+
+                window.put(buffer);
+                window.force();
+
+                windowStart += window.capacity();
+            }
+
+            buffer.clear();
+        }
+    }
+
+    private static class MappedInput {
+
+        private final FileChannel channel;
+        private final long end;
+        private final int windowSize;
+
+        private MappedByteBuffer buffer;
+        private long windowStart;
+
+        private MappedInput(FileChannel channel, long start, long end, int windowSize) throws IOException {
+            this.channel = channel;
+            this.end = end;
+            this.windowSize = windowSize;
+            this.windowStart = start;
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, end - start));
+        }
+
+        private long remaining() {
+            return end - windowStart - buffer.position();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (bytes < 0) {
+                throw new IllegalArgumentException("Snapshot is truncated or corrupted");
+            }
+
+            if (buffer.remaining() >= bytes) {
+                return;
+            }
+
+            windowStart += buffer.position();
+
+            if (windowStart + bytes > end) {
+                throw new IllegalArgumentException("Snapshot is truncated or corrupted");
+            }
+
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(Math.max(windowSize, bytes), end - windowStart));
+        }
+    }
+}
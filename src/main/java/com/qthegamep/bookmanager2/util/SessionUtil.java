@@ -1,16 +1,31 @@
 package com.qthegamep.bookmanager2.util;
 
+import com.qthegamep.bookmanager2.event.SessionEvent;
+import com.qthegamep.bookmanager2.event.TransactionEvent;
+
+import lombok.NonNull;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
 import org.hibernate.Transaction;
 import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.sql.Connection;
 
 /**
  * This class is an utility helper class responsible for opening and closing sessions
  * and transactional sessions with the database.
+ * Sessions and transactions are reported to Java Flight Recorder as {@link SessionEvent} and {@link TransactionEvent}.
+ * Named queries are compiled and validated when the session factory is built by hibernate.query.startup_check,
+ * so the session factory is not built if one of them is invalid.
  */
 @Slf4j
 @UtilityClass
@@ -21,6 +36,9 @@ public class SessionUtil {
     private Session session;
     private Transaction transaction;
 
+    private SessionEvent sessionEvent;
+    private TransactionEvent transactionEvent;
+
     static {
         buildSessionFactory();
     }
@@ -56,6 +74,9 @@ public class SessionUtil {
             return session;
         }
 
+        sessionEvent = new SessionEvent();
+        sessionEvent.begin();
+
         session = sessionFactory.openSession();
         log.info("Preparing to open hibernate session was done successful! New session was opened");
 
@@ -70,6 +91,7 @@ public class SessionUtil {
 
         if (session != null && session.isOpen()) {
             session.close();
+            commitSessionEvent();
             log.info("Preparing to close hibernate session was done successful! This session was closed");
         } else {
             log.info("Preparing to close hibernate session was done successful! " +
@@ -90,6 +112,9 @@ public class SessionUtil {
 
         log.info("Preparing to begin transaction");
 
+        transactionEvent = new TransactionEvent();
+        transactionEvent.begin();
+
         transaction = session.beginTransaction();
         log.info("Preparing to open hibernate transaction session was done successful! Transaction was started");
 
@@ -102,11 +127,15 @@ public class SessionUtil {
     public void closeTransactionSession() {
         log.info("Preparing to close hibernate transaction session");
 
-        if (transaction != null && transaction.isActive()) {
-            transaction.commit();
-            log.info("Transaction was committed");
-        } else {
-            log.info("Transaction was not committed because it was not created yet");
+        try {
+            if (transaction != null && transaction.isActive()) {
+                transaction.commit();
+                log.info("Transaction was committed");
+            } else {
+                log.info("Transaction was not committed because it was not created yet");
+            }
+        } finally {
+            commitTransactionEvent();
         }
 
         closeSession();
@@ -114,6 +143,81 @@ public class SessionUtil {
         log.info("Preparing to close hibernate transaction session was done successful");
     }
 
+    /**
+     * This method opens new stateless session that is independent of the session returned by {@link #openSession()}.
+     * Stateless session doesn't track entities so it is used for bulk operations and it can be used
+     * by another thread. The caller is responsible for closing the session.
+     *
+     * @return new stateless session with the database.
+     */
+    public StatelessSession openStatelessSession() {
+        log.info("Preparing to open hibernate stateless session");
+
+        val statelessSession = sessionFactory.openStatelessSession();
+
+        log.info("Preparing to open hibernate stateless session was done successful");
+
+        return statelessSession;
+    }
+
+    /**
+     * This method returns jdbc connection of the stateless session for statements that are executed with plain jdbc.
+     * Stateless session doesn't have doWork, so the connection is taken from its jdbc coordinator instead of
+     * the deprecated connection method. The connection belongs to the session and should not be closed by the caller.
+     *
+     * @param statelessSession is the session whose connection will be returned. Session should not be null.
+     * @return jdbc connection of the session.
+     */
+    public Connection getConnection(@NonNull StatelessSession statelessSession) {
+        return ((SharedSessionContractImplementor) statelessSession).getJdbcCoordinator()
+                .getLogicalConnection()
+                .getPhysicalConnection();
+    }
+
+    /**
+     * This method returns the dialect of the current session factory that is configured in hibernate.cfg.xml.
+     * It is used to choose database specific sql for bulk operations.
+     *
+     * @return dialect of the database.
+     */
+    public Dialect getDialect() {
+        return ((SessionFactoryImplementor) sessionFactory).getJdbcServices().getDialect();
+    }
+
+    /**
+     * This method returns whether the P6Spy sql diagnostics is enabled for the current session factory.
+     *
+     * @return true if connections are wrapped with P6Spy proxy.
+     */
+    public boolean isSqlDiagnosticsEnabled() {
+        val connectionProvider = getConnectionProvider();
+
+        return connectionProvider instanceof SpyConnectionProvider
+                && ((SpyConnectionProvider) connectionProvider).isSpyEnabled();
+    }
+
+    /**
+     * This method switches the P6Spy sql diagnostics at runtime without rebuilding the session factory.
+     * When diagnostics is disabled the sessions work with native JDBC connections without proxy overhead.
+     * The switch applies to sessions that are opened after it.
+     *
+     * @param sqlDiagnosticsEnabled is the new diagnostics mode.
+     */
+    public void setSqlDiagnosticsEnabled(boolean sqlDiagnosticsEnabled) {
+        log.info("Preparing to switch sql diagnostics to {}", sqlDiagnosticsEnabled);
+
+        val connectionProvider = getConnectionProvider();
+
+        if (connectionProvider instanceof SpyConnectionProvider) {
+            ((SpyConnectionProvider) connectionProvider).setSpyEnabled(sqlDiagnosticsEnabled);
+            log.info("Preparing to switch sql diagnostics was done successful");
+        } else {
+            log.info("Preparing to switch sql diagnostics was done successful! " +
+                    "Diagnostics was not switched because connection provider is {}", connectionProvider
+            );
+        }
+    }
+
     /**
      * This method closes the transactional session and session factory.
      * Use this method in the end of the application.
@@ -135,6 +239,39 @@ public class SessionUtil {
         log.info("Preparing to build session factory was done successful");
     }
 
+    private void commitSessionEvent() {
+        if (sessionEvent == null) {
+            return;
+        }
+
+        sessionEvent.end();
+
+        if (sessionEvent.shouldCommit()) {
+            sessionEvent.commit();
+        }
+
+        sessionEvent = null;
+    }
+
+    private void commitTransactionEvent() {
+        if (transactionEvent == null) {
+            return;
+        }
+
+        transactionEvent.end();
+
+        if (transactionEvent.shouldCommit()) {
+            transactionEvent.setStatus(transaction.getStatus().name());
+            transactionEvent.commit();
+        }
+
+        transactionEvent = null;
+    }
+
+    private ConnectionProvider getConnectionProvider() {
+        return ((SessionFactoryImplementor) sessionFactory).getServiceRegistry().getService(ConnectionProvider.class);
+    }
+
     private void closeSessionFactory() {
         log.info("Preparing to close session factory");
 
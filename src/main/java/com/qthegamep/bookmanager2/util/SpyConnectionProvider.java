@@ -0,0 +1,122 @@
+package com.qthegamep.bookmanager2.util;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import com.p6spy.engine.common.ConnectionInformation;
+import com.p6spy.engine.spy.DefaultJdbcEventListenerFactory;
+import com.p6spy.engine.spy.JdbcEventListenerFactory;
+import com.p6spy.engine.wrapper.ConnectionWrapper;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.internal.DriverManagerConnectionProviderImpl;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * This class is a hibernate connection provider that works with the native JDBC driver
+ * and wraps connections with the P6Spy proxy only when the sql diagnostics is enabled.
+ * The diagnostics can be switched at runtime, the switch applies to connections that are taken after it.
+ */
+@Slf4j
+public class SpyConnectionProvider extends DriverManagerConnectionProviderImpl {
+
+    /**
+     * The constant is the name of the hibernate configuration property that enables P6Spy diagnostics.
+     * The property can be overridden by the system property with the same name.
+     */
+    public static final String SPY_ENABLED = "bookmanager2.connection.spy_enabled";
+
+    private final JdbcEventListenerFactory jdbcEventListenerFactory = new DefaultJdbcEventListenerFactory();
+
+    private volatile boolean spyEnabled;
+
+    private Driver driver;
+
+    /**
+     * This method configures the native connection pool and reads the initial diagnostics mode.
+     *
+     * @param configurationValues is the hibernate configuration values.
+     */
+    @Override
+    public void configure(Map configurationValues) {
+        super.configure(configurationValues);
+
+        val spyEnabledValue = System.getProperty(SPY_ENABLED, String.valueOf(configurationValues.get(SPY_ENABLED)));
+
+        spyEnabled = Boolean.parseBoolean(spyEnabledValue);
+
+        try {
+            driver = DriverManager.getDriver(String.valueOf(configurationValues.get(AvailableSettings.URL)));
+        } catch (SQLException e) {
+            log.info("Driver for P6Spy connection information was not found! Exception message: [{}]",
+                    e.getMessage(),
+                    e
+            );
+        }
+
+        log.info("Connection provider for {} was configured! P6Spy diagnostics enabled = {}",
+                configurationValues.get(AvailableSettings.URL),
+                spyEnabled
+        );
+    }
+
+    /**
+     * This method returns connection from the pool.
+     *
+     * @return native connection or connection wrapped with P6Spy proxy if diagnostics is enabled.
+     * @throws SQLException if connection can not be taken.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        val start = System.nanoTime();
+        val connection = super.getConnection();
+
+        if (!spyEnabled) {
+            return connection;
+        }
+
+        return ConnectionWrapper.wrap(connection,
+                jdbcEventListenerFactory.createJdbcEventListener(),
+                ConnectionInformation.fromDriver(driver, connection, System.nanoTime() - start)
+        );
+    }
+
+    /**
+     * This method returns native connection to the pool and removes P6Spy proxy if connection was wrapped.
+     *
+     * @param connection is the connection that will be returned to the pool.
+     * @throws SQLException if connection can not be returned.
+     */
+    @Override
+    public void closeConnection(Connection connection) throws SQLException {
+        if (connection instanceof ConnectionWrapper) {
+            super.closeConnection(((ConnectionWrapper) connection).getDelegate());
+        } else {
+            super.closeConnection(connection);
+        }
+    }
+
+    /**
+     * This method returns whether P6Spy diagnostics is enabled.
+     *
+     * @return true if new connections are wrapped with P6Spy proxy.
+     */
+    public boolean isSpyEnabled() {
+        return spyEnabled;
+    }
+
+    /**
+     * This method switches P6Spy diagnostics. The switch applies to connections that are taken after it.
+     *
+     * @param spyEnabled is the new diagnostics mode.
+     */
+    public void setSpyEnabled(boolean spyEnabled) {
+        log.info("Preparing to switch P6Spy diagnostics from {} to {}", this.spyEnabled, spyEnabled);
+
+        this.spyEnabled = spyEnabled;
+    }
+}
@@ -1,10 +1,34 @@
 DROP TABLE IF EXISTS PUBLIC.BOOKS;
 
+DROP TABLE IF EXISTS PUBLIC.AUTHORS;
+
+CREATE TABLE PUBLIC.AUTHORS (
+  ID   INTEGER      NOT NULL AUTO_INCREMENT,
+  NAME VARCHAR(255) NOT NULL,
+  CONSTRAINT AUTHORS_PRIMARY_KEY PRIMARY KEY (ID),
+  CONSTRAINT AUTHORS_NAME_UNIQUE UNIQUE (NAME)
+);
+
 CREATE TABLE PUBLIC.BOOKS (
   ID         INTEGER      NOT NULL AUTO_INCREMENT,
   NAME       VARCHAR(255) NOT NULL,
-  AUTHOR     VARCHAR(255) NOT NULL,
+  AUTHOR_ID  INTEGER      NOT NULL,
   PRINT_YEAR INTEGER(4)   NOT NULL,
   IS_READ    BOOLEAN      NOT NULL DEFAULT FALSE,
-  CONSTRAINT BOOKS_PRIMARY_KEY PRIMARY KEY (ID)
-)
+  VERSION    INTEGER      NOT NULL DEFAULT 0,
+  CONSTRAINT BOOKS_PRIMARY_KEY PRIMARY KEY (ID),
+  CONSTRAINT BOOKS_AUTHORS_FOREIGN_KEY FOREIGN KEY (AUTHOR_ID) REFERENCES PUBLIC.AUTHORS (ID)
+);
+
+DROP TABLE IF EXISTS PUBLIC.BOOK_CHANGES;
+
+CREATE TABLE PUBLIC.BOOK_CHANGES (
+  SEQ        BIGINT       NOT NULL AUTO_INCREMENT,
+  OPERATION  VARCHAR(6)   NOT NULL,
+  BOOK_ID    INTEGER,
+  NAME       VARCHAR(255),
+  AUTHOR     VARCHAR(255),
+  PRINT_YEAR INTEGER(4),
+  IS_READ    BOOLEAN,
+  CONSTRAINT BOOK_CHANGES_PRIMARY_KEY PRIMARY KEY (SEQ)
+)
\ No newline at end of file
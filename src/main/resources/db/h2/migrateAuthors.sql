@@ -0,0 +1,20 @@
+CREATE TABLE IF NOT EXISTS PUBLIC.AUTHORS (
+  ID   INTEGER      NOT NULL AUTO_INCREMENT,
+  NAME VARCHAR(255) NOT NULL,
+  CONSTRAINT AUTHORS_PRIMARY_KEY PRIMARY KEY (ID),
+  CONSTRAINT AUTHORS_NAME_UNIQUE UNIQUE (NAME)
+);
+
+INSERT INTO PUBLIC.AUTHORS (NAME)
+SELECT DISTINCT b.AUTHOR FROM PUBLIC.BOOKS b
+WHERE NOT EXISTS (SELECT 1 FROM PUBLIC.AUTHORS a WHERE a.NAME = b.AUTHOR);
+
+ALTER TABLE PUBLIC.BOOKS ADD COLUMN IF NOT EXISTS AUTHOR_ID INTEGER;
+
+UPDATE PUBLIC.BOOKS b SET AUTHOR_ID = (SELECT a.ID FROM PUBLIC.AUTHORS a WHERE a.NAME = b.AUTHOR);
+
+ALTER TABLE PUBLIC.BOOKS ALTER COLUMN AUTHOR_ID SET NOT NULL;
+
+ALTER TABLE PUBLIC.BOOKS ADD CONSTRAINT BOOKS_AUTHORS_FOREIGN_KEY FOREIGN KEY (AUTHOR_ID) REFERENCES PUBLIC.AUTHORS (ID);
+
+ALTER TABLE PUBLIC.BOOKS DROP COLUMN AUTHOR;
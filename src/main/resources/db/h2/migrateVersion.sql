@@ -0,0 +1 @@
+ALTER TABLE PUBLIC.BOOKS ADD COLUMN IF NOT EXISTS VERSION INTEGER NOT NULL DEFAULT 0;
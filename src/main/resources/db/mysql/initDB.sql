@@ -2,13 +2,45 @@ CREATE DATABASE IF NOT EXISTS bookmanager2;
 
 DROP TABLE IF EXISTS `bookmanager2`.`books`;
 
+DROP TABLE IF EXISTS `bookmanager2`.`authors`;
+
+CREATE TABLE `bookmanager2`.`authors` (
+  `ID`   INT(10)      NOT NULL AUTO_INCREMENT,
+  `NAME` VARCHAR(255) NOT NULL COLLATE utf8_bin,
+  CONSTRAINT `AUTHORS_PRIMARY_KEY` PRIMARY KEY (`ID`),
+  CONSTRAINT `AUTHORS_NAME_UNIQUE` UNIQUE (`NAME`)
+)
+  ENGINE = InnoDB
+  AUTO_INCREMENT = 1
+  DEFAULT CHARSET = utf8
+  COLLATE = utf8_general_ci;
+
 CREATE TABLE `bookmanager2`.`books` (
   `ID`         INT(10)      NOT NULL AUTO_INCREMENT,
   `NAME`       VARCHAR(255) NOT NULL,
-  `AUTHOR`     VARCHAR(255) NOT NULL,
+  `AUTHOR_ID`  INT(10)      NOT NULL,
   `PRINT_YEAR` INT(4)       NOT NULL,
   `IS_READ`    BIT          NOT NULL DEFAULT FALSE,
-  CONSTRAINT `BOOKS_PRIMARY_KEY` PRIMARY KEY (`ID`)
+  `VERSION`    INT(10)      NOT NULL DEFAULT 0,
+  CONSTRAINT `BOOKS_PRIMARY_KEY` PRIMARY KEY (`ID`),
+  CONSTRAINT `BOOKS_AUTHORS_FOREIGN_KEY` FOREIGN KEY (`AUTHOR_ID`) REFERENCES `bookmanager2`.`authors` (`ID`)
+)
+  ENGINE = InnoDB
+  AUTO_INCREMENT = 1
+  DEFAULT CHARSET = utf8
+  COLLATE = utf8_general_ci;
+
+DROP TABLE IF EXISTS `bookmanager2`.`book_changes`;
+
+CREATE TABLE `bookmanager2`.`book_changes` (
+  `SEQ`        BIGINT(20)   NOT NULL AUTO_INCREMENT,
+  `OPERATION`  VARCHAR(6)   NOT NULL,
+  `BOOK_ID`    INT(10),
+  `NAME`       VARCHAR(255),
+  `AUTHOR`     VARCHAR(255),
+  `PRINT_YEAR` INT(4),
+  `IS_READ`    BIT,
+  CONSTRAINT `BOOK_CHANGES_PRIMARY_KEY` PRIMARY KEY (`SEQ`)
 )
   ENGINE = InnoDB
   AUTO_INCREMENT = 1
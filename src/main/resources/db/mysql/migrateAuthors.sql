@@ -0,0 +1,23 @@
+CREATE TABLE IF NOT EXISTS `bookmanager2`.`authors` (
+  `ID`   INT(10)      NOT NULL AUTO_INCREMENT,
+  `NAME` VARCHAR(255) NOT NULL COLLATE utf8_bin,
+  CONSTRAINT `AUTHORS_PRIMARY_KEY` PRIMARY KEY (`ID`),
+  CONSTRAINT `AUTHORS_NAME_UNIQUE` UNIQUE (`NAME`)
+)
+  ENGINE = InnoDB
+  AUTO_INCREMENT = 1
+  DEFAULT CHARSET = utf8
+  COLLATE = utf8_general_ci;
+
+INSERT IGNORE INTO `bookmanager2`.`authors` (`NAME`)
+SELECT DISTINCT `AUTHOR` FROM `bookmanager2`.`books`;
+
+ALTER TABLE `bookmanager2`.`books` ADD COLUMN `AUTHOR_ID` INT(10);
+
+UPDATE `bookmanager2`.`books` b JOIN `bookmanager2`.`authors` a ON a.`NAME` = b.`AUTHOR` COLLATE utf8_bin
+SET b.`AUTHOR_ID` = a.`ID`;
+
+ALTER TABLE `bookmanager2`.`books`
+  MODIFY `AUTHOR_ID` INT(10) NOT NULL,
+  ADD CONSTRAINT `BOOKS_AUTHORS_FOREIGN_KEY` FOREIGN KEY (`AUTHOR_ID`) REFERENCES `bookmanager2`.`authors` (`ID`),
+  DROP COLUMN `AUTHOR`;
@@ -0,0 +1 @@
+ALTER TABLE `bookmanager2`.`books` ADD COLUMN `VERSION` INT(10) NOT NULL DEFAULT 0;
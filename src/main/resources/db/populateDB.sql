@@ -1,3 +1,7 @@
-INSERT INTO BOOKS (NAME, AUTHOR, PRINT_YEAR, IS_READ)
-VALUES ('Thinking In Java 4 Edition', 'Bruce Eckel', 2017, TRUE),
-       ('Pro Spring', 'Clarence Ho, Rob Harrop, Chris Schaefer', 2014, FALSE);
+INSERT INTO AUTHORS (NAME)
+VALUES ('Bruce Eckel'),
+       ('Clarence Ho, Rob Harrop, Chris Schaefer');
+
+INSERT INTO BOOKS (NAME, AUTHOR_ID, PRINT_YEAR, IS_READ)
+VALUES ('Thinking In Java 4 Edition', (SELECT ID FROM AUTHORS WHERE NAME = 'Bruce Eckel'), 2017, TRUE),
+       ('Pro Spring', (SELECT ID FROM AUTHORS WHERE NAME = 'Clarence Ho, Rob Harrop, Chris Schaefer'), 2014, FALSE);
@@ -0,0 +1,119 @@
+package com.qthegamep.bookmanager2.benchmark;
+
+import com.qthegamep.bookmanager2.dao.AddMode;
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.testhelper.util.ResetDBUtil;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * This benchmark compares {@link BookDAOImpl#addAll(List)} in session mode and in multi-row insert mode
+ * with disabled P6Spy diagnostics.
+ * It is run by the benchmark maven profile: mvn test -P h2-database,benchmark.
+ * Size of the workload can be changed by benchmark.books and benchmark.iterations system properties.
+ */
+public class AddModeBenchmark {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private static final Logger log = LoggerFactory.getLogger("TEST_RESULT_LOGGER");
+
+    private static final int BOOKS = Integer.getInteger("benchmark.books", 100_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 3);
+
+    private BookDAOImpl bookDAO;
+
+    private boolean sqlDiagnosticsEnabled;
+
+    @Before
+    public void setUp() {
+        bookDAO = new BookDAOImpl();
+
+        sqlDiagnosticsEnabled = SessionUtil.isSqlDiagnosticsEnabled();
+
+        SessionUtil.setSqlDiagnosticsEnabled(false);
+    }
+
+    @After
+    public void tearDown() {
+        SessionUtil.setSqlDiagnosticsEnabled(sqlDiagnosticsEnabled);
+    }
+
+    @Test
+    public void shouldCompareSessionAndMultiRowAddModes() {
+        val sessionNanos = measureAddAll(AddMode.SESSION);
+        val multiRowNanos = measureAddAll(AddMode.MULTI_ROW);
+
+        log.info(String.format("addAll     %8d books: session %7d ms, multi-row %7d ms, speedup %5.1fx",
+                BOOKS,
+                TimeUnit.NANOSECONDS.toMillis(sessionNanos),
+                TimeUnit.NANOSECONDS.toMillis(multiRowNanos),
+                (double) sessionNanos / multiRowNanos
+        ));
+    }
+
+    private long measureAddAll(AddMode addMode) {
+        bookDAO.setAddMode(addMode);
+
+        long bestNanos = Long.MAX_VALUE;
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            ResetDBUtil.resetDatabase();
+
+            val books = createBooks();
+            val start = System.nanoTime();
+
+            bookDAO.addAll(books);
+
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+
+            assertThat(books.get(BOOKS - 1).getId()).isEqualTo(BOOKS);
+        }
+
+        return bestNanos;
+    }
+
+    private List<Book> createBooks() {
+        val books = new ArrayList<Book>(BOOKS);
+
+        for (int i = 0; i < BOOKS; i++) {
+            val book = new Book();
+
+            book.setName("benchmark book " + i);
+            book.setAuthor("benchmark author " + i % 100);
+            book.setPrintYear(1900 + i % 120);
+            book.setRead(i % 2 == 0);
+
+            books.add(book);
+        }
+
+        return books;
+    }
+}
@@ -0,0 +1,134 @@
+package com.qthegamep.bookmanager2.benchmark;
+
+import com.qthegamep.bookmanager2.bulk.BulkOptions;
+import com.qthegamep.bookmanager2.bulk.PartitionedBookWriter;
+import com.qthegamep.bookmanager2.dao.AddMode;
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.testhelper.util.ResetDBUtil;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * This benchmark compares {@link BookDAOImpl#updateAll(List)} in one transaction
+ * with {@link PartitionedBookWriter#updateAll(List)} in parallel partitions with disabled P6Spy diagnostics.
+ * It is run by the benchmark maven profile: mvn test -P h2-database,benchmark.
+ * Size of the workload can be changed by benchmark.books and benchmark.parallelism system properties.
+ */
+public class BulkUpdateBenchmark {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private static final Logger log = LoggerFactory.getLogger("TEST_RESULT_LOGGER");
+
+    private static final int BOOKS = Integer.getInteger("benchmark.books", 100_000);
+    private static final int PARALLELISM = Integer.getInteger("benchmark.parallelism", 4);
+
+    private BookDAOImpl bookDAO;
+
+    private PartitionedBookWriter partitionedBookWriter;
+
+    private boolean sqlDiagnosticsEnabled;
+
+    @Before
+    public void setUp() {
+        bookDAO = new BookDAOImpl();
+
+        bookDAO.setAddMode(AddMode.MULTI_ROW);
+
+        val bulkOptions = new BulkOptions();
+
+        bulkOptions.setParallelism(PARALLELISM);
+
+        partitionedBookWriter = new PartitionedBookWriter(bulkOptions);
+
+        sqlDiagnosticsEnabled = SessionUtil.isSqlDiagnosticsEnabled();
+
+        SessionUtil.setSqlDiagnosticsEnabled(false);
+    }
+
+    @After
+    public void tearDown() {
+        SessionUtil.setSqlDiagnosticsEnabled(sqlDiagnosticsEnabled);
+    }
+
+    @Test
+    public void shouldCompareSingleTransactionAndPartitionedUpdateAll() {
+        val books = prepareBooks();
+
+        var start = System.nanoTime();
+
+        bookDAO.updateAll(books);
+
+        val singleTransactionNanos = System.nanoTime() - start;
+
+        SessionUtil.closeSession();
+
+        val partitionedBooks = prepareBooks();
+
+        start = System.nanoTime();
+
+        val report = partitionedBookWriter.updateAll(partitionedBooks);
+
+        val partitionedNanos = System.nanoTime() - start;
+
+        assertThat(report.getRowsDone()).isEqualTo(BOOKS);
+
+        log.info(String.format("updateAll  %8d books: one transaction %7d ms, %d partitions %7d ms, speedup %5.1fx",
+                BOOKS,
+                TimeUnit.NANOSECONDS.toMillis(singleTransactionNanos),
+                report.getPartitions(),
+                TimeUnit.NANOSECONDS.toMillis(partitionedNanos),
+                (double) singleTransactionNanos / partitionedNanos
+        ));
+    }
+
+    private List<Book> prepareBooks() {
+        ResetDBUtil.resetDatabase();
+
+        val books = new ArrayList<Book>(BOOKS);
+
+        for (int i = 0; i < BOOKS; i++) {
+            val book = new Book();
+
+            book.setName("benchmark book " + i);
+            book.setAuthor("benchmark author " + i % 100);
+            book.setPrintYear(1900 + i % 120);
+            book.setRead(false);
+
+            books.add(book);
+        }
+
+        bookDAO.addAll(books);
+
+        books.forEach(book -> book.setRead(true));
+
+        return books;
+    }
+}
@@ -0,0 +1,186 @@
+package com.qthegamep.bookmanager2.benchmark;
+
+import com.qthegamep.bookmanager2.catalog.ColumnarCatalog;
+import com.qthegamep.bookmanager2.dao.AddMode;
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * This benchmark compares retained heap and time of the analytics scan over entities of {@link BookDAOImpl#getAll()}
+ * with the same scan over {@link ColumnarCatalog}. The scan counts read books of the range of print years by author.
+ * It is run by the benchmark maven profile: mvn test -P h2-database,benchmark.
+ * Size of the workload can be changed by benchmark.books and benchmark.iterations system properties.
+ */
+public class ColumnarCatalogBenchmark {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private static final Logger log = LoggerFactory.getLogger("TEST_RESULT_LOGGER");
+
+    private static final int BOOKS = Integer.getInteger("benchmark.books", 200_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 10);
+
+    private boolean sqlDiagnosticsEnabled;
+
+    @Before
+    public void setUp() {
+        val bookDAO = new BookDAOImpl();
+
+        bookDAO.setAddMode(AddMode.MULTI_ROW);
+        bookDAO.setChangeFeedEnabled(false);
+
+        val books = new ArrayList<Book>(BOOKS);
+
+        for (int i = 0; i < BOOKS; i++) {
+            val book = new Book();
+
+            book.setName("benchmark book " + i);
+            book.setAuthor("benchmark author " + i % 100);
+            book.setPrintYear(1900 + i % 120);
+            book.setRead(i % 2 == 0);
+
+            books.add(book);
+        }
+
+        bookDAO.addAll(books);
+
+        SessionUtil.closeSession();
+
+        sqlDiagnosticsEnabled = SessionUtil.isSqlDiagnosticsEnabled();
+
+        SessionUtil.setSqlDiagnosticsEnabled(false);
+    }
+
+    @After
+    public void tearDown() {
+        SessionUtil.setSqlDiagnosticsEnabled(sqlDiagnosticsEnabled);
+    }
+
+    @Test
+    public void shouldCompareScanOfEntitiesAndColumnarCatalog() {
+        val loadStart = System.nanoTime();
+
+        var books = new BookDAOImpl().getAll();
+
+        val entityLoadNanos = System.nanoTime() - loadStart;
+
+        SessionUtil.closeSession();
+
+        val catalogStart = System.nanoTime();
+
+        var catalog = ColumnarCatalog.load();
+
+        val catalogLoadNanos = System.nanoTime() - catalogStart;
+
+        assertThat(countByAuthor(catalog)).isEqualTo(countByAuthor(books));
+        assertThat(books).hasSize(catalog.size());
+
+        val entityScanNanos = measureScan(books);
+        val catalogScanNanos = measureScan(catalog);
+
+        // Retained sizes are measured by releasing the structures, because the embedded database grows its cache while loading.
+        val bothBytes = usedHeap();
+
+        books = null;
+
+        val entityBytes = bothBytes - usedHeap();
+
+        catalog = null;
+
+        val catalogBytes = bothBytes - entityBytes - usedHeap();
+
+        log.info(String.format("columnar   %8d books: entities load %6d ms scan %6d us, catalog load %6d ms scan %6d us, scan speedup %5.1fx",
+                BOOKS,
+                TimeUnit.NANOSECONDS.toMillis(entityLoadNanos),
+                TimeUnit.NANOSECONDS.toMicros(entityScanNanos),
+                TimeUnit.NANOSECONDS.toMillis(catalogLoadNanos),
+                TimeUnit.NANOSECONDS.toMicros(catalogScanNanos),
+                (double) entityScanNanos / catalogScanNanos
+        ));
+        log.info(String.format("columnar   %8d books: retained heap of entities %6d MB, of catalog %6d MB",
+                BOOKS,
+                entityBytes / (1024 * 1024),
+                catalogBytes / (1024 * 1024)
+        ));
+    }
+
+    private long measureScan(List<Book> books) {
+        long bestNanos = Long.MAX_VALUE;
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            val start = System.nanoTime();
+            val result = countByAuthor(books);
+
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+
+            assertThat(result).isNotEmpty();
+        }
+
+        return bestNanos;
+    }
+
+    private long measureScan(ColumnarCatalog catalog) {
+        long bestNanos = Long.MAX_VALUE;
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            val start = System.nanoTime();
+            val result = countByAuthor(catalog);
+
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+
+            assertThat(result).isNotEmpty();
+        }
+
+        return bestNanos;
+    }
+
+    private Map<String, Long> countByAuthor(List<Book> books) {
+        return books.parallelStream()
+                .filter(book -> book.getPrintYear() >= 1950 && book.getPrintYear() <= 2000 && book.isRead())
+                .collect(Collectors.groupingByConcurrent(Book::getAuthor, Collectors.counting()));
+    }
+
+    private Map<String, Long> countByAuthor(ColumnarCatalog catalog) {
+        return catalog.countByAuthor(catalog.printYearBetween(1950, 2000).and(catalog.isRead(true)));
+    }
+
+    private long usedHeap() {
+        val runtime = Runtime.getRuntime();
+
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
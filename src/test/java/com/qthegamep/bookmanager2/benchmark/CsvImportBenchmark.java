@@ -0,0 +1,126 @@
+package com.qthegamep.bookmanager2.benchmark;
+
+import com.qthegamep.bookmanager2.importer.BookImporter;
+import com.qthegamep.bookmanager2.importer.ImportMode;
+import com.qthegamep.bookmanager2.importer.ImportOptions;
+import com.qthegamep.bookmanager2.importer.NativeBookImporter;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * This benchmark measures throughput of the streaming CSV import pipeline of {@link BookImporter}
+ * and of the native loader of {@link NativeBookImporter}.
+ * The target is one million books per minute on H2 database with disabled P6Spy diagnostics.
+ * It is run by the benchmark maven profile: mvn test -P h2-database,benchmark.
+ * Size of the file can be changed by benchmark.books system property,
+ * count of writers can be changed by benchmark.writers system property.
+ */
+public class CsvImportBenchmark {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static final Logger log = LoggerFactory.getLogger("TEST_RESULT_LOGGER");
+
+    private static final int BOOKS = Integer.getInteger("benchmark.books", 1_000_000);
+    private static final int WRITERS = Integer.getInteger("benchmark.writers", 2);
+
+    private boolean sqlDiagnosticsEnabled;
+
+    @Before
+    public void setUp() {
+        sqlDiagnosticsEnabled = SessionUtil.isSqlDiagnosticsEnabled();
+
+        SessionUtil.setSqlDiagnosticsEnabled(false);
+    }
+
+    @After
+    public void tearDown() {
+        SessionUtil.setSqlDiagnosticsEnabled(sqlDiagnosticsEnabled);
+    }
+
+    @Test
+    public void shouldMeasureImportThroughput() throws IOException {
+        val path = createCsv();
+        val importOptions = new ImportOptions();
+
+        importOptions.setWriterThreads(WRITERS);
+
+        val report = new BookImporter(importOptions).importCsv(path);
+
+        assertThat(report.getRowsImported()).isEqualTo(BOOKS);
+
+        log.info(String.format("CSV import %8d books (%d MB) with %d writers: %7d ms, %10.0f books/minute",
+                BOOKS,
+                Files.size(path) / (1024 * 1024),
+                WRITERS,
+                TimeUnit.NANOSECONDS.toMillis(report.getElapsedNanos()),
+                report.getThroughput() * 60
+        ));
+    }
+
+    @Test
+    public void shouldMeasureNativeImportThroughput() throws IOException {
+        val path = createCsv();
+        val importOptions = new ImportOptions();
+
+        importOptions.setImportMode(ImportMode.NATIVE);
+
+        val report = new NativeBookImporter(importOptions).importCsv(path);
+
+        assertThat(report.getRowsImported()).isEqualTo(BOOKS);
+
+        log.info(String.format("CSV import %8d books (%d MB) with native loader: %7d ms, %10.0f books/minute",
+                BOOKS,
+                Files.size(path) / (1024 * 1024),
+                TimeUnit.NANOSECONDS.toMillis(report.getElapsedNanos()),
+                report.getThroughput() * 60
+        ));
+    }
+
+    private Path createCsv() throws IOException {
+        val path = temporaryFolder.newFile("books.csv").toPath();
+
+        try (val writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("NAME,AUTHOR,PRINT_YEAR,IS_READ");
+            writer.newLine();
+
+            for (int i = 0; i < BOOKS; i++) {
+                writer.write("benchmark book " + i + ",benchmark author " + i % 1000 + "," + (1900 + i % 120) + "," + (i % 2 == 0));
+                writer.newLine();
+            }
+        }
+
+        return path;
+    }
+}
@@ -0,0 +1,149 @@
+package com.qthegamep.bookmanager2.benchmark;
+
+import com.qthegamep.bookmanager2.dao.AddMode;
+import com.qthegamep.bookmanager2.dao.BloomFilterBookDAO;
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * This benchmark compares checks whether books with names and authors exist by getByName and getByAuthor,
+ * by existsByName and existsByAuthor of {@link BookDAOImpl} and by {@link BloomFilterBookDAO}
+ * with disabled P6Spy diagnostics. Most of checked names and authors don't exist, as in imports of new books.
+ * All variants check every name and author one after another, so the drift of the embedded database
+ * during the run is shared by all of them.
+ * It is run by the benchmark maven profile: mvn test -P h2-database,benchmark.
+ * Size of the workload can be changed by benchmark.books and benchmark.lookups system properties.
+ */
+public class ExistsBenchmark {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private static final Logger log = LoggerFactory.getLogger("TEST_RESULT_LOGGER");
+
+    private static final int BOOKS = Integer.getInteger("benchmark.books", 20_000);
+    private static final int LOOKUPS = Integer.getInteger("benchmark.lookups", 2_000);
+
+    private static final int ROUNDS = 10;
+
+    private static final int AUTHORS = 100;
+    private static final int EXISTING_EVERY = 10;
+
+    private BookDAOImpl bookDAO;
+
+    private boolean sqlDiagnosticsEnabled;
+
+    @Before
+    public void setUp() {
+        bookDAO = new BookDAOImpl();
+
+        bookDAO.setAddMode(AddMode.MULTI_ROW);
+
+        val books = new ArrayList<Book>(BOOKS);
+
+        for (int i = 0; i < BOOKS; i++) {
+            val book = new Book();
+
+            book.setName("benchmark book " + i);
+            book.setAuthor("benchmark author " + i % AUTHORS);
+            book.setPrintYear(1900 + i % 120);
+            book.setRead(i % 2 == 0);
+
+            books.add(book);
+        }
+
+        bookDAO.addAll(books);
+
+        sqlDiagnosticsEnabled = SessionUtil.isSqlDiagnosticsEnabled();
+
+        SessionUtil.setSqlDiagnosticsEnabled(false);
+    }
+
+    @After
+    public void tearDown() {
+        SessionUtil.setSqlDiagnosticsEnabled(sqlDiagnosticsEnabled);
+    }
+
+    @Test
+    public void shouldCompareFindersExistsQueriesAndBloomFilters() {
+        val start = System.nanoTime();
+
+        val bloomFilterBookDAO = new BloomFilterBookDAO(bookDAO, BOOKS, BloomFilterBookDAO.DEFAULT_FALSE_POSITIVE_PROBABILITY);
+
+        val buildNanos = System.nanoTime() - start;
+
+        measure(bloomFilterBookDAO, 0, new long[3]);
+
+        val nanos = new long[3];
+        val falsePositives = bloomFilterBookDAO.getFalsePositives();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            measure(bloomFilterBookDAO, round, nanos);
+        }
+
+        log.info(String.format("exists %5d names and authors in %6d books: finders %6d ms, exists queries %6d ms, "
+                        + "Bloom filters %6d ms (build %4d ms, %d false positives), speedup %5.1fx",
+                LOOKUPS / ROUNDS * ROUNDS,
+                BOOKS,
+                TimeUnit.NANOSECONDS.toMillis(nanos[0]),
+                TimeUnit.NANOSECONDS.toMillis(nanos[1]),
+                TimeUnit.NANOSECONDS.toMillis(nanos[2]),
+                TimeUnit.NANOSECONDS.toMillis(buildNanos),
+                bloomFilterBookDAO.getFalsePositives() - falsePositives,
+                (double) nanos[0] / nanos[2]
+        ));
+    }
+
+    private void measure(BloomFilterBookDAO bloomFilterBookDAO, int round, long[] nanos) {
+        val from = round * (LOOKUPS / ROUNDS);
+        val to = from + LOOKUPS / ROUNDS;
+
+        for (int i = from; i < to; i++) {
+            val exists = i % EXISTING_EVERY == 0;
+            val name = exists ? "benchmark book " + i % BOOKS : "benchmark new book " + i;
+            val author = exists ? "benchmark author " + i % AUTHORS : "benchmark new author " + i;
+
+            var start = System.nanoTime();
+
+            assertThat(!bookDAO.getByName(name).isEmpty() & !bookDAO.getByAuthor(author).isEmpty()).isEqualTo(exists);
+
+            nanos[0] += System.nanoTime() - start;
+            start = System.nanoTime();
+
+            assertThat(bookDAO.existsByName(name) & bookDAO.existsByAuthor(author)).isEqualTo(exists);
+
+            nanos[1] += System.nanoTime() - start;
+            start = System.nanoTime();
+
+            assertThat(bloomFilterBookDAO.existsByName(name) & bloomFilterBookDAO.existsByAuthor(author)).isEqualTo(exists);
+
+            nanos[2] += System.nanoTime() - start;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.qthegamep.bookmanager2.benchmark;
+
+import com.qthegamep.bookmanager2.dao.BookBatchWriter;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.exporter.BookExporter;
+import com.qthegamep.bookmanager2.exporter.ExportFormat;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * This benchmark measures throughput and peak heap usage of the constant-memory export of {@link BookExporter}.
+ * It is run by the benchmark maven profile: mvn test -P h2-database,benchmark.
+ * Count of exported books can be changed by benchmark.books system property.
+ */
+public class ExportBenchmark {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static final Logger log = LoggerFactory.getLogger("TEST_RESULT_LOGGER");
+
+    private static final int BOOKS = Integer.getInteger("benchmark.books", 1_000_000);
+    private static final int BATCH_SIZE = 1000;
+
+    private boolean sqlDiagnosticsEnabled;
+
+    @Before
+    public void setUp() {
+        sqlDiagnosticsEnabled = SessionUtil.isSqlDiagnosticsEnabled();
+
+        SessionUtil.setSqlDiagnosticsEnabled(false);
+
+        try (val bookBatchWriter = new BookBatchWriter()) {
+            val batch = new ArrayList<Book>(BATCH_SIZE);
+
+            for (int i = 0; i < BOOKS; i++) {
+                val book = new Book();
+
+                book.setName("benchmark book " + i);
+                book.setAuthor("benchmark author " + i % 1000);
+                book.setPrintYear(1900 + i % 120);
+                book.setRead(i % 2 == 0);
+
+                batch.add(book);
+
+                if (batch.size() == BATCH_SIZE || i == BOOKS - 1) {
+                    bookBatchWriter.write(batch);
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        SessionUtil.setSqlDiagnosticsEnabled(sqlDiagnosticsEnabled);
+    }
+
+    @Test
+    public void shouldMeasureCsvExport() throws IOException {
+        measure(ExportFormat.CSV);
+    }
+
+    @Test
+    public void shouldMeasureJsonLinesExport() throws IOException {
+        measure(ExportFormat.JSON_LINES);
+    }
+
+    private void measure(ExportFormat format) throws IOException {
+        val path = temporaryFolder.newFile("books").toPath();
+        val heapPools = new ArrayList<MemoryPoolMXBean>();
+
+        for (val memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (memoryPool.getType() == MemoryType.HEAP) {
+                heapPools.add(memoryPool);
+            }
+        }
+
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        val start = System.nanoTime();
+        val count = new BookExporter().export(path, format);
+        val elapsedNanos = System.nanoTime() - start;
+
+        val peakHeap = heapPools.stream().mapToLong(memoryPool -> memoryPool.getPeakUsage().getUsed()).sum();
+        val megabytes = Files.size(path) / (1024.0 * 1024.0);
+
+        assertThat(count).isEqualTo(BOOKS);
+
+        log.info(String.format("%-10s export %8d books (%.0f MB): %7d ms, %6.1f MB/s, peak heap %5d MB",
+                format,
+                BOOKS,
+                megabytes,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                megabytes * TimeUnit.SECONDS.toNanos(1) / elapsedNanos,
+                peakHeap / (1024 * 1024)
+        ));
+    }
+}
@@ -0,0 +1,142 @@
+package com.qthegamep.bookmanager2.benchmark;
+
+import com.qthegamep.bookmanager2.dao.AddMode;
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.val;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * This benchmark measures the first and the second execution of every named finder of {@link Book}
+ * in new session factories that are built with and without hibernate.query.startup_check.
+ * Without the check the first execution parses the query, with the check the plan is compiled
+ * by the build of the session factory, so the build time is logged too.
+ * Both configurations alternate in rounds, so the drift of the embedded database during the run is shared by both of them.
+ * It is run by the benchmark maven profile: mvn test -P h2-database,benchmark.
+ * Count of rounds can be changed by benchmark.rounds system property.
+ */
+public class FirstQueryBenchmark {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private static final Logger log = LoggerFactory.getLogger("TEST_RESULT_LOGGER");
+
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 10);
+
+    private static final int BOOKS = 1000;
+
+    @Before
+    public void setUp() {
+        val bookDAO = new BookDAOImpl();
+
+        bookDAO.setAddMode(AddMode.MULTI_ROW);
+
+        val books = new ArrayList<Book>(BOOKS);
+
+        for (int i = 0; i < BOOKS; i++) {
+            val book = new Book();
+
+            book.setName("benchmark book " + i);
+            book.setAuthor("benchmark author " + i % 100);
+            book.setPrintYear(1900 + i % 120);
+            book.setRead(i % 2 == 0);
+
+            books.add(book);
+        }
+
+        bookDAO.addAll(books);
+
+        SessionUtil.closeSession();
+    }
+
+    @Test
+    public void shouldCompareFirstQueriesWithAndWithoutStartupCheck() {
+        measure(true, new long[3]);
+        measure(false, new long[3]);
+
+        val checkedNanos = new long[3];
+        val uncheckedNanos = new long[3];
+
+        for (int round = 0; round < ROUNDS; round++) {
+            if (round % 2 == 0) {
+                measure(true, checkedNanos);
+                measure(false, uncheckedNanos);
+            } else {
+                measure(false, uncheckedNanos);
+                measure(true, checkedNanos);
+            }
+        }
+
+        log(checkedNanos, "checked");
+        log(uncheckedNanos, "unchecked");
+    }
+
+    private void measure(boolean startupCheck, long[] nanos) {
+        val start = System.nanoTime();
+
+        try (val sessionFactory = new Configuration().configure()
+                .setProperty("hibernate.query.startup_check", String.valueOf(startupCheck))
+                .setProperty("bookmanager2.connection.spy_enabled", "false")
+                .buildSessionFactory()) {
+            nanos[0] += System.nanoTime() - start;
+            nanos[1] += executeFinders(sessionFactory);
+            nanos[2] += executeFinders(sessionFactory);
+        }
+    }
+
+    private long executeFinders(SessionFactory sessionFactory) {
+        try (val session = sessionFactory.openSession()) {
+            val start = System.nanoTime();
+            val found = new ArrayList<List<Book>>();
+
+            found.add(session.createNamedQuery(Book.GET_BY_IDS_QUERY, Book.class).setParameterList("ids", List.of(1, 2, 3)).list());
+            found.add(session.createNamedQuery(Book.GET_BY_NAME_QUERY, Book.class).setParameter("name", "benchmark book 1").list());
+            found.add(session.createNamedQuery(Book.GET_BY_AUTHOR_QUERY, Book.class).setParameter("author", "benchmark author 1").list());
+            found.add(session.createNamedQuery(Book.GET_BY_PRINT_YEAR_QUERY, Book.class).setParameter("printYear", 1901).list());
+            found.add(session.createNamedQuery(Book.GET_BY_IS_READ_QUERY, Book.class).setParameter("isRead", true).setMaxResults(10).list());
+            found.add(session.createNamedQuery(Book.GET_ALL_QUERY, Book.class).setMaxResults(10).list());
+
+            val nanos = System.nanoTime() - start;
+
+            assertThat(found).allSatisfy(books -> assertThat(books).isNotEmpty());
+
+            return nanos;
+        }
+    }
+
+    private void log(long[] nanos, String startupCheck) {
+        log.info(String.format("named finders %-9s: build %7.1f ms, first execution %6.2f ms, second execution %6.2f ms",
+                startupCheck,
+                (double) nanos[0] / ROUNDS / TimeUnit.MILLISECONDS.toNanos(1),
+                (double) nanos[1] / ROUNDS / TimeUnit.MILLISECONDS.toNanos(1),
+                (double) nanos[2] / ROUNDS / TimeUnit.MILLISECONDS.toNanos(1)
+        ));
+    }
+}
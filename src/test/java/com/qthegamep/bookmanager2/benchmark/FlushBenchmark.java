@@ -0,0 +1,152 @@
+package com.qthegamep.bookmanager2.benchmark;
+
+import com.qthegamep.bookmanager2.dao.AddMode;
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.val;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * This benchmark measures the cost of {@link Session#flush()} on sessions that hold from 10k to 100k books
+ * when one of every hundred books is changed and when no books are changed.
+ * Flush of the bytecode enhanced {@link Book} visits only books that tracked own changes, flush of the plain
+ * entity compares every book with its snapshot. To measure the plain entity rebuild the project without
+ * dirty tracking: mvn clean test -P h2-database,benchmark -DhibernateEnhancePlugin.enableDirtyTracking=false.
+ * It is run by the benchmark maven profile: mvn test -P h2-database,benchmark.
+ * Sizes of sessions and count of flushes can be changed by benchmark.sessionSizes
+ * and benchmark.iterations system properties.
+ */
+public class FlushBenchmark {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private static final Logger log = LoggerFactory.getLogger("TEST_RESULT_LOGGER");
+
+    private static final int[] SESSION_SIZES = Arrays.stream(System.getProperty("benchmark.sessionSizes", "10000,50000,100000").split(","))
+            .mapToInt(Integer::parseInt)
+            .toArray();
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 5);
+
+    private static final int CHANGED_BOOKS_STEP = 100;
+
+    private BookDAOImpl bookDAO;
+
+    private boolean sqlDiagnosticsEnabled;
+
+    @Before
+    public void setUp() {
+        bookDAO = new BookDAOImpl();
+
+        bookDAO.setAddMode(AddMode.MULTI_ROW);
+
+        sqlDiagnosticsEnabled = SessionUtil.isSqlDiagnosticsEnabled();
+
+        SessionUtil.setSqlDiagnosticsEnabled(false);
+    }
+
+    @After
+    public void tearDown() {
+        SessionUtil.closeSession();
+        SessionUtil.setSqlDiagnosticsEnabled(sqlDiagnosticsEnabled);
+    }
+
+    @Test
+    public void shouldMeasureFlushOfLargeSessions() {
+        prepareBooks(Arrays.stream(SESSION_SIZES).max().orElse(0));
+
+        val dirtyTracking = SelfDirtinessTracker.class.isAssignableFrom(Book.class);
+
+        for (val sessionSize : SESSION_SIZES) {
+            val session = SessionUtil.openSession();
+            val transaction = session.beginTransaction();
+
+            try {
+                val books = session.createQuery("from Book b left join fetch b.author order by b.id", Book.class)
+                        .setMaxResults(sessionSize)
+                        .list();
+
+                assertThat(books).hasSize(sessionSize);
+
+                long dirtyNanos = 0;
+                long cleanNanos = 0;
+
+                for (int i = 0; i < ITERATIONS; i++) {
+                    for (int j = 0; j < books.size(); j += CHANGED_BOOKS_STEP) {
+                        val book = books.get(j);
+
+                        book.setRead(!book.isRead());
+                    }
+
+                    dirtyNanos += measureFlush(session);
+                    cleanNanos += measureFlush(session);
+                }
+
+                log.info(String.format("flush %7d books: %5d changed %7.1f ms, unchanged %7.1f ms, dirty tracking %s",
+                        sessionSize,
+                        sessionSize / CHANGED_BOOKS_STEP,
+                        (double) dirtyNanos / ITERATIONS / TimeUnit.MILLISECONDS.toNanos(1),
+                        (double) cleanNanos / ITERATIONS / TimeUnit.MILLISECONDS.toNanos(1),
+                        dirtyTracking
+                ));
+            } finally {
+                transaction.rollback();
+                SessionUtil.closeSession();
+            }
+        }
+    }
+
+    private long measureFlush(Session session) {
+        val start = System.nanoTime();
+
+        session.flush();
+
+        return System.nanoTime() - start;
+    }
+
+    private void prepareBooks(int count) {
+        val books = new ArrayList<Book>(count);
+
+        for (int i = 0; i < count; i++) {
+            val book = new Book();
+
+            book.setName("benchmark book " + i);
+            book.setAuthor("benchmark author " + i % 100);
+            book.setPrintYear(1900 + i % 120);
+            book.setRead(false);
+
+            books.add(book);
+        }
+
+        bookDAO.addAll(books);
+
+        SessionUtil.closeSession();
+    }
+}
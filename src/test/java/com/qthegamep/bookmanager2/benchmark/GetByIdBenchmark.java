@@ -0,0 +1,178 @@
+package com.qthegamep.bookmanager2.benchmark;
+
+import com.qthegamep.bookmanager2.dao.AddMode;
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.val;
+import org.hibernate.ObjectNotFoundException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * This benchmark compares the path of {@link BookDAOImpl#getById(int)} that reads the plain book by one query
+ * with the previous path that loaded the lazy proxy and initialized it by getters
+ * for existing and missing ids with disabled P6Spy diagnostics.
+ * Both paths are measured in the same transactional session without logging of the DAO
+ * and alternate in rounds, so the drift of the embedded database during the run is shared by both of them.
+ * It is run by the benchmark maven profile: mvn test -P h2-database,benchmark.
+ * Size of the workload can be changed by benchmark.books and benchmark.lookups system properties.
+ */
+public class GetByIdBenchmark {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private static final Logger log = LoggerFactory.getLogger("TEST_RESULT_LOGGER");
+
+    private static final int BOOKS = Integer.getInteger("benchmark.books", 10_000);
+    private static final int LOOKUPS = Integer.getInteger("benchmark.lookups", 10_000);
+
+    private static final int ROUNDS = 10;
+
+    private BookDAOImpl bookDAO;
+
+    private boolean sqlDiagnosticsEnabled;
+
+    @Before
+    public void setUp() {
+        bookDAO = new BookDAOImpl();
+
+        bookDAO.setAddMode(AddMode.MULTI_ROW);
+
+        val books = new ArrayList<Book>(BOOKS);
+
+        for (int i = 0; i < BOOKS; i++) {
+            val book = new Book();
+
+            book.setName("benchmark book " + i);
+            book.setAuthor("benchmark author " + i % 100);
+            book.setPrintYear(1900 + i % 120);
+            book.setRead(i % 2 == 0);
+
+            books.add(book);
+        }
+
+        bookDAO.addAll(books);
+
+        sqlDiagnosticsEnabled = SessionUtil.isSqlDiagnosticsEnabled();
+
+        SessionUtil.setSqlDiagnosticsEnabled(false);
+    }
+
+    @After
+    public void tearDown() {
+        SessionUtil.setSqlDiagnosticsEnabled(sqlDiagnosticsEnabled);
+    }
+
+    @Test
+    public void shouldCompareGetByIdAndProxyLoad() {
+        val random = new Random(42);
+        val existingIds = random.ints(LOOKUPS, 1, BOOKS + 1).toArray();
+        val missingIds = random.ints(LOOKUPS, BOOKS + 1, 2 * BOOKS + 1).toArray();
+
+        measure(existingIds, 0, LOOKUPS / ROUNDS, new long[2]);
+
+        val existingNanos = new long[2];
+        val missingNanos = new long[2];
+
+        for (int round = 0; round < ROUNDS; round++) {
+            measure(existingIds, round, LOOKUPS / ROUNDS, existingNanos);
+            measure(missingIds, round, LOOKUPS / ROUNDS, missingNanos);
+        }
+
+        log(existingNanos, "existing");
+        log(missingNanos, "missing");
+    }
+
+    private void measure(int[] ids, int round, int roundSize, long[] nanos) {
+        val from = round * roundSize;
+        val to = from + roundSize;
+
+        if (round % 2 == 0) {
+            nanos[0] += measure(this::get, ids, from, to);
+            nanos[1] += measure(this::loadProxy, ids, from, to);
+        } else {
+            nanos[1] += measure(this::loadProxy, ids, from, to);
+            nanos[0] += measure(this::get, ids, from, to);
+        }
+    }
+
+    private long measure(IntPredicate lookup, int[] ids, int from, int to) {
+        val start = System.nanoTime();
+
+        var found = 0;
+
+        for (int i = from; i < to; i++) {
+            if (lookup.test(ids[i])) {
+                found++;
+            }
+        }
+
+        val nanos = System.nanoTime() - start;
+
+        assertThat(found).isIn(0, to - from);
+
+        return nanos;
+    }
+
+    private void log(long[] nanos, String ids) {
+        log.info(String.format("getById %6d %-8s ids: get %7d ms, load and initialize proxy %7d ms, speedup %5.1fx",
+                LOOKUPS / ROUNDS * ROUNDS,
+                ids,
+                TimeUnit.NANOSECONDS.toMillis(nanos[0]),
+                TimeUnit.NANOSECONDS.toMillis(nanos[1]),
+                (double) nanos[1] / nanos[0]
+        ));
+    }
+
+    private boolean get(int id) {
+        val session = SessionUtil.openTransactionSession();
+
+        try {
+            val book = session.get(Book.class, id);
+
+            return book != null && book.getName() != null && book.getAuthor() != null;
+        } finally {
+            SessionUtil.closeTransactionSession();
+        }
+    }
+
+    private boolean loadProxy(int id) {
+        val session = SessionUtil.openTransactionSession();
+
+        try {
+            val book = session.load(Book.class, id);
+
+            return book.getName() != null && book.getAuthor() != null;
+        } catch (ObjectNotFoundException e) {
+            return false;
+        } finally {
+            SessionUtil.closeTransactionSession();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.qthegamep.bookmanager2.benchmark;
+
+import com.qthegamep.bookmanager2.dao.AddMode;
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * This benchmark compares a page of books that is read with {@link BookDAOImpl#getById(int)} for every id
+ * with the same page that is read with {@link BookDAOImpl#getByIds(int[])} with disabled P6Spy diagnostics.
+ * It is run by the benchmark maven profile: mvn test -P h2-database,benchmark.
+ * Size of the workload can be changed by benchmark.books, benchmark.pageSize and benchmark.pages system properties.
+ */
+public class MultiGetBenchmark {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private static final Logger log = LoggerFactory.getLogger("TEST_RESULT_LOGGER");
+
+    private static final int BOOKS = Integer.getInteger("benchmark.books", 10_000);
+    private static final int PAGE_SIZE = Integer.getInteger("benchmark.pageSize", 200);
+    private static final int PAGES = Integer.getInteger("benchmark.pages", 50);
+
+    private BookDAOImpl bookDAO;
+
+    private boolean sqlDiagnosticsEnabled;
+
+    @Before
+    public void setUp() {
+        bookDAO = new BookDAOImpl();
+
+        bookDAO.setAddMode(AddMode.MULTI_ROW);
+
+        val books = new ArrayList<Book>(BOOKS);
+
+        for (int i = 0; i < BOOKS; i++) {
+            val book = new Book();
+
+            book.setName("benchmark book " + i);
+            book.setAuthor("benchmark author " + i % 100);
+            book.setPrintYear(1900 + i % 120);
+            book.setRead(i % 2 == 0);
+
+            books.add(book);
+        }
+
+        bookDAO.addAll(books);
+
+        sqlDiagnosticsEnabled = SessionUtil.isSqlDiagnosticsEnabled();
+
+        SessionUtil.setSqlDiagnosticsEnabled(false);
+    }
+
+    @After
+    public void tearDown() {
+        SessionUtil.setSqlDiagnosticsEnabled(sqlDiagnosticsEnabled);
+    }
+
+    @Test
+    public void shouldCompareGetByIdAndGetByIds() {
+        val random = new Random(42);
+        val pages = new int[PAGES][PAGE_SIZE];
+
+        for (val page : pages) {
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                page[i] = 1 + random.nextInt(BOOKS);
+            }
+        }
+
+        var start = System.nanoTime();
+
+        for (val page : pages) {
+            for (val id : page) {
+                bookDAO.getById(id).getName();
+            }
+
+            SessionUtil.closeSession();
+        }
+
+        val getByIdNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+
+        for (val page : pages) {
+            assertThat(bookDAO.getByIds(page).getBooks()).hasSize(PAGE_SIZE);
+
+            SessionUtil.closeSession();
+        }
+
+        val getByIdsNanos = System.nanoTime() - start;
+
+        log.info(String.format("page of %4d books x %d: getById %7d ms, getByIds %7d ms, speedup %5.1fx",
+                PAGE_SIZE,
+                PAGES,
+                TimeUnit.NANOSECONDS.toMillis(getByIdNanos),
+                TimeUnit.NANOSECONDS.toMillis(getByIdsNanos),
+                (double) getByIdNanos / getByIdsNanos
+        ));
+    }
+}
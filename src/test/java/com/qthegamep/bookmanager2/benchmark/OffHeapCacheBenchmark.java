@@ -0,0 +1,161 @@
+package com.qthegamep.bookmanager2.benchmark;
+
+import com.qthegamep.bookmanager2.cache.OffHeapBookCache;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * This benchmark compares the cache of books in the heap map with {@link OffHeapBookCache}.
+ * For both caches it measures the time of filling, the time of random gets, the used heap
+ * and the time of full garbage collections while all books are cached.
+ * The database is not used, so only the cost of the cache is measured.
+ * It is run by the benchmark maven profile: mvn test -P h2-database,benchmark.
+ * Count of books, gets and full collections can be changed by benchmark.books, benchmark.lookups
+ * and benchmark.collections system properties.
+ */
+public class OffHeapCacheBenchmark {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+
+    private static final Logger log = LoggerFactory.getLogger("TEST_RESULT_LOGGER");
+
+    private static final int BOOKS = Integer.getInteger("benchmark.books", 1_000_000);
+    private static final int LOOKUPS = Integer.getInteger("benchmark.lookups", 1_000_000);
+    private static final int COLLECTIONS = Integer.getInteger("benchmark.collections", 5);
+
+    private static final int SLOT_SIZE = 128;
+
+    @Test
+    public void shouldCompareHeapMapAndOffHeapCache() {
+        val baseHeap = usedHeapAfterCollection();
+
+        var start = System.nanoTime();
+        val heapCache = new HashMap<Integer, Book>(BOOKS * 2);
+
+        for (int id = 1; id <= BOOKS; id++) {
+            heapCache.put(id, createBook(id));
+        }
+
+        val heapFillNanos = System.nanoTime() - start;
+        val heapGetNanos = measureGets(heapCache::get);
+        val heapUsed = usedHeapAfterCollection() - baseHeap;
+        val heapCollectionNanos = measureCollections();
+
+        log("heap map", heapFillNanos, heapGetNanos, heapUsed, heapCollectionNanos);
+
+        heapCache.clear();
+
+        val offHeapBaseHeap = usedHeapAfterCollection();
+
+        try (val offHeapCache = new OffHeapBookCache(BOOKS, SLOT_SIZE)) {
+            start = System.nanoTime();
+
+            for (int id = 1; id <= BOOKS; id++) {
+                offHeapCache.put(createBook(id));
+            }
+
+            val offHeapFillNanos = System.nanoTime() - start;
+            val offHeapGetNanos = measureGets(offHeapCache::get);
+            val offHeapUsed = usedHeapAfterCollection() - offHeapBaseHeap;
+            val offHeapCollectionNanos = measureCollections();
+
+            assertThat(offHeapCache.size()).isEqualTo(BOOKS);
+
+            log("off-heap", offHeapFillNanos, offHeapGetNanos, offHeapUsed, offHeapCollectionNanos);
+        }
+    }
+
+    private long measureGets(IntFunction<Book> get) {
+        val random = new Random(42);
+        val start = System.nanoTime();
+
+        var found = 0;
+
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (get.apply(1 + random.nextInt(BOOKS)) != null) {
+                found++;
+            }
+        }
+
+        val nanos = System.nanoTime() - start;
+
+        assertThat(found).isEqualTo(LOOKUPS);
+
+        return nanos;
+    }
+
+    private long measureCollections() {
+        val before = collectionMillis();
+        val start = System.nanoTime();
+
+        for (int i = 0; i < COLLECTIONS; i++) {
+            System.gc();
+        }
+
+        val wallNanos = System.nanoTime() - start;
+        val collectorNanos = TimeUnit.MILLISECONDS.toNanos(collectionMillis() - before);
+
+        return Math.max(wallNanos, collectorNanos);
+    }
+
+    private long collectionMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .sum();
+    }
+
+    private long usedHeapAfterCollection() {
+        System.gc();
+
+        val runtime = Runtime.getRuntime();
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private void log(String cache, long fillNanos, long getNanos, long usedHeap, long collectionNanos) {
+        log.info(String.format("cache %8d books in %-8s: fill %6d ms, %8d gets %6d ms, used heap %5d MB, full gc %7.1f ms",
+                BOOKS,
+                cache,
+                TimeUnit.NANOSECONDS.toMillis(fillNanos),
+                LOOKUPS,
+                TimeUnit.NANOSECONDS.toMillis(getNanos),
+                Math.max(0, usedHeap) / 1024 / 1024,
+                (double) collectionNanos / COLLECTIONS / TimeUnit.MILLISECONDS.toNanos(1)
+        ));
+    }
+
+    private Book createBook(int id) {
+        val book = new Book();
+
+        book.setId(id);
+        book.setName("benchmark book " + id);
+        book.setAuthor("benchmark author " + id % 100);
+        book.setPrintYear(1900 + id % 120);
+        book.setRead(id % 2 == 0);
+
+        return book;
+    }
+}
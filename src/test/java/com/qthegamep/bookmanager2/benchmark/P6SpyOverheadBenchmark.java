@@ -0,0 +1,150 @@
+package com.qthegamep.bookmanager2.benchmark;
+
+import com.qthegamep.bookmanager2.dao.BookDAO;
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.testhelper.util.ResetDBUtil;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * This benchmark quantifies the overhead of the P6Spy proxy on {@link BookDAO#addAll(List)}
+ * and {@link BookDAO#getAll()} by running the same workload with native and wrapped connections.
+ * It is run by the benchmark maven profile: mvn test -P h2-database,benchmark.
+ * Size of the workload can be changed by benchmark.books and benchmark.iterations system properties.
+ */
+public class P6SpyOverheadBenchmark {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private static final Logger log = LoggerFactory.getLogger("TEST_RESULT_LOGGER");
+
+    private static final int BOOKS = Integer.getInteger("benchmark.books", 10_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 5);
+
+    private BookDAO bookDAO;
+
+    private boolean sqlDiagnosticsEnabled;
+
+    @Before
+    public void setUp() {
+        bookDAO = new BookDAOImpl();
+
+        sqlDiagnosticsEnabled = SessionUtil.isSqlDiagnosticsEnabled();
+    }
+
+    @After
+    public void tearDown() {
+        SessionUtil.setSqlDiagnosticsEnabled(sqlDiagnosticsEnabled);
+    }
+
+    @Test
+    public void shouldMeasureAddAllOverhead() {
+        val nativeNanos = measureAddAll(false);
+        val spyNanos = measureAddAll(true);
+
+        report("addAll", nativeNanos, spyNanos);
+    }
+
+    @Test
+    public void shouldMeasureGetAllOverhead() {
+        bookDAO.addAll(createBooks());
+
+        val nativeNanos = measureGetAll(false);
+        val spyNanos = measureGetAll(true);
+
+        report("getAll", nativeNanos, spyNanos);
+    }
+
+    private long measureAddAll(boolean spyEnabled) {
+        SessionUtil.setSqlDiagnosticsEnabled(spyEnabled);
+
+        long bestNanos = Long.MAX_VALUE;
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            ResetDBUtil.resetDatabase();
+
+            val books = createBooks();
+            val start = System.nanoTime();
+
+            bookDAO.addAll(books);
+
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        assertThat(bookDAO.getAll()).hasSize(BOOKS);
+
+        return bestNanos;
+    }
+
+    private long measureGetAll(boolean spyEnabled) {
+        SessionUtil.setSqlDiagnosticsEnabled(spyEnabled);
+
+        long bestNanos = Long.MAX_VALUE;
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            val start = System.nanoTime();
+
+            val books = bookDAO.getAll();
+
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+
+            assertThat(books).hasSize(BOOKS);
+        }
+
+        return bestNanos;
+    }
+
+    private void report(String operation, long nativeNanos, long spyNanos) {
+        log.info(String.format("%-10s %8d books: native %7d ms, P6Spy %7d ms, overhead %6.1f%%",
+                operation,
+                BOOKS,
+                TimeUnit.NANOSECONDS.toMillis(nativeNanos),
+                TimeUnit.NANOSECONDS.toMillis(spyNanos),
+                100.0 * (spyNanos - nativeNanos) / nativeNanos
+        ));
+    }
+
+    private List<Book> createBooks() {
+        val books = new ArrayList<Book>(BOOKS);
+
+        for (int i = 0; i < BOOKS; i++) {
+            val book = new Book();
+
+            book.setName("benchmark book " + i);
+            book.setAuthor("benchmark author " + i % 100);
+            book.setPrintYear(1900 + i % 120);
+            book.setRead(i % 2 == 0);
+
+            books.add(book);
+        }
+
+        return books;
+    }
+}
@@ -0,0 +1,148 @@
+package com.qthegamep.bookmanager2.benchmark;
+
+import com.qthegamep.bookmanager2.dao.AddMode;
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.dao.BookSummaryDAOImpl;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * This benchmark compares time and retained heap of {@link BookDAOImpl#getAll()} that hydrates managed entities
+ * with {@link BookSummaryDAOImpl#getAll()} that creates summaries straight from the result set.
+ * Retained heap is measured after GC while the result and the session are still reachable.
+ * It is run by the benchmark maven profile: mvn test -P h2-database,benchmark.
+ * Size of the workload can be changed by benchmark.books and benchmark.iterations system properties.
+ */
+public class ProjectionBenchmark {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private static final Logger log = LoggerFactory.getLogger("TEST_RESULT_LOGGER");
+
+    private static final int BOOKS = Integer.getInteger("benchmark.books", 200_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 3);
+
+    private boolean sqlDiagnosticsEnabled;
+
+    @Before
+    public void setUp() {
+        val bookDAO = new BookDAOImpl();
+
+        bookDAO.setAddMode(AddMode.MULTI_ROW);
+        bookDAO.setChangeFeedEnabled(false);
+
+        val books = new ArrayList<Book>(BOOKS);
+
+        for (int i = 0; i < BOOKS; i++) {
+            val book = new Book();
+
+            book.setName("benchmark book " + i);
+            book.setAuthor("benchmark author " + i % 100);
+            book.setPrintYear(1900 + i % 120);
+            book.setRead(i % 2 == 0);
+
+            books.add(book);
+        }
+
+        bookDAO.addAll(books);
+
+        SessionUtil.closeSession();
+
+        sqlDiagnosticsEnabled = SessionUtil.isSqlDiagnosticsEnabled();
+
+        SessionUtil.setSqlDiagnosticsEnabled(false);
+    }
+
+    @After
+    public void tearDown() {
+        SessionUtil.setSqlDiagnosticsEnabled(sqlDiagnosticsEnabled);
+    }
+
+    @Test
+    public void shouldCompareEntitiesAndSummariesOfGetAll() {
+        val bookDAO = new BookDAOImpl();
+        val bookSummaryDAO = new BookSummaryDAOImpl();
+
+        val entityNanos = measureTime(bookDAO::getAll);
+        val summaryNanos = measureTime(bookSummaryDAO::getAll);
+        val entityBytes = measureHeap(bookDAO::getAll);
+        val summaryBytes = measureHeap(bookSummaryDAO::getAll);
+
+        log.info(String.format("getAll     %8d books: entities %7d ms %6d MB, summaries %7d ms %6d MB, speedup %5.1fx, heap %5.1fx",
+                BOOKS,
+                TimeUnit.NANOSECONDS.toMillis(entityNanos),
+                entityBytes / (1024 * 1024),
+                TimeUnit.NANOSECONDS.toMillis(summaryNanos),
+                summaryBytes / (1024 * 1024),
+                (double) entityNanos / summaryNanos,
+                (double) entityBytes / summaryBytes
+        ));
+    }
+
+    private long measureTime(Supplier<List<?>> getAll) {
+        long bestNanos = Long.MAX_VALUE;
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            val start = System.nanoTime();
+            val result = getAll.get();
+
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+
+            assertThat(result).hasSize(BOOKS);
+
+            SessionUtil.closeSession();
+        }
+
+        return bestNanos;
+    }
+
+    private long measureHeap(Supplier<List<?>> getAll) {
+        val before = usedHeap();
+        val result = getAll.get();
+        val after = usedHeap();
+
+        assertThat(result).hasSize(BOOKS);
+
+        SessionUtil.closeSession();
+
+        return after - before;
+    }
+
+    private long usedHeap() {
+        val runtime = Runtime.getRuntime();
+
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
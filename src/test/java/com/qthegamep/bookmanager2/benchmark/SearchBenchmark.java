@@ -0,0 +1,160 @@
+package com.qthegamep.bookmanager2.benchmark;
+
+import com.qthegamep.bookmanager2.dao.AddMode;
+import com.qthegamep.bookmanager2.dao.BookCriteria;
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * This benchmark compares {@link BookDAOImpl#search(BookCriteria)} by author, print year and is read
+ * with the intersection of results of getByAuthor, getByPrintYear and getByIsRead in Java
+ * with disabled P6Spy diagnostics. Both variants alternate in rounds, so the drift of the embedded database
+ * during the run is shared by both of them.
+ * It is run by the benchmark maven profile: mvn test -P h2-database,benchmark.
+ * Size of the workload can be changed by benchmark.books and benchmark.lookups system properties.
+ */
+public class SearchBenchmark {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private static final Logger log = LoggerFactory.getLogger("TEST_RESULT_LOGGER");
+
+    private static final int BOOKS = Integer.getInteger("benchmark.books", 20_000);
+    private static final int LOOKUPS = Integer.getInteger("benchmark.lookups", 100);
+
+    private static final int ROUNDS = 10;
+
+    private static final int AUTHORS = 100;
+    private static final int PRINT_YEARS = 120;
+
+    private BookDAOImpl bookDAO;
+
+    private boolean sqlDiagnosticsEnabled;
+
+    @Before
+    public void setUp() {
+        bookDAO = new BookDAOImpl();
+
+        bookDAO.setAddMode(AddMode.MULTI_ROW);
+
+        val books = new ArrayList<Book>(BOOKS);
+
+        for (int i = 0; i < BOOKS; i++) {
+            val book = new Book();
+
+            book.setName("benchmark book " + i);
+            book.setAuthor("benchmark author " + i % AUTHORS);
+            book.setPrintYear(1900 + i % PRINT_YEARS);
+            book.setRead(i % 3 == 0);
+
+            books.add(book);
+        }
+
+        bookDAO.addAll(books);
+
+        sqlDiagnosticsEnabled = SessionUtil.isSqlDiagnosticsEnabled();
+
+        SessionUtil.setSqlDiagnosticsEnabled(false);
+    }
+
+    @After
+    public void tearDown() {
+        SessionUtil.setSqlDiagnosticsEnabled(sqlDiagnosticsEnabled);
+    }
+
+    @Test
+    public void shouldCompareSearchAndIntersectionOfFinders() {
+        measure(0, new long[2]);
+
+        val nanos = new long[2];
+
+        for (int round = 0; round < ROUNDS; round++) {
+            measure(round, nanos);
+        }
+
+        log.info(String.format("search %4d lookups in %6d books: one query %6d ms, intersection of finders %6d ms, speedup %5.1fx",
+                LOOKUPS / ROUNDS * ROUNDS,
+                BOOKS,
+                TimeUnit.NANOSECONDS.toMillis(nanos[0]),
+                TimeUnit.NANOSECONDS.toMillis(nanos[1]),
+                (double) nanos[1] / nanos[0]
+        ));
+    }
+
+    private void measure(int round, long[] nanos) {
+        val from = round * (LOOKUPS / ROUNDS);
+        val to = from + LOOKUPS / ROUNDS;
+
+        for (int i = from; i < to; i++) {
+            val criteria = new BookCriteria();
+
+            criteria.setAuthor("benchmark author " + i % AUTHORS);
+            criteria.setFromPrintYear(1900 + i % PRINT_YEARS);
+            criteria.setToPrintYear(1900 + i % PRINT_YEARS);
+            criteria.setIsRead(i % 2 == 0);
+
+            if (i % 2 == 0) {
+                nanos[0] += measureSearch(criteria);
+                nanos[1] += measureIntersection(criteria);
+            } else {
+                nanos[1] += measureIntersection(criteria);
+                nanos[0] += measureSearch(criteria);
+            }
+        }
+    }
+
+    private long measureSearch(BookCriteria criteria) {
+        val start = System.nanoTime();
+
+        val books = bookDAO.search(criteria);
+
+        val nanos = System.nanoTime() - start;
+
+        assertThat(books).allMatch(book -> book.getAuthor().equals(criteria.getAuthor()));
+
+        return nanos;
+    }
+
+    private long measureIntersection(BookCriteria criteria) {
+        val start = System.nanoTime();
+
+        val books = new ArrayList<Book>(bookDAO.getByAuthor(criteria.getAuthor()));
+
+        books.retainAll(new HashSet<>(bookDAO.getByPrintYear(criteria.getFromPrintYear())));
+        books.retainAll(new HashSet<>(bookDAO.getByIsRead(criteria.getIsRead())));
+
+        val nanos = System.nanoTime() - start;
+
+        assertThat(books).allMatch(book -> book.getAuthor().equals(criteria.getAuthor()));
+
+        return nanos;
+    }
+}
@@ -0,0 +1,115 @@
+package com.qthegamep.bookmanager2.benchmark;
+
+import com.qthegamep.bookmanager2.dao.BookBatchWriter;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.snapshot.BookSnapshot;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.testhelper.util.ResetDBUtil;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * This benchmark measures writing and restoring of the binary snapshot of {@link BookSnapshot}.
+ * It is run by the benchmark maven profile: mvn test -P h2-database,benchmark.
+ * Count of books can be changed by benchmark.books system property.
+ */
+public class SnapshotBenchmark {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static final Logger log = LoggerFactory.getLogger("TEST_RESULT_LOGGER");
+
+    private static final int BOOKS = Integer.getInteger("benchmark.books", 1_000_000);
+    private static final int BATCH_SIZE = 1000;
+
+    private boolean sqlDiagnosticsEnabled;
+
+    @Before
+    public void setUp() {
+        sqlDiagnosticsEnabled = SessionUtil.isSqlDiagnosticsEnabled();
+
+        SessionUtil.setSqlDiagnosticsEnabled(false);
+
+        try (val bookBatchWriter = new BookBatchWriter()) {
+            val batch = new ArrayList<Book>(BATCH_SIZE);
+
+            for (int i = 0; i < BOOKS; i++) {
+                val book = new Book();
+
+                book.setName("benchmark book " + i);
+                book.setAuthor("benchmark author " + i % 1000);
+                book.setPrintYear(1900 + i % 120);
+                book.setRead(i % 2 == 0);
+
+                batch.add(book);
+
+                if (batch.size() == BATCH_SIZE || i == BOOKS - 1) {
+                    bookBatchWriter.write(batch);
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        SessionUtil.setSqlDiagnosticsEnabled(sqlDiagnosticsEnabled);
+    }
+
+    @Test
+    public void shouldMeasureSnapshotAndRestore() throws IOException {
+        val path = temporaryFolder.newFile("books.snapshot").toPath();
+        val bookSnapshot = new BookSnapshot();
+
+        var start = System.nanoTime();
+
+        assertThat(bookSnapshot.snapshot(path)).isEqualTo(BOOKS);
+
+        val snapshotNanos = System.nanoTime() - start;
+
+        ResetDBUtil.resetDatabase();
+
+        start = System.nanoTime();
+
+        assertThat(bookSnapshot.restore(path)).isEqualTo(BOOKS);
+
+        val restoreNanos = System.nanoTime() - start;
+
+        log.info(String.format("snapshot %8d books (%.0f MB): %7d ms, restore: %7d ms (%.0f books/s)",
+                BOOKS,
+                Files.size(path) / (1024.0 * 1024.0),
+                TimeUnit.NANOSECONDS.toMillis(snapshotNanos),
+                TimeUnit.NANOSECONDS.toMillis(restoreNanos),
+                BOOKS * (double) TimeUnit.SECONDS.toNanos(1) / restoreNanos
+        ));
+    }
+}
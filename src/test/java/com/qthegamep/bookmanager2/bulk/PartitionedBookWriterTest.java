@@ -0,0 +1,216 @@
+package com.qthegamep.bookmanager2.bulk;
+
+import com.qthegamep.bookmanager2.dao.AddMode;
+import com.qthegamep.bookmanager2.dao.BookChangeLog;
+import com.qthegamep.bookmanager2.dao.BookCursor;
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.entity.BookChange;
+import com.qthegamep.bookmanager2.entity.ChangeOperation;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PartitionedBookWriterTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private static final int BOOKS = 95;
+
+    private PartitionedBookWriter partitionedBookWriter;
+
+    private BookDAOImpl bookDAO;
+
+    private List<Book> books;
+
+    @Before
+    public void setUp() {
+        val bulkOptions = new BulkOptions();
+
+        bulkOptions.setParallelism(4);
+        bulkOptions.setChunkSize(10);
+
+        partitionedBookWriter = new PartitionedBookWriter(bulkOptions);
+
+        bookDAO = new BookDAOImpl();
+
+        bookDAO.setAddMode(AddMode.MULTI_ROW);
+        bookDAO.setChangeFeedEnabled(false);
+
+        books = new ArrayList<>();
+
+        for (int i = 0; i < BOOKS; i++) {
+            val book = new Book();
+
+            book.setName("test book " + i);
+            book.setAuthor("test author " + i);
+            book.setPrintYear(1900 + i);
+            book.setRead(false);
+
+            books.add(book);
+        }
+
+        bookDAO.addAll(books);
+    }
+
+    @Test
+    public void shouldCreateObjectWithDefaultOptions() {
+        val defaultWriter = new PartitionedBookWriter();
+
+        assertThat(defaultWriter.getBulkOptions().getParallelism()).isEqualTo(Runtime.getRuntime().availableProcessors());
+        assertThat(defaultWriter.getBulkOptions().getChunkSize()).isEqualTo(1000);
+        assertThat(defaultWriter.getBulkOptions().isChangeFeedEnabled()).isTrue();
+    }
+
+    @Test
+    public void shouldUpdateAllBooksInParallelPartitions() {
+        books.forEach(book -> book.setRead(true));
+
+        val shuffledBooks = new ArrayList<Book>(books);
+
+        Collections.shuffle(shuffledBooks);
+
+        val report = partitionedBookWriter.updateAll(shuffledBooks);
+
+        assertThat(report.getRowsRequested()).isEqualTo(BOOKS);
+        assertThat(report.getRowsDone()).isEqualTo(BOOKS);
+        assertThat(report.getRowsFailed()).isZero();
+        assertThat(report.getPartitions()).isEqualTo(4);
+        assertThat(report.getFailures()).isEmpty();
+        assertThat(countBooks(false)).isEqualTo(BOOKS);
+        assertThat(countBooks(true)).isEqualTo(BOOKS);
+    }
+
+    @Test
+    public void shouldRemoveAllBooksInParallelPartitions() {
+        val report = partitionedBookWriter.removeAll(books);
+
+        assertThat(report.getRowsDone()).isEqualTo(BOOKS);
+        assertThat(report.getFailures()).isEmpty();
+        assertThat(countBooks(false)).isZero();
+    }
+
+    @Test
+    public void shouldRollbackOnlyFailedChunkAndReportIt() {
+        books.forEach(book -> book.setRead(true));
+
+        val missingBook = new Book();
+
+        missingBook.setId(1000);
+        missingBook.setName("test missing book");
+        missingBook.setAuthor("test missing author");
+        missingBook.setPrintYear(2000);
+        missingBook.setRead(true);
+
+        val requestedBooks = new ArrayList<Book>(books);
+
+        requestedBooks.add(missingBook);
+
+        val report = partitionedBookWriter.updateAll(requestedBooks);
+
+        assertThat(report.getRowsRequested()).isEqualTo(BOOKS + 1);
+        assertThat(report.getRowsDone()).isEqualTo(BOOKS + 1 - 4);
+        assertThat(report.getRowsFailed()).isEqualTo(4);
+        assertThat(report.getFailures()).containsExactly(
+                new PartitionFailure(3, 93, 1000, 4, "Book with id = 1000 was not found")
+        );
+        assertThat(countBooks(true)).isEqualTo(BOOKS - 3);
+    }
+
+    @Test
+    public void shouldRecordCommittedChunksToChangeFeed() {
+        partitionedBookWriter.removeAll(books.subList(0, 15));
+
+        val changes = new BookChangeLog().changesSince(0, 100);
+
+        assertThat(changes).hasSize(15);
+        assertThat(changes)
+                .extracting(BookChange::getOperation)
+                .containsOnly(ChangeOperation.REMOVE);
+    }
+
+    @Test
+    public void shouldNotRecordChangesWhenChangeFeedIsDisabled() {
+        partitionedBookWriter.getBulkOptions().setChangeFeedEnabled(false);
+
+        partitionedBookWriter.removeAll(books.subList(0, 15));
+
+        assertThat(new BookChangeLog().changesSince(0, 100)).isEmpty();
+    }
+
+    @Test
+    public void shouldKeepBooksWithTheSameIdInOnePartition() {
+        val duplicatedBooks = new ArrayList<Book>();
+
+        for (int i = 0; i < 20; i++) {
+            duplicatedBooks.add(books.get(0));
+        }
+
+        val report = partitionedBookWriter.updateAll(duplicatedBooks);
+
+        assertThat(report.getPartitions()).isEqualTo(1);
+        assertThat(report.getRowsDone()).isEqualTo(20);
+    }
+
+    @Test
+    public void shouldReturnEmptyReportWhenListIsEmpty() {
+        val report = partitionedBookWriter.updateAll(new ArrayList<>());
+
+        assertThat(report.getRowsRequested()).isZero();
+        assertThat(report.getPartitions()).isZero();
+        assertThat(report.getFailures()).isEmpty();
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenParallelismIsNotPositive() {
+        val bulkOptions = new BulkOptions();
+
+        bulkOptions.setParallelism(0);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new PartitionedBookWriter(bulkOptions))
+                .withMessage("Parallelism and chunk size should be positive but were 0 and 1000");
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenUpdateAllWithNullList() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> partitionedBookWriter.updateAll(null))
+                .withMessage("books is marked @NonNull but is null");
+    }
+
+    private int countBooks(boolean onlyRead) {
+        var count = 0;
+
+        try (val bookCursor = new BookCursor()) {
+            while (bookCursor.next()) {
+                if (!onlyRead || bookCursor.isRead()) {
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,107 @@
+package com.qthegamep.bookmanager2.cache;
+
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class BloomFilterTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+
+    @Test
+    public void shouldCalculateSizesFromExpectedInsertionsAndFalsePositiveProbability() {
+        val bloomFilter = new BloomFilter(1000, 0.01);
+
+        assertThat(bloomFilter.getExpectedInsertions()).isEqualTo(1000);
+        assertThat(bloomFilter.getFalsePositiveProbability()).isEqualTo(0.01);
+        assertThat(bloomFilter.getBitSize()).isEqualTo(9600);
+        assertThat(bloomFilter.getHashFunctions()).isEqualTo(7);
+        assertThat(bloomFilter.getInsertions()).isZero();
+        assertThat(bloomFilter.getCurrentFalsePositiveProbability()).isZero();
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenCreateWithIncorrectParameters() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BloomFilter(0, 0.01))
+                .withMessage("Expected insertions should be positive and false positive probability should be between 0 and 1 but were 0 and 0.01");
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BloomFilter(1000, 1))
+                .withMessage("Expected insertions should be positive and false positive probability should be between 0 and 1 but were 1000 and 1.0");
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BloomFilter(1000, Double.NaN))
+                .withMessage("Expected insertions should be positive and false positive probability should be between 0 and 1 but were 1000 and NaN");
+    }
+
+    @Test
+    public void shouldPutStringsAndCountOnlyNewOnes() {
+        val bloomFilter = new BloomFilter(1000, 0.01);
+
+        assertThat(bloomFilter.mightContain("test firstBook")).isFalse();
+        assertThat(bloomFilter.put("test firstBook")).isTrue();
+        assertThat(bloomFilter.put("test firstBook")).isFalse();
+        assertThat(bloomFilter.mightContain("test firstBook")).isTrue();
+        assertThat(bloomFilter.mightContain("test secondBook")).isFalse();
+        assertThat(bloomFilter.getInsertions()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotAnswerFalseForPutStrings() {
+        val bloomFilter = new BloomFilter(10_000, 0.01);
+
+        for (int i = 0; i < 10_000; i++) {
+            bloomFilter.put("test book " + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(bloomFilter.mightContain("test book " + i)).isTrue();
+        }
+    }
+
+    @Test
+    public void shouldKeepFalsePositiveProbabilityWhenExpectedCountOfStringsIsPut() {
+        val bloomFilter = new BloomFilter(10_000, 0.01);
+
+        for (int i = 0; i < 10_000; i++) {
+            bloomFilter.put("test book " + i);
+        }
+
+        var falsePositives = 0;
+
+        for (int i = 0; i < 100_000; i++) {
+            if (bloomFilter.mightContain("test missing book " + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.015);
+        assertThat(bloomFilter.getCurrentFalsePositiveProbability()).isBetween(0.005, 0.015);
+        assertThat(bloomFilter.getInsertions()).isBetween(9_950L, 10_000L);
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenPutOrCheckNullString() {
+        val bloomFilter = new BloomFilter(1000, 0.01);
+
+        assertThatNullPointerException()
+                .isThrownBy(() -> bloomFilter.put(null))
+                .withMessage("value is marked @NonNull but is null");
+        assertThatNullPointerException()
+                .isThrownBy(() -> bloomFilter.mightContain(null))
+                .withMessage("value is marked @NonNull but is null");
+    }
+}
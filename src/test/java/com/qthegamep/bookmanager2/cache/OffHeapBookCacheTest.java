@@ -0,0 +1,291 @@
+package com.qthegamep.bookmanager2.cache;
+
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class OffHeapBookCacheTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private OffHeapBookCache bookCache;
+
+    private Book firstBook;
+    private Book secondBook;
+
+    @Before
+    public void setUp() {
+        bookCache = new OffHeapBookCache(16);
+
+        firstBook = createBook(1, "test firstBook");
+
+        firstBook.getAuthorEntity().setId(7);
+        firstBook.setVersion(3);
+
+        secondBook = createBook(2, "test secondBook Ї");
+    }
+
+    @After
+    public void tearDown() {
+        bookCache.close();
+    }
+
+    @Test
+    public void shouldCreateObjectWithDefaultSlotSize() {
+        assertThat(bookCache.getCapacity()).isEqualTo(16);
+        assertThat(bookCache.getSlotSize()).isEqualTo(OffHeapBookCache.DEFAULT_SLOT_SIZE);
+        assertThat(bookCache.size()).isZero();
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenCreateWithIncorrectSizes() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new OffHeapBookCache(0))
+                .withMessage("Capacity should be from 1 to 67108864 and slot size should be from 32 to 65536 bytes but were 0 and 256");
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new OffHeapBookCache(16, 16))
+                .withMessage("Capacity should be from 1 to 67108864 and slot size should be from 32 to 65536 bytes but were 16 and 16");
+    }
+
+    @Test
+    public void shouldPutAndGetAllFieldsOfBooks() {
+        assertThat(bookCache.put(firstBook)).isTrue();
+        assertThat(bookCache.put(secondBook)).isTrue();
+
+        val cachedFirstBook = bookCache.get(1);
+
+        assertThat(cachedFirstBook).isEqualTo(firstBook);
+        assertThat(cachedFirstBook.getVersion()).isEqualTo(3);
+        assertThat(cachedFirstBook.getAuthorEntity().getId()).isEqualTo(7);
+        assertThat(bookCache.get(2)).isEqualTo(secondBook);
+        assertThat(bookCache.size()).isEqualTo(2);
+        assertThat(bookCache.getHits()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldReturnNewObjectForEveryGet() {
+        bookCache.put(firstBook);
+
+        val cachedBook = bookCache.get(1);
+
+        cachedBook.setName("test changedName");
+
+        assertThat(cachedBook).isNotSameAs(firstBook);
+        assertThat(bookCache.get(1)).isEqualTo(firstBook);
+    }
+
+    @Test
+    public void shouldReturnNullAndCountMissWhenBookIsNotCached() {
+        assertThat(bookCache.get(1)).isNull();
+        assertThat(bookCache.contains(1)).isFalse();
+        assertThat(bookCache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReplaceBookWithSameId() {
+        bookCache.put(firstBook);
+
+        firstBook.setName("test updatedName");
+        firstBook.setRead(true);
+
+        bookCache.put(firstBook);
+
+        assertThat(bookCache.get(1)).isEqualTo(firstBook);
+        assertThat(bookCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldPutBookOnlyWhenConditionIsTrue() {
+        assertThat(bookCache.putIf(firstBook, () -> false)).isFalse();
+        assertThat(bookCache.contains(1)).isFalse();
+
+        assertThat(bookCache.putIf(firstBook, () -> true)).isTrue();
+
+        val staleBook = createBook(1, "test staleBook");
+
+        assertThat(bookCache.putIf(staleBook, () -> false)).isFalse();
+        assertThat(bookCache.get(1)).isEqualTo(firstBook);
+        assertThat(bookCache.getRejections()).isZero();
+    }
+
+    @Test
+    public void shouldCheckConditionUnderWriteLockSoLaterPutIsNotOverwritten() throws InterruptedException {
+        val staleBook = createBook(1, "test staleBook");
+        val writer = new Thread(() -> bookCache.put(firstBook));
+
+        bookCache.putIf(staleBook, () -> {
+            writer.start();
+
+            try {
+                writer.join(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            assertThat(writer.isAlive()).isTrue();
+
+            return true;
+        });
+
+        writer.join();
+
+        assertThat(bookCache.get(1)).isEqualTo(firstBook);
+    }
+
+    @Test
+    public void shouldInvalidateBooks() {
+        bookCache.put(firstBook);
+        bookCache.put(secondBook);
+
+        assertThat(bookCache.invalidate(1)).isTrue();
+        assertThat(bookCache.invalidate(1)).isFalse();
+        assertThat(bookCache.get(1)).isNull();
+        assertThat(bookCache.get(2)).isEqualTo(secondBook);
+
+        bookCache.invalidateAll();
+
+        assertThat(bookCache.size()).isZero();
+        assertThat(bookCache.get(2)).isNull();
+    }
+
+    @Test
+    public void shouldEvictBookThatWasNotReadWhenCacheIsFull() {
+        try (val smallCache = new OffHeapBookCache(3)) {
+            for (int id = 1; id <= 3; id++) {
+                smallCache.put(createBook(id, "test book " + id));
+            }
+
+            smallCache.get(1);
+            smallCache.get(2);
+
+            smallCache.put(createBook(4, "test book 4"));
+
+            assertThat(smallCache.size()).isEqualTo(3);
+            assertThat(smallCache.getEvictions()).isEqualTo(1);
+            assertThat(smallCache.contains(3)).isFalse();
+            assertThat(smallCache.contains(1)).isTrue();
+            assertThat(smallCache.contains(2)).isTrue();
+            assertThat(smallCache.contains(4)).isTrue();
+        }
+    }
+
+    @Test
+    public void shouldRejectBooksThatCanNotBeCached() {
+        bookCache.put(firstBook);
+
+        firstBook.setName("a".repeat(OffHeapBookCache.DEFAULT_SLOT_SIZE));
+
+        assertThat(bookCache.put(firstBook)).isFalse();
+        assertThat(bookCache.contains(1)).isFalse();
+        assertThat(bookCache.put(createBook(0, "test book"))).isFalse();
+        assertThat(bookCache.put(new Book())).isFalse();
+        assertThat(bookCache.getRejections()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldKeepIndexConsistentAfterManyPutsAndInvalidations() {
+        val random = new Random(42);
+        val expectedNames = new HashMap<Integer, String>();
+
+        try (val largeCache = new OffHeapBookCache(1000, 64)) {
+            for (int i = 0; i < 20_000; i++) {
+                val id = 1 + random.nextInt(2000);
+
+                if (random.nextInt(3) == 0) {
+                    largeCache.invalidate(id);
+                    expectedNames.remove(id);
+                } else if (expectedNames.size() < largeCache.getCapacity() || expectedNames.containsKey(id)) {
+                    largeCache.put(createBook(id, "test book " + i));
+                    expectedNames.put(id, "test book " + i);
+                }
+            }
+
+            assertThat(largeCache.size()).isEqualTo(expectedNames.size());
+            assertThat(largeCache.getEvictions()).isZero();
+
+            for (int id = 1; id <= 2000; id++) {
+                val book = largeCache.get(id);
+
+                assertThat(book == null ? null : book.getName()).isEqualTo(expectedNames.get(id));
+            }
+        }
+    }
+
+    @Test
+    public void shouldStoreBooksInMemoryMappedFile() throws IOException {
+        val path = temporaryFolder.getRoot().toPath().resolve("books.cache");
+
+        try (val mappedCache = new OffHeapBookCache(16, 128, path)) {
+            mappedCache.put(firstBook);
+            mappedCache.put(secondBook);
+
+            assertThat(Files.size(path)).isEqualTo(16 * 128);
+            assertThat(mappedCache.get(1)).isEqualTo(firstBook);
+            assertThat(mappedCache.get(2)).isEqualTo(secondBook);
+        }
+
+        assertThat(path).doesNotExist();
+    }
+
+    @Test
+    public void shouldThrowIllegalStateExceptionWhenCacheIsClosed() {
+        bookCache.close();
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> bookCache.get(1))
+                .withMessage("Off-heap cache is closed");
+        assertThatIllegalStateException()
+                .isThrownBy(() -> bookCache.put(firstBook))
+                .withMessage("Off-heap cache is closed");
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenPutNullBook() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> bookCache.put(null))
+                .withMessage("book is marked @NonNull but is null");
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenPutWithNullCondition() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> bookCache.putIf(firstBook, null))
+                .withMessage("condition is marked @NonNull but is null");
+    }
+
+    private Book createBook(int id, String name) {
+        val book = new Book();
+
+        book.setId(id);
+        book.setName(name);
+        book.setAuthor("test author");
+        book.setPrintYear(2000 + id);
+        book.setRead(id % 2 == 0);
+
+        return book;
+    }
+}
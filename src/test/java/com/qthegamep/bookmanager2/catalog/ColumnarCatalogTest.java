@@ -0,0 +1,233 @@
+package com.qthegamep.bookmanager2.catalog;
+
+import com.qthegamep.bookmanager2.dao.BookDAO;
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ColumnarCatalogTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private BookDAO bookDAO;
+
+    private Book firstBook;
+    private Book secondBook;
+    private Book thirdBook;
+
+    @Before
+    public void setUp() {
+        bookDAO = new BookDAOImpl();
+
+        firstBook = new Book();
+
+        firstBook.setName("test firstBook");
+        firstBook.setAuthor("test author");
+        firstBook.setPrintYear(2000);
+        firstBook.setRead(false);
+
+        secondBook = new Book();
+
+        secondBook.setName("test secondBook");
+        secondBook.setAuthor("test author");
+        secondBook.setPrintYear(2010);
+        secondBook.setRead(true);
+
+        thirdBook = new Book();
+
+        thirdBook.setName("test firstBook");
+        thirdBook.setAuthor("test other author");
+        thirdBook.setPrintYear(2010);
+        thirdBook.setRead(true);
+    }
+
+    @Test
+    public void shouldLoadEmptyCatalogWhenDatabaseIsEmpty() {
+        val catalog = ColumnarCatalog.load();
+
+        assertThat(catalog.size()).isZero();
+        assertThat(catalog.getNameDictionarySize()).isZero();
+        assertThat(catalog.getAuthorDictionarySize()).isZero();
+        assertThat(catalog.filter(row -> true)).isEmpty();
+        assertThat(catalog.countByAuthor(row -> true)).isEmpty();
+        assertThat(catalog.countByPrintYear(row -> true)).isEmpty();
+    }
+
+    @Test
+    public void shouldLoadAllBooksInOrderOfId() {
+        bookDAO.addAll(Arrays.asList(firstBook, secondBook, thirdBook));
+
+        val catalog = ColumnarCatalog.load();
+
+        assertThat(catalog.size()).isEqualTo(3);
+        assertThat(catalog.toBook(0)).isEqualTo(firstBook);
+        assertThat(catalog.toBook(1)).isEqualTo(secondBook);
+        assertThat(catalog.toBook(2)).isEqualTo(thirdBook);
+    }
+
+    @Test
+    public void shouldEncodeDuplicateNamesAndAuthorsOnce() {
+        bookDAO.addAll(Arrays.asList(firstBook, secondBook, thirdBook));
+
+        val catalog = ColumnarCatalog.load();
+
+        assertThat(catalog.getNameDictionarySize()).isEqualTo(2);
+        assertThat(catalog.getAuthorDictionarySize()).isEqualTo(2);
+        assertThat(catalog.getName(2)).isSameAs(catalog.getName(0));
+        assertThat(catalog.getAuthor(1)).isSameAs(catalog.getAuthor(0));
+    }
+
+    @Test
+    public void shouldReadColumnsOfRow() {
+        bookDAO.add(secondBook);
+
+        val catalog = ColumnarCatalog.load();
+
+        assertThat(catalog.getId(0)).isEqualTo(secondBook.getId());
+        assertThat(catalog.getName(0)).isEqualTo("test secondBook");
+        assertThat(catalog.getAuthor(0)).isEqualTo("test author");
+        assertThat(catalog.getPrintYear(0)).isEqualTo(2010);
+        assertThat(catalog.isRead(0)).isTrue();
+    }
+
+    @Test
+    public void shouldThrowIndexOutOfBoundsExceptionWhenRowIsIncorrect() {
+        val catalog = ColumnarCatalog.of(Collections.singletonList(firstBook));
+
+        assertThatExceptionOfType(IndexOutOfBoundsException.class)
+                .isThrownBy(() -> catalog.getName(1))
+                .withMessage("Row should be from 0 to 0 but was 1");
+        assertThatExceptionOfType(IndexOutOfBoundsException.class)
+                .isThrownBy(() -> catalog.getId(-1))
+                .withMessage("Row should be from 0 to 0 but was -1");
+    }
+
+    @Test
+    public void shouldFilterRowsByPredicates() {
+        val catalog = ColumnarCatalog.of(Arrays.asList(firstBook, secondBook, thirdBook));
+
+        assertThat(catalog.filter(catalog.nameIs("test firstBook"))).containsExactly(0, 2);
+        assertThat(catalog.filter(catalog.authorIs("test author"))).containsExactly(0, 1);
+        assertThat(catalog.filter(catalog.printYearBetween(2005, 2010))).containsExactly(1, 2);
+        assertThat(catalog.filter(catalog.isRead(false))).containsExactly(0);
+        assertThat(catalog.filter(catalog.authorIs("test author").and(catalog.isRead(true)))).containsExactly(1);
+    }
+
+    @Test
+    public void shouldNotMatchRowsWhenValueIsNotInDictionary() {
+        val catalog = ColumnarCatalog.of(Arrays.asList(firstBook, secondBook, thirdBook));
+
+        assertThat(catalog.filter(catalog.nameIs("unknown"))).isEmpty();
+        assertThat(catalog.count(catalog.authorIs("unknown"))).isZero();
+    }
+
+    @Test
+    public void shouldCountRowsByPredicate() {
+        val catalog = ColumnarCatalog.of(Arrays.asList(firstBook, secondBook, thirdBook));
+
+        assertThat(catalog.count(row -> true)).isEqualTo(3);
+        assertThat(catalog.count(catalog.printYearBetween(2010, 2010))).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldGroupRowsByAuthorPrintYearAndIsRead() {
+        val catalog = ColumnarCatalog.of(Arrays.asList(firstBook, secondBook, thirdBook));
+
+        assertThat(catalog.countByAuthor(row -> true))
+                .containsExactly(entry("test author", 2L), entry("test other author", 1L));
+        assertThat(catalog.countByAuthor(catalog.isRead(false)))
+                .containsExactly(entry("test author", 1L));
+        assertThat(catalog.countByPrintYear(row -> true))
+                .containsExactly(entry(2000, 1L), entry(2010, 2L));
+        assertThat(catalog.countByIsRead(catalog.nameIs("test firstBook")))
+                .containsExactly(entry(false, 1L), entry(true, 1L));
+    }
+
+    @Test
+    public void shouldFilterAndGroupLargeCatalogInParallelAsSequentialScan() {
+        val books = new ArrayList<Book>();
+
+        for (int i = 0; i < 100_000; i++) {
+            val book = new Book();
+
+            book.setId(i + 1);
+            book.setName("name " + i % 1000);
+            book.setAuthor("author " + i % 37);
+            book.setPrintYear(1900 + i % 120);
+            book.setRead(i % 3 == 0);
+
+            books.add(book);
+        }
+
+        val catalog = ColumnarCatalog.of(books);
+        IntPredicate predicate = catalog.printYearBetween(1950, 2000).and(catalog.isRead(true));
+
+        val expectedRows = new ArrayList<Integer>();
+        val expectedCounts = new HashMap<String, Long>();
+
+        for (int i = 0; i < books.size(); i++) {
+            val book = books.get(i);
+
+            if (book.getPrintYear() >= 1950 && book.getPrintYear() <= 2000 && book.isRead()) {
+                expectedRows.add(i);
+                expectedCounts.merge(book.getAuthor(), 1L, Long::sum);
+            }
+        }
+
+        assertThat(catalog.getAuthorDictionarySize()).isEqualTo(37);
+        assertThat(catalog.filter(predicate)).containsExactly(toArray(expectedRows));
+        assertThat(catalog.countByAuthor(predicate)).isEqualTo(expectedCounts);
+        assertThat(sum(catalog.countByPrintYear(predicate))).isEqualTo(expectedRows.size());
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenArgumentsAreNull() {
+        val catalog = ColumnarCatalog.of(Collections.singletonList(firstBook));
+
+        assertThatNullPointerException()
+                .isThrownBy(() -> ColumnarCatalog.of(null))
+                .withMessage("books is marked @NonNull but is null");
+        assertThatNullPointerException()
+                .isThrownBy(() -> catalog.filter(null))
+                .withMessage("predicate is marked @NonNull but is null");
+        assertThatNullPointerException()
+                .isThrownBy(() -> catalog.authorIs(null))
+                .withMessage("author is marked @NonNull but is null");
+    }
+
+    private int[] toArray(List<Integer> rows) {
+        return rows.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private long sum(Map<Integer, Long> counts) {
+        return counts.values().stream().collect(Collectors.summingLong(Long::longValue));
+    }
+}
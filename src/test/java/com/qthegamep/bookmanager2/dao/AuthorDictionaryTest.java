@@ -0,0 +1,197 @@
+package com.qthegamep.bookmanager2.dao;
+
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.val;
+import org.hibernate.StatelessSession;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class AuthorDictionaryTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private AuthorDictionary authorDictionary;
+
+    private StatelessSession session;
+
+    private Book firstBook;
+    private Book secondBook;
+    private Book thirdBook;
+
+    @Before
+    public void setUp() {
+        authorDictionary = new AuthorDictionary();
+
+        session = SessionUtil.openStatelessSession();
+
+        firstBook = createBook("test firstBook", "test firstAuthor");
+        secondBook = createBook("test secondBook", "test secondAuthor");
+        thirdBook = createBook("test thirdBook", "test firstAuthor");
+    }
+
+    @After
+    public void tearDown() {
+        session.close();
+    }
+
+    @Test
+    public void shouldInsertMissingAuthorsAndReturnTheirKeys() throws SQLException {
+        val ids = resolveNames(List.of("test firstAuthor", "test secondAuthor", "test firstAuthor"));
+
+        assertThat(ids).containsOnlyKeys("test firstAuthor", "test secondAuthor");
+        assertThat(ids.get("test firstAuthor")).isNotEqualTo(ids.get("test secondAuthor"));
+        assertThat(countAuthors()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldReturnKeysOfExistingAuthorsWithoutInsert() throws SQLException {
+        val firstIds = resolveNames(List.of("test firstAuthor", "test secondAuthor"));
+        val secondIds = resolveNames(List.of("test secondAuthor", "test firstAuthor", "test thirdAuthor"));
+
+        assertThat(secondIds).containsAllEntriesOf(firstIds);
+        assertThat(secondIds).containsKey("test thirdAuthor");
+        assertThat(countAuthors()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldReturnEmptyMapWhenNamesAreEmpty() throws SQLException {
+        assertThat(resolveNames(List.of())).isEmpty();
+        assertThat(countAuthors()).isZero();
+    }
+
+    @Test
+    public void shouldResolveMoreNamesThanOneChunk() throws SQLException {
+        val names = new ArrayList<String>();
+
+        for (int i = 0; i < AuthorDictionary.NAMES_CHUNK_SIZE * 2 + 1; i++) {
+            names.add("test author " + i);
+        }
+
+        resolveNames(names.subList(0, AuthorDictionary.NAMES_CHUNK_SIZE + 1));
+
+        val ids = resolveNames(names);
+
+        assertThat(ids).hasSize(names.size());
+        assertThat(ids.values()).doesNotHaveDuplicates();
+        assertThat(countAuthors()).isEqualTo(names.size());
+    }
+
+    @Test
+    public void shouldSetKeysToAuthorEntitiesOfBooks() throws SQLException {
+        val transaction = session.beginTransaction();
+
+        authorDictionary.resolve(SessionUtil.getConnection(session), Arrays.asList(firstBook, secondBook, thirdBook));
+
+        transaction.commit();
+
+        assertThat(firstBook.getAuthorEntity().getId()).isPositive();
+        assertThat(secondBook.getAuthorEntity().getId()).isPositive().isNotEqualTo(firstBook.getAuthorEntity().getId());
+        assertThat(thirdBook.getAuthorEntity().getId()).isEqualTo(firstBook.getAuthorEntity().getId());
+        assertThat(firstBook.getAuthor()).isEqualTo("test firstAuthor");
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenAuthorIsNull() {
+        secondBook.setAuthor(null);
+
+        val transaction = session.beginTransaction();
+
+        try {
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> authorDictionary.resolve(SessionUtil.getConnection(session), Arrays.asList(firstBook, secondBook)))
+                    .withMessageStartingWith("Author should not be null! Book: ");
+        } finally {
+            transaction.rollback();
+        }
+    }
+
+    @Test
+    public void shouldCommitAuthorsWithResolveAndCommit() {
+        authorDictionary.resolveAndCommit(session, Arrays.asList(firstBook, secondBook, thirdBook));
+
+        assertThat(session.getTransaction().isActive()).isFalse();
+        assertThat(firstBook.getAuthorEntity().getId()).isPositive();
+        assertThat(countAuthors()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldRollbackAndThrowIllegalArgumentExceptionWithResolveAndCommitWhenAuthorIsNull() {
+        secondBook.setAuthor(null);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> authorDictionary.resolveAndCommit(session, Arrays.asList(firstBook, secondBook)));
+
+        assertThat(session.getTransaction().isActive()).isFalse();
+        assertThat(countAuthors()).isZero();
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenArgumentsAreNull() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> authorDictionary.resolveNames(null, List.of()))
+                .withMessage("connection is marked @NonNull but is null");
+        assertThatNullPointerException()
+                .isThrownBy(() -> authorDictionary.resolve((Connection) null, List.of()))
+                .withMessage("connection is marked @NonNull but is null");
+        assertThatNullPointerException()
+                .isThrownBy(() -> authorDictionary.resolveAndCommit(null, List.of()))
+                .withMessage("session is marked @NonNull but is null");
+    }
+
+    private Map<String, Integer> resolveNames(List<String> names) throws SQLException {
+        val transaction = session.beginTransaction();
+        val ids = authorDictionary.resolveNames(SessionUtil.getConnection(session), names);
+
+        transaction.commit();
+
+        return ids;
+    }
+
+    private long countAuthors() {
+        try (val countSession = SessionUtil.openStatelessSession()) {
+            val transaction = countSession.beginTransaction();
+            val count = ((Number) countSession.createNativeQuery("select count(*) from AUTHORS").getSingleResult()).longValue();
+
+            transaction.commit();
+
+            return count;
+        }
+    }
+
+    private Book createBook(String name, String author) {
+        val book = new Book();
+
+        book.setName(name);
+        book.setAuthor(author);
+        book.setPrintYear(2000);
+        book.setRead(false);
+
+        return book;
+    }
+}
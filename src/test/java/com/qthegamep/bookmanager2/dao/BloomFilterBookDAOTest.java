@@ -0,0 +1,212 @@
+package com.qthegamep.bookmanager2.dao;
+
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class BloomFilterBookDAOTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private BookDAO bookDAO;
+
+    private Book firstBook;
+    private Book secondBook;
+
+    private List<Book> books;
+
+    @Before
+    public void setUp() {
+        bookDAO = spy(new BookDAOImpl());
+
+        firstBook = new Book();
+
+        firstBook.setName("test firstBook");
+        firstBook.setAuthor("test firstAuthor");
+        firstBook.setPrintYear(2000);
+        firstBook.setRead(false);
+
+        secondBook = new Book();
+
+        secondBook.setName("test secondBook");
+        secondBook.setAuthor("test secondAuthor");
+        secondBook.setPrintYear(2010);
+        secondBook.setRead(true);
+
+        books = List.of(firstBook, secondBook);
+    }
+
+    @Test
+    public void shouldImplementsBookDAOInterface() {
+        assertThat(new BloomFilterBookDAO(bookDAO)).isInstanceOf(BookDAO.class);
+    }
+
+    @Test
+    public void shouldCreateFiltersWithConfiguredFalsePositiveProbability() {
+        val bloomFilterBookDAO = new BloomFilterBookDAO(bookDAO, 1000, 0.001);
+
+        assertThat(bloomFilterBookDAO.getExpectedInsertions()).isEqualTo(1000);
+        assertThat(bloomFilterBookDAO.getFalsePositiveProbability()).isEqualTo(0.001);
+        assertThat(bloomFilterBookDAO.getNameFilter().getFalsePositiveProbability()).isEqualTo(0.001);
+        assertThat(bloomFilterBookDAO.getAuthorFilter().getExpectedInsertions()).isEqualTo(1000);
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenCreateWithIncorrectFalsePositiveProbability() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BloomFilterBookDAO(bookDAO, 1000, 0))
+                .withMessage("Expected insertions should be positive and false positive probability should be between 0 and 1 but were 1000 and 0.0");
+    }
+
+    @Test
+    public void shouldBuildFiltersFromBooksOfTheDatabase() {
+        bookDAO.addAll(books);
+
+        val bloomFilterBookDAO = new BloomFilterBookDAO(bookDAO);
+
+        assertThat(bloomFilterBookDAO.existsByName("test firstBook")).isTrue();
+        assertThat(bloomFilterBookDAO.existsByAuthor("test secondAuthor")).isTrue();
+        assertThat(bloomFilterBookDAO.getDatabaseChecks()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldNotQueryTheDatabaseWhenFiltersDoNotContainNameOrAuthor() {
+        bookDAO.addAll(books);
+
+        val bloomFilterBookDAO = new BloomFilterBookDAO(bookDAO);
+
+        assertThat(bloomFilterBookDAO.existsByName("test thirdBook")).isFalse();
+        assertThat(bloomFilterBookDAO.existsByAuthor("test thirdAuthor")).isFalse();
+        assertThat(bloomFilterBookDAO.getFilteredChecks()).isEqualTo(2);
+
+        verify(bookDAO, never()).existsByName(anyString());
+        verify(bookDAO, never()).existsByAuthor(anyString());
+    }
+
+    @Test
+    public void shouldPutAddedUpdatedAndUpsertedBooksToFilters() {
+        val bloomFilterBookDAO = new BloomFilterBookDAO(bookDAO);
+
+        bloomFilterBookDAO.add(firstBook);
+        bloomFilterBookDAO.addAll(List.of(secondBook));
+
+        assertThat(bloomFilterBookDAO.existsByName("test firstBook")).isTrue();
+        assertThat(bloomFilterBookDAO.existsByAuthor("test secondAuthor")).isTrue();
+
+        firstBook.setName("test updatedBook");
+
+        bloomFilterBookDAO.update(firstBook);
+
+        assertThat(bloomFilterBookDAO.existsByName("test updatedBook")).isTrue();
+
+        val thirdBook = new Book();
+
+        thirdBook.setName("test thirdBook");
+        thirdBook.setAuthor("test thirdAuthor");
+        thirdBook.setPrintYear(2020);
+
+        bloomFilterBookDAO.upsertAll(List.of(thirdBook));
+
+        assertThat(bloomFilterBookDAO.existsByAuthor("test thirdAuthor")).isTrue();
+        assertThat(bloomFilterBookDAO.getFilteredChecks()).isZero();
+    }
+
+    @Test
+    public void shouldRebuildFiltersAfterRemoveAll() {
+        val bloomFilterBookDAO = new BloomFilterBookDAO(bookDAO);
+
+        bloomFilterBookDAO.addAll(books);
+        bloomFilterBookDAO.removeAll(List.of(firstBook));
+
+        assertThat(bloomFilterBookDAO.existsByName("test firstBook")).isFalse();
+        assertThat(bloomFilterBookDAO.existsByName("test secondBook")).isTrue();
+        assertThat(bloomFilterBookDAO.getFilteredChecks()).isEqualTo(1);
+        assertThat(bloomFilterBookDAO.getFalsePositives()).isZero();
+    }
+
+    @Test
+    public void shouldCountFalsePositiveWhenRemovedBookIsStillInFilters() {
+        val bloomFilterBookDAO = new BloomFilterBookDAO(bookDAO);
+
+        bloomFilterBookDAO.addAll(books);
+        bloomFilterBookDAO.remove(firstBook);
+
+        assertThat(bloomFilterBookDAO.existsByName("test firstBook")).isFalse();
+        assertThat(bloomFilterBookDAO.getFalsePositives()).isEqualTo(1);
+
+        bloomFilterBookDAO.rebuild();
+
+        assertThat(bloomFilterBookDAO.existsByName("test firstBook")).isFalse();
+        assertThat(bloomFilterBookDAO.getFalsePositives()).isEqualTo(1);
+        assertThat(bloomFilterBookDAO.getFilteredChecks()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldResizeFiltersWhenThereAreMoreBooksThanExpected() {
+        val manyBooks = new ArrayList<Book>();
+
+        for (int i = 0; i < 50; i++) {
+            val book = new Book();
+
+            book.setName("test book " + i);
+            book.setAuthor("test author " + i);
+            book.setPrintYear(2000);
+
+            manyBooks.add(book);
+        }
+
+        bookDAO.addAll(manyBooks);
+
+        val bloomFilterBookDAO = new BloomFilterBookDAO(bookDAO, 10, 0.01);
+
+        assertThat(bloomFilterBookDAO.getNameFilter().getExpectedInsertions()).isEqualTo(50);
+        assertThat(bloomFilterBookDAO.getAuthorFilter().getExpectedInsertions()).isEqualTo(50);
+        assertThat(bloomFilterBookDAO.existsByName("test book 49")).isTrue();
+    }
+
+    @Test
+    public void shouldDelegateReadsToDecoratedDAO() {
+        bookDAO.addAll(books);
+
+        val bloomFilterBookDAO = new BloomFilterBookDAO(bookDAO);
+
+        assertThat(bloomFilterBookDAO.getByName("test firstBook")).containsExactly(firstBook);
+        assertThat(bloomFilterBookDAO.getAll()).isEqualTo(books);
+
+        verify(bookDAO, times(1)).getByName("test firstBook");
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenCheckExistenceByNullNameOrAuthor() {
+        val bloomFilterBookDAO = new BloomFilterBookDAO(bookDAO);
+
+        assertThatNullPointerException()
+                .isThrownBy(() -> bloomFilterBookDAO.existsByName(null))
+                .withMessage("name is marked @NonNull but is null");
+        assertThatNullPointerException()
+                .isThrownBy(() -> bloomFilterBookDAO.existsByAuthor(null))
+                .withMessage("author is marked @NonNull but is null");
+    }
+}
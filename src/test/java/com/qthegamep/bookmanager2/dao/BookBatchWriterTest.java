@@ -0,0 +1,159 @@
+package com.qthegamep.bookmanager2.dao;
+
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class BookBatchWriterTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private BookBatchWriter bookBatchWriter;
+
+    private BookDAO bookDAO;
+
+    private Book firstBook;
+    private Book secondBook;
+
+    @Before
+    public void setUp() {
+        bookBatchWriter = new BookBatchWriter();
+
+        bookDAO = new BookDAOImpl();
+
+        firstBook = new Book();
+
+        firstBook.setName("test firstBook");
+        firstBook.setAuthor("test firstAuthor");
+        firstBook.setPrintYear(2000);
+        firstBook.setRead(false);
+
+        secondBook = new Book();
+
+        secondBook.setName("test secondBook");
+        secondBook.setAuthor("test secondAuthor");
+        secondBook.setPrintYear(2010);
+        secondBook.setRead(true);
+    }
+
+    @After
+    public void tearDown() {
+        bookBatchWriter.close();
+    }
+
+    @Test
+    public void shouldImplementsAutoCloseableInterface() {
+        assertThat(bookBatchWriter).isInstanceOf(AutoCloseable.class);
+    }
+
+    @Test
+    public void shouldWriteBatchOfBooks() {
+        val count = bookBatchWriter.write(List.of(firstBook, secondBook));
+
+        assertThat(count).isEqualTo(2);
+
+        val books = bookDAO.getAll();
+
+        firstBook.setId(1);
+        secondBook.setId(2);
+
+        assertThat(books).containsExactly(firstBook, secondBook);
+    }
+
+    @Test
+    public void shouldWriteSeveralBatchesWithOneWriter() {
+        bookBatchWriter.write(List.of(firstBook));
+        bookBatchWriter.write(List.of(secondBook));
+
+        assertThat(bookDAO.getAll()).hasSize(2);
+    }
+
+    @Test
+    public void shouldNotWriteEmptyBatch() {
+        assertThat(bookBatchWriter.write(List.of())).isZero();
+        assertThat(bookDAO.getAll()).isEmpty();
+    }
+
+    @Test
+    public void shouldRollbackWholeBatchIfOneBookIsIncorrect() {
+        secondBook.setName(null);
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> bookBatchWriter.write(List.of(firstBook, secondBook)))
+                .withMessageStartingWith("Batch of 2 books was not inserted!");
+
+        assertThat(bookDAO.getAll()).isEmpty();
+
+        secondBook.setName("test secondBook");
+
+        assertThat(bookBatchWriter.write(List.of(firstBook, secondBook))).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldWriteBatchOfBooksWithIds() {
+        firstBook.setId(5);
+        secondBook.setId(7);
+
+        assertThat(bookBatchWriter.writeWithIds(List.of(firstBook, secondBook))).isEqualTo(2);
+
+        assertThat(bookDAO.getAll()).containsExactly(firstBook, secondBook);
+    }
+
+    @Test
+    public void shouldGenerateIdGreaterThanWrittenIds() {
+        secondBook.setId(7);
+
+        bookBatchWriter.writeWithIds(List.of(secondBook));
+
+        bookDAO.add(firstBook);
+
+        assertThat(firstBook.getId()).isEqualTo(8);
+    }
+
+    @Test
+    public void shouldRollbackWholeBatchIfIdsAreDuplicated() {
+        firstBook.setId(1);
+        secondBook.setId(1);
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> bookBatchWriter.writeWithIds(List.of(firstBook, secondBook)))
+                .withMessageStartingWith("Batch of 2 books was not inserted!");
+
+        assertThat(bookDAO.getAll()).isEmpty();
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenWriteNullBatchWithIds() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> bookBatchWriter.writeWithIds(null))
+                .withMessage("books is marked @NonNull but is null");
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenWriteNullBatch() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> bookBatchWriter.write(null))
+                .withMessage("books is marked @NonNull but is null");
+    }
+}
@@ -0,0 +1,300 @@
+package com.qthegamep.bookmanager2.dao;
+
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.entity.BookChange;
+import com.qthegamep.bookmanager2.entity.ChangeOperation;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.val;
+import org.hibernate.Session;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class BookChangeLogTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private static final int WRITERS = 4;
+    private static final int CHANGES_PER_WRITER = 50;
+
+    private BookChangeLog bookChangeLog;
+
+    private BookDAO bookDAO;
+
+    private Book firstBook;
+    private Book secondBook;
+
+    @Before
+    public void setUp() {
+        bookChangeLog = new BookChangeLog();
+
+        bookDAO = new BookDAOImpl();
+
+        firstBook = new Book();
+
+        firstBook.setName("test firstBook");
+        firstBook.setAuthor("test firstAuthor");
+        firstBook.setPrintYear(2000);
+        firstBook.setRead(false);
+
+        secondBook = new Book();
+
+        secondBook.setName("test secondBook");
+        secondBook.setAuthor("test secondAuthor");
+        secondBook.setPrintYear(2010);
+        secondBook.setRead(true);
+    }
+
+    @Test
+    public void shouldReturnEmptyListWhenThereAreNoChanges() {
+        assertThat(bookChangeLog.changesSince(0, 10))
+                .isNotNull()
+                .isEmpty();
+    }
+
+    @Test
+    public void shouldRecordAddedBooks() {
+        bookDAO.addAll(List.of(firstBook, secondBook));
+
+        val changes = bookChangeLog.changesSince(0, 10);
+
+        assertThat(changes).hasSize(2);
+        assertThat(changes)
+                .extracting(BookChange::getSequence)
+                .containsExactly(1L, 2L);
+        assertThat(changes)
+                .extracting(BookChange::getOperation)
+                .containsOnly(ChangeOperation.ADD);
+        assertThat(changes.get(0).getBookId()).isEqualTo(1);
+        assertThat(changes.get(0).getName()).isEqualTo("test firstBook");
+        assertThat(changes.get(0).getAuthor()).isEqualTo("test firstAuthor");
+        assertThat(changes.get(0).getPrintYear()).isEqualTo(2000);
+        assertThat(changes.get(0).getIsRead()).isFalse();
+        assertThat(changes.get(1).getBookId()).isEqualTo(2);
+        assertThat(changes.get(1).getIsRead()).isTrue();
+    }
+
+    @Test
+    public void shouldRecordAddedBooksWithMultiRowInsert() {
+        ((BookDAOImpl) bookDAO).setAddMode(AddMode.MULTI_ROW);
+
+        bookDAO.addAll(List.of(firstBook, secondBook));
+
+        assertThat(bookChangeLog.changesSince(0, 10))
+                .extracting(BookChange::getBookId)
+                .containsExactly(1, 2);
+    }
+
+    @Test
+    public void shouldRecordUpdatedAndRemovedBooksInOrder() {
+        bookDAO.add(firstBook);
+
+        firstBook.setName("test updated firstBook");
+
+        bookDAO.update(firstBook);
+        bookDAO.remove(firstBook);
+
+        val changes = bookChangeLog.changesSince(0, 10);
+
+        assertThat(changes)
+                .extracting(BookChange::getOperation)
+                .containsExactly(ChangeOperation.ADD, ChangeOperation.UPDATE, ChangeOperation.REMOVE);
+        assertThat(changes)
+                .extracting(BookChange::getBookId)
+                .containsOnly(1);
+        assertThat(changes.get(1).getName()).isEqualTo("test updated firstBook");
+        assertThat(changes.get(2).getName()).isNull();
+        assertThat(changes.get(2).getPrintYear()).isNull();
+        assertThat(changes.get(2).getIsRead()).isNull();
+    }
+
+    @Test
+    public void shouldRecordUpsertedBooks() {
+        bookDAO.upsertAll(List.of(firstBook, secondBook));
+
+        assertThat(bookChangeLog.changesSince(0, 10))
+                .extracting(BookChange::getOperation)
+                .containsExactly(ChangeOperation.UPSERT, ChangeOperation.UPSERT);
+    }
+
+    @Test
+    public void shouldRecordGeneratedIdsOfUpsertedBooks() {
+        bookDAO.upsertAll(List.of(firstBook, secondBook));
+
+        assertThat(bookChangeLog.changesSince(0, 10))
+                .extracting(BookChange::getBookId)
+                .containsExactly(firstBook.getId(), secondBook.getId())
+                .doesNotContainNull();
+    }
+
+    @Test
+    public void shouldNotRecordRolledBackOperation() {
+        bookDAO.add(firstBook);
+
+        secondBook.setId(100);
+
+        bookDAO.updateAll(List.of(firstBook, secondBook));
+
+        assertThat(bookChangeLog.changesSince(0, 10))
+                .extracting(BookChange::getOperation)
+                .containsExactly(ChangeOperation.ADD);
+    }
+
+    @Test
+    public void shouldNotRecordChangesWhenChangeFeedIsDisabled() {
+        ((BookDAOImpl) bookDAO).setChangeFeedEnabled(false);
+
+        bookDAO.add(firstBook);
+
+        assertThat(bookChangeLog.changesSince(0, 10)).isEmpty();
+    }
+
+    @Test
+    public void shouldReturnChangesSinceSequenceWithLimit() {
+        bookDAO.add(firstBook);
+        bookDAO.add(secondBook);
+        bookDAO.remove(firstBook);
+
+        assertThat(bookChangeLog.changesSince(1, 1))
+                .extracting(BookChange::getSequence)
+                .containsExactly(2L);
+        assertThat(bookChangeLog.changesSince(2, 10))
+                .extracting(BookChange::getSequence)
+                .containsExactly(3L);
+        assertThat(bookChangeLog.changesSince(3, 10)).isEmpty();
+    }
+
+    @Test
+    public void shouldNotReturnChangesAfterSequenceThatIsNotCommittedYet() throws SQLException {
+        try (val firstSession = SessionUtil.openStatelessSession()) {
+            val firstTransaction = firstSession.beginTransaction();
+
+            bookChangeLog.record(SessionUtil.getConnection(firstSession), ChangeOperation.ADD, List.of(firstBook));
+
+            try {
+                record(secondBook);
+
+                assertThat(bookChangeLog.changesSince(0, 10)).isEmpty();
+            } finally {
+                firstTransaction.commit();
+            }
+        }
+
+        assertThat(bookChangeLog.changesSince(0, 10))
+                .extracting(BookChange::getSequence, BookChange::getName)
+                .containsExactly(tuple(1L, "test firstBook"), tuple(2L, "test secondBook"));
+    }
+
+    @Test
+    public void shouldSkipSequenceOfRolledBackTransactionAfterGapTimeout() throws Exception {
+        bookChangeLog.setGapTimeout(200);
+
+        try (val session = SessionUtil.openStatelessSession()) {
+            val transaction = session.beginTransaction();
+
+            bookChangeLog.record(SessionUtil.getConnection(session), ChangeOperation.ADD, List.of(firstBook));
+
+            transaction.rollback();
+        }
+
+        record(secondBook);
+
+        assertThat(bookChangeLog.changesSince(0, 10)).isEmpty();
+
+        Thread.sleep(300);
+
+        assertThat(bookChangeLog.changesSince(0, 10))
+                .extracting(BookChange::getSequence)
+                .containsExactly(2L);
+    }
+
+    @Test
+    public void shouldNotMissChangesOfConcurrentWriters() throws Exception {
+        val writers = new ArrayList<Thread>();
+        val changes = WRITERS * CHANGES_PER_WRITER;
+
+        for (int i = 0; i < WRITERS; i++) {
+            writers.add(new Thread(() -> {
+                for (int j = 0; j < CHANGES_PER_WRITER; j++) {
+                    record(firstBook);
+                }
+            }));
+        }
+
+        writers.forEach(Thread::start);
+
+        val sequences = new ArrayList<Long>();
+
+        var lastSequence = 0L;
+
+        while (sequences.size() < changes) {
+            val newChanges = bookChangeLog.changesSince(lastSequence, 3);
+
+            for (val change : newChanges) {
+                sequences.add(change.getSequence());
+                lastSequence = change.getSequence();
+            }
+
+            if (newChanges.isEmpty() && writers.stream().noneMatch(Thread::isAlive)
+                    && bookChangeLog.changesSince(lastSequence, 1).isEmpty()) {
+                break;
+            }
+        }
+
+        for (val writer : writers) {
+            writer.join();
+        }
+
+        assertThat(sequences)
+                .hasSize(changes)
+                .isEqualTo(LongStream.rangeClosed(1, changes).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenLimitIsNotPositive() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> bookChangeLog.changesSince(0, 0))
+                .withMessage("Limit should be positive but was 0");
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenRecordWithNullSession() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> bookChangeLog.record((Session) null, ChangeOperation.ADD, List.of(firstBook)))
+                .withMessage("session is marked @NonNull but is null");
+    }
+
+    private void record(Book book) {
+        try (val session = SessionUtil.openStatelessSession()) {
+            val transaction = session.beginTransaction();
+
+            bookChangeLog.record(SessionUtil.getConnection(session), ChangeOperation.ADD, List.of(book));
+
+            transaction.commit();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.qthegamep.bookmanager2.dao;
+
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class BookCursorTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private BookDAO bookDAO;
+
+    private Book firstBook;
+    private Book secondBook;
+
+    @Before
+    public void setUp() {
+        bookDAO = new BookDAOImpl();
+
+        firstBook = new Book();
+
+        firstBook.setName("test firstBook");
+        firstBook.setAuthor("test firstAuthor");
+        firstBook.setPrintYear(2000);
+        firstBook.setRead(false);
+
+        secondBook = new Book();
+
+        secondBook.setName("test secondBook");
+        secondBook.setAuthor("test secondAuthor");
+        secondBook.setPrintYear(2010);
+        secondBook.setRead(true);
+    }
+
+    @Test
+    public void shouldImplementsAutoCloseableInterface() {
+        try (val bookCursor = new BookCursor()) {
+            assertThat(bookCursor).isInstanceOf(AutoCloseable.class);
+        }
+    }
+
+    @Test
+    public void shouldReadAllBooksInOrderOfId() {
+        bookDAO.addAll(List.of(firstBook, secondBook));
+
+        val books = new ArrayList<Book>();
+
+        try (val bookCursor = new BookCursor(1)) {
+            while (bookCursor.next()) {
+                val book = new Book();
+
+                book.setId(bookCursor.getId());
+                book.setName(bookCursor.getName());
+                book.setAuthor(bookCursor.getAuthor());
+                book.setPrintYear(bookCursor.getPrintYear());
+                book.setRead(bookCursor.isRead());
+
+                books.add(book);
+            }
+        }
+
+        assertThat(books).containsExactly(firstBook, secondBook);
+    }
+
+    @Test
+    public void shouldNotMoveToNextBookIfDatabaseIsEmpty() {
+        try (val bookCursor = new BookCursor()) {
+            assertThat(bookCursor.next()).isFalse();
+        }
+    }
+
+    @Test
+    public void shouldNotAffectDAOAfterClose() {
+        bookDAO.add(firstBook);
+
+        try (val bookCursor = new BookCursor()) {
+            assertThat(bookCursor.next()).isTrue();
+        }
+
+        bookDAO.add(secondBook);
+
+        assertThat(bookDAO.getAll()).containsExactly(firstBook, secondBook);
+    }
+
+    @Test
+    public void shouldThrowIllegalStateExceptionWhenReadAfterClose() {
+        val bookCursor = new BookCursor();
+
+        bookCursor.close();
+
+        assertThatIllegalStateException()
+                .isThrownBy(bookCursor::next)
+                .withMessageStartingWith("Next book was not read!");
+    }
+}
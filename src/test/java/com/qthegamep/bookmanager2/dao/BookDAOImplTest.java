@@ -13,13 +13,17 @@ import org.junit.Test;
 import org.junit.After;
 
 import org.hibernate.Session;
-import org.hibernate.ObjectNotFoundException;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQL5Dialect;
+import org.hibernate.dialect.PostgreSQL95Dialect;
+import org.hibernate.proxy.HibernateProxy;
 
 import org.junit.rules.ExternalResource;
 import org.junit.rules.Stopwatch;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -94,7 +98,7 @@ public class BookDAOImplTest {
 
     @Test
     public void shouldAddEntityToTheDatabaseCorrectly() {
-        bookDAO.add(firstBook);
+        assertThat(bookDAO.add(firstBook)).isTrue();
 
         var allEntitiesFromTheDatabase = getAllEntitiesFromTheDatabase();
 
@@ -124,7 +128,7 @@ public class BookDAOImplTest {
     public void shouldRollbackAddMethodWhenInputParameterIsIncorrect() {
         secondBook.setName(null);
 
-        bookDAO.add(secondBook);
+        assertThat(bookDAO.add(secondBook)).isFalse();
 
         val allEntitiesFromTheDatabase = getAllEntitiesFromTheDatabase();
 
@@ -197,7 +201,7 @@ public class BookDAOImplTest {
     public void shouldRollbackAddAllMethodWhenInputParameterIsIncorrect() {
         secondBook.setName(null);
 
-        bookDAO.addAll(books);
+        assertThat(bookDAO.addAll(books)).isFalse();
 
         val allEntitiesFromTheDatabase = getAllEntitiesFromTheDatabase();
 
@@ -222,6 +226,85 @@ public class BookDAOImplTest {
         assertThat(session.isOpen()).isFalse();
     }
 
+    @Test
+    public void shouldAddAllEntitiesInSessionModeByDefault() {
+        assertThat(new BookDAOImpl().getAddMode()).isEqualTo(AddMode.SESSION);
+    }
+
+    @Test
+    public void shouldAddAllEntitiesWithMultiRowInsertCorrectly() {
+        ((BookDAOImpl) bookDAO).setAddMode(AddMode.MULTI_ROW);
+
+        val manyBooks = new ArrayList<Book>();
+
+        for (int i = 0; i < BookDAOImpl.MULTI_ROW_SIZE * 2 + 5; i++) {
+            val book = new Book();
+
+            book.setName("test book " + i);
+            book.setAuthor("test author " + i);
+            book.setPrintYear(1900 + i);
+            book.setRead(i % 2 == 0);
+
+            manyBooks.add(book);
+        }
+
+        bookDAO.addAll(manyBooks);
+
+        assertThat(manyBooks)
+                .extracting(Book::getId)
+                .startsWith(1, 2, 3)
+                .endsWith(BookDAOImpl.MULTI_ROW_SIZE * 2 + 5);
+
+        assertThat(getAllEntitiesFromTheDatabase())
+                .isNotNull()
+                .containsExactlyInAnyOrderElementsOf(manyBooks);
+    }
+
+    @Test
+    public void shouldAddAllEntitiesWithMultiRowInsertTwiceAsDuplicates() {
+        ((BookDAOImpl) bookDAO).setAddMode(AddMode.MULTI_ROW);
+
+        bookDAO.addAll(books);
+        bookDAO.addAll(books);
+
+        assertThat(firstBook.getId()).isEqualTo(3);
+        assertThat(secondBook.getId()).isEqualTo(4);
+        assertThat(getAllEntitiesFromTheDatabase()).hasSize(4);
+    }
+
+    @Test
+    public void shouldRollbackMultiRowAddAllMethodWhenInputParameterIsIncorrect() {
+        ((BookDAOImpl) bookDAO).setAddMode(AddMode.MULTI_ROW);
+
+        secondBook.setName(null);
+
+        bookDAO.addAll(books);
+
+        assertThat(getAllEntitiesFromTheDatabase())
+                .isNotNull()
+                .isEmpty();
+        assertThat(session.isOpen()).isFalse();
+    }
+
+    @Test
+    public void shouldRecordChangesByDefault() {
+        assertThat(new BookDAOImpl().isChangeFeedEnabled()).isTrue();
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenSetNullBookChangeLog() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> ((BookDAOImpl) bookDAO).setBookChangeLog(null))
+                .withMessage("bookChangeLog is marked @NonNull but is null");
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenSetNullAddMode() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> ((BookDAOImpl) bookDAO).setAddMode(null))
+                .withMessage("addMode is marked @NonNull but is null");
+    }
+
     @Test
     public void shouldGetByIdEntityFromTheDatabaseCorrectly() {
         addAllEntitiesToTheDatabase(books);
@@ -236,10 +319,24 @@ public class BookDAOImplTest {
     }
 
     @Test
-    public void shouldThrowObjectNotFoundExceptionWhenIdIsNotExist() {
-        assertThatExceptionOfType(ObjectNotFoundException.class)
-                .isThrownBy(() -> bookDAO.getById(1))
-                .withMessage("No row with the given identifier exists: [com.qthegamep.bookmanager2.entity.Book#1]");
+    public void shouldReturnNullWhenIdIsNotExist() {
+        assertThat(bookDAO.getById(1)).isNull();
+    }
+
+    @Test
+    public void shouldGetByIdPlainEntityWithAuthorByOneQuery() {
+        addAllEntitiesToTheDatabase(books);
+
+        val statistics = session.getSessionFactory().getStatistics();
+
+        statistics.clear();
+
+        val book = bookDAO.getById(1);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(book).isNotInstanceOf(HibernateProxy.class);
+        assertThat(book.getAuthorEntity()).isNotInstanceOf(HibernateProxy.class);
+        assertThat(book.getAuthor()).isEqualTo(firstBook.getAuthor());
     }
 
     @Test
@@ -253,13 +350,98 @@ public class BookDAOImplTest {
 
     @Test
     public void shouldBeCloseSessionAfterGetByIdMethodIfIdIsNotExist() {
-        assertThatExceptionOfType(ObjectNotFoundException.class)
-                .isThrownBy(() -> bookDAO.getById(1))
-                .withMessage("No row with the given identifier exists: [com.qthegamep.bookmanager2.entity.Book#1]");
+        bookDAO.getById(1);
 
         assertThat(session.isOpen()).isFalse();
     }
 
+    @Test
+    public void shouldGetByIdsEntitiesInTheOrderOfIdsCorrectly() {
+        addAllEntitiesToTheDatabase(books);
+
+        val result = bookDAO.getByIds(new int[]{2, 1});
+
+        assertThat(result.getBooks()).containsExactly(secondBook, firstBook);
+        assertThat(result.getMissingIds()).isEmpty();
+    }
+
+    @Test
+    public void shouldReportMissingIdsOfGetByIdsMethod() {
+        addAllEntitiesToTheDatabase(books);
+
+        val result = bookDAO.getByIds(new int[]{3, 1, 3, 5, 1});
+
+        assertThat(result.getBooks()).containsExactly(firstBook, firstBook);
+        assertThat(result.getMissingIds()).containsExactly(3, 5);
+    }
+
+    @Test
+    public void shouldGetByIdsEntitiesWithManyChunksCorrectly() {
+        ((BookDAOImpl) bookDAO).setAddMode(AddMode.MULTI_ROW);
+
+        val manyBooks = new ArrayList<Book>();
+
+        for (int i = 0; i < BookDAOImpl.IDS_CHUNK_SIZE * 2 + 3; i++) {
+            val book = new Book();
+
+            book.setName("test book " + i);
+            book.setAuthor("test author " + i);
+            book.setPrintYear(1900 + i);
+            book.setRead(i % 2 == 0);
+
+            manyBooks.add(book);
+        }
+
+        bookDAO.addAll(manyBooks);
+
+        val ids = new int[manyBooks.size()];
+
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = manyBooks.size() - i;
+        }
+
+        Collections.reverse(manyBooks);
+
+        val result = bookDAO.getByIds(ids);
+
+        assertThat(result.getBooks()).containsExactlyElementsOf(manyBooks);
+        assertThat(result.getMissingIds()).isEmpty();
+    }
+
+    @Test
+    public void shouldGetByIdsEntitiesFromCollectionCorrectly() {
+        addAllEntitiesToTheDatabase(books);
+
+        val result = bookDAO.getByIds(List.of(2, 4, 1));
+
+        assertThat(result.getBooks()).containsExactly(secondBook, firstBook);
+        assertThat(result.getMissingIds()).containsExactly(4);
+    }
+
+    @Test
+    public void shouldReturnEmptyResultWhenGetByIdsWithEmptyArray() {
+        val result = bookDAO.getByIds(new int[0]);
+
+        assertThat(result.getBooks()).isEmpty();
+        assertThat(result.getMissingIds()).isEmpty();
+    }
+
+    @Test
+    public void shouldBeCloseSessionAfterGetByIdsMethod() {
+        addAllEntitiesToTheDatabase(books);
+
+        bookDAO.getByIds(new int[]{1, 2});
+
+        assertThat(session.isOpen()).isFalse();
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenGetByIdsWithNullArray() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> bookDAO.getByIds((int[]) null))
+                .withMessage("ids is marked @NonNull but is null");
+    }
+
     @Test
     public void shouldGetByNameEntitiesFromTheDatabaseCorrectly() {
         addAllEntitiesToTheDatabase(books);
@@ -348,6 +530,134 @@ public class BookDAOImplTest {
         assertThat(session.isOpen()).isFalse();
     }
 
+    @Test
+    public void shouldStoreEveryAuthorOnceAndReferenceItByKey() {
+        val thirdBook = new Book();
+
+        thirdBook.setName("test thirdBook");
+        thirdBook.setAuthor("test firstAuthor");
+        thirdBook.setPrintYear(2020);
+        thirdBook.setRead(false);
+
+        bookDAO.addAll(List.of(firstBook, secondBook));
+        ((BookDAOImpl) bookDAO).setAddMode(AddMode.MULTI_ROW);
+        bookDAO.addAll(List.of(thirdBook));
+
+        val allBooks = bookDAO.getAll();
+
+        assertThat(allBooks).containsExactly(firstBook, secondBook, thirdBook);
+        assertThat(allBooks.get(2).getAuthorEntity().getId()).isEqualTo(allBooks.get(0).getAuthorEntity().getId());
+        assertThat(allBooks.get(1).getAuthorEntity().getId()).isNotEqualTo(allBooks.get(0).getAuthorEntity().getId());
+        assertThat(countAuthors()).isEqualTo(2);
+        assertThat(bookDAO.getByAuthor("test firstAuthor")).containsExactly(firstBook, thirdBook);
+    }
+
+    @Test
+    public void shouldKeepAuthorsOfOtherBooksWhenUpdateAuthor() {
+        bookDAO.addAll(List.of(firstBook, secondBook));
+
+        secondBook.setAuthor("test firstAuthor");
+
+        bookDAO.update(secondBook);
+
+        assertThat(bookDAO.getByAuthor("test firstAuthor")).containsExactly(firstBook, secondBook);
+        assertThat(bookDAO.getByAuthor("test secondAuthor")).isEmpty();
+        assertThat(countAuthors()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldIncrementVersionOfEntityAfterUpdate() {
+        bookDAO.addAll(books);
+
+        firstBook.setRead(true);
+
+        val updateResult = bookDAO.update(firstBook);
+
+        assertThat(updateResult.getRowsUpdated()).isEqualTo(1);
+        assertThat(updateResult.isConflicted()).isFalse();
+        assertThat(firstBook.getVersion()).isEqualTo(1);
+        assertThat(getVersionFromTheDatabase(firstBook.getId())).isEqualTo(1);
+
+        bookDAO.updateAll(books);
+
+        assertThat(firstBook.getVersion()).isEqualTo(2);
+        assertThat(secondBook.getVersion()).isEqualTo(1);
+        assertThat(getVersionFromTheDatabase(firstBook.getId())).isEqualTo(2);
+        assertThat(getVersionFromTheDatabase(secondBook.getId())).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReturnConflictAndNotUpdateEntityWhenVersionIsStale() {
+        bookDAO.addAll(books);
+
+        val staleBook = bookDAO.getById(firstBook.getId());
+
+        firstBook.setName("test updatedName");
+
+        bookDAO.update(firstBook);
+
+        staleBook.setName("test staleName");
+
+        val updateResult = bookDAO.update(staleBook);
+
+        assertThat(updateResult.getRowsUpdated()).isZero();
+        assertThat(updateResult.isConflicted()).isTrue();
+        assertThat(updateResult.getConflicts()).containsExactly(staleBook);
+        assertThat(staleBook.getVersion()).isZero();
+        assertThat(getAllEntitiesFromTheDatabase()).containsExactlyInAnyOrder(firstBook, secondBook);
+    }
+
+    @Test
+    public void shouldReturnAllConflictsAndUpdateNothingWhenSomeVersionsAreStale() {
+        bookDAO.addAll(books);
+
+        val staleBook = bookDAO.getById(secondBook.getId());
+
+        secondBook.setRead(false);
+
+        bookDAO.update(secondBook);
+
+        val updatedFirstBook = bookDAO.getById(firstBook.getId());
+
+        updatedFirstBook.setName("test updatedName");
+        staleBook.setName("test staleName");
+
+        val updateResult = bookDAO.updateAll(List.of(updatedFirstBook, staleBook));
+
+        assertThat(updateResult.getRowsUpdated()).isZero();
+        assertThat(updateResult.getConflicts()).containsExactly(staleBook);
+        assertThat(updatedFirstBook.getVersion()).isZero();
+        assertThat(getAllEntitiesFromTheDatabase()).containsExactlyInAnyOrder(firstBook, secondBook);
+        assertThat(getVersionFromTheDatabase(firstBook.getId())).isZero();
+    }
+
+    @Test
+    public void shouldReturnConflictWhenUpdatedEntityWasRemoved() {
+        bookDAO.addAll(books);
+        bookDAO.remove(bookDAO.getById(firstBook.getId()));
+
+        firstBook.setRead(true);
+
+        val updateResult = bookDAO.update(firstBook);
+
+        assertThat(updateResult.getConflicts()).containsExactly(firstBook);
+        assertThat(getAllEntitiesFromTheDatabase()).containsExactly(secondBook);
+    }
+
+    @Test
+    public void shouldIncrementVersionOfEntityAfterUpsert() {
+        bookDAO.addAll(books);
+
+        val staleBook = bookDAO.getById(firstBook.getId());
+
+        firstBook.setRead(true);
+
+        bookDAO.upsertAll(List.of(firstBook));
+
+        assertThat(getVersionFromTheDatabase(firstBook.getId())).isEqualTo(1);
+        assertThat(bookDAO.update(staleBook).getConflicts()).containsExactly(staleBook);
+    }
+
     @Test
     public void shouldGetByPrintYearEntitiesFromTheDatabaseCorrectly() {
         addAllEntitiesToTheDatabase(books);
@@ -475,6 +785,185 @@ public class BookDAOImplTest {
         assertThat(session.isOpen()).isFalse();
     }
 
+    @Test
+    public void shouldSearchEntitiesByAllCriteriaByOneQuery() {
+        val thirdBook = new Book();
+
+        thirdBook.setId(3);
+        thirdBook.setName("test thirdBook");
+        thirdBook.setAuthor("test firstAuthor");
+        thirdBook.setPrintYear(2005);
+        thirdBook.setRead(true);
+
+        addAllEntitiesToTheDatabase(List.of(firstBook, secondBook, thirdBook));
+
+        val criteria = new BookCriteria();
+
+        criteria.setAuthor("test firstAuthor");
+        criteria.setFromPrintYear(2000);
+        criteria.setToPrintYear(2005);
+        criteria.setIsRead(true);
+
+        val statistics = session.getSessionFactory().getStatistics();
+
+        statistics.clear();
+
+        val bookListByCriteria = bookDAO.search(criteria);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(bookListByCriteria).containsExactly(thirdBook);
+
+        criteria.setName("test firstBook");
+
+        assertThat(bookDAO.search(criteria)).isEmpty();
+    }
+
+    @Test
+    public void shouldSearchAllEntitiesInOrderOfIdWhenCriteriaAreEmpty() {
+        addAllEntitiesToTheDatabase(books);
+
+        assertThat(bookDAO.search(new BookCriteria())).containsExactly(firstBook, secondBook);
+    }
+
+    @Test
+    public void shouldSearchEntitiesByPrintYearRange() {
+        addAllEntitiesToTheDatabase(books);
+
+        val criteria = new BookCriteria();
+
+        criteria.setFromPrintYear(2001);
+
+        assertThat(bookDAO.search(criteria)).containsExactly(secondBook);
+
+        criteria.setFromPrintYear(null);
+        criteria.setToPrintYear(2009);
+
+        assertThat(bookDAO.search(criteria)).containsExactly(firstBook);
+    }
+
+    @Test
+    public void shouldSortAndLimitSearchedEntities() {
+        addAllEntitiesToTheDatabase(books);
+        addAllEntitiesToTheDatabase(books);
+
+        val criteria = new BookCriteria();
+
+        criteria.setSortField(BookSortField.AUTHOR);
+        criteria.setDescending(true);
+        criteria.setLimit(3);
+
+        assertThat(bookDAO.search(criteria))
+                .extracting(Book::getId)
+                .containsExactly(4, 2, 3);
+
+        criteria.setSortField(BookSortField.PRINT_YEAR);
+        criteria.setDescending(false);
+
+        assertThat(bookDAO.search(criteria))
+                .extracting(Book::getId)
+                .containsExactly(1, 3, 2);
+    }
+
+    @Test
+    public void shouldReturnSameSearchQueryForCriteriaOfSameShape() {
+        val firstCriteria = new BookCriteria();
+        val secondCriteria = new BookCriteria();
+
+        firstCriteria.setAuthor("test firstAuthor");
+        firstCriteria.setIsRead(true);
+        secondCriteria.setAuthor("test secondAuthor");
+        secondCriteria.setIsRead(false);
+
+        val searchHqlQuery = BookDAOImpl.getSearchHqlQuery(firstCriteria);
+
+        assertThat(searchHqlQuery)
+                .isSameAs(BookDAOImpl.getSearchHqlQuery(secondCriteria))
+                .isEqualTo("from Book b join fetch b.author a where a.name = :author and b.isRead = :isRead order by b.id");
+
+        secondCriteria.setAuthor(null);
+        secondCriteria.setSortField(BookSortField.NAME);
+
+        assertThat(BookDAOImpl.getSearchHqlQuery(secondCriteria))
+                .isEqualTo("from Book b left join fetch b.author a where b.isRead = :isRead order by b.name, b.id");
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenSearchWithNegativeLimit() {
+        val criteria = new BookCriteria();
+
+        criteria.setLimit(-1);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> bookDAO.search(criteria))
+                .withMessage("Limit should not be negative but was -1");
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenSearchWithEmptyPrintYearRange() {
+        val criteria = new BookCriteria();
+
+        criteria.setFromPrintYear(2010);
+        criteria.setToPrintYear(2000);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> bookDAO.search(criteria))
+                .withMessage("From print year should not be greater than to print year but were 2010 and 2000");
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenSearchWithNullCriteria() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> bookDAO.search(null))
+                .withMessage("criteria is marked @NonNull but is null");
+    }
+
+    @Test
+    public void shouldBeCloseSessionAfterSearchMethod() {
+        bookDAO.search(new BookCriteria());
+
+        assertThat(session.isOpen()).isFalse();
+    }
+
+    @Test
+    public void shouldCheckExistenceOfEntitiesByNameAndAuthor() {
+        addAllEntitiesToTheDatabase(books);
+
+        assertThat(bookDAO.existsByName("test firstBook")).isTrue();
+        assertThat(bookDAO.existsByName("test thirdBook")).isFalse();
+        assertThat(bookDAO.existsByAuthor("test secondAuthor")).isTrue();
+        assertThat(bookDAO.existsByAuthor("test thirdAuthor")).isFalse();
+    }
+
+    @Test
+    public void shouldNotCheckExistenceOfAuthorWithoutEntities() {
+        bookDAO.addAll(List.of(firstBook, secondBook));
+
+        secondBook.setAuthor("test firstAuthor");
+
+        bookDAO.update(secondBook);
+
+        assertThat(bookDAO.existsByAuthor("test firstAuthor")).isTrue();
+        assertThat(bookDAO.existsByAuthor("test secondAuthor")).isFalse();
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenCheckExistenceByNullNameOrAuthor() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> bookDAO.existsByName(null))
+                .withMessage("name is marked @NonNull but is null");
+        assertThatNullPointerException()
+                .isThrownBy(() -> bookDAO.existsByAuthor(null))
+                .withMessage("author is marked @NonNull but is null");
+    }
+
+    @Test
+    public void shouldBeCloseSessionAfterExistsMethods() {
+        bookDAO.existsByName("test firstBook");
+        bookDAO.existsByAuthor("test firstAuthor");
+
+        assertThat(session.isOpen()).isFalse();
+    }
+
     @Test
     public void shouldUpdateEntityInTheDatabaseCorrectly() {
         addAllEntitiesToTheDatabase(books);
@@ -552,6 +1041,40 @@ public class BookDAOImplTest {
                 .doesNotContain(updatedSecondBook);
     }
 
+    @Test
+    public void shouldReturnFailedResultWhenUpdateIsRolledBackBecauseOfError() {
+        addAllEntitiesToTheDatabase(books);
+
+        val updateResult = bookDAO.update(firstBook);
+
+        assertThat(updateResult.isFailed()).isFalse();
+        assertThat(updateResult.getFailure()).isNull();
+
+        firstBook.setName(null);
+
+        val failedUpdateResult = bookDAO.update(firstBook);
+
+        assertThat(failedUpdateResult.isFailed()).isTrue();
+        assertThat(failedUpdateResult.getFailure()).isNotNull();
+        assertThat(failedUpdateResult.isConflicted()).isFalse();
+        assertThat(failedUpdateResult.getRowsUpdated()).isZero();
+    }
+
+    @Test
+    public void shouldReturnFailedResultWhenUpdateAllIsRolledBackBecauseOfError() {
+        addAllEntitiesToTheDatabase(books);
+
+        secondBook.setName(null);
+
+        val updateResult = bookDAO.updateAll(books);
+
+        assertThat(updateResult.isFailed()).isTrue();
+        assertThat(updateResult.getFailure()).isNotNull();
+        assertThat(updateResult.isConflicted()).isFalse();
+        assertThat(updateResult.getRowsUpdated()).isZero();
+        assertThat(getVersionFromTheDatabase(firstBook.getId())).isZero();
+    }
+
     @Test
     public void shouldBeCloseSessionAfterUpdateMethod() {
         bookDAO.update(firstBook);
@@ -709,7 +1232,7 @@ public class BookDAOImplTest {
     public void shouldRollbackRemoveMethodWhenInputParameterIsIncorrect() {
         addAllEntitiesToTheDatabase(books);
 
-        bookDAO.remove(firstBook);
+        assertThat(bookDAO.remove(firstBook)).isTrue();
 
         var allEntitiesFromTheDatabase = getAllEntitiesFromTheDatabase();
 
@@ -726,7 +1249,7 @@ public class BookDAOImplTest {
         updatedSecondBook.setPrintYear(secondBook.getPrintYear());
         updatedSecondBook.setRead(secondBook.isRead());
 
-        bookDAO.remove(updatedSecondBook);
+        assertThat(bookDAO.remove(updatedSecondBook)).isFalse();
 
         allEntitiesFromTheDatabase = getAllEntitiesFromTheDatabase();
 
@@ -843,6 +1366,176 @@ public class BookDAOImplTest {
         assertThat(session.isOpen()).isFalse();
     }
 
+    @Test
+    public void shouldUpsertAllEntitiesByIdCorrectly() {
+        bookDAO.addAll(List.of(firstBook));
+
+        firstBook.setName("test updatedFirstBook");
+        firstBook.setRead(true);
+        secondBook.setId(5);
+
+        bookDAO.upsertAll(books);
+
+        assertThat(getAllEntitiesFromTheDatabase())
+                .isNotNull()
+                .containsExactlyInAnyOrder(firstBook, secondBook);
+
+        val thirdBook = new Book();
+
+        thirdBook.setName("test thirdBook");
+        thirdBook.setAuthor("test thirdAuthor");
+        thirdBook.setPrintYear(2018);
+
+        bookDAO.add(thirdBook);
+
+        assertThat(thirdBook.getId()).isEqualTo(6);
+    }
+
+    @Test
+    public void shouldUpsertAllEntitiesByNaturalKeyCorrectly() {
+        bookDAO.addAll(books);
+
+        val updatedBook = new Book();
+
+        updatedBook.setName(firstBook.getName());
+        updatedBook.setAuthor(firstBook.getAuthor());
+        updatedBook.setPrintYear(firstBook.getPrintYear());
+        updatedBook.setRead(true);
+
+        val newBook = new Book();
+
+        newBook.setName(firstBook.getName());
+        newBook.setAuthor(firstBook.getAuthor());
+        newBook.setPrintYear(1999);
+        newBook.setRead(false);
+
+        bookDAO.upsertAll(List.of(updatedBook, newBook));
+
+        firstBook.setRead(true);
+        newBook.setId(3);
+
+        assertThat(getAllEntitiesFromTheDatabase())
+                .isNotNull()
+                .containsExactlyInAnyOrder(firstBook, secondBook, newBook);
+    }
+
+    @Test
+    public void shouldUpdateAllEntitiesWithTheSameNaturalKeyWhenUpsert() {
+        secondBook.setName(firstBook.getName());
+        secondBook.setAuthor(firstBook.getAuthor());
+        secondBook.setPrintYear(firstBook.getPrintYear());
+
+        bookDAO.addAll(books);
+
+        val updatedBook = new Book();
+
+        updatedBook.setName(firstBook.getName());
+        updatedBook.setAuthor(firstBook.getAuthor());
+        updatedBook.setPrintYear(firstBook.getPrintYear());
+        updatedBook.setRead(true);
+
+        bookDAO.upsertAll(List.of(updatedBook));
+
+        assertThat(getAllEntitiesFromTheDatabase())
+                .hasSize(2)
+                .allMatch(Book::isRead);
+        assertThat(getVersionFromTheDatabase(firstBook.getId())).isEqualTo(1);
+        assertThat(getVersionFromTheDatabase(secondBook.getId())).isEqualTo(1);
+        assertThat(updatedBook.getId()).isZero();
+    }
+
+    @Test
+    public void shouldSetGeneratedIdsToEntitiesInsertedByNaturalKeyWhenUpsert() {
+        bookDAO.add(firstBook);
+
+        val updatedBook = new Book();
+
+        updatedBook.setName(firstBook.getName());
+        updatedBook.setAuthor(firstBook.getAuthor());
+        updatedBook.setPrintYear(firstBook.getPrintYear());
+        updatedBook.setRead(true);
+        secondBook.setId(0);
+
+        bookDAO.upsertAll(List.of(updatedBook, secondBook));
+
+        assertThat(updatedBook.getId()).isZero();
+        assertThat(secondBook.getId()).isEqualTo(2);
+        assertThat(bookDAO.getById(2)).isEqualTo(secondBook);
+    }
+
+    @Test
+    public void shouldUpsertEntitiesWithTheSameNaturalKeyOnceWhenTheyAreInOneBatch() {
+        val duplicateBook = new Book();
+
+        duplicateBook.setName(firstBook.getName());
+        duplicateBook.setAuthor(firstBook.getAuthor());
+        duplicateBook.setPrintYear(firstBook.getPrintYear());
+        duplicateBook.setRead(true);
+
+        firstBook.setId(0);
+
+        bookDAO.upsertAll(List.of(firstBook, duplicateBook));
+
+        assertThat(firstBook.getId()).isEqualTo(1);
+        assertThat(duplicateBook.getId()).isEqualTo(1);
+        assertThat(getAllEntitiesFromTheDatabase())
+                .hasSize(1)
+                .allMatch(Book::isRead);
+
+        firstBook.setId(0);
+        duplicateBook.setId(0);
+
+        bookDAO.upsertAll(List.of(firstBook, duplicateBook));
+
+        assertThat(getAllEntitiesFromTheDatabase()).hasSize(1);
+    }
+
+    @Test
+    public void shouldSupportUpsertOnlyForH2AndMySQL() {
+        assertThat(BookDAOImpl.isUpsertSupported(new H2Dialect())).isTrue();
+        assertThat(BookDAOImpl.isUpsertSupported(new MySQL5Dialect())).isTrue();
+        assertThat(BookDAOImpl.isUpsertSupported(new PostgreSQL95Dialect())).isFalse();
+    }
+
+    @Test
+    public void shouldBeIdempotentUpsertAllMethod() {
+        firstBook.setId(0);
+        secondBook.setId(0);
+
+        bookDAO.upsertAll(books);
+        bookDAO.upsertAll(books);
+
+        assertThat(getAllEntitiesFromTheDatabase())
+                .isNotNull()
+                .hasSize(2);
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenUpsertNullListOfEntities() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> bookDAO.upsertAll(null))
+                .withMessage("books is marked @NonNull but is null");
+    }
+
+    @Test
+    public void shouldRollbackUpsertAllMethodWhenInputParameterIsIncorrect() {
+        secondBook.setName(null);
+
+        assertThat(bookDAO.upsertAll(books)).isFalse();
+
+        assertThat(getAllEntitiesFromTheDatabase())
+                .isNotNull()
+                .isEmpty();
+        assertThat(session.isOpen()).isFalse();
+    }
+
+    @Test
+    public void shouldBeCloseSessionAfterUpsertAllMethod() {
+        bookDAO.upsertAll(books);
+
+        assertThat(session.isOpen()).isFalse();
+    }
+
     private List<Book> getAllEntitiesFromTheDatabase() {
         session = SessionUtil.openTransactionSession();
 
@@ -853,9 +1546,32 @@ public class BookDAOImplTest {
         return bookList;
     }
 
+    private long countAuthors() {
+        session = SessionUtil.openTransactionSession();
+
+        val count = ((Number) session.createNativeQuery("select count(*) from AUTHORS").getSingleResult()).longValue();
+
+        SessionUtil.closeTransactionSession();
+
+        return count;
+    }
+
+    private int getVersionFromTheDatabase(int id) {
+        session = SessionUtil.openTransactionSession();
+
+        val version = ((Number) session.createNativeQuery("select VERSION from BOOKS where ID = :id")
+                .setParameter("id", id)
+                .getSingleResult()).intValue();
+
+        SessionUtil.closeTransactionSession();
+
+        return version;
+    }
+
     private void addAllEntitiesToTheDatabase(@NotNull List<? extends Book> books) {
         session = SessionUtil.openTransactionSession();
 
+        session.doWork(connection -> new AuthorDictionary().resolve(connection, books));
         books.forEach(session::save);
 
         SessionUtil.closeTransactionSession();
@@ -0,0 +1,104 @@
+package com.qthegamep.bookmanager2.dao;
+
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.entity.BookSummary;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class BookSummaryDAOImplTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private BookSummaryDAO bookSummaryDAO;
+
+    private BookSummary firstSummary;
+    private BookSummary secondSummary;
+
+    @Before
+    public void setUp() {
+        bookSummaryDAO = new BookSummaryDAOImpl();
+
+        val firstBook = new Book();
+
+        firstBook.setName("test firstBook");
+        firstBook.setAuthor("test firstAuthor");
+        firstBook.setPrintYear(2000);
+        firstBook.setRead(false);
+
+        val secondBook = new Book();
+
+        secondBook.setName("test secondBook");
+        secondBook.setAuthor("test secondAuthor");
+        secondBook.setPrintYear(2010);
+        secondBook.setRead(true);
+
+        new BookDAOImpl().addAll(List.of(firstBook, secondBook));
+
+        SessionUtil.closeSession();
+
+        firstSummary = new BookSummary(1, "test firstBook", "test firstAuthor");
+        secondSummary = new BookSummary(2, "test secondBook", "test secondAuthor");
+    }
+
+    @Test
+    public void shouldImplementsBookSummaryDAOInterface() {
+        assertThat(bookSummaryDAO).isInstanceOf(BookSummaryDAO.class);
+    }
+
+    @Test
+    public void shouldGetAllSummariesInOrderOfId() {
+        assertThat(bookSummaryDAO.getAll()).containsExactly(firstSummary, secondSummary);
+    }
+
+    @Test
+    public void shouldGetSummariesByFinders() {
+        assertThat(bookSummaryDAO.getByName("test secondBook")).containsExactly(secondSummary);
+        assertThat(bookSummaryDAO.getByAuthor("test firstAuthor")).containsExactly(firstSummary);
+        assertThat(bookSummaryDAO.getByPrintYear(2010)).containsExactly(secondSummary);
+        assertThat(bookSummaryDAO.getByIsRead(false)).containsExactly(firstSummary);
+    }
+
+    @Test
+    public void shouldReturnEmptyListWhenNothingIsFound() {
+        assertThat(bookSummaryDAO.getByAuthor("test unknownAuthor"))
+                .isNotNull()
+                .isEmpty();
+    }
+
+    @Test
+    public void shouldBeCloseSessionAfterGetAllMethod() {
+        val session = SessionUtil.openSession();
+
+        bookSummaryDAO.getAll();
+
+        assertThat(session.isOpen()).isFalse();
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenNameIsNull() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> bookSummaryDAO.getByName(null))
+                .withMessage("name is marked @NonNull but is null");
+    }
+}
@@ -0,0 +1,282 @@
+package com.qthegamep.bookmanager2.dao;
+
+import com.qthegamep.bookmanager2.cache.OffHeapBookCache;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CachingBookDAOTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+
+    private CachingBookDAO cachingBookDAO;
+
+    private OffHeapBookCache bookCache;
+
+    @Mock
+    private BookDAO bookDAOMock;
+
+    private Book firstBook;
+    private Book secondBook;
+
+    private List<Book> books;
+
+    @Before
+    public void setUp() {
+        bookCache = new OffHeapBookCache(16);
+
+        cachingBookDAO = new CachingBookDAO(bookDAOMock, bookCache);
+
+        firstBook = new Book();
+
+        firstBook.setId(1);
+        firstBook.setName("test firstBook");
+        firstBook.setAuthor("test firstAuthor");
+        firstBook.setPrintYear(2000);
+        firstBook.setRead(false);
+
+        secondBook = new Book();
+
+        secondBook.setId(2);
+        secondBook.setName("test secondBook");
+        secondBook.setAuthor("test secondAuthor");
+        secondBook.setPrintYear(2010);
+        secondBook.setRead(true);
+
+        books = List.of(firstBook, secondBook);
+    }
+
+    @After
+    public void tearDown() {
+        bookCache.close();
+    }
+
+    @Test
+    public void shouldImplementsBookDAOInterface() {
+        assertThat(cachingBookDAO).isInstanceOf(BookDAO.class);
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenCreateWithNegativeMaxResults() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new CachingBookDAO(bookDAOMock, bookCache, -1))
+                .withMessage("Max results should not be negative but was -1");
+    }
+
+    @Test
+    public void shouldGetByIdFromCacheAfterFirstRead() {
+        when(bookDAOMock.getById(1)).thenReturn(firstBook);
+
+        assertThat(cachingBookDAO.getById(1)).isSameAs(firstBook);
+        assertThat(cachingBookDAO.getById(1)).isEqualTo(firstBook).isNotSameAs(firstBook);
+
+        verify(bookDAOMock, times(1)).getById(1);
+        verifyNoMoreInteractions(bookDAOMock);
+    }
+
+    @Test
+    public void shouldNotCacheMissingBook() {
+        assertThat(cachingBookDAO.getById(1)).isNull();
+        assertThat(cachingBookDAO.getById(1)).isNull();
+
+        verify(bookDAOMock, times(2)).getById(1);
+    }
+
+    @Test
+    public void shouldGetByIdsCachedBooksAndOnlyMissedBooksFromDAO() {
+        bookCache.put(firstBook);
+
+        when(bookDAOMock.getByIds(List.of(2, 3))).thenReturn(new MultiGetResult(List.of(secondBook), new int[]{3}));
+
+        val result = cachingBookDAO.getByIds(new int[]{2, 1, 3, 2, 3});
+
+        assertThat(result.getBooks()).containsExactly(secondBook, firstBook, secondBook);
+        assertThat(result.getMissingIds()).containsExactly(3);
+        assertThat(bookCache.contains(2)).isTrue();
+    }
+
+    @Test
+    public void shouldReturnResultOfFinderFromCache() {
+        when(bookDAOMock.getByIsRead(false)).thenReturn(List.of(firstBook));
+
+        assertThat(cachingBookDAO.getByIsRead(false)).containsExactly(firstBook);
+        assertThat(cachingBookDAO.getByIsRead(false)).containsExactly(firstBook);
+
+        verify(bookDAOMock, times(1)).getByIsRead(false);
+    }
+
+    @Test
+    public void shouldReadFinderFromDAOWhenBookOfResultIsNotCached() {
+        when(bookDAOMock.getAll()).thenReturn(books);
+
+        cachingBookDAO.getAll();
+        bookCache.invalidate(2);
+
+        assertThat(cachingBookDAO.getAll()).isEqualTo(books);
+
+        verify(bookDAOMock, times(2)).getAll();
+    }
+
+    @Test
+    public void shouldNotCacheResultsWhenMaxResultsIsZero() {
+        val uncachedResultsDAO = new CachingBookDAO(bookDAOMock, bookCache, 0);
+        val criteria = new BookCriteria();
+
+        when(bookDAOMock.search(criteria)).thenReturn(books);
+
+        uncachedResultsDAO.search(criteria);
+        uncachedResultsDAO.search(criteria);
+
+        verify(bookDAOMock, times(2)).search(criteria);
+        assertThat(bookCache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldDelegateExistenceChecks() {
+        when(bookDAOMock.existsByName("test firstBook")).thenReturn(true);
+
+        assertThat(cachingBookDAO.existsByName("test firstBook")).isTrue();
+        assertThat(cachingBookDAO.existsByAuthor("test firstAuthor")).isFalse();
+
+        verify(bookDAOMock, times(1)).existsByName("test firstBook");
+        verify(bookDAOMock, times(1)).existsByAuthor("test firstAuthor");
+    }
+
+    @Test
+    public void shouldRemoveResultsOfFindersAfterWrite() {
+        when(bookDAOMock.getByAuthor("test firstAuthor")).thenReturn(List.of(firstBook));
+
+        cachingBookDAO.getByAuthor("test firstAuthor");
+        cachingBookDAO.add(secondBook);
+        cachingBookDAO.getByAuthor("test firstAuthor");
+
+        verify(bookDAOMock, times(2)).getByAuthor("test firstAuthor");
+        verify(bookDAOMock, times(1)).add(secondBook);
+    }
+
+    @Test
+    public void shouldReplaceCachedBookAfterSuccessfulUpdate() {
+        bookCache.put(firstBook);
+
+        firstBook.setRead(true);
+
+        when(bookDAOMock.update(firstBook)).thenReturn(new UpdateResult(1, List.of()));
+
+        cachingBookDAO.update(firstBook);
+
+        assertThat(cachingBookDAO.getById(1).isRead()).isTrue();
+
+        verify(bookDAOMock, never()).getById(1);
+    }
+
+    @Test
+    public void shouldNotReplaceBookOfConcurrentUpdateWithBookThatWasReadBeforeIt() {
+        val staleBook = new Book();
+
+        staleBook.setId(1);
+        staleBook.setName(firstBook.getName());
+        staleBook.setAuthor(firstBook.getAuthor());
+        staleBook.setPrintYear(firstBook.getPrintYear());
+
+        firstBook.setRead(true);
+
+        when(bookDAOMock.update(firstBook)).thenReturn(new UpdateResult(1, List.of()));
+        when(bookDAOMock.getById(1)).thenAnswer(invocation -> {
+            cachingBookDAO.update(firstBook);
+            return staleBook;
+        });
+
+        assertThat(cachingBookDAO.getById(1)).isSameAs(staleBook);
+        assertThat(bookCache.get(1)).isEqualTo(firstBook);
+    }
+
+    @Test
+    public void shouldInvalidateCachedBooksAfterConflictedUpdate() {
+        bookCache.put(firstBook);
+        bookCache.put(secondBook);
+
+        val updateResult = new UpdateResult(0, List.of(secondBook));
+
+        when(bookDAOMock.updateAll(books)).thenReturn(updateResult);
+
+        assertThat(cachingBookDAO.updateAll(books)).isSameAs(updateResult);
+        assertThat(bookCache.size()).isZero();
+    }
+
+    @Test
+    public void shouldInvalidateCachedBookAfterFailedUpdate() {
+        bookCache.put(firstBook);
+
+        val updateResult = new UpdateResult(0, List.of(), new IllegalStateException("test"));
+
+        when(bookDAOMock.update(firstBook)).thenReturn(updateResult);
+
+        assertThat(cachingBookDAO.update(firstBook).isFailed()).isTrue();
+        assertThat(bookCache.contains(1)).isFalse();
+    }
+
+    @Test
+    public void shouldInvalidateRemovedBooks() {
+        bookCache.put(firstBook);
+        bookCache.put(secondBook);
+
+        cachingBookDAO.remove(firstBook);
+
+        assertThat(bookCache.contains(1)).isFalse();
+
+        cachingBookDAO.removeAll(List.of(secondBook));
+
+        assertThat(bookCache.size()).isZero();
+        verify(bookDAOMock, times(1)).remove(firstBook);
+        verify(bookDAOMock, times(1)).removeAll(List.of(secondBook));
+    }
+
+    @Test
+    public void shouldInvalidateUpsertedBooks() {
+        bookCache.put(firstBook);
+        bookCache.put(secondBook);
+
+        cachingBookDAO.upsertAll(List.of(firstBook));
+
+        assertThat(bookCache.contains(1)).isFalse();
+        assertThat(bookCache.contains(2)).isTrue();
+
+        cachingBookDAO.upsertAll(List.of(new Book()));
+
+        assertThat(bookCache.size()).isZero();
+    }
+
+    @Test
+    public void shouldInvalidateAllBooksAndResults() {
+        when(bookDAOMock.getAll()).thenReturn(books);
+
+        cachingBookDAO.getAll();
+        cachingBookDAO.invalidateAll();
+        cachingBookDAO.getAll();
+
+        assertThat(bookCache.size()).isEqualTo(2);
+        verify(bookDAOMock, times(2)).getAll();
+    }
+}
@@ -0,0 +1,67 @@
+package com.qthegamep.bookmanager2.entity;
+
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class AuthorTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+
+    @Test
+    public void shouldCreateObjectWithNoArgsConstructor() {
+        val author = new Author();
+
+        assertThat(author.getId()).isZero();
+        assertThat(author.getName()).isNull();
+    }
+
+    @Test
+    public void shouldCreateNotSavedObjectWithName() {
+        val author = new Author("test author");
+
+        assertThat(author.getId()).isZero();
+        assertThat(author.getName()).isEqualTo("test author");
+    }
+
+    @Test
+    public void shouldGetAndSetFields() {
+        val author = new Author();
+
+        author.setId(1);
+        author.setName("test author");
+
+        assertThat(author.getId()).isEqualTo(1);
+        assertThat(author.getName()).isEqualTo("test author");
+    }
+
+    @Test
+    public void shouldBeEqualWhenFieldsAreEqual() {
+        val firstAuthor = new Author("test author");
+        val secondAuthor = new Author("test author");
+
+        assertThat(firstAuthor).isEqualTo(secondAuthor);
+        assertThat(firstAuthor.hashCode()).isEqualTo(secondAuthor.hashCode());
+
+        secondAuthor.setId(1);
+
+        assertThat(firstAuthor).isNotEqualTo(secondAuthor);
+    }
+
+    @Test
+    public void shouldReturnToString() {
+        assertThat(new Author("test author")).hasToString("Author(id=0, name=test author)");
+    }
+}
@@ -0,0 +1,57 @@
+package com.qthegamep.bookmanager2.entity;
+
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import java.lang.reflect.Modifier;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class BookSummaryTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+
+    @Test
+    public void shouldCreateObjectWithAllArgsConstructor() {
+        val bookSummary = new BookSummary(1, "test book", "test author");
+
+        assertThat(bookSummary.getId()).isEqualTo(1);
+        assertThat(bookSummary.getName()).isEqualTo("test book");
+        assertThat(bookSummary.getAuthor()).isEqualTo("test author");
+    }
+
+    @Test
+    public void shouldBeEqualWhenFieldsAreEqual() {
+        val firstSummary = new BookSummary(1, "test book", "test author");
+        val secondSummary = new BookSummary(1, "test book", "test author");
+
+        assertThat(firstSummary).isEqualTo(secondSummary);
+        assertThat(firstSummary.hashCode()).isEqualTo(secondSummary.hashCode());
+        assertThat(firstSummary).isNotEqualTo(new BookSummary(2, "test book", "test author"));
+    }
+
+    @Test
+    public void shouldBeImmutable() {
+        assertThat(BookSummary.class.getDeclaredFields())
+                .filteredOn(field -> !field.isSynthetic())
+                .hasSize(3)
+                .allMatch(field -> Modifier.isFinal(field.getModifiers()));
+    }
+
+    @Test
+    public void shouldReturnToString() {
+        assertThat(new BookSummary(1, "test book", "test author"))
+                .hasToString("BookSummary(id=1, name=test book, author=test author)");
+    }
+}
@@ -77,6 +77,56 @@ public class BookTest {
         assertThat(firstBook.getAuthor()).isEqualTo(author);
     }
 
+    @Test
+    public void shouldSetAuthorEntityByName() {
+        assertThat(firstBook.getAuthorEntity()).isEqualTo(new Author("test author"));
+    }
+
+    @Test
+    public void shouldKeepAuthorEntityWhenAuthorHasSameName() {
+        val authorEntity = firstBook.getAuthorEntity();
+
+        authorEntity.setId(5);
+        firstBook.setAuthor("test author");
+
+        assertThat(firstBook.getAuthorEntity()).isSameAs(authorEntity);
+    }
+
+    @Test
+    public void shouldReplaceAuthorEntityWhenAuthorHasOtherName() {
+        firstBook.getAuthorEntity().setId(5);
+        firstBook.setAuthor("testAuthor");
+
+        assertThat(firstBook.getAuthorEntity().getId()).isZero();
+        assertThat(firstBook.getAuthorEntity().getName()).isEqualTo("testAuthor");
+    }
+
+    @Test
+    public void shouldGetAndSetAuthorEntity() {
+        val authorEntity = new Author("testAuthor");
+
+        firstBook.setAuthorEntity(authorEntity);
+
+        assertThat(firstBook.getAuthorEntity()).isSameAs(authorEntity);
+        assertThat(firstBook.getAuthor()).isEqualTo("testAuthor");
+    }
+
+    @Test
+    public void shouldRemoveAuthorEntityWhenAuthorIsNull() {
+        firstBook.setAuthor(null);
+
+        assertThat(firstBook.getAuthorEntity()).isNull();
+        assertThat(firstBook.getAuthor()).isNull();
+    }
+
+    @Test
+    public void shouldBeEqualsWhenAuthorEntitiesHaveSameNameAndDifferentIds() {
+        firstBook.getAuthorEntity().setId(5);
+
+        assertThat(firstBook).isEqualTo(secondBook);
+        assertThat(firstBook.hashCode()).isEqualTo(secondBook.hashCode());
+    }
+
     @Test
     public void shouldGetAndSetPrintYear() {
         val printYear = 2010;
@@ -95,6 +145,24 @@ public class BookTest {
         assertThat(firstBook.isRead()).isEqualTo(isRead);
     }
 
+    @Test
+    public void shouldGetAndSetVersion() {
+        val version = 3;
+
+        firstBook.setVersion(version);
+
+        assertThat(firstBook.getVersion()).isEqualTo(version);
+    }
+
+    @Test
+    public void shouldBeEqualsWhenVersionsAreDifferent() {
+        firstBook.setVersion(3);
+
+        assertThat(firstBook).isEqualTo(secondBook);
+        assertThat(firstBook.hashCode()).isEqualTo(secondBook.hashCode());
+        assertThat(firstBook.toString()).isEqualTo(secondBook.toString());
+    }
+
     @Test
     public void shouldBeEquals() {
         assertThat(firstBook).isEqualTo(secondBook);
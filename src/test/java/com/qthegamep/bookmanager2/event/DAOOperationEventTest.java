@@ -0,0 +1,141 @@
+package com.qthegamep.bookmanager2.event;
+
+import com.qthegamep.bookmanager2.dao.BookDAO;
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.testhelper.util.RecordingUtil;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import jdk.jfr.Event;
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class DAOOperationEventTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private BookDAO bookDAO;
+
+    private Book firstBook;
+    private Book secondBook;
+
+    private List<Book> books;
+
+    @Before
+    public void setUp() {
+        bookDAO = new BookDAOImpl();
+
+        firstBook = new Book();
+
+        firstBook.setName("test firstBook");
+        firstBook.setAuthor("test firstAuthor");
+        firstBook.setPrintYear(2000);
+        firstBook.setRead(false);
+
+        secondBook = new Book();
+
+        secondBook.setName("test secondBook");
+        secondBook.setAuthor("test secondAuthor");
+        secondBook.setPrintYear(2010);
+        secondBook.setRead(true);
+
+        books = new ArrayList<>(Arrays.asList(firstBook, secondBook));
+    }
+
+    @Test
+    public void shouldExtendsJFREvent() {
+        val event = new DAOOperationEvent("add", 1);
+
+        assertThat(event).isInstanceOf(Event.class);
+    }
+
+    @Test
+    public void shouldStartEventWithOperationAndBatchSize() {
+        val event = DAOOperationEvent.start("addAll", 2);
+
+        assertThat(event.getOperation()).isEqualTo("addAll");
+        assertThat(event.getBatchSize()).isEqualTo(2);
+        assertThat(event.getRowCount()).isZero();
+    }
+
+    @Test
+    public void shouldNotFailFinishWhenRecordingIsNotStarted() {
+        val event = DAOOperationEvent.start("add", 1);
+
+        event.setRowCount(1);
+
+        assertThatCode(event::finish).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void shouldRecordAddAllOperationWithBatchSizeAndRowCount() {
+        val events = RecordingUtil.record(DAOOperationEvent.NAME, () -> bookDAO.addAll(books));
+
+        assertThat(events).hasSize(1);
+
+        val event = events.get(0);
+
+        assertThat(event.getString("operation")).isEqualTo("addAll");
+        assertThat(event.getInt("batchSize")).isEqualTo(2);
+        assertThat(event.getInt("rowCount")).isEqualTo(2);
+        assertThat(event.getDuration()).isGreaterThan(Duration.ZERO);
+    }
+
+    @Test
+    public void shouldRecordReadOperationWithRowCount() {
+        bookDAO.addAll(books);
+
+        val events = RecordingUtil.record(DAOOperationEvent.NAME, () -> bookDAO.getByAuthor("test firstAuthor"));
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getString("operation")).isEqualTo("getByAuthor");
+        assertThat(events.get(0).getInt("batchSize")).isZero();
+        assertThat(events.get(0).getInt("rowCount")).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRecordEveryOperationInOrder() {
+        val events = RecordingUtil.record(DAOOperationEvent.NAME, () -> {
+            bookDAO.add(firstBook);
+            bookDAO.getAll();
+            bookDAO.remove(firstBook);
+        });
+
+        assertThat(events)
+                .extracting(event -> event.getString("operation"))
+                .containsExactly("add", "getAll", "remove");
+    }
+
+    @Test
+    public void shouldRecordZeroRowCountIfOperationWasRolledBack() {
+        firstBook.setId(1);
+
+        val events = RecordingUtil.record(DAOOperationEvent.NAME, () -> bookDAO.update(firstBook));
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getString("operation")).isEqualTo("update");
+        assertThat(events.get(0).getInt("batchSize")).isEqualTo(1);
+        assertThat(events.get(0).getInt("rowCount")).isZero();
+    }
+}
@@ -0,0 +1,66 @@
+package com.qthegamep.bookmanager2.event;
+
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.testhelper.util.RecordingUtil;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.val;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import jdk.jfr.Event;
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SessionEventTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+
+    @Test
+    public void shouldExtendsJFREvent() {
+        assertThat(new SessionEvent()).isInstanceOf(Event.class);
+    }
+
+    @Test
+    public void shouldRecordSessionFromOpeningToClosing() {
+        val events = RecordingUtil.record(SessionEvent.NAME, () -> {
+            SessionUtil.openSession();
+            SessionUtil.closeSession();
+        });
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getDuration()).isGreaterThan(Duration.ZERO);
+    }
+
+    @Test
+    public void shouldRecordOneEventIfSessionWasReused() {
+        val events = RecordingUtil.record(SessionEvent.NAME, () -> {
+            SessionUtil.openSession();
+            SessionUtil.openSession();
+            SessionUtil.closeSession();
+            SessionUtil.closeSession();
+        });
+
+        assertThat(events).hasSize(1);
+    }
+
+    @Test
+    public void shouldNotRecordSessionThatIsNotClosed() {
+        val events = RecordingUtil.record(SessionEvent.NAME, SessionUtil::openSession);
+
+        SessionUtil.closeSession();
+
+        assertThat(events).isEmpty();
+    }
+}
@@ -0,0 +1,70 @@
+package com.qthegamep.bookmanager2.event;
+
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.testhelper.util.RecordingUtil;
+import com.qthegamep.bookmanager2.util.SessionUtil;
+
+import lombok.val;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import jdk.jfr.Event;
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TransactionEventTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+
+    @Test
+    public void shouldExtendsJFREvent() {
+        assertThat(new TransactionEvent()).isInstanceOf(Event.class);
+    }
+
+    @Test
+    public void shouldRecordCommittedTransaction() {
+        val events = RecordingUtil.record(TransactionEvent.NAME, () -> {
+            SessionUtil.openTransactionSession();
+            SessionUtil.closeTransactionSession();
+        });
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getString("status")).isEqualTo("COMMITTED");
+        assertThat(events.get(0).getDuration()).isGreaterThan(Duration.ZERO);
+    }
+
+    @Test
+    public void shouldRecordRolledBackTransaction() {
+        val events = RecordingUtil.record(TransactionEvent.NAME, () -> {
+            val session = SessionUtil.openTransactionSession();
+
+            session.getTransaction().rollback();
+
+            SessionUtil.closeTransactionSession();
+        });
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getString("status")).isEqualTo("ROLLED_BACK");
+    }
+
+    @Test
+    public void shouldNotRecordTransactionIfItWasNotBegun() {
+        val events = RecordingUtil.record(TransactionEvent.NAME, () -> {
+            SessionUtil.openSession();
+            SessionUtil.closeTransactionSession();
+        });
+
+        assertThat(events).isEmpty();
+    }
+}
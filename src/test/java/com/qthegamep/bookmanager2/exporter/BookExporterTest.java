@@ -0,0 +1,239 @@
+package com.qthegamep.bookmanager2.exporter;
+
+import com.qthegamep.bookmanager2.dao.BookDAO;
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.importer.BookImporter;
+import com.qthegamep.bookmanager2.importer.ImportOptions;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.testhelper.util.ResetDBUtil;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class BookExporterTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private BookExporter bookExporter;
+
+    private BookDAO bookDAO;
+
+    private Book firstBook;
+    private Book secondBook;
+
+    @Before
+    public void setUp() {
+        bookExporter = new BookExporter();
+
+        bookDAO = new BookDAOImpl();
+
+        firstBook = new Book();
+
+        firstBook.setName("test firstBook");
+        firstBook.setAuthor("test firstAuthor");
+        firstBook.setPrintYear(2000);
+        firstBook.setRead(false);
+
+        secondBook = new Book();
+
+        secondBook.setName("test \"second\", Book");
+        secondBook.setAuthor("test secondAuthor \\ Ї");
+        secondBook.setPrintYear(2010);
+        secondBook.setRead(true);
+    }
+
+    @Test
+    public void shouldCreateObjectWithDefaultFetchSizeAndBufferSize() {
+        assertThat(bookExporter.getFetchSize()).isEqualTo(BookExporter.DEFAULT_FETCH_SIZE);
+        assertThat(bookExporter.getBufferSize()).isEqualTo(BookExporter.DEFAULT_BUFFER_SIZE);
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenCreateWithIncorrectSizes() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BookExporter(0, 1024))
+                .withMessage("Fetch size should be positive and buffer size should be at least 16 bytes but were 0 and 1024");
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BookExporter(10, 15));
+    }
+
+    @Test
+    public void shouldExportBooksAsCsv() {
+        bookDAO.addAll(List.of(firstBook, secondBook));
+
+        val outputStream = new ByteArrayOutputStream();
+
+        val count = bookExporter.export(outputStream, ExportFormat.CSV);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "ID,NAME,AUTHOR,PRINT_YEAR,IS_READ\n"
+                        + "1,test firstBook,test firstAuthor,2000,false\n"
+                        + "2,\"test \"\"second\"\", Book\",test secondAuthor \\ Ї,2010,true\n"
+        );
+    }
+
+    @Test
+    public void shouldExportBooksAsJsonLines() {
+        bookDAO.addAll(List.of(firstBook, secondBook));
+
+        val outputStream = new ByteArrayOutputStream();
+
+        val count = bookExporter.export(outputStream, ExportFormat.JSON_LINES);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"id\":1,\"name\":\"test firstBook\",\"author\":\"test firstAuthor\",\"printYear\":2000,\"isRead\":false}\n"
+                        + "{\"id\":2,\"name\":\"test \\\"second\\\", Book\",\"author\":\"test secondAuthor \\\\ Ї\","
+                        + "\"printYear\":2010,\"isRead\":true}\n"
+        );
+    }
+
+    @Test
+    public void shouldExportOnlyHeaderIfDatabaseIsEmpty() {
+        val outputStream = new ByteArrayOutputStream();
+
+        assertThat(bookExporter.export(outputStream, ExportFormat.CSV)).isZero();
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("ID,NAME,AUTHOR,PRINT_YEAR,IS_READ\n");
+
+        outputStream.reset();
+
+        assertThat(bookExporter.export(outputStream, ExportFormat.JSON_LINES)).isZero();
+        assertThat(outputStream.size()).isZero();
+    }
+
+    @Test
+    public void shouldExportManyBooksThroughSmallBuffer() throws IOException {
+        val books = new ArrayList<Book>();
+
+        for (int i = 0; i < 1000; i++) {
+            val book = new Book();
+
+            book.setName("test book Ї " + i);
+            book.setAuthor("test author " + i % 10);
+            book.setPrintYear(1900 + i % 120);
+            book.setRead(i % 2 == 0);
+
+            books.add(book);
+        }
+
+        bookDAO.addAll(books);
+
+        val path = temporaryFolder.newFile("books.jsonl").toPath();
+
+        val count = new BookExporter(7, 16).export(path, ExportFormat.JSON_LINES);
+
+        val lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+
+        assertThat(count).isEqualTo(1000);
+        assertThat(lines).hasSize(1000);
+        assertThat(lines.get(999)).isEqualTo(
+                "{\"id\":1000,\"name\":\"test book Ї 999\",\"author\":\"test author 9\",\"printYear\":1939,\"isRead\":false}"
+        );
+    }
+
+    @Test
+    public void shouldImportExportedCsvBack() throws IOException {
+        bookDAO.addAll(List.of(firstBook, secondBook));
+
+        val path = temporaryFolder.newFile("books.csv").toPath();
+
+        Files.write(path, "old content that should be truncated".repeat(10).getBytes(StandardCharsets.UTF_8));
+
+        bookExporter.export(path, ExportFormat.CSV);
+
+        ResetDBUtil.resetDatabase();
+
+        val report = new BookImporter().importCsv(path);
+
+        firstBook.setId(1);
+        secondBook.setId(2);
+
+        assertThat(report.getRowsImported()).isEqualTo(2);
+        assertThat(bookDAO.getAll()).containsExactly(firstBook, secondBook);
+    }
+
+    @Test
+    public void shouldImportExportedCsvWithLineBreaksAndSpacesBackThroughSmallChunks() throws IOException {
+        val books = new ArrayList<Book>();
+
+        for (int i = 0; i < 100; i++) {
+            val book = new Book();
+
+            book.setName(" test book " + i + "\nsecond line,\r\n\"third\" line ");
+            book.setAuthor("test author\n" + i % 10);
+            book.setPrintYear(1900 + i);
+            book.setRead(i % 2 == 0);
+
+            books.add(book);
+        }
+
+        bookDAO.addAll(books);
+
+        val path = temporaryFolder.newFile("books.csv").toPath();
+
+        bookExporter.export(path, ExportFormat.CSV);
+
+        ResetDBUtil.resetDatabase();
+
+        val importOptions = new ImportOptions();
+
+        importOptions.setParserThreads(4);
+        importOptions.setChunkSize(100);
+
+        val report = new BookImporter(importOptions).importCsv(path);
+
+        assertThat(report.getRowsRejected()).isZero();
+        assertThat(report.getRowsImported()).isEqualTo(100);
+        assertThat(bookDAO.getAll())
+                .extracting(Book::getName, Book::getAuthor, Book::getPrintYear, Book::isRead)
+                .containsExactlyInAnyOrderElementsOf(books.stream()
+                        .map(book -> tuple(book.getName(), book.getAuthor(), book.getPrintYear(), book.isRead()))
+                        .collect(Collectors.toList())
+                );
+    }
+
+    @Test
+    public void shouldThrowUncheckedIOExceptionIfFileCanNotBeWritten() {
+        val path = temporaryFolder.getRoot().toPath().resolve("not existing directory").resolve("books.csv");
+
+        assertThatExceptionOfType(UncheckedIOException.class)
+                .isThrownBy(() -> bookExporter.export(path, ExportFormat.CSV));
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenExportWithNullArguments() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> bookExporter.export(new ByteArrayOutputStream(), null))
+                .withMessage("format is marked @NonNull but is null");
+    }
+}
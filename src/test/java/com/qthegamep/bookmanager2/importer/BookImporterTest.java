@@ -0,0 +1,285 @@
+package com.qthegamep.bookmanager2.importer;
+
+import com.qthegamep.bookmanager2.dao.BookBatchWriter;
+import com.qthegamep.bookmanager2.dao.BookDAO;
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.hibernate.HibernateException;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class BookImporterTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private BookImporter bookImporter;
+
+    private ImportOptions importOptions;
+
+    private BookDAO bookDAO;
+
+    @Before
+    public void setUp() {
+        importOptions = new ImportOptions();
+
+        importOptions.setParserThreads(4);
+        importOptions.setWriterThreads(2);
+        importOptions.setBatchSize(7);
+        importOptions.setQueueCapacity(2);
+        importOptions.setChunkSize(256);
+
+        bookImporter = new BookImporter(importOptions);
+
+        bookDAO = new BookDAOImpl();
+    }
+
+    @Test
+    public void shouldCreateObjectWithDefaultOptions() {
+        assertThat(new BookImporter().getImportOptions()).isEqualTo(new ImportOptions());
+    }
+
+    @Test
+    public void shouldImportAllRowsOfFile() throws IOException {
+        val path = writeCsv(createRows(500), "NAME,AUTHOR,PRINT_YEAR,IS_READ");
+
+        val report = bookImporter.importCsv(path);
+
+        assertThat(report.getPath()).isEqualTo(path);
+        assertThat(report.getRowsRead()).isEqualTo(500);
+        assertThat(report.getRowsImported()).isEqualTo(500);
+        assertThat(report.getRowsRejected()).isZero();
+        assertThat(report.getRowsFailed()).isZero();
+        assertThat(report.getRejects()).isEmpty();
+        assertThat(report.getThroughput()).isPositive();
+
+        val books = bookDAO.getAll();
+
+        assertThat(books).hasSize(500);
+        assertThat(books).extracting(Book::getName).containsAll(createNames(500));
+    }
+
+    @Test
+    public void shouldImportFileWithoutHeaderAndWithWindowsLineBreaks() throws IOException {
+        val path = temporaryFolder.newFile("books.csv").toPath();
+
+        Files.write(path, String.join("\r\n", createRows(50)).getBytes(StandardCharsets.UTF_8));
+
+        val report = bookImporter.importCsv(path);
+
+        assertThat(report.getRowsImported()).isEqualTo(50);
+        assertThat(bookDAO.getByName("test book 49")).extracting(Book::getAuthor).containsExactly("test author 9");
+    }
+
+    @Test
+    public void shouldNotSplitRowsAndChunksOnLineBreaksInsideQuotedFields() throws IOException {
+        val rows = new ArrayList<String>();
+
+        for (int i = 0; i < 100; i++) {
+            rows.add("\"test book " + i + "\n" + "\"\"line\"\"\r\n".repeat(i % 5) + "\",test author,2000,true");
+        }
+
+        val path = writeCsv(rows, "NAME,AUTHOR,PRINT_YEAR,IS_READ");
+
+        val report = bookImporter.importCsv(path);
+
+        assertThat(report.getRowsRead()).isEqualTo(100);
+        assertThat(report.getRowsImported()).isEqualTo(100);
+        assertThat(bookDAO.getByName("test book 99\n\"line\"\r\n\"line\"\r\n\"line\"\r\n\"line\"\r\n"))
+                .extracting(Book::getAuthor)
+                .containsExactly("test author");
+    }
+
+    @Test
+    public void shouldRejectIncorrectRowsAndImportCorrectOnes() throws IOException {
+        val rows = createRows(100);
+
+        rows.set(10, "test book,test author,year,true");
+        rows.set(20, ",test author,2000,true");
+        rows.set(30, "");
+
+        val path = writeCsv(rows, "NAME,AUTHOR,PRINT_YEAR,IS_READ");
+
+        val report = bookImporter.importCsv(path);
+
+        assertThat(report.getRowsRead()).isEqualTo(99);
+        assertThat(report.getRowsImported()).isEqualTo(97);
+        assertThat(report.getRowsRejected()).isEqualTo(2);
+        assertThat(report.getRejects())
+                .extracting(Reject::getRow, Reject::getReason)
+                .containsExactlyInAnyOrder(
+                        tuple("test book,test author,year,true", "PRINT_YEAR should be a number but was [year]"),
+                        tuple(",test author,2000,true", "NAME should not be empty")
+                );
+        assertThat(bookDAO.getAll()).hasSize(97);
+    }
+
+    @Test
+    public void shouldReportRejectedRowPosition() throws IOException {
+        val path = writeCsv(List.of("test book,test author,2000,true", "incorrect row"), "NAME,AUTHOR,PRINT_YEAR,IS_READ");
+
+        val report = bookImporter.importCsv(path);
+
+        assertThat(report.getRejects()).hasSize(1);
+
+        val position = report.getRejects().get(0).getPosition();
+        val content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+
+        assertThat(content.substring((int) position)).startsWith("incorrect row");
+    }
+
+    @Test
+    public void shouldKeepOnlyMaxRejectsInReport() throws IOException {
+        importOptions.setMaxRejects(3);
+
+        val path = writeCsv(Collections.nCopies(20, "incorrect row"), "NAME,AUTHOR,PRINT_YEAR,IS_READ");
+
+        val report = bookImporter.importCsv(path);
+
+        assertThat(report.getRowsRejected()).isEqualTo(20);
+        assertThat(report.getRejects()).hasSize(3);
+        assertThat(report.getRowsImported()).isZero();
+    }
+
+    @Test
+    public void shouldReportProgress() throws IOException {
+        val progresses = Collections.synchronizedList(new ArrayList<ImportProgress>());
+
+        importOptions.setProgressListener(progresses::add);
+
+        val path = writeCsv(createRows(100), "NAME,AUTHOR,PRINT_YEAR,IS_READ");
+
+        bookImporter.importCsv(path);
+
+        assertThat(progresses).isNotEmpty();
+
+        val lastProgress = progresses.get(progresses.size() - 1);
+
+        assertThat(lastProgress.getPercent()).isEqualTo(100);
+        assertThat(lastProgress.getRowsImported()).isEqualTo(100);
+        assertThat(lastProgress.getTotalBytes()).isEqualTo(Files.size(path));
+    }
+
+    @Test(timeout = 30_000)
+    public void shouldCountRowsAsFailedAndContinueWhenWriterThrowsRuntimeException() throws IOException {
+        val writer = mock(BookBatchWriter.class);
+
+        when(writer.write(anyList())).thenThrow(new HibernateException("Test exception"));
+
+        val path = writeCsv(createRows(100), "NAME,AUTHOR,PRINT_YEAR,IS_READ");
+
+        val report = new BookImporter(importOptions, () -> writer).importCsv(path);
+
+        assertThat(report.getRowsRead()).isEqualTo(100);
+        assertThat(report.getRowsImported()).isZero();
+        assertThat(report.getRowsFailed()).isEqualTo(100);
+
+        verify(writer, times(15)).write(anyList());
+        verify(writer, times(2)).close();
+    }
+
+    @Test(timeout = 30_000)
+    public void shouldThrowIllegalStateExceptionInsteadOfWaitingWhenAllWritersAreStopped() throws IOException {
+        val writer = mock(BookBatchWriter.class);
+
+        when(writer.write(anyList())).thenThrow(new Error("Test error"));
+
+        val path = writeCsv(createRows(100), "NAME,AUTHOR,PRINT_YEAR,IS_READ");
+        val failingBookImporter = new BookImporter(importOptions, () -> writer);
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> failingBookImporter.importCsv(path))
+                .withMessageContaining("All writers were stopped!");
+
+        verify(writer, times(2)).close();
+    }
+
+    @Test
+    public void shouldImportEmptyFile() throws IOException {
+        val path = temporaryFolder.newFile("books.csv").toPath();
+
+        val report = bookImporter.importCsv(path);
+
+        assertThat(report.getRowsRead()).isZero();
+        assertThat(report.getRowsImported()).isZero();
+        assertThat(bookDAO.getAll()).isEmpty();
+    }
+
+    @Test
+    public void shouldThrowUncheckedIOExceptionIfFileDoesNotExist() {
+        val path = temporaryFolder.getRoot().toPath().resolve("not existing.csv");
+
+        assertThatExceptionOfType(UncheckedIOException.class)
+                .isThrownBy(() -> bookImporter.importCsv(path));
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenImportNullPath() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> bookImporter.importCsv(null))
+                .withMessage("path is marked @NonNull but is null");
+    }
+
+    private Path writeCsv(List<String> rows, String header) throws IOException {
+        val path = temporaryFolder.newFile("books.csv").toPath();
+        val lines = new ArrayList<String>();
+
+        lines.add(header);
+        lines.addAll(rows);
+
+        Files.write(path, lines, StandardCharsets.UTF_8);
+
+        return path;
+    }
+
+    private List<String> createRows(int count) {
+        val rows = new ArrayList<String>(count);
+
+        for (int i = 0; i < count; i++) {
+            rows.add("test book " + i + ",test author " + i % 10 + "," + (1900 + i % 120) + "," + (i % 2 == 0));
+        }
+
+        return rows;
+    }
+
+    private List<String> createNames(int count) {
+        val names = new ArrayList<String>(count);
+
+        for (int i = 0; i < count; i++) {
+            names.add("test book " + i);
+        }
+
+        return names;
+    }
+}
@@ -0,0 +1,147 @@
+package com.qthegamep.bookmanager2.importer;
+
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class CsvBookParserTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+
+    private Book book;
+
+    @Before
+    public void setUp() {
+        book = new Book();
+
+        book.setName("test book");
+        book.setAuthor("test author");
+        book.setPrintYear(2000);
+        book.setRead(true);
+    }
+
+    @Test
+    public void shouldParseRowWithFourColumns() {
+        assertThat(CsvBookParser.parse("test book,test author,2000,true")).isEqualTo(book);
+    }
+
+    @Test
+    public void shouldParseRowWithIdColumnAndIgnoreId() {
+        val parsedBook = CsvBookParser.parse("73,test book,test author,2000,1");
+
+        assertThat(parsedBook).isEqualTo(book);
+        assertThat(parsedBook.getId()).isZero();
+    }
+
+    @Test
+    public void shouldParseQuotedFields() {
+        book.setName("test, \"quoted\" book");
+
+        assertThat(CsvBookParser.parse("\"test, \"\"quoted\"\" book\",\"test author\",2000,TRUE")).isEqualTo(book);
+    }
+
+    @Test
+    public void shouldKeepSpacesOfTextFieldsAndTrimOtherFields() {
+        book.setName(" test book ");
+        book.setAuthor(" test author ");
+        book.setRead(false);
+
+        assertThat(CsvBookParser.parse(" test book , test author , 2000 , false ")).isEqualTo(book);
+    }
+
+    @Test
+    public void shouldParseQuotedFieldsWithLineBreaks() {
+        book.setName("test\nbook");
+        book.setAuthor("test\r\nauthor");
+
+        assertThat(CsvBookParser.parse("\"test\nbook\",\"test\r\nauthor\",2000,true")).isEqualTo(book);
+    }
+
+    @Test
+    public void shouldDetectHeader() {
+        assertThat(CsvBookParser.isHeader("NAME,AUTHOR,PRINT_YEAR,IS_READ")).isTrue();
+        assertThat(CsvBookParser.isHeader("\"id\",\"name\",\"author\",\"printYear\",\"isRead\"")).isTrue();
+        assertThat(CsvBookParser.isHeader("test book,test author,2000,true")).isFalse();
+    }
+
+    @Test
+    public void shouldRejectRowWithWrongCountOfColumns() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> CsvBookParser.parse("test book,test author,2000"))
+                .withMessage("Row should have 4 or 5 columns but has 3");
+    }
+
+    @Test
+    public void shouldRejectRowWithEmptyName() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> CsvBookParser.parse(" ,test author,2000,true"))
+                .withMessage("NAME should not be empty");
+    }
+
+    @Test
+    public void shouldRejectRowWithTooLongAuthor() {
+        val author = "a".repeat(CsvBookParser.MAX_LENGTH + 1);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> CsvBookParser.parse("test book," + author + ",2000,true"))
+                .withMessage("AUTHOR should not be longer than 255 characters");
+    }
+
+    @Test
+    public void shouldRejectRowWithIncorrectPrintYear() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> CsvBookParser.parse("test book,test author,two thousand,true"))
+                .withMessage("PRINT_YEAR should be a number but was [two thousand]");
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> CsvBookParser.parse("test book,test author,-1,true"))
+                .withMessage("PRINT_YEAR should be from 0 to 9999 but was -1");
+    }
+
+    @Test
+    public void shouldRejectRowWithIncorrectIsRead() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> CsvBookParser.parse("test book,test author,2000,yes"))
+                .withMessage("IS_READ should be true, false, 1 or 0 but was [yes]");
+    }
+
+    @Test
+    public void shouldRejectRowWithNotClosedQuote() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> CsvBookParser.parse("\"test book,test author,2000,true"))
+                .withMessage("Quoted field is not closed");
+    }
+
+    @Test
+    public void shouldAppendTextWithoutQuotes() {
+        val row = new StringBuilder("1,");
+
+        CsvBookParser.appendText(row, "test book");
+
+        assertThat(row.toString()).isEqualTo("1,test book");
+    }
+
+    @Test
+    public void shouldAppendQuotedTextThatCanBeParsedBack() {
+        val row = new StringBuilder();
+
+        CsvBookParser.appendText(row, "test \"book\", first");
+        row.append(",test author,2000,true");
+
+        assertThat(row.toString()).isEqualTo("\"test \"\"book\"\", first\",test author,2000,true");
+        assertThat(CsvBookParser.parse(row.toString()).getName()).isEqualTo("test \"book\", first");
+    }
+}
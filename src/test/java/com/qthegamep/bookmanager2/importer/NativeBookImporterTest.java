@@ -0,0 +1,278 @@
+package com.qthegamep.bookmanager2.importer;
+
+import com.qthegamep.bookmanager2.dao.BookDAO;
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQL5Dialect;
+import org.hibernate.dialect.PostgreSQL95Dialect;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class NativeBookImporterTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private NativeBookImporter nativeBookImporter;
+
+    private ImportOptions importOptions;
+
+    private BookDAO bookDAO;
+
+    @Before
+    public void setUp() {
+        importOptions = new ImportOptions();
+
+        importOptions.setImportMode(ImportMode.NATIVE);
+
+        nativeBookImporter = new NativeBookImporter(importOptions);
+
+        bookDAO = new BookDAOImpl();
+    }
+
+    @Test
+    public void shouldCreateObjectWithDefaultOptions() {
+        assertThat(new NativeBookImporter().getImportOptions()).isEqualTo(new ImportOptions());
+    }
+
+    @Test
+    public void shouldImportAllRowsOfFile() throws IOException {
+        val path = writeCsv(createRows(500), "NAME,AUTHOR,PRINT_YEAR,IS_READ");
+
+        val report = nativeBookImporter.importCsv(path);
+
+        assertThat(report.getPath()).isEqualTo(path);
+        assertThat(report.getRowsRead()).isEqualTo(500);
+        assertThat(report.getRowsImported()).isEqualTo(500);
+        assertThat(report.getRowsRejected()).isZero();
+        assertThat(report.getRowsFailed()).isZero();
+
+        val books = bookDAO.getAll();
+
+        assertThat(books).hasSize(500);
+        assertThat(books.get(7).getName()).isEqualTo("test book 7");
+        assertThat(books.get(7).getPrintYear()).isEqualTo(1907);
+        assertThat(books.get(7).isRead()).isFalse();
+        assertThat(books.get(8).isRead()).isTrue();
+    }
+
+    @Test
+    public void shouldImportQuotedFieldsAndWindowsLineBreaks() throws IOException {
+        val path = temporaryFolder.newFile("books.csv").toPath();
+
+        Files.write(path, ("\"test \"\"first\"\", book\",test author Ї,2000,1\r\n"
+                + "5,test secondBook,test author,2010,false\r\n").getBytes(StandardCharsets.UTF_8));
+
+        val report = nativeBookImporter.importCsv(path);
+
+        assertThat(report.getRowsImported()).isEqualTo(2);
+
+        val firstBook = new Book();
+
+        firstBook.setId(1);
+        firstBook.setName("test \"first\", book");
+        firstBook.setAuthor("test author Ї");
+        firstBook.setPrintYear(2000);
+        firstBook.setRead(true);
+
+        val secondBook = new Book();
+
+        secondBook.setId(2);
+        secondBook.setName("test secondBook");
+        secondBook.setAuthor("test author");
+        secondBook.setPrintYear(2010);
+        secondBook.setRead(false);
+
+        assertThat(bookDAO.getAll()).containsExactly(firstBook, secondBook);
+    }
+
+    @Test
+    public void shouldRejectIncorrectRowsAndReportPosition() throws IOException {
+        val rows = createRows(10);
+
+        rows.set(5, "incorrect row");
+
+        val path = writeCsv(rows, "NAME,AUTHOR,PRINT_YEAR,IS_READ");
+
+        val report = nativeBookImporter.importCsv(path);
+
+        assertThat(report.getRowsRead()).isEqualTo(10);
+        assertThat(report.getRowsImported()).isEqualTo(9);
+        assertThat(report.getRowsRejected()).isEqualTo(1);
+        assertThat(report.getRejects()).hasSize(1);
+
+        val position = report.getRejects().get(0).getPosition();
+        val content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+
+        assertThat(content.substring((int) position)).startsWith("incorrect row");
+        assertThat(bookDAO.getAll()).hasSize(9);
+    }
+
+    @Test
+    public void shouldImportRowsLongerThanReadBuffer() throws IOException {
+        val name = String.join("", Collections.nCopies(250, "n"));
+        val author = String.join("", Collections.nCopies(250, "a"));
+
+        val path = writeCsv(List.of(name + "," + author + ",2000,true"), "NAME,AUTHOR,PRINT_YEAR,IS_READ");
+
+        assertThat(nativeBookImporter.importCsv(path).getRowsImported()).isEqualTo(1);
+        assertThat(bookDAO.getAll().get(0).getAuthor()).isEqualTo(author);
+    }
+
+    @Test
+    public void shouldImportQuotedLineBreaksOfRowsThatAreSplitBetweenReadBlocks() throws IOException {
+        val rows = new ArrayList<String>();
+
+        for (int i = 0; i < 2000; i++) {
+            rows.add("\"test book " + i + "\r\nsecond \"\"line\"\"\",test author " + i % 10 + ",2000,true");
+        }
+
+        val path = writeCsv(rows, "NAME,AUTHOR,PRINT_YEAR,IS_READ");
+
+        assertThat(Files.size(path)).isGreaterThan(64 * 1024);
+
+        val report = nativeBookImporter.importCsv(path);
+
+        assertThat(report.getRowsRead()).isEqualTo(2000);
+        assertThat(report.getRowsImported()).isEqualTo(2000);
+        assertThat(bookDAO.getByName("test book 1999\r\nsecond \"line\""))
+                .extracting(Book::getAuthor)
+                .containsExactly("test author 9");
+    }
+
+    @Test
+    public void shouldKeepOnlyMaxRejectsInReport() throws IOException {
+        importOptions.setMaxRejects(3);
+
+        val path = writeCsv(Collections.nCopies(20, "incorrect row"), "NAME,AUTHOR,PRINT_YEAR,IS_READ");
+
+        val report = nativeBookImporter.importCsv(path);
+
+        assertThat(report.getRowsRejected()).isEqualTo(20);
+        assertThat(report.getRejects()).hasSize(3);
+        assertThat(report.getRowsImported()).isZero();
+    }
+
+    @Test
+    public void shouldReportProgressWhenImportIsFinished() throws IOException {
+        val progresses = new ArrayList<ImportProgress>();
+
+        importOptions.setProgressListener(progresses::add);
+
+        val path = writeCsv(createRows(100), "NAME,AUTHOR,PRINT_YEAR,IS_READ");
+
+        nativeBookImporter.importCsv(path);
+
+        assertThat(progresses).hasSize(1);
+        assertThat(progresses.get(0).getPercent()).isEqualTo(100);
+        assertThat(progresses.get(0).getRowsImported()).isEqualTo(100);
+    }
+
+    @Test
+    public void shouldImportEmptyFile() throws IOException {
+        val path = temporaryFolder.newFile("books.csv").toPath();
+
+        val report = nativeBookImporter.importCsv(path);
+
+        assertThat(report.getRowsRead()).isZero();
+        assertThat(report.getRowsImported()).isZero();
+        assertThat(bookDAO.getAll()).isEmpty();
+    }
+
+    @Test
+    public void shouldReturnLoadSqlQueryForH2() {
+        val path = Paths.get("/tmp/book's.csv");
+
+        assertThat(NativeBookImporter.getLoadSqlQuery(new H2Dialect(), path))
+                .isEqualTo("insert into BOOKS (NAME, AUTHOR_ID, PRINT_YEAR, IS_READ) "
+                        + "select c.NAME, a.ID, cast(c.PRINT_YEAR as int), cast(c.IS_READ as boolean) "
+                        + "from CSVREAD('" + path.toAbsolutePath().toString().replace("'", "''") + "', null, 'charset=UTF-8') c "
+                        + "join AUTHORS a on a.NAME = c.AUTHOR");
+    }
+
+    @Test
+    public void shouldReturnLoadSqlQueryForMySQL() {
+        val path = Paths.get("/tmp/book's.csv");
+
+        assertThat(NativeBookImporter.getLoadSqlQuery(new MySQL5Dialect(), path))
+                .startsWith("load data local infile '" + path.toAbsolutePath().toString().replace("'", "\\'") + "' into table BOOKS ")
+                .contains("character set utf8 fields")
+                .endsWith("(NAME, @AUTHOR, PRINT_YEAR, @IS_READ) "
+                        + "set AUTHOR_ID = (select ID from AUTHORS where NAME = @AUTHOR), IS_READ = @IS_READ = '1'");
+    }
+
+    @Test
+    public void shouldThrowUnsupportedOperationExceptionForOtherDialects() {
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> NativeBookImporter.getLoadSqlQuery(new PostgreSQL95Dialect(), Paths.get("books.csv")))
+                .withMessageStartingWith("Native bulk load is not supported for ");
+    }
+
+    @Test
+    public void shouldThrowUncheckedIOExceptionIfFileDoesNotExist() {
+        val path = temporaryFolder.getRoot().toPath().resolve("not existing.csv");
+
+        assertThatExceptionOfType(UncheckedIOException.class)
+                .isThrownBy(() -> nativeBookImporter.importCsv(path));
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenImportNullPath() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> nativeBookImporter.importCsv(null))
+                .withMessage("path is marked @NonNull but is null");
+    }
+
+    private Path writeCsv(List<String> rows, String header) throws IOException {
+        val path = temporaryFolder.newFile("books.csv").toPath();
+        val lines = new ArrayList<String>();
+
+        lines.add(header);
+        lines.addAll(rows);
+
+        Files.write(path, lines, StandardCharsets.UTF_8);
+
+        return path;
+    }
+
+    private List<String> createRows(int count) {
+        val rows = new ArrayList<String>(count);
+
+        for (int i = 0; i < count; i++) {
+            rows.add("test book " + i + ",test author " + i % 10 + "," + (1900 + i % 120) + "," + (i % 2 == 0));
+        }
+
+        return rows;
+    }
+}
@@ -0,0 +1,127 @@
+package com.qthegamep.bookmanager2.listener;
+
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.p6spy.engine.common.ConnectionInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SlowQueryListenerTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+
+    private SlowQueryListener slowQueryListener;
+
+    private ConnectionInformation connectionInformation;
+    private StatementInformation statementInformation;
+
+    @Before
+    public void setUp() {
+        slowQueryListener = new SlowQueryListener(100, 2);
+
+        connectionInformation = ConnectionInformation.fromTestConnection(null);
+        statementInformation = new StatementInformation(connectionInformation);
+
+        statementInformation.setStatementQuery("select * from BOOKS");
+    }
+
+    @Test
+    public void shouldCreateObjectWithNoArgsConstructor() {
+        val defaultSlowQueryListener = new SlowQueryListener();
+
+        assertThat(defaultSlowQueryListener).isNotNull();
+        assertThat(defaultSlowQueryListener.getSlowQueryThreshold()).isEqualTo(500);
+        assertThat(defaultSlowQueryListener.getTransactionStatementThreshold()).isEqualTo(100);
+    }
+
+    @Test
+    public void shouldBeRegisteredAsJdbcEventListener() {
+        val listeners = ServiceLoader.load(JdbcEventListener.class);
+
+        assertThat(StreamSupport.stream(listeners.spliterator(), false))
+                .hasAtLeastOneElementOfType(SlowQueryListener.class);
+    }
+
+    @Test
+    public void shouldNotLogFastStatement() {
+        slowQueryListener.onAfterAnyExecute(statementInformation, TimeUnit.MILLISECONDS.toNanos(99), null);
+
+        assertThat(slowQueryListener.getSlowStatementCount()).isZero();
+        assertThat(slowQueryListener.getStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldLogSlowStatement() {
+        slowQueryListener.onAfterAnyExecute(statementInformation, TimeUnit.MILLISECONDS.toNanos(100), null);
+        slowQueryListener.onAfterAnyExecute(statementInformation, TimeUnit.MILLISECONDS.toNanos(973), null);
+
+        assertThat(slowQueryListener.getSlowStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldResetStatementCountAfterCommit() {
+        slowQueryListener.onAfterAnyExecute(statementInformation, 0, null);
+        slowQueryListener.onAfterAnyExecute(statementInformation, 0, null);
+
+        assertThat(slowQueryListener.getStatementCount()).isEqualTo(2);
+
+        slowQueryListener.onAfterCommit(connectionInformation, 0, null);
+
+        assertThat(slowQueryListener.getStatementCount()).isZero();
+        assertThat(slowQueryListener.getFlaggedTransactionCount()).isZero();
+    }
+
+    @Test
+    public void shouldFlagTransactionWithTooManyStatementsAfterCommit() {
+        for (int i = 0; i < 3; i++) {
+            slowQueryListener.onAfterAnyExecute(statementInformation, 0, null);
+        }
+
+        slowQueryListener.onAfterCommit(connectionInformation, 0, null);
+
+        assertThat(slowQueryListener.getFlaggedTransactionCount()).isEqualTo(1);
+        assertThat(slowQueryListener.getStatementCount()).isZero();
+    }
+
+    @Test
+    public void shouldFlagTransactionWithTooManyStatementsAfterRollback() {
+        for (int i = 0; i < 3; i++) {
+            slowQueryListener.onAfterAnyExecute(statementInformation, 0, null);
+        }
+
+        slowQueryListener.onAfterRollback(connectionInformation, 0, null);
+
+        assertThat(slowQueryListener.getFlaggedTransactionCount()).isEqualTo(1);
+        assertThat(slowQueryListener.getStatementCount()).isZero();
+    }
+
+    @Test
+    public void shouldCountStatementsPerThread() throws InterruptedException {
+        slowQueryListener.onAfterAnyExecute(statementInformation, 0, null);
+
+        val thread = new Thread(() -> slowQueryListener.onAfterAnyExecute(statementInformation, 0, null));
+
+        thread.start();
+        thread.join();
+
+        assertThat(slowQueryListener.getStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,121 @@
+package com.qthegamep.bookmanager2.metrics;
+
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class HistogramTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+
+    private Histogram histogram;
+
+    @Before
+    public void setUp() {
+        histogram = new Histogram();
+    }
+
+    @Test
+    public void shouldBeEmptyAfterCreation() {
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.getSum()).isZero();
+        assertThat(histogram.getMax()).isZero();
+        assertThat(histogram.getMean()).isZero();
+        assertThat(histogram.getPercentile(99)).isZero();
+    }
+
+    @Test
+    public void shouldRecordValuesCorrectly() {
+        histogram.record(10);
+        histogram.record(20);
+        histogram.record(30);
+
+        assertThat(histogram.getCount()).isEqualTo(3);
+        assertThat(histogram.getSum()).isEqualTo(60);
+        assertThat(histogram.getMax()).isEqualTo(30);
+        assertThat(histogram.getMean()).isEqualTo(20);
+    }
+
+    @Test
+    public void shouldRecordNegativeValueAsZero() {
+        histogram.record(-5);
+
+        assertThat(histogram.getCount()).isEqualTo(1);
+        assertThat(histogram.getSum()).isZero();
+        assertThat(histogram.getPercentile(100)).isZero();
+    }
+
+    @Test
+    public void shouldReturnPercentilesWithBoundedRelativeError() {
+        IntStream.rangeClosed(1, 100_000).forEach(histogram::record);
+
+        assertThat(histogram.getPercentile(50)).isBetween(50_000L, 53_125L);
+        assertThat(histogram.getPercentile(99)).isBetween(99_000L, 100_000L);
+        assertThat(histogram.getPercentile(100)).isEqualTo(100_000);
+        assertThat(histogram.getPercentile(0)).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReturnExactPercentilesForSmallValues() {
+        IntStream.rangeClosed(1, 10).forEach(histogram::record);
+
+        assertThat(histogram.getPercentile(50)).isEqualTo(5);
+        assertThat(histogram.getPercentile(90)).isEqualTo(9);
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenPercentileIsIncorrect() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> histogram.getPercentile(101))
+                .withMessage("Percentile should be from 0 to 100 but was 101.0");
+    }
+
+    @Test
+    public void shouldMapEveryValueToBucketThatContainsIt() {
+        val values = new long[]{0, 1, 15, 16, 17, 31, 32, 33, 1_000, 123_456_789, Long.MAX_VALUE};
+
+        for (val value : values) {
+            val index = Histogram.bucketIndex(value);
+
+            assertThat(Histogram.bucketUpperBound(index)).isGreaterThanOrEqualTo(value);
+
+            if (index > 0) {
+                assertThat(Histogram.bucketUpperBound(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    public void shouldRecordConcurrentlyWithoutLosingValues() {
+        IntStream.range(0, 100_000).parallel().forEach(i -> histogram.record(i % 1_000));
+
+        assertThat(histogram.getCount()).isEqualTo(100_000);
+        assertThat(histogram.getMax()).isEqualTo(999);
+    }
+
+    @Test
+    public void shouldResetCorrectly() {
+        histogram.record(100);
+
+        histogram.reset();
+
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.getMax()).isZero();
+        assertThat(histogram.getPercentile(50)).isZero();
+    }
+}
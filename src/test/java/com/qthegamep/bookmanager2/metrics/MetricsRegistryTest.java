@@ -0,0 +1,120 @@
+package com.qthegamep.bookmanager2.metrics;
+
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class MetricsRegistryTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+
+    private MetricsRegistry metricsRegistry;
+
+    @Before
+    public void setUp() {
+        metricsRegistry = new MetricsRegistry("TestScope");
+    }
+
+    @After
+    public void tearDown() {
+        metricsRegistry.unregisterMBeans();
+    }
+
+    @Test
+    public void shouldReturnSameOperationMetricsByName() {
+        val operation = metricsRegistry.operation("add");
+
+        assertThat(metricsRegistry.operation("add")).isSameAs(operation);
+        assertThat(operation.getName()).isEqualTo("add");
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenScopeIsNull() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> new MetricsRegistry(null))
+                .withMessage("scope is marked @NonNull but is null");
+    }
+
+    @Test
+    public void shouldReturnOperationsSortedByName() {
+        metricsRegistry.operation("remove");
+        metricsRegistry.operation("add");
+        metricsRegistry.operation("getAll");
+
+        assertThat(metricsRegistry.getOperations())
+                .extracting(OperationMetrics::getName)
+                .containsExactly("add", "getAll", "remove");
+    }
+
+    @Test
+    public void shouldRecordCallsErrorsAndSizes() {
+        val operation = metricsRegistry.operation("addAll");
+        val start = System.nanoTime();
+
+        operation.recordSuccess(start, 10);
+        operation.recordSuccess(start, 30);
+        operation.recordError(start);
+
+        assertThat(operation.getCalls()).isEqualTo(3);
+        assertThat(operation.getErrors()).isEqualTo(1);
+        assertThat(operation.getMeanSize()).isEqualTo(20);
+        assertThat(operation.getMaxSize()).isEqualTo(30);
+        assertThat(operation.getLatency().getCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldDumpAllOperations() {
+        metricsRegistry.operation("add").recordSuccess(System.nanoTime());
+        metricsRegistry.operation("getAll").recordSuccess(System.nanoTime(), 5);
+
+        val dump = metricsRegistry.dump();
+
+        assertThat(dump.split(System.lineSeparator())).hasSize(3);
+        assertThat(dump)
+                .startsWith("TestScope")
+                .contains("add", "getAll", "p99, us");
+    }
+
+    @Test
+    public void shouldResetAllOperations() {
+        metricsRegistry.operation("add").recordSuccess(System.nanoTime());
+
+        metricsRegistry.reset();
+
+        assertThat(metricsRegistry.operation("add").getCalls()).isZero();
+    }
+
+    @Test
+    public void shouldRegisterAndUnregisterMBeans() throws Exception {
+        metricsRegistry.registerMBeans(List.of("add", "getAll"));
+        metricsRegistry.operation("add").recordSuccess(System.nanoTime());
+
+        val mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        val objectName = metricsRegistry.objectName("add");
+
+        assertThat(mBeanServer.isRegistered(objectName)).isTrue();
+        assertThat(mBeanServer.getAttribute(objectName, "Calls")).isEqualTo(1L);
+
+        metricsRegistry.registerMBeans();
+        metricsRegistry.unregisterMBeans();
+
+        assertThat(mBeanServer.isRegistered(objectName)).isFalse();
+    }
+}
@@ -0,0 +1,139 @@
+package com.qthegamep.bookmanager2.performance;
+
+import com.qthegamep.bookmanager2.dao.BookDAO;
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.testhelper.util.ResetDBUtil;
+
+import lombok.val;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * This performance test runs {@link BookDAOImpl} operations on a large dataset and fails
+ * when an operation takes longer than its baseline in performance/baseline.properties with the tolerance.
+ * It is run by the performance maven profile: mvn test -P h2-database,performance.
+ * The dataset is loaded once before the class and every test leaves it unchanged.
+ * Size of the dataset can be changed by the performance.books system property,
+ * the baseline is recorded for the default size.
+ */
+public class BookDAOImplPerformanceTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch performanceGateRule = Rules.PERFORMANCE_GATE_RULE;
+
+    private static final int BOOKS = Integer.getInteger("performance.books", 10_000);
+    private static final int AUTHORS = 100;
+    private static final int YEARS = 120;
+
+    private static final String AUTHOR = "performance author ";
+    private static final String NEW_AUTHOR = "performance new author ";
+
+    private static BookDAO bookDAO;
+
+    @BeforeClass
+    public static void setUpClass() {
+        ResetDBUtil.resetDatabase();
+
+        bookDAO = new BookDAOImpl();
+        bookDAO.addAll(createBooks(AUTHOR, AUTHORS));
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        ResetDBUtil.resetDatabase();
+    }
+
+    @Test
+    public void shouldAddAllBooks() {
+        bookDAO.addAll(createBooks(NEW_AUTHOR, 1));
+
+        val newBooks = bookDAO.getByAuthor(NEW_AUTHOR + 0);
+
+        assertThat(newBooks).hasSize(BOOKS);
+
+        bookDAO.removeAll(newBooks);
+    }
+
+    @Test
+    public void shouldGetAllBooks() {
+        assertThat(bookDAO.getAll()).hasSize(BOOKS);
+    }
+
+    @Test
+    public void shouldGetBooksById() {
+        for (int id = 1; id <= BOOKS; id += Math.max(1, BOOKS / 1000)) {
+            assertThat(bookDAO.getById(id).getId()).isEqualTo(id);
+        }
+    }
+
+    @Test
+    public void shouldGetBooksByAuthor() {
+        for (int i = 0; i < AUTHORS; i++) {
+            assertThat(bookDAO.getByAuthor(AUTHOR + i)).hasSize(BOOKS / AUTHORS);
+        }
+    }
+
+    @Test
+    public void shouldGetBooksByPrintYear() {
+        var books = 0;
+
+        for (int i = 0; i < YEARS; i++) {
+            books += bookDAO.getByPrintYear(1900 + i).size();
+        }
+
+        assertThat(books).isEqualTo(BOOKS);
+    }
+
+    @Test
+    public void shouldUpdateAllBooks() {
+        val books = bookDAO.getByIsRead(true);
+
+        bookDAO.updateAll(books);
+
+        assertThat(bookDAO.getByIsRead(true)).hasSameSizeAs(books);
+    }
+
+    @Test
+    public void shouldRemoveAllBooks() {
+        bookDAO.addAll(createBooks(NEW_AUTHOR, 1));
+
+        bookDAO.removeAll(bookDAO.getByAuthor(NEW_AUTHOR + 0));
+
+        assertThat(bookDAO.getByAuthor(NEW_AUTHOR + 0)).isEmpty();
+    }
+
+    private static List<Book> createBooks(String author, int authors) {
+        val books = new ArrayList<Book>(BOOKS);
+
+        for (int i = 0; i < BOOKS; i++) {
+            val book = new Book();
+
+            book.setName("performance book " + i);
+            book.setAuthor(author + i % authors);
+            book.setPrintYear(1900 + i % YEARS);
+            book.setRead(i % 2 == 0);
+
+            books.add(book);
+        }
+
+        return books;
+    }
+}
@@ -0,0 +1,254 @@
+package com.qthegamep.bookmanager2.reactive;
+
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class BookPublisherTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private static final Executor DIRECT_EXECUTOR = Runnable::run;
+
+    private List<Book> books;
+
+    @Before
+    public void setUp() {
+        books = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            val book = new Book();
+
+            book.setName("test book " + i);
+            book.setAuthor(i % 2 == 0 ? "test evenAuthor" : "test oddAuthor");
+            book.setPrintYear(2000 + i % 2);
+            book.setRead(i % 2 == 0);
+
+            books.add(book);
+        }
+
+        new BookDAOImpl().addAll(books);
+    }
+
+    @Test
+    public void shouldImplementsPublisherInterface() {
+        assertThat(BookPublisher.all()).isInstanceOf(Flow.Publisher.class);
+    }
+
+    @Test
+    public void shouldCreatePublisherWithDefaultChunkSizeAndCommonPool() {
+        val bookPublisher = BookPublisher.all();
+
+        assertThat(bookPublisher.getChunkSize()).isEqualTo(BookPublisher.DEFAULT_CHUNK_SIZE);
+        assertThat(bookPublisher.getExecutor()).isSameAs(ForkJoinPool.commonPool());
+    }
+
+    @Test
+    public void shouldPublishAllBooksInOrderOfIdWithChunks() {
+        val subscriber = new RecordingSubscriber();
+
+        BookPublisher.all(2, DIRECT_EXECUTOR).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.books).containsExactlyElementsOf(books);
+        assertThat(subscriber.completed).isTrue();
+        assertThat(subscriber.error).isNull();
+    }
+
+    @Test
+    public void shouldNotReadBooksWithoutRequest() {
+        val subscriber = new RecordingSubscriber();
+
+        BookPublisher.all(2, DIRECT_EXECUTOR).subscribe(subscriber);
+
+        assertThat(subscriber.subscription).isNotNull();
+        assertThat(subscriber.books).isEmpty();
+        assertThat(subscriber.completed).isFalse();
+    }
+
+    @Test
+    public void shouldPublishOnlyRequestedCountOfBooks() {
+        val subscriber = new RecordingSubscriber();
+
+        BookPublisher.all(2, DIRECT_EXECUTOR).subscribe(subscriber);
+
+        subscriber.subscription.request(3);
+
+        assertThat(subscriber.books).containsExactlyElementsOf(books.subList(0, 3));
+        assertThat(subscriber.completed).isFalse();
+
+        subscriber.subscription.request(2);
+
+        assertThat(subscriber.books).containsExactlyElementsOf(books);
+        assertThat(subscriber.completed).isFalse();
+
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.books).hasSize(5);
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    @Test
+    public void shouldPublishBooksByFinders() {
+        assertThat(publishAll(BookPublisher.byName("test book 1", 2, DIRECT_EXECUTOR)))
+                .containsExactly(books.get(1));
+        assertThat(publishAll(BookPublisher.byAuthor("test evenAuthor", 2, DIRECT_EXECUTOR)))
+                .containsExactly(books.get(0), books.get(2), books.get(4));
+        assertThat(publishAll(BookPublisher.byPrintYear(2001, 2, DIRECT_EXECUTOR)))
+                .containsExactly(books.get(1), books.get(3));
+        assertThat(publishAll(BookPublisher.byIsRead(false, 2, DIRECT_EXECUTOR)))
+                .containsExactly(books.get(1), books.get(3));
+    }
+
+    @Test
+    public void shouldCompleteWithoutBooksWhenNothingIsFound() {
+        assertThat(publishAll(BookPublisher.byAuthor("test unknownAuthor", 2, DIRECT_EXECUTOR))).isEmpty();
+    }
+
+    @Test
+    public void shouldStopPublishingAfterCancel() {
+        val subscriber = new RecordingSubscriber() {
+
+            @Override
+            public void onNext(Book book) {
+                super.onNext(book);
+
+                if (books.size() == 2) {
+                    subscription.cancel();
+                }
+            }
+        };
+
+        BookPublisher.all(10, DIRECT_EXECUTOR).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.books).hasSize(2);
+        assertThat(subscriber.completed).isFalse();
+    }
+
+    @Test
+    public void shouldSignalErrorWhenRequestedCountIsNotPositive() {
+        val subscriber = new RecordingSubscriber();
+
+        BookPublisher.all(2, DIRECT_EXECUTOR).subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertThat(subscriber.error)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Requested count should be positive but was 0");
+        assertThat(subscriber.books).isEmpty();
+    }
+
+    @Test
+    public void shouldPublishBooksOneByOneOnExecutor() throws InterruptedException {
+        val subscriber = new RecordingSubscriber() {
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                super.onSubscribe(subscription);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Book book) {
+                super.onNext(book);
+                subscription.request(1);
+            }
+        };
+
+        BookPublisher.all(2, ForkJoinPool.commonPool()).subscribe(subscriber);
+
+        assertThat(subscriber.terminated.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.books).containsExactlyElementsOf(books);
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenChunkSizeIsNotPositive() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> BookPublisher.all(0, DIRECT_EXECUTOR))
+                .withMessage("Chunk size should be positive but was 0");
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenSubscribeNullSubscriber() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> BookPublisher.all().subscribe(null))
+                .withMessage("subscriber is marked @NonNull but is null");
+    }
+
+    private List<Book> publishAll(BookPublisher bookPublisher) {
+        val subscriber = new RecordingSubscriber();
+
+        bookPublisher.subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.completed).isTrue();
+
+        return subscriber.books;
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<Book> {
+
+        protected final List<Book> books = new CopyOnWriteArrayList<>();
+        protected final CountDownLatch terminated = new CountDownLatch(1);
+
+        protected volatile Flow.Subscription subscription;
+        protected volatile Throwable error;
+        protected volatile boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Book book) {
+            books.add(book);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            terminated.countDown();
+        }
+    }
+}
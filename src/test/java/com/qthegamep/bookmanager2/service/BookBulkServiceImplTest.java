@@ -0,0 +1,83 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.bulk.BulkReport;
+import com.qthegamep.bookmanager2.bulk.PartitionedBookWriter;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BookBulkServiceImplTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+
+    private BookBulkService bookBulkService;
+
+    @Mock
+    private PartitionedBookWriter partitionedBookWriterMock;
+
+    private List<Book> books;
+
+    private BulkReport report;
+
+    @Before
+    public void setUp() {
+        bookBulkService = new BookBulkServiceImpl();
+
+        ((BookBulkServiceImpl) bookBulkService).setPartitionedBookWriter(partitionedBookWriterMock);
+
+        books = List.of(new Book(), new Book());
+
+        report = new BulkReport(2, 2, 0, 1, List.of(), 1000);
+    }
+
+    @Test
+    public void shouldCreateObjectWithDefaultWriter() {
+        assertThat(new BookBulkServiceImpl().getPartitionedBookWriter()).isNotNull();
+    }
+
+    @Test
+    public void shouldUpdateAllWithPartitionedWriter() {
+        when(partitionedBookWriterMock.updateAll(books)).thenReturn(report);
+
+        assertThat(bookBulkService.updateAll(books)).isEqualTo(report);
+
+        verify(partitionedBookWriterMock, times(1)).updateAll(books);
+    }
+
+    @Test
+    public void shouldRemoveAllWithPartitionedWriter() {
+        when(partitionedBookWriterMock.removeAll(books)).thenReturn(report);
+
+        assertThat(bookBulkService.removeAll(books)).isEqualTo(report);
+
+        verify(partitionedBookWriterMock, times(1)).removeAll(books);
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenSetNullWriter() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> ((BookBulkServiceImpl) bookBulkService).setPartitionedBookWriter(null))
+                .withMessage("partitionedBookWriter is marked @NonNull but is null");
+    }
+}
@@ -0,0 +1,67 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.dao.BookChangeLog;
+import com.qthegamep.bookmanager2.entity.BookChange;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BookChangeServiceImplTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+
+    private BookChangeService bookChangeService;
+
+    @Mock
+    private BookChangeLog bookChangeLogMock;
+
+    @Before
+    public void setUp() {
+        bookChangeService = new BookChangeServiceImpl();
+
+        ((BookChangeServiceImpl) bookChangeService).setBookChangeLog(bookChangeLogMock);
+    }
+
+    @Test
+    public void shouldCreateObjectWithDefaultChangeLog() {
+        assertThat(new BookChangeServiceImpl().getBookChangeLog()).isNotNull();
+    }
+
+    @Test
+    public void shouldGetChangesSinceSequenceWithChangeLog() {
+        val change = new BookChange();
+
+        when(bookChangeLogMock.changesSince(5, 10)).thenReturn(List.of(change));
+
+        assertThat(bookChangeService.changesSince(5, 10)).containsExactly(change);
+
+        verify(bookChangeLogMock, times(1)).changesSince(5, 10);
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenSetNullChangeLog() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> ((BookChangeServiceImpl) bookChangeService).setBookChangeLog(null))
+                .withMessage("bookChangeLog is marked @NonNull but is null");
+    }
+}
@@ -0,0 +1,79 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.exporter.BookExporter;
+import com.qthegamep.bookmanager2.exporter.ExportFormat;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BookExportServiceImplTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+
+    private BookExportService bookExportService;
+
+    @Mock
+    private BookExporter bookExporterMock;
+
+    @Before
+    public void setUp() {
+        bookExportService = new BookExportServiceImpl();
+
+        ((BookExportServiceImpl) bookExportService).setBookExporter(bookExporterMock);
+    }
+
+    @Test
+    public void shouldCreateObjectWithDefaultExporter() {
+        assertThat(new BookExportServiceImpl().getBookExporter()).isNotNull();
+    }
+
+    @Test
+    public void shouldExportToFileWithExporter() {
+        val path = Paths.get("books.csv");
+
+        when(bookExporterMock.export(path, ExportFormat.CSV)).thenReturn(2L);
+
+        assertThat(bookExportService.export(path, ExportFormat.CSV)).isEqualTo(2);
+
+        verify(bookExporterMock, times(1)).export(path, ExportFormat.CSV);
+    }
+
+    @Test
+    public void shouldExportToOutputStreamWithExporter() {
+        val outputStream = new ByteArrayOutputStream();
+
+        when(bookExporterMock.export(outputStream, ExportFormat.JSON_LINES)).thenReturn(3L);
+
+        assertThat(bookExportService.export(outputStream, ExportFormat.JSON_LINES)).isEqualTo(3);
+
+        verify(bookExporterMock, times(1)).export(outputStream, ExportFormat.JSON_LINES);
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenSetNullExporter() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> ((BookExportServiceImpl) bookExportService).setBookExporter(null))
+                .withMessage("bookExporter is marked @NonNull but is null");
+    }
+}
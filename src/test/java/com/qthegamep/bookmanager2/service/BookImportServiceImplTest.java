@@ -0,0 +1,122 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.importer.ImportMode;
+import com.qthegamep.bookmanager2.importer.ImportOptions;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class BookImportServiceImplTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private BookImportService bookImportService;
+
+    @Before
+    public void setUp() {
+        bookImportService = new BookImportServiceImpl();
+    }
+
+    @Test
+    public void shouldCreateObjectWithDefaultOptions() {
+        assertThat(((BookImportServiceImpl) bookImportService).getImportOptions()).isEqualTo(new ImportOptions());
+    }
+
+    @Test
+    public void shouldImportCsvFile() throws IOException {
+        val path = temporaryFolder.newFile("books.csv").toPath();
+
+        Files.write(path, List.of(
+                "NAME,AUTHOR,PRINT_YEAR,IS_READ",
+                "test firstBook,test firstAuthor,2000,false",
+                "test secondBook,test secondAuthor,2010,true"
+        ), StandardCharsets.UTF_8);
+
+        val report = bookImportService.importCsv(path);
+
+        assertThat(report.getRowsImported()).isEqualTo(2);
+        assertThat(new BookDAOImpl().getAll()).hasSize(2);
+    }
+
+    @Test
+    public void shouldUseGivenOptions() throws IOException {
+        val importOptions = new ImportOptions();
+
+        importOptions.setMaxRejects(0);
+
+        ((BookImportServiceImpl) bookImportService).setImportOptions(importOptions);
+
+        val path = temporaryFolder.newFile("books.csv").toPath();
+
+        Files.write(path, List.of("incorrect row"), StandardCharsets.UTF_8);
+
+        val report = bookImportService.importCsv(path);
+
+        assertThat(report.getRowsRejected()).isEqualTo(1);
+        assertThat(report.getRejects()).isEmpty();
+    }
+
+    @Test
+    public void shouldImportCsvFileWithNativeLoader() throws IOException {
+        val importOptions = new ImportOptions();
+
+        importOptions.setImportMode(ImportMode.NATIVE);
+
+        ((BookImportServiceImpl) bookImportService).setImportOptions(importOptions);
+
+        val path = temporaryFolder.newFile("books.csv").toPath();
+
+        Files.write(path, List.of(
+                "NAME,AUTHOR,PRINT_YEAR,IS_READ",
+                "test firstBook,test firstAuthor,2000,false",
+                "incorrect row",
+                "test secondBook,test secondAuthor,2010,true"
+        ), StandardCharsets.UTF_8);
+
+        val report = bookImportService.importCsv(path);
+
+        assertThat(report.getRowsImported()).isEqualTo(2);
+        assertThat(report.getRowsRejected()).isEqualTo(1);
+        assertThat(new BookDAOImpl().getAll()).hasSize(2);
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenSetNullOptions() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> ((BookImportServiceImpl) bookImportService).setImportOptions(null))
+                .withMessage("importOptions is marked @NonNull but is null");
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenImportNullPath() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> bookImportService.importCsv(null))
+                .withMessage("path is marked @NonNull but is null");
+    }
+}
@@ -0,0 +1,124 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.reactive.BookPublisher;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class BookPublisherServiceImplTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+
+    private BookPublisherService bookPublisherService;
+
+    private Book firstBook;
+    private Book secondBook;
+
+    @Before
+    public void setUp() {
+        bookPublisherService = new BookPublisherServiceImpl();
+
+        ((BookPublisherServiceImpl) bookPublisherService).setChunkSize(1);
+        ((BookPublisherServiceImpl) bookPublisherService).setExecutor(Runnable::run);
+
+        firstBook = new Book();
+
+        firstBook.setName("test firstBook");
+        firstBook.setAuthor("test firstAuthor");
+        firstBook.setPrintYear(2000);
+        firstBook.setRead(false);
+
+        secondBook = new Book();
+
+        secondBook.setName("test secondBook");
+        secondBook.setAuthor("test secondAuthor");
+        secondBook.setPrintYear(2010);
+        secondBook.setRead(true);
+
+        new BookDAOImpl().addAll(List.of(firstBook, secondBook));
+    }
+
+    @Test
+    public void shouldCreateObjectWithDefaultChunkSizeAndCommonPool() {
+        val defaultService = new BookPublisherServiceImpl();
+
+        assertThat(defaultService.getChunkSize()).isEqualTo(BookPublisher.DEFAULT_CHUNK_SIZE);
+        assertThat(defaultService.getExecutor()).isSameAs(ForkJoinPool.commonPool());
+    }
+
+    @Test
+    public void shouldPublishBooksWithConfiguredChunkSize() {
+        val publisher = bookPublisherService.publishAll();
+
+        assertThat(publisher).isInstanceOf(BookPublisher.class);
+        assertThat(((BookPublisher) publisher).getChunkSize()).isEqualTo(1);
+        assertThat(collect(publisher)).containsExactly(firstBook, secondBook);
+    }
+
+    @Test
+    public void shouldPublishBooksByFinders() {
+        assertThat(collect(bookPublisherService.publishByName("test secondBook"))).containsExactly(secondBook);
+        assertThat(collect(bookPublisherService.publishByAuthor("test firstAuthor"))).containsExactly(firstBook);
+        assertThat(collect(bookPublisherService.publishByPrintYear(2010))).containsExactly(secondBook);
+        assertThat(collect(bookPublisherService.publishByIsRead(false))).containsExactly(firstBook);
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenSetNullExecutor() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> ((BookPublisherServiceImpl) bookPublisherService).setExecutor(null))
+                .withMessage("executor is marked @NonNull but is null");
+    }
+
+    private List<Book> collect(Flow.Publisher<Book> publisher) {
+        val books = new ArrayList<Book>();
+
+        publisher.subscribe(new Flow.Subscriber<>() {
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Book book) {
+                books.add(book);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable.getMessage());
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        return books;
+    }
+}
@@ -1,7 +1,9 @@
 package com.qthegamep.bookmanager2.service;
 
+import com.qthegamep.bookmanager2.dao.BookCriteria;
 import com.qthegamep.bookmanager2.dao.BookDAO;
 import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.dao.UpdateResult;
 import com.qthegamep.bookmanager2.entity.Book;
 import com.qthegamep.bookmanager2.testhelper.rule.Rules;
 
@@ -157,6 +159,11 @@ public class BookServiceImplTest {
         assertThat(book).isEqualTo(firstBook);
     }
 
+    @Test
+    public void shouldReturnNullWhenGetByIdBookIsNotExist() {
+        assertThat(bookService.getById(1)).isNull();
+    }
+
     @Test
     public void shouldCallGetByIdMethodCorrectly() {
         bookServiceWithMock.getById(1);
@@ -166,6 +173,29 @@ public class BookServiceImplTest {
         verifyNoMoreInteractions(bookDAOMock);
     }
 
+    @Test
+    public void shouldGetByIdsBooksCorrectly() {
+        bookDAO.addAll(books);
+
+        val result = bookService.getByIds(new int[]{2, 3, 1});
+
+        assertThat(result.getBooks()).containsExactly(secondBook, firstBook);
+        assertThat(result.getMissingIds()).containsExactly(3);
+    }
+
+    @Test
+    public void shouldCallGetByIdsMethodsCorrectly() {
+        val ids = new int[]{1, 2};
+
+        bookServiceWithMock.getByIds(ids);
+        bookServiceWithMock.getByIds(List.of(1, 2));
+
+        verify(bookDAOMock, times(1)).getByIds(ids);
+        verify(bookDAOMock, times(1)).getByIds(List.of(1, 2));
+
+        verifyNoMoreInteractions(bookDAOMock);
+    }
+
     @Test
     public void shouldGetByNameBooksCorrectly() {
         bookDAO.addAll(books);
@@ -266,6 +296,52 @@ public class BookServiceImplTest {
         verifyNoMoreInteractions(bookDAOMock);
     }
 
+    @Test
+    public void shouldSearchBooksCorrectly() {
+        bookDAO.addAll(books);
+
+        val criteria = new BookCriteria();
+
+        criteria.setAuthor(secondBook.getAuthor());
+        criteria.setIsRead(secondBook.isRead());
+
+        val foundBooks = bookService.search(criteria);
+
+        assertThat(foundBooks).containsExactly(secondBook);
+    }
+
+    @Test
+    public void shouldCallSearchMethodCorrectly() {
+        val criteria = new BookCriteria();
+
+        bookServiceWithMock.search(criteria);
+
+        verify(bookDAOMock, times(1)).search(criteria);
+
+        verifyNoMoreInteractions(bookDAOMock);
+    }
+
+    @Test
+    public void shouldCheckExistenceOfBooksCorrectly() {
+        bookDAO.addAll(books);
+
+        assertThat(bookService.existsByName(firstBook.getName())).isTrue();
+        assertThat(bookService.existsByName("test thirdBook")).isFalse();
+        assertThat(bookService.existsByAuthor(secondBook.getAuthor())).isTrue();
+        assertThat(bookService.existsByAuthor("test thirdAuthor")).isFalse();
+    }
+
+    @Test
+    public void shouldCallExistsMethodsCorrectly() {
+        bookServiceWithMock.existsByName("test firstBook");
+        bookServiceWithMock.existsByAuthor("test firstAuthor");
+
+        verify(bookDAOMock, times(1)).existsByName("test firstBook");
+        verify(bookDAOMock, times(1)).existsByAuthor("test firstAuthor");
+
+        verifyNoMoreInteractions(bookDAOMock);
+    }
+
     @Test
     public void shouldUpdateBookCorrectly() {
         bookDAO.add(firstBook);
@@ -290,6 +366,34 @@ public class BookServiceImplTest {
         verifyNoMoreInteractions(bookDAOMock);
     }
 
+    @Test
+    public void shouldReturnConflictWhenUpdateStaleBook() {
+        bookDAO.add(firstBook);
+
+        val staleBook = bookService.getById(firstBook.getId());
+
+        firstBook.setPrintYear(9999);
+
+        assertThat(bookService.update(firstBook).isConflicted()).isFalse();
+
+        staleBook.setPrintYear(8888);
+
+        val updateResult = bookService.update(staleBook);
+
+        assertThat(updateResult.isConflicted()).isTrue();
+        assertThat(updateResult.getConflicts()).containsExactly(staleBook);
+        assertThat(bookDAO.getById(firstBook.getId()).getPrintYear()).isEqualTo(9999);
+    }
+
+    @Test
+    public void shouldReturnUpdateResultOfDAO() {
+        val updateResult = new UpdateResult(0, List.of(firstBook));
+
+        when(bookDAOMock.updateAll(books)).thenReturn(updateResult);
+
+        assertThat(bookServiceWithMock.updateAll(books)).isSameAs(updateResult);
+    }
+
     @Test
     public void shouldUpdateAllBooksCorrectly() {
         bookDAO.addAll(books);
@@ -355,6 +459,26 @@ public class BookServiceImplTest {
         verifyNoMoreInteractions(bookDAOMock);
     }
 
+    @Test
+    public void shouldUpsertAllBooksCorrectly() {
+        bookService.upsertAll(books);
+
+        firstBook.setRead(true);
+
+        bookService.upsertAll(books);
+
+        assertThat(bookDAO.getAll()).containsExactly(firstBook, secondBook);
+    }
+
+    @Test
+    public void shouldCallUpsertAllMethodCorrectly() {
+        bookServiceWithMock.upsertAll(books);
+
+        verify(bookDAOMock, times(1)).upsertAll(books);
+
+        verifyNoMoreInteractions(bookDAOMock);
+    }
+
     @Test
     public void shouldThrowNullPointerExceptionWhenBookDAOIsNull() {
         ((BookServiceImpl) bookService).setBookDAO(null);
@@ -0,0 +1,77 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.snapshot.BookSnapshot;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BookSnapshotServiceImplTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+
+    private BookSnapshotService bookSnapshotService;
+
+    @Mock
+    private BookSnapshot bookSnapshotMock;
+
+    @Before
+    public void setUp() {
+        bookSnapshotService = new BookSnapshotServiceImpl();
+
+        ((BookSnapshotServiceImpl) bookSnapshotService).setBookSnapshot(bookSnapshotMock);
+    }
+
+    @Test
+    public void shouldCreateObjectWithDefaultSnapshot() {
+        assertThat(new BookSnapshotServiceImpl().getBookSnapshot()).isNotNull();
+    }
+
+    @Test
+    public void shouldWriteSnapshotWithBookSnapshot() {
+        val path = Paths.get("books.snapshot");
+
+        when(bookSnapshotMock.snapshot(path)).thenReturn(2L);
+
+        assertThat(bookSnapshotService.snapshot(path)).isEqualTo(2);
+
+        verify(bookSnapshotMock, times(1)).snapshot(path);
+    }
+
+    @Test
+    public void shouldRestoreSnapshotWithBookSnapshot() {
+        val path = Paths.get("books.snapshot");
+
+        when(bookSnapshotMock.restore(path)).thenReturn(3L);
+
+        assertThat(bookSnapshotService.restore(path)).isEqualTo(3);
+
+        verify(bookSnapshotMock, times(1)).restore(path);
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenSetNullSnapshot() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> ((BookSnapshotServiceImpl) bookSnapshotService).setBookSnapshot(null))
+                .withMessage("bookSnapshot is marked @NonNull but is null");
+    }
+}
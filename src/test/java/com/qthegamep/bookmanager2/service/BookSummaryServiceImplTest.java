@@ -0,0 +1,84 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.dao.BookSummaryDAO;
+import com.qthegamep.bookmanager2.entity.BookSummary;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BookSummaryServiceImplTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+
+    private BookSummaryService bookSummaryService;
+
+    @Mock
+    private BookSummaryDAO bookSummaryDAOMock;
+
+    private List<BookSummary> summaries;
+
+    @Before
+    public void setUp() {
+        bookSummaryService = new BookSummaryServiceImpl();
+
+        ((BookSummaryServiceImpl) bookSummaryService).setBookSummaryDAO(bookSummaryDAOMock);
+
+        summaries = List.of(new BookSummary(1, "test book", "test author"));
+    }
+
+    @Test
+    public void shouldCreateObjectWithDefaultDAO() {
+        assertThat(new BookSummaryServiceImpl().getBookSummaryDAO()).isNotNull();
+    }
+
+    @Test
+    public void shouldDelegateFindersToDAO() {
+        when(bookSummaryDAOMock.getByName("test book")).thenReturn(summaries);
+        when(bookSummaryDAOMock.getByAuthor("test author")).thenReturn(summaries);
+        when(bookSummaryDAOMock.getByPrintYear(2000)).thenReturn(summaries);
+        when(bookSummaryDAOMock.getByIsRead(true)).thenReturn(summaries);
+        when(bookSummaryDAOMock.getAll()).thenReturn(summaries);
+
+        assertThat(bookSummaryService.getByName("test book")).isEqualTo(summaries);
+        assertThat(bookSummaryService.getByAuthor("test author")).isEqualTo(summaries);
+        assertThat(bookSummaryService.getByPrintYear(2000)).isEqualTo(summaries);
+        assertThat(bookSummaryService.getByIsRead(true)).isEqualTo(summaries);
+        assertThat(bookSummaryService.getAll()).isEqualTo(summaries);
+
+        verify(bookSummaryDAOMock, times(1)).getByName("test book");
+        verify(bookSummaryDAOMock, times(1)).getByAuthor("test author");
+        verify(bookSummaryDAOMock, times(1)).getByPrintYear(2000);
+        verify(bookSummaryDAOMock, times(1)).getByIsRead(true);
+        verify(bookSummaryDAOMock, times(1)).getAll();
+        verifyNoMoreInteractions(bookSummaryDAOMock);
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenSetNullDAO() {
+        val bookSummaryServiceImpl = (BookSummaryServiceImpl) bookSummaryService;
+
+        assertThatNullPointerException()
+                .isThrownBy(() -> bookSummaryServiceImpl.setBookSummaryDAO(null))
+                .withMessage("bookSummaryDAO is marked @NonNull but is null");
+    }
+}
@@ -0,0 +1,230 @@
+package com.qthegamep.bookmanager2.service;
+
+import com.qthegamep.bookmanager2.dao.BookCriteria;
+import com.qthegamep.bookmanager2.dao.MultiGetResult;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.metrics.OperationMetrics;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MeteredBookServiceTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+
+    private MeteredBookService meteredBookDAO;
+
+    @Mock
+    private BookService bookServiceMock;
+
+    private Book firstBook;
+    private Book secondBook;
+
+    private List<Book> books;
+
+    @Before
+    public void setUp() {
+        meteredBookDAO = new MeteredBookService(bookServiceMock);
+
+        firstBook = new Book();
+
+        firstBook.setId(1);
+        firstBook.setName("test firstBook");
+        firstBook.setAuthor("test firstAuthor");
+        firstBook.setPrintYear(2000);
+        firstBook.setRead(false);
+
+        secondBook = new Book();
+
+        secondBook.setId(2);
+        secondBook.setName("test secondBook");
+        secondBook.setAuthor("test secondAuthor");
+        secondBook.setPrintYear(2010);
+        secondBook.setRead(true);
+
+        books = List.of(firstBook, secondBook);
+    }
+
+    @Test
+    public void shouldImplementsBookServiceInterface() {
+        assertThat(meteredBookDAO).isInstanceOf(BookService.class);
+    }
+
+    @Test
+    public void shouldRegisterAllOperationsInServiceScope() {
+        val metricsRegistry = meteredBookDAO.getMetricsRegistry();
+
+        assertThat(metricsRegistry.getScope()).isEqualTo(MeteredBookService.SCOPE);
+        assertThat(metricsRegistry.getOperations()).hasSize(17);
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenServiceIsNull() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> new MeteredBookService(null))
+                .withMessage("bookService is marked @NonNull but is null");
+    }
+
+    @Test
+    public void shouldDelegateAndRecordAddCall() {
+        when(bookServiceMock.add(firstBook)).thenReturn(true);
+
+        assertThat(meteredBookDAO.add(firstBook)).isTrue();
+
+        verify(bookServiceMock, times(1)).add(firstBook);
+        verifyNoMoreInteractions(bookServiceMock);
+
+        assertThat(operation("add").getCalls()).isEqualTo(1);
+        assertThat(operation("add").getErrors()).isZero();
+    }
+
+    @Test
+    public void shouldRecordBatchSizeOfAddAllCall() {
+        when(bookServiceMock.addAll(books)).thenReturn(true);
+
+        meteredBookDAO.addAll(books);
+
+        verify(bookServiceMock, times(1)).addAll(books);
+
+        assertThat(operation("addAll").getMaxSize()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldReturnBookAndRecordGetByIdCall() {
+        when(bookServiceMock.getById(1)).thenReturn(firstBook);
+
+        assertThat(meteredBookDAO.getById(1)).isEqualTo(firstBook);
+        assertThat(operation("getById").getCalls()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReturnExistenceAndRecordExistsCalls() {
+        when(bookServiceMock.existsByName("test firstBook")).thenReturn(true);
+
+        assertThat(meteredBookDAO.existsByName("test firstBook")).isTrue();
+        assertThat(meteredBookDAO.existsByAuthor("test firstAuthor")).isFalse();
+        assertThat(operation("existsByName").getCalls()).isEqualTo(1);
+        assertThat(operation("existsByAuthor").getCalls()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRecordErrorAndRethrowException() {
+        when(bookServiceMock.getById(1)).thenThrow(new IllegalStateException("test"));
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> meteredBookDAO.getById(1))
+                .withMessage("test");
+
+        assertThat(operation("getById").getCalls()).isEqualTo(1);
+        assertThat(operation("getById").getErrors()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReturnResultAndRecordGetByIdsCalls() {
+        val ids = new int[]{1, 2, 3};
+        val result = new MultiGetResult(books, new int[]{3});
+
+        when(bookServiceMock.getByIds(ids)).thenReturn(result);
+        when(bookServiceMock.getByIds(List.of(1, 2, 3))).thenReturn(result);
+
+        assertThat(meteredBookDAO.getByIds(ids)).isEqualTo(result);
+        assertThat(meteredBookDAO.getByIds(List.of(1, 2, 3))).isEqualTo(result);
+        assertThat(operation("getByIds").getCalls()).isEqualTo(2);
+        assertThat(operation("getByIds").getMaxSize()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldRecordResultSizeOfFinders() {
+        val criteria = new BookCriteria();
+
+        when(bookServiceMock.getByName("test firstBook")).thenReturn(List.of(firstBook));
+        when(bookServiceMock.getByAuthor("test firstAuthor")).thenReturn(List.of(firstBook));
+        when(bookServiceMock.getByPrintYear(2000)).thenReturn(List.of(firstBook));
+        when(bookServiceMock.getByIsRead(true)).thenReturn(List.of(secondBook));
+        when(bookServiceMock.getAll()).thenReturn(books);
+        when(bookServiceMock.search(criteria)).thenReturn(List.of(secondBook));
+
+        assertThat(meteredBookDAO.getByName("test firstBook")).containsExactly(firstBook);
+        assertThat(meteredBookDAO.getByAuthor("test firstAuthor")).containsExactly(firstBook);
+        assertThat(meteredBookDAO.getByPrintYear(2000)).containsExactly(firstBook);
+        assertThat(meteredBookDAO.getByIsRead(true)).containsExactly(secondBook);
+        assertThat(meteredBookDAO.getAll()).isEqualTo(books);
+        assertThat(meteredBookDAO.search(criteria)).containsExactly(secondBook);
+
+        assertThat(operation("getByName").getMaxSize()).isEqualTo(1);
+        assertThat(operation("getByAuthor").getMaxSize()).isEqualTo(1);
+        assertThat(operation("getByPrintYear").getMaxSize()).isEqualTo(1);
+        assertThat(operation("getByIsRead").getMaxSize()).isEqualTo(1);
+        assertThat(operation("getAll").getMaxSize()).isEqualTo(2);
+        assertThat(operation("search").getMaxSize()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldDelegateAndRecordUpdateRemoveAndUpsertCalls() {
+        when(bookServiceMock.remove(firstBook)).thenReturn(true);
+        when(bookServiceMock.removeAll(books)).thenReturn(true);
+        when(bookServiceMock.upsertAll(books)).thenReturn(true);
+
+        meteredBookDAO.update(firstBook);
+        meteredBookDAO.updateAll(books);
+        meteredBookDAO.remove(firstBook);
+        meteredBookDAO.removeAll(books);
+        meteredBookDAO.upsertAll(books);
+
+        verify(bookServiceMock, times(1)).update(firstBook);
+        verify(bookServiceMock, times(1)).updateAll(books);
+        verify(bookServiceMock, times(1)).remove(firstBook);
+        verify(bookServiceMock, times(1)).removeAll(books);
+        verify(bookServiceMock, times(1)).upsertAll(books);
+        verifyNoMoreInteractions(bookServiceMock);
+
+        assertThat(operation("update").getCalls()).isEqualTo(1);
+        assertThat(operation("updateAll").getMaxSize()).isEqualTo(2);
+        assertThat(operation("remove").getCalls()).isEqualTo(1);
+        assertThat(operation("removeAll").getMaxSize()).isEqualTo(2);
+        assertThat(operation("upsertAll").getMaxSize()).isEqualTo(2);
+        assertThat(operation("remove").getErrors()).isZero();
+        assertThat(operation("removeAll").getErrors()).isZero();
+        assertThat(operation("upsertAll").getErrors()).isZero();
+    }
+
+    @Test
+    public void shouldRecordErrorsOfWritesThatWereNotDone() {
+        assertThat(meteredBookDAO.add(firstBook)).isFalse();
+        assertThat(meteredBookDAO.addAll(books)).isFalse();
+        assertThat(meteredBookDAO.remove(firstBook)).isFalse();
+        assertThat(meteredBookDAO.removeAll(books)).isFalse();
+        assertThat(meteredBookDAO.upsertAll(books)).isFalse();
+
+        assertThat(operation("add").getErrors()).isEqualTo(1);
+        assertThat(operation("addAll").getErrors()).isEqualTo(1);
+        assertThat(operation("remove").getErrors()).isEqualTo(1);
+        assertThat(operation("removeAll").getErrors()).isEqualTo(1);
+        assertThat(operation("upsertAll").getErrors()).isEqualTo(1);
+        assertThat(operation("addAll").getMaxSize()).isZero();
+    }
+
+    private OperationMetrics operation(String name) {
+        return meteredBookDAO.getMetricsRegistry().operation(name);
+    }
+}
@@ -0,0 +1,302 @@
+package com.qthegamep.bookmanager2.snapshot;
+
+import com.qthegamep.bookmanager2.dao.BookDAO;
+import com.qthegamep.bookmanager2.dao.BookDAOImpl;
+import com.qthegamep.bookmanager2.entity.Book;
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+import com.qthegamep.bookmanager2.testhelper.util.ResetDBUtil;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class BookSnapshotTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+    @ClassRule
+    public static ExternalResource recreateSessionFactoryRule = Rules.RECREATE_SESSION_FACTORY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+    @Rule
+    public ExternalResource resetDatabaseRule = Rules.RESET_DATABASE_RULE;
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private BookSnapshot bookSnapshot;
+
+    private BookDAO bookDAO;
+
+    private Book firstBook;
+    private Book secondBook;
+
+    @Before
+    public void setUp() {
+        bookSnapshot = new BookSnapshot();
+
+        bookDAO = new BookDAOImpl();
+
+        firstBook = new Book();
+
+        firstBook.setName("test firstBook");
+        firstBook.setAuthor("test author");
+        firstBook.setPrintYear(2000);
+        firstBook.setRead(false);
+
+        secondBook = new Book();
+
+        secondBook.setName("test secondBook Ї");
+        secondBook.setAuthor("test author");
+        secondBook.setPrintYear(2010);
+        secondBook.setRead(true);
+    }
+
+    @Test
+    public void shouldCreateObjectWithDefaultBatchSizeAndWindowSize() {
+        assertThat(bookSnapshot.getBatchSize()).isEqualTo(BookSnapshot.DEFAULT_BATCH_SIZE);
+        assertThat(bookSnapshot.getWindowSize()).isEqualTo(BookSnapshot.DEFAULT_WINDOW_SIZE);
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenCreateWithIncorrectSizes() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BookSnapshot(0, BookSnapshot.DEFAULT_WINDOW_SIZE))
+                .withMessage("Batch size should be positive and window size should be at least 1024 bytes but were 0 and 67108864");
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BookSnapshot(1, 1023))
+                .withMessage("Batch size should be positive and window size should be at least 1024 bytes but were 1 and 1023");
+    }
+
+    @Test
+    public void shouldWriteAndRestoreBooksWithTheirIds() throws IOException {
+        bookDAO.addAll(List.of(firstBook, secondBook));
+        bookDAO.remove(firstBook);
+
+        val path = temporaryFolder.newFile("books.snapshot").toPath();
+
+        assertThat(bookSnapshot.snapshot(path)).isEqualTo(1);
+
+        ResetDBUtil.resetDatabase();
+
+        assertThat(bookSnapshot.restore(path)).isEqualTo(1);
+        assertThat(bookDAO.getAll()).containsExactly(secondBook);
+        assertThat(secondBook.getId()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldWriteCompactFileWithAuthorDictionary() throws IOException {
+        bookDAO.addAll(List.of(firstBook, secondBook));
+
+        val path = temporaryFolder.newFile("books.snapshot").toPath();
+
+        bookSnapshot.snapshot(path);
+
+        val bytes = ByteBuffer.wrap(Files.readAllBytes(path));
+
+        assertThat(bytes.getInt()).isEqualTo(BookSnapshot.MAGIC);
+        assertThat(bytes.getInt()).isEqualTo(BookSnapshot.VERSION);
+        assertThat(bytes.getLong()).isEqualTo(2);
+
+        val dictionaryOffset = bytes.getLong();
+        val nameBytes = "test firstBook".length() + "test secondBook Ї".getBytes("UTF-8").length;
+
+        assertThat(dictionaryOffset).isEqualTo(24 + 2 * 17 + nameBytes);
+        assertThat(bytes.capacity()).isEqualTo(dictionaryOffset + 4 + 4 + "test author".length());
+    }
+
+    @Test
+    public void shouldWriteAndRestoreEmptySnapshot() throws IOException {
+        val path = temporaryFolder.newFile("books.snapshot").toPath();
+
+        assertThat(bookSnapshot.snapshot(path)).isZero();
+        assertThat(bookSnapshot.restore(path)).isZero();
+        assertThat(bookDAO.getAll()).isEmpty();
+    }
+
+    @Test
+    public void shouldWriteAndRestoreSnapshotThroughSeveralWindowsAndBatches() throws IOException {
+        val books = new ArrayList<Book>();
+
+        for (int i = 0; i < 500; i++) {
+            val book = new Book();
+
+            book.setName("test book " + i);
+            book.setAuthor("test author " + i % 7);
+            book.setPrintYear(1900 + i % 100);
+            book.setRead(i % 3 == 0);
+
+            books.add(book);
+        }
+
+        bookDAO.addAll(books);
+
+        val path = temporaryFolder.newFile("books.snapshot").toPath();
+        val smallSnapshot = new BookSnapshot(64, 1024);
+
+        assertThat(smallSnapshot.snapshot(path)).isEqualTo(500);
+
+        ResetDBUtil.resetDatabase();
+
+        assertThat(smallSnapshot.restore(path)).isEqualTo(500);
+        assertThat(bookDAO.getAll()).containsExactlyElementsOf(books);
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenRestoreNotSnapshotFile() throws IOException {
+        val path = temporaryFolder.newFile("books.csv").toPath();
+
+        Files.write(path, "NAME,AUTHOR,PRINT_YEAR,IS_READ\n".getBytes());
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> bookSnapshot.restore(path))
+                .withMessageEndingWith("is not a snapshot of books");
+    }
+
+    @Test
+    public void shouldWriteFileWithExactSizeThroughSeveralWindows() throws IOException {
+        val books = new ArrayList<Book>();
+
+        for (int i = 0; i < 100; i++) {
+            val book = new Book();
+
+            book.setName("test book " + i);
+            book.setAuthor("test author");
+            book.setPrintYear(2000);
+            book.setRead(false);
+
+            books.add(book);
+        }
+
+        bookDAO.addAll(books);
+
+        val path = temporaryFolder.newFile("books.snapshot").toPath();
+
+        Files.write(path, new byte[10_000]);
+
+        new BookSnapshot(64, 1024).snapshot(path);
+
+        val bytes = ByteBuffer.wrap(Files.readAllBytes(path));
+        val dictionaryOffset = bytes.getLong(16);
+
+        assertThat(bytes.capacity()).isEqualTo(dictionaryOffset + 4 + 4 + "test author".length());
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenRestoreSnapshotWithIncorrectAuthorIndex() throws IOException {
+        bookDAO.add(firstBook);
+
+        val path = temporaryFolder.newFile("books.snapshot").toPath();
+
+        bookSnapshot.snapshot(path);
+        corrupt(path, 33, 1);
+
+        ResetDBUtil.resetDatabase();
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> bookSnapshot.restore(path))
+                .withMessage("Snapshot is corrupted! Author index 1 is out of the dictionary of 1 authors");
+
+        corrupt(path, 33, -1);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> bookSnapshot.restore(path))
+                .withMessage("Snapshot is corrupted! Author index -1 is out of the dictionary of 1 authors");
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenRestoreSnapshotWithIncorrectNameLength() throws IOException {
+        bookDAO.add(firstBook);
+
+        val path = temporaryFolder.newFile("books.snapshot").toPath();
+
+        bookSnapshot.snapshot(path);
+        corrupt(path, 37, -1);
+
+        ResetDBUtil.resetDatabase();
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> bookSnapshot.restore(path))
+                .withMessage("Snapshot is truncated or corrupted");
+
+        corrupt(path, 37, Integer.MAX_VALUE);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> bookSnapshot.restore(path))
+                .withMessage("Snapshot is truncated or corrupted");
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenRestoreSnapshotWithIncorrectCountOfAuthors() throws IOException {
+        bookDAO.add(firstBook);
+
+        val path = temporaryFolder.newFile("books.snapshot").toPath();
+
+        bookSnapshot.snapshot(path);
+
+        val dictionaryOffset = ByteBuffer.wrap(Files.readAllBytes(path)).getLong(16);
+
+        corrupt(path, (int) dictionaryOffset, Integer.MAX_VALUE);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> bookSnapshot.restore(path))
+                .withMessage("Snapshot is corrupted! Count of authors " + Integer.MAX_VALUE + " is incorrect");
+    }
+
+    @Test
+    public void shouldThrowIllegalStateExceptionWhenRestoreBooksWithExistingIds() throws IOException {
+        bookDAO.add(firstBook);
+
+        val path = temporaryFolder.newFile("books.snapshot").toPath();
+
+        bookSnapshot.snapshot(path);
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> bookSnapshot.restore(path))
+                .withMessageStartingWith("Batch of 1 books was not inserted!");
+    }
+
+    @Test
+    public void shouldThrowUncheckedIOExceptionWhenRestoreMissingFile() {
+        val path = temporaryFolder.getRoot().toPath().resolve("missing.snapshot");
+
+        assertThatExceptionOfType(UncheckedIOException.class)
+                .isThrownBy(() -> bookSnapshot.restore(path));
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenPathIsNull() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> bookSnapshot.snapshot(null))
+                .withMessage("path is marked @NonNull but is null");
+
+        assertThatNullPointerException()
+                .isThrownBy(() -> bookSnapshot.restore(null))
+                .withMessage("path is marked @NonNull but is null");
+    }
+
+    private void corrupt(Path path, int offset, int value) throws IOException {
+        val bytes = Files.readAllBytes(path);
+
+        ByteBuffer.wrap(bytes).putInt(offset, value);
+
+        Files.write(path, bytes);
+    }
+}
@@ -1,6 +1,7 @@
 package com.qthegamep.bookmanager2.testhelper.rule;
 
 import com.qthegamep.bookmanager2.testhelper.util.IOUtil;
+import com.qthegamep.bookmanager2.testhelper.util.PerformanceReportUtil;
 import com.qthegamep.bookmanager2.testhelper.util.ResetDBUtil;
 import com.qthegamep.bookmanager2.util.SessionUtil;
 
@@ -24,20 +25,40 @@ public class Rules {
 
     /**
      * The constant is used as a rule for calculating of the time spent by a test.
+     * The time is also recorded to the machine-readable report of {@link PerformanceReportUtil}.
      * It is used with {@link org.junit.Rule} JUnit annotation.
      */
     public final Stopwatch STOPWATCH_RULE = new Stopwatch() {
 
         @Override
         protected void finished(long nanos, @NotNull Description description) {
-            val result = String.format("%-144s %7d",
-                    description.getDisplayName(),
-                    TimeUnit.NANOSECONDS.toMillis(nanos)
-            );
+            recordResult(nanos, description);
+        }
+    };
+
+    /**
+     * The constant is used as a rule for calculating of the time spent by a performance test
+     * and failing the test if the time exceeds the baseline of {@link PerformanceReportUtil} with the tolerance.
+     * Tests without baseline are only recorded.
+     * It is used with {@link org.junit.Rule} JUnit annotation instead of {@link #STOPWATCH_RULE}.
+     */
+    public final Stopwatch PERFORMANCE_GATE_RULE = new Stopwatch() {
 
-            className = description.getClassName();
-            RESULTS.append(result).append(System.lineSeparator());
-            log.info(result);
+        @Override
+        protected void succeeded(long nanos, @NotNull Description description) {
+            val millis = recordResult(nanos, description);
+            val limit = PerformanceReportUtil.getLimit(description);
+
+            if (limit >= 0 && millis > limit) {
+                throw new AssertionError(String.format("Performance regression of %s: %d ms but baseline is %d ms " +
+                                "and limit with tolerance %.0f%% is %d ms",
+                        description.getDisplayName(),
+                        millis,
+                        PerformanceReportUtil.getBaseline(description),
+                        PerformanceReportUtil.getTolerance() * 100,
+                        limit
+                ));
+            }
         }
     };
 
@@ -50,6 +71,7 @@ public class Rules {
         @Override
         protected void before() {
             RESULTS.setLength(0);
+            PerformanceReportUtil.clear();
         }
 
         @Override
@@ -68,6 +90,7 @@ public class Rules {
                     + "--------------------------------------------------------------------------------------------------------------------------------------------------------"
                     + System.lineSeparator()
             );
+            PerformanceReportUtil.writeReport(className);
         }
     };
 
@@ -127,4 +150,19 @@ public class Rules {
     private final StringBuilder RESULTS = new StringBuilder();
 
     private String className;
+
+    private long recordResult(long nanos, Description description) {
+        val millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        val result = String.format("%-144s %7d",
+                description.getDisplayName(),
+                millis
+        );
+
+        className = description.getClassName();
+        RESULTS.append(result).append(System.lineSeparator());
+        PerformanceReportUtil.record(description, millis);
+        log.info(result);
+
+        return millis;
+    }
 }
@@ -0,0 +1,167 @@
+package com.qthegamep.bookmanager2.testhelper.util;
+
+import lombok.experimental.UtilityClass;
+import lombok.val;
+
+import org.junit.runner.Description;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * This class is an utility helper class that is responsible for the machine-readable report of tests durations
+ * and for comparing durations with the committed baseline.
+ * Every test class gets own csv report in the {@value #REPORT_DIRECTORY_PROPERTY} directory
+ * with the columns: test, duration, baseline, limit and status. Durations are in milliseconds.
+ * The baseline is loaded from the {@value #BASELINE_RESOURCE} resource, its keys are
+ * simple class name and method name separated by a dot. The limit of the test is the baseline
+ * increased by the tolerance, the tolerance is the {@value #TOLERANCE_PROPERTY} property of the baseline
+ * and can be overridden by the system property with the same name.
+ * If the baseline resource exists but can't be read then performance tests fail instead of running without limits.
+ */
+@UtilityClass
+public class PerformanceReportUtil {
+
+    /**
+     * The constant is the name of the system property with the directory of reports.
+     */
+    public final String REPORT_DIRECTORY_PROPERTY = "performance.report.directory";
+
+    /**
+     * The constant is the name of the property with the allowed regression, for example 0.5 is 50%.
+     */
+    public final String TOLERANCE_PROPERTY = "performance.tolerance";
+
+    /**
+     * The constant is the name of the baseline resource.
+     */
+    public final String BASELINE_RESOURCE = "performance/baseline.properties";
+
+    private final String DEFAULT_REPORT_DIRECTORY = "target/performance";
+    private final String REPORT_HEADER = "test,durationMs,baselineMs,limitMs,status";
+
+    private final Properties BASELINE = loadBaseline();
+
+    private final List<String> RESULTS = new ArrayList<>();
+
+    /**
+     * This method returns the allowed regression of tests durations.
+     *
+     * @return tolerance, for example 0.5 is 50%.
+     */
+    public double getTolerance() {
+        return Double.parseDouble(System.getProperty(TOLERANCE_PROPERTY, BASELINE.getProperty(TOLERANCE_PROPERTY, "0.5")));
+    }
+
+    /**
+     * This method returns the baseline duration of the test.
+     *
+     * @param description is the description of the test.
+     * @return baseline duration in milliseconds or -1 if the test has no baseline.
+     */
+    public long getBaseline(Description description) {
+        return Long.parseLong(BASELINE.getProperty(getTestName(description), "-1"));
+    }
+
+    /**
+     * This method returns the maximum allowed duration of the test.
+     *
+     * @param description is the description of the test.
+     * @return limit in milliseconds or -1 if the test has no baseline.
+     */
+    public long getLimit(Description description) {
+        val baseline = getBaseline(description);
+
+        return baseline < 0 ? -1 : (long) Math.ceil(baseline * (1 + getTolerance()));
+    }
+
+    /**
+     * This method records duration of the test to the report of the current test class.
+     *
+     * @param description is the description of the test.
+     * @param millis      is the duration of the test in milliseconds.
+     */
+    public void record(Description description, long millis) {
+        val baseline = getBaseline(description);
+        val limit = getLimit(description);
+
+        String status;
+
+        if (baseline < 0) {
+            status = "NO_BASELINE";
+        } else if (millis > limit) {
+            status = "REGRESSED";
+        } else {
+            status = "PASSED";
+        }
+
+        RESULTS.add(String.join(",",
+                getTestName(description),
+                String.valueOf(millis),
+                String.valueOf(baseline),
+                String.valueOf(limit),
+                status
+        ));
+    }
+
+    /**
+     * This method clears recorded durations. It is used before each test class.
+     */
+    public void clear() {
+        RESULTS.clear();
+    }
+
+    /**
+     * This method writes recorded durations to the csv report of the test class.
+     * Nothing is written if no durations were recorded.
+     *
+     * @param className is the full name of the test class.
+     */
+    public void writeReport(String className) {
+        if (className == null || RESULTS.isEmpty()) {
+            return;
+        }
+
+        val reportDirectory = Paths.get(System.getProperty(REPORT_DIRECTORY_PROPERTY, DEFAULT_REPORT_DIRECTORY));
+        val lines = new ArrayList<String>(RESULTS.size() + 1);
+
+        lines.add(REPORT_HEADER);
+        lines.addAll(RESULTS);
+
+        try {
+            Files.createDirectories(reportDirectory);
+            Files.write(reportDirectory.resolve(className + ".csv"), lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String getTestName(Description description) {
+        val className = description.getClassName();
+
+        return className.substring(className.lastIndexOf('.') + 1) + "." + description.getMethodName();
+    }
+
+    private Properties loadBaseline() {
+        val baseline = new Properties();
+        val resource = ClassLoader.getSystemResourceAsStream(BASELINE_RESOURCE);
+
+        if (resource == null) {
+            return baseline;
+        }
+
+        try (resource) {
+            baseline.load(resource);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Baseline " + BASELINE_RESOURCE + " was not loaded", e);
+        }
+
+        return baseline;
+    }
+}
@@ -0,0 +1,49 @@
+package com.qthegamep.bookmanager2.testhelper.util;
+
+import lombok.SneakyThrows;
+import lombok.experimental.UtilityClass;
+import lombok.val;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * This class is an utility helper class that is responsible for recording Java Flight Recorder events
+ * emitted by the code under test.
+ */
+@UtilityClass
+public class RecordingUtil {
+
+    /**
+     * This method records events with the given name while the action is executed.
+     *
+     * @param eventName is the name of the event that will be enabled in the recording.
+     * @param action    is the action that emits the events.
+     * @return list of recorded events with the given name.
+     */
+    @SneakyThrows
+    public List<RecordedEvent> record(String eventName, Runnable action) {
+        val file = Files.createTempFile("bookmanager2", ".jfr");
+
+        try (val recording = new Recording()) {
+            recording.enable(eventName).withoutThreshold();
+            recording.start();
+
+            action.run();
+
+            recording.stop();
+            recording.dump(file);
+
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(eventName))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
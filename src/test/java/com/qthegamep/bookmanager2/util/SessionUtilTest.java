@@ -1,5 +1,6 @@
 package com.qthegamep.bookmanager2.util;
 
+import com.qthegamep.bookmanager2.entity.Book;
 import com.qthegamep.bookmanager2.testhelper.rule.Rules;
 
 import lombok.val;
@@ -7,10 +8,18 @@ import org.junit.ClassRule;
 import org.junit.Rule;
 import org.junit.Test;
 
+import com.p6spy.engine.wrapper.ConnectionWrapper;
+import org.hibernate.HibernateException;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.H2Dialect;
 import org.junit.rules.ExternalResource;
 import org.junit.rules.Stopwatch;
 
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.NamedQuery;
 import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -333,4 +342,114 @@ public class SessionUtilTest {
 
         SessionUtil.createNewSessionFactory();
     }
+
+    @Test
+    public void shouldOpenIndependentStatelessSession() {
+        val session = SessionUtil.openSession();
+
+        try (val statelessSession = SessionUtil.openStatelessSession()) {
+            assertThat(statelessSession).isNotNull();
+            assertThat(statelessSession.isOpen()).isTrue();
+            assertThat(statelessSession).isNotSameAs(session);
+        }
+
+        assertThat(session.isOpen()).isTrue();
+
+        SessionUtil.closeSession();
+    }
+
+    @Test
+    public void shouldReturnConnectionOfStatelessSession() throws Exception {
+        try (val statelessSession = SessionUtil.openStatelessSession()) {
+            val transaction = statelessSession.beginTransaction();
+            val connection = SessionUtil.getConnection(statelessSession);
+
+            assertThat(connection).isSameAs(SessionUtil.getConnection(statelessSession));
+            assertThat(connection.isClosed()).isFalse();
+            assertThat(connection.getAutoCommit()).isFalse();
+
+            try (val statement = connection.createStatement();
+                 val resultSet = statement.executeQuery("SELECT 1")) {
+                assertThat(resultSet.next()).isTrue();
+                assertThat(resultSet.getInt(1)).isEqualTo(1);
+            }
+
+            transaction.commit();
+        }
+    }
+
+    @Test
+    public void shouldThrowNullPointerExceptionWhenGetConnectionOfNullSession() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> SessionUtil.getConnection(null))
+                .withMessage("statelessSession is marked @NonNull but is null");
+    }
+
+    @Test
+    public void shouldReturnDialectFromConfiguration() {
+        assertThat(SessionUtil.getDialect()).isInstanceOf(H2Dialect.class);
+    }
+
+    @Test
+    public void shouldEnableSqlDiagnosticsFromConfiguration() {
+        assertThat(SessionUtil.isSqlDiagnosticsEnabled()).isTrue();
+    }
+
+    @Test
+    public void shouldSwitchSqlDiagnosticsAtRuntime() {
+        SessionUtil.setSqlDiagnosticsEnabled(false);
+
+        var session = SessionUtil.openSession();
+
+        Connection connection = session.doReturningWork(sessionConnection -> sessionConnection);
+
+        assertThat(SessionUtil.isSqlDiagnosticsEnabled()).isFalse();
+        assertThat(connection).isNotInstanceOf(ConnectionWrapper.class);
+
+        SessionUtil.closeSession();
+
+        SessionUtil.setSqlDiagnosticsEnabled(true);
+
+        session = SessionUtil.openSession();
+
+        connection = session.doReturningWork(sessionConnection -> sessionConnection);
+
+        assertThat(SessionUtil.isSqlDiagnosticsEnabled()).isTrue();
+        assertThat(connection).isInstanceOf(ConnectionWrapper.class);
+
+        SessionUtil.closeSession();
+    }
+
+    @Test
+    public void shouldRegisterNamedQueriesOfBook() {
+        val session = SessionUtil.openSession();
+
+        assertThat(session.getNamedQuery(Book.GET_BY_IDS_QUERY).getQueryString()).contains("b.id in (:ids)");
+        assertThat(session.getNamedQuery(Book.GET_BY_NAME_QUERY).getQueryString()).contains("b.name = :name");
+        assertThat(session.getNamedQuery(Book.GET_BY_AUTHOR_QUERY).getQueryString()).contains("a.name = :author");
+        assertThat(session.getNamedQuery(Book.GET_BY_PRINT_YEAR_QUERY).getQueryString()).contains("b.printYear = :printYear");
+        assertThat(session.getNamedQuery(Book.GET_BY_IS_READ_QUERY).getQueryString()).contains("b.isRead = :isRead");
+        assertThat(session.getNamedQuery(Book.GET_ALL_QUERY).getQueryString()).doesNotContain("where");
+
+        SessionUtil.closeSession();
+    }
+
+    @Test
+    public void shouldNotBuildSessionFactoryWithInvalidNamedQuery() {
+        val configuration = new Configuration().configure()
+                .setProperty("hibernate.hbm2ddl.auto", "none")
+                .addAnnotatedClass(InvalidNamedQueryEntity.class);
+
+        assertThatThrownBy(configuration::buildSessionFactory)
+                .isInstanceOf(HibernateException.class)
+                .hasMessageContaining("InvalidNamedQueryEntity.getAll");
+    }
+
+    @Entity
+    @NamedQuery(name = "InvalidNamedQueryEntity.getAll", query = "from InvalidNamedQueryEntity e where e.unknown = :unknown")
+    public static class InvalidNamedQueryEntity {
+
+        @Id
+        private int id;
+    }
 }
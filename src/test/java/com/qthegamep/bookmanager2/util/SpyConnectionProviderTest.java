@@ -0,0 +1,123 @@
+package com.qthegamep.bookmanager2.util;
+
+import com.qthegamep.bookmanager2.testhelper.rule.Rules;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.p6spy.engine.wrapper.ConnectionWrapper;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.junit.rules.ExternalResource;
+import org.junit.rules.Stopwatch;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SpyConnectionProviderTest {
+
+    @ClassRule
+    public static ExternalResource summaryRule = Rules.SUMMARY_RULE;
+
+    @Rule
+    public Stopwatch stopwatchRule = Rules.STOPWATCH_RULE;
+
+    private SpyConnectionProvider spyConnectionProvider;
+
+    private Map<String, Object> configurationValues;
+
+    @Before
+    public void setUp() {
+        spyConnectionProvider = new SpyConnectionProvider();
+
+        configurationValues = new HashMap<>();
+
+        configurationValues.put(AvailableSettings.DRIVER, "org.h2.Driver");
+        configurationValues.put(AvailableSettings.URL, "jdbc:h2:mem:spyConnectionProviderTest");
+        configurationValues.put(AvailableSettings.USER, "root");
+        configurationValues.put(AvailableSettings.PASS, "");
+    }
+
+    @After
+    public void tearDown() {
+        spyConnectionProvider.stop();
+    }
+
+    @Test
+    public void shouldImplementsConnectionProviderInterface() {
+        spyConnectionProvider.configure(configurationValues);
+
+        assertThat(spyConnectionProvider).isInstanceOf(ConnectionProvider.class);
+    }
+
+    @Test
+    public void shouldDisableSpyByDefault() throws Exception {
+        spyConnectionProvider.configure(configurationValues);
+
+        val connection = spyConnectionProvider.getConnection();
+
+        assertThat(spyConnectionProvider.isSpyEnabled()).isFalse();
+        assertThat(connection).isNotInstanceOf(ConnectionWrapper.class);
+
+        spyConnectionProvider.closeConnection(connection);
+    }
+
+    @Test
+    public void shouldWrapConnectionWhenSpyIsEnabledInConfiguration() throws Exception {
+        configurationValues.put(SpyConnectionProvider.SPY_ENABLED, "true");
+
+        spyConnectionProvider.configure(configurationValues);
+
+        val connection = spyConnectionProvider.getConnection();
+
+        assertThat(spyConnectionProvider.isSpyEnabled()).isTrue();
+        assertThat(connection).isInstanceOf(ConnectionWrapper.class);
+
+        spyConnectionProvider.closeConnection(connection);
+    }
+
+    @Test
+    public void shouldSwitchSpyAtRuntime() throws Exception {
+        spyConnectionProvider.configure(configurationValues);
+
+        spyConnectionProvider.setSpyEnabled(true);
+
+        val wrappedConnection = spyConnectionProvider.getConnection();
+
+        assertThat(wrappedConnection).isInstanceOf(ConnectionWrapper.class);
+
+        spyConnectionProvider.closeConnection(wrappedConnection);
+        spyConnectionProvider.setSpyEnabled(false);
+
+        val nativeConnection = spyConnectionProvider.getConnection();
+
+        assertThat(nativeConnection).isNotInstanceOf(ConnectionWrapper.class);
+
+        spyConnectionProvider.closeConnection(nativeConnection);
+    }
+
+    @Test
+    public void shouldReturnNativeConnectionToThePoolWhenWrappedConnectionIsClosed() throws Exception {
+        configurationValues.put(SpyConnectionProvider.SPY_ENABLED, "true");
+
+        spyConnectionProvider.configure(configurationValues);
+
+        val wrappedConnection = spyConnectionProvider.getConnection();
+        val nativeConnection = ((ConnectionWrapper) wrappedConnection).getDelegate();
+
+        spyConnectionProvider.closeConnection(wrappedConnection);
+        spyConnectionProvider.setSpyEnabled(false);
+
+        val pooledConnection = spyConnectionProvider.getConnection();
+
+        assertThat(pooledConnection).isSameAs(nativeConnection);
+
+        spyConnectionProvider.closeConnection(pooledConnection);
+    }
+}